@@ -0,0 +1,70 @@
+package ai.aletheia;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Deterministic LLM-like response text for benchmarks: paragraphs of words with the line endings,
+ * trailing spaces and blank-line runs that canonicalization has to handle.
+ * <p>
+ * {@code ascii}: English words only (NFC quick check passes, 1 byte per char).
+ * {@code unicode}: same layout with accented Latin (some decomposed, so NFC has work to do), CJK,
+ * Cyrillic and emoji (2-4 UTF-8 bytes per char).
+ */
+public final class BenchmarkText {
+
+    private static final String[] ASCII_WORDS = {
+            "the", "model", "response", "evidence", "signature", "timestamp", "policy", "compliance",
+            "hash", "verify", "audit", "record", "package", "clause", "GDPR", "article", "data", "2+2=4."
+    };
+
+    private static final String[] UNICODE_WORDS = {
+            "caf\u00e9", "Gr\u00fc\u00dfe", "na\u00efve", "\u65e5\u672c\u8a9e", "\u6587\u66f8", "\u0414\u0430\u043d\u043d\u044b\u0435", "\ud83d\ude00", "\ud83d\udcdc",
+            "A\u030a", "coe\u0301peration", "evidence", "signature", "policy", "hash"
+    };
+
+    private BenchmarkText() {}
+
+    /**
+     * @param bytes UTF-8 size of the returned text; stays just under it so canonical bytes fit the
+     *              512 KB hash limit at the largest size
+     * @param mix   {@code ascii} or {@code unicode}
+     */
+    public static String generate(int bytes, String mix) {
+        String[] words = switch (mix) {
+            case "ascii" -> ASCII_WORDS;
+            case "unicode" -> UNICODE_WORDS;
+            default -> throw new IllegalArgumentException("Unknown text mix: " + mix);
+        };
+        Random random = new Random(bytes * 31L + mix.hashCode());
+        StringBuilder sb = new StringBuilder(bytes);
+        int size = 0;
+        int wordsInLine = 0;
+        while (true) {
+            String word = words[random.nextInt(words.length)];
+            String separator;
+            if (++wordsInLine >= 12 + random.nextInt(8)) {
+                separator = switch (random.nextInt(6)) {
+                    case 0 -> "  \r\n";
+                    case 1 -> "\n\n\n";
+                    case 2 -> "\r\n\r\n";
+                    default -> "\n";
+                };
+                wordsInLine = 0;
+            } else {
+                separator = " ";
+            }
+            int added = word.getBytes(StandardCharsets.UTF_8).length + separator.length();
+            if (size + added >= bytes) {
+                break;
+            }
+            sb.append(word).append(separator);
+            size += added;
+        }
+        while (size < bytes - 1) {
+            sb.append('x');
+            size++;
+        }
+        return sb.toString();
+    }
+}
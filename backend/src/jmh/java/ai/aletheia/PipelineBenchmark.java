@@ -0,0 +1,62 @@
+package ai.aletheia;
+
+import ai.aletheia.crypto.CanonicalizationServiceImpl;
+import ai.aletheia.crypto.CryptoFixtures;
+import ai.aletheia.crypto.HashServiceImpl;
+import ai.aletheia.crypto.SignatureServiceImpl;
+import ai.aletheia.crypto.impl.MockTsaServiceImpl;
+import ai.aletheia.crypto.impl.TsaFixtures;
+import ai.aletheia.evidence.EvidenceFixtures;
+import ai.aletheia.evidence.EvidencePackageServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end, without LLM and DB: canonicalize → hash → RSA sign → mock TSA → build package → ZIP.
+ * Compare with the per-stage benchmarks to see where the time goes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({ "1024", "16384", "131072", "524288" })
+    int size;
+
+    @Param({ "ascii", "unicode" })
+    String mix;
+
+    private final CanonicalizationServiceImpl canonicalizationService = new CanonicalizationServiceImpl();
+    private final HashServiceImpl hashService = new HashServiceImpl(canonicalizationService);
+    private final EvidencePackageServiceImpl evidencePackageService = new EvidencePackageServiceImpl();
+    private SignatureServiceImpl signatureService;
+    private MockTsaServiceImpl tsa;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        signatureService = CryptoFixtures.signatureService();
+        tsa = TsaFixtures.mockTsa();
+        text = BenchmarkText.generate(size, mix);
+    }
+
+    @Benchmark
+    public byte[] responseToEvidenceZip() {
+        return evidencePackageService.toZip(EvidenceFixtures.buildPackage(
+                text, canonicalizationService, hashService, signatureService, tsa, evidencePackageService));
+    }
+}
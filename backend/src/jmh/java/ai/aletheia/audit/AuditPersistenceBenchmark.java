@@ -0,0 +1,121 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.BenchmarkText;
+import ai.aletheia.config.AuditWriteBehindProperties;
+import ai.aletheia.db.AiResponseIdAllocator;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving completed audit records from 8 concurrent request threads: one insert and commit per record (what
+ * {@code repository.save} does) against {@link WriteBehindAuditWriter} with flush-before-ack (batched insert,
+ * one commit per batch). Same row and columns in both; ids come from the sequence in both.
+ *
+ * <p>Defaults to a file-based H2 database under {@code target/} (an in-memory one hides the commit cost).
+ * For PostgreSQL point it at a scratch database; the schema is dropped and migrated at setup:
+ * {@code -p url=jdbc:postgresql://localhost:5432/aletheia_bench -p user=... -p password=...}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class AuditPersistenceBenchmark {
+
+    @Param({ "jdbc:h2:file:./target/audit-bench/h2" })
+    String url;
+
+    @Param({ "sa" })
+    String user;
+
+    @Param({ "" })
+    String password;
+
+    @Param({ "100" })
+    int batchSize;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AiResponseIdAllocator idAllocator;
+    private WriteBehindAuditWriter writer;
+    private String response;
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(16);
+        dataSource = new HikariDataSource(config);
+        Flyway flyway = Flyway.configure().dataSource(dataSource).cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        idAllocator = new AiResponseIdAllocator(jdbcTemplate, url.startsWith("jdbc:postgresql:")
+                ? "select nextval('ai_response_seq')"
+                : "select next value for ai_response_seq");
+        AuditWriteBehindProperties props = new AuditWriteBehindProperties();
+        props.setBatchSize(batchSize);
+        writer = new WriteBehindAuditWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                idAllocator, event -> { }, props);
+        response = BenchmarkText.generate(2048, "ascii");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        writer.shutdown();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int singleInsert() {
+        AiResponse entity = record();
+        entity.setId(idAllocator.next());
+        return jdbcTemplate.update(WriteBehindAuditWriter.INSERT_SQL, ps -> WriteBehindAuditWriter.bind(ps, entity));
+    }
+
+    @Benchmark
+    public Long writeBehind() {
+        return writer.write(record());
+    }
+
+    private AiResponse record() {
+        AiResponse entity = new AiResponse("What does GDPR Article 12 require?", response, "h".repeat(64));
+        entity.setSignature("s".repeat(344));
+        entity.setTsaToken("t".repeat(2000));
+        entity.setLlmModel("gpt-4");
+        entity.setClaim("Complies with Article 12");
+        entity.setConfidence(0.85);
+        entity.setPolicyVersion("gdpr-2024");
+        entity.setPolicyCoverage(0.5);
+        entity.setPolicyRulesEvaluated("[{\"ruleId\":\"R1\",\"status\":\"pass\"}]");
+        entity.setCanonicalFormat(CanonicalFormat.RESPONSE_CLAIM);
+        entity.setCreatedAt(Instant.now());
+        return entity;
+    }
+}
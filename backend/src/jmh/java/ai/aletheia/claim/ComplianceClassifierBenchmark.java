@@ -0,0 +1,78 @@
+package ai.aletheia.claim;
+
+import ai.aletheia.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ComplianceInferenceService#classify} with {@code policies} generated policies of 10 phrases each
+ * over a prompt of {@code size} chars, against lowercasing the prompt and calling {@code contains} per phrase
+ * (what {@code infer} did before).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComplianceClassifierBenchmark {
+
+    private static final int PHRASES_PER_POLICY = 10;
+
+    @Param({ "3", "300" })
+    int policies;
+
+    @Param({ "256", "4096" })
+    int size;
+
+    private ComplianceInferenceService service;
+    private List<ComplianceDictionary.Policy> dictionary;
+    private String prompt;
+
+    @Setup
+    public void setUp() {
+        dictionary = new ArrayList<>();
+        for (int p = 0; p < policies; p++) {
+            List<String> phrases = new ArrayList<>();
+            for (int i = 0; i < PHRASES_PER_POLICY; i++) {
+                phrases.add("regulation " + p + " article " + i);
+            }
+            dictionary.add(new ComplianceDictionary.Policy("policy-" + p, phrases));
+        }
+        service = new ComplianceInferenceService(new ComplianceDictionary(null, dictionary));
+        prompt = BenchmarkText.generate(size - 32, "ascii") + " Does Regulation 1 Article 2 apply?";
+    }
+
+    @Benchmark
+    public List<ComplianceMatch> automaton() {
+        return service.classify(prompt);
+    }
+
+    @Benchmark
+    public int containsPerPhrase() {
+        String lower = prompt.toLowerCase(Locale.ROOT);
+        int hits = 0;
+        for (ComplianceDictionary.Policy policy : dictionary) {
+            for (String phrase : policy.phrases()) {
+                if (lower.contains(phrase)) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
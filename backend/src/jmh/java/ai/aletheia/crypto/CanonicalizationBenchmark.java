@@ -0,0 +1,62 @@
+package ai.aletheia.crypto;
+
+import ai.aletheia.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CanonicalizationServiceImpl#canonicalize} and the streaming path
+ * ({@link IncrementalCanonicalizer} into {@link IncrementalHash}, fed in 64-char chunks like SSE deltas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalizationBenchmark {
+
+    private static final int STREAM_CHUNK_CHARS = 64;
+
+    @Param({ "1024", "16384", "131072", "524288" })
+    int size;
+
+    @Param({ "ascii", "unicode" })
+    String mix;
+
+    private final CanonicalizationServiceImpl canonicalizationService = new CanonicalizationServiceImpl();
+    private final HashServiceImpl hashService = new HashServiceImpl(canonicalizationService);
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkText.generate(size, mix);
+    }
+
+    @Benchmark
+    public byte[] canonicalize() {
+        return canonicalizationService.canonicalize(text);
+    }
+
+    @Benchmark
+    public String incrementalCanonicalizeAndHash() {
+        IncrementalHash hash = hashService.newIncrementalHash();
+        IncrementalCanonicalizer canonicalizer = canonicalizationService.incremental(hash);
+        for (int i = 0; i < text.length(); i += STREAM_CHUNK_CHARS) {
+            canonicalizer.append(text.subSequence(i, Math.min(text.length(), i + STREAM_CHUNK_CHARS)));
+        }
+        canonicalizer.finish();
+        return hash.hex();
+    }
+}
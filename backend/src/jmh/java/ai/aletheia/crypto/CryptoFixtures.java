@@ -0,0 +1,37 @@
+package ai.aletheia.crypto;
+
+import ai.aletheia.config.PqcSigningProperties;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Crypto services wired by hand for benchmarks (no Spring context): the test RSA key from the
+ * test classpath and a freshly generated ML-DSA key pair.
+ */
+public final class CryptoFixtures {
+
+    public static final String TEST_SIGNING_KEY = "classpath:test-signing-key.pem";
+
+    private CryptoFixtures() {}
+
+    public static SignatureServiceImpl signatureService() {
+        SignatureServiceImpl service = new SignatureServiceImpl(TEST_SIGNING_KEY, new DefaultResourceLoader());
+        service.loadKeys();
+        return service;
+    }
+
+    /**
+     * @param keyDir empty directory; {@link PqcKeyGen} writes the key pair there
+     */
+    public static PqcSignatureServiceImpl pqcSignatureService(Path keyDir) throws IOException {
+        PqcKeyGen.main(new String[] { keyDir.toString() });
+        PqcSigningProperties props = new PqcSigningProperties();
+        props.setPqcEnabled(true);
+        props.setPqcKeyPath(keyDir.resolve("ai_pqc.key").toString());
+        PqcSignatureServiceImpl service = new PqcSignatureServiceImpl(props);
+        service.loadKeys();
+        return service;
+    }
+}
@@ -0,0 +1,47 @@
+package ai.aletheia.crypto;
+
+import ai.aletheia.BenchmarkText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link HashServiceImpl#hash(byte[])} over canonical bytes of each response size. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+
+    @Param({ "1024", "16384", "131072", "524288" })
+    int size;
+
+    @Param({ "ascii", "unicode" })
+    String mix;
+
+    private HashServiceImpl hashService;
+    private byte[] canonical;
+
+    @Setup
+    public void setUp() {
+        CanonicalizationServiceImpl canonicalizationService = new CanonicalizationServiceImpl();
+        hashService = new HashServiceImpl(canonicalizationService);
+        canonical = canonicalizationService.canonicalize(BenchmarkText.generate(size, mix));
+    }
+
+    @Benchmark
+    public String hash() {
+        return hashService.hash(canonical);
+    }
+}
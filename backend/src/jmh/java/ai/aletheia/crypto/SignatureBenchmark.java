@@ -0,0 +1,80 @@
+package ai.aletheia.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * RSA ({@link SignatureServiceImpl}) and ML-DSA ({@link PqcSignatureServiceImpl}) sign/verify.
+ * Both sign the 32-byte response hash, so response size does not apply here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    private static final String HASH_HEX = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private SignatureServiceImpl signatureService;
+    private PqcSignatureServiceImpl pqcSignatureService;
+    private Path pqcKeyDir;
+    private byte[] hashBytes;
+    private String signatureBase64;
+    private byte[] pqcSignature;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        signatureService = CryptoFixtures.signatureService();
+        pqcKeyDir = Files.createTempDirectory("bench-pqc-");
+        pqcSignatureService = CryptoFixtures.pqcSignatureService(pqcKeyDir);
+        hashBytes = PqcSignatureServiceImpl.hashHexToBytes(HASH_HEX);
+        signatureBase64 = signatureService.sign(HASH_HEX);
+        pqcSignature = pqcSignatureService.sign(hashBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(pqcKeyDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String rsaSign() {
+        return signatureService.sign(HASH_HEX);
+    }
+
+    @Benchmark
+    public boolean rsaVerify() {
+        return signatureService.verify(HASH_HEX, signatureBase64);
+    }
+
+    @Benchmark
+    public byte[] pqcSign() {
+        return pqcSignatureService.sign(hashBytes);
+    }
+
+    @Benchmark
+    public boolean pqcVerify() {
+        return pqcSignatureService.verify(hashBytes, pqcSignature);
+    }
+}
@@ -0,0 +1,41 @@
+package ai.aletheia.crypto.impl;
+
+import ai.aletheia.crypto.CryptoFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/** {@link MockTsaServiceImpl#timestamp} of an RSA signature (what /ask sends to the TSA). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MockTsaBenchmark {
+
+    private MockTsaServiceImpl tsa;
+    private byte[] signature;
+
+    @Setup
+    public void setUp() {
+        tsa = TsaFixtures.mockTsa();
+        String hashHex = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+        signature = Base64.getDecoder().decode(CryptoFixtures.signatureService().sign(hashHex));
+    }
+
+    @Benchmark
+    public byte[] timestamp() {
+        return tsa.timestamp(signature);
+    }
+}
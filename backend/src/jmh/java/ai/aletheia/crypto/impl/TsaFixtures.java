@@ -0,0 +1,13 @@
+package ai.aletheia.crypto.impl;
+
+/** Timestamp services wired by hand for benchmarks (no Spring context). */
+public final class TsaFixtures {
+
+    private TsaFixtures() {}
+
+    public static MockTsaServiceImpl mockTsa() {
+        MockTsaServiceImpl tsa = new MockTsaServiceImpl();
+        tsa.init();
+        return tsa;
+    }
+}
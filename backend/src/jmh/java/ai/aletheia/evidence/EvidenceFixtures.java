@@ -0,0 +1,33 @@
+package ai.aletheia.evidence;
+
+import ai.aletheia.crypto.CanonicalizationService;
+import ai.aletheia.crypto.HashService;
+import ai.aletheia.crypto.SignatureService;
+import ai.aletheia.crypto.TimestampService;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/** Builds a complete Evidence Package for a response the way /ask + GET /evidence do. */
+public final class EvidenceFixtures {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private EvidenceFixtures() {}
+
+    public static Map<String, byte[]> buildPackage(String responseText,
+                                                   CanonicalizationService canonicalizationService,
+                                                   HashService hashService,
+                                                   SignatureService signatureService,
+                                                   TimestampService timestampService,
+                                                   EvidencePackageService evidencePackageService) {
+        byte[] canonical = canonicalizationService.canonicalize(responseText);
+        String hashHex = hashService.hash(canonical);
+        byte[] signature = Base64.getDecoder().decode(signatureService.sign(hashHex));
+        byte[] tsaToken = timestampService.timestamp(signature);
+        return evidencePackageService.buildPackage(
+                responseText, canonical, hashHex, signature, tsaToken,
+                "bench-model", CREATED_AT, 1L, signatureService.getPublicKeyPem(), null, null);
+    }
+}
@@ -0,0 +1,99 @@
+package ai.aletheia.evidence;
+
+import ai.aletheia.BenchmarkText;
+import ai.aletheia.crypto.CanonicalizationServiceImpl;
+import ai.aletheia.crypto.CryptoFixtures;
+import ai.aletheia.crypto.HashServiceImpl;
+import ai.aletheia.crypto.IncrementalCanonicalizer;
+import ai.aletheia.crypto.impl.TsaFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EvidencePackageServiceImpl#toZip} of a full package (response, canonical, signature, token, metadata).
+ * {@code zipFromText} and {@code writeZipStreamed} compare the buffered evidence endpoint (encode response and
+ * canonical bytes, build the ZIP in memory) with the streamed one (entries encoded while writing to the sink).
+ * With {@code -prof gc}, note that {@code gc.alloc.rate.norm} is total allocation, not peak heap: the streamed
+ * path allocates per line and per deflate buffer but never holds the whole response, canonical bytes or ZIP.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvidencePackageBenchmark {
+
+    @Param({ "1024", "16384", "131072", "524288" })
+    int size;
+
+    @Param({ "ascii", "unicode" })
+    String mix;
+
+    private final EvidencePackageServiceImpl evidencePackageService = new EvidencePackageServiceImpl();
+    private final CanonicalizationServiceImpl canonicalizationService = new CanonicalizationServiceImpl();
+    private String text;
+    private Map<String, byte[]> files;
+    private Map<String, byte[]> placeholders;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkText.generate(size, mix);
+        files = EvidenceFixtures.buildPackage(
+                text,
+                canonicalizationService,
+                new HashServiceImpl(canonicalizationService),
+                CryptoFixtures.signatureService(),
+                TsaFixtures.mockTsa(),
+                evidencePackageService);
+        placeholders = new LinkedHashMap<>(files);
+        placeholders.put(EvidencePackageServiceImpl.RESPONSE_TXT, null);
+        placeholders.put(EvidencePackageServiceImpl.CANONICAL_BIN, null);
+    }
+
+    @Benchmark
+    public byte[] toZip() {
+        return evidencePackageService.toZip(files);
+    }
+
+    @Benchmark
+    public byte[] zipFromText() {
+        Map<String, byte[]> copy = new LinkedHashMap<>(placeholders);
+        copy.put(EvidencePackageServiceImpl.RESPONSE_TXT, text.getBytes(StandardCharsets.UTF_8));
+        copy.put(EvidencePackageServiceImpl.CANONICAL_BIN, canonicalizationService.canonicalize(text));
+        return evidencePackageService.toZip(copy);
+    }
+
+    @Benchmark
+    public void writeZipStreamed() throws IOException {
+        evidencePackageService.writeZip(placeholders, Map.of(
+                EvidencePackageServiceImpl.RESPONSE_TXT, out -> {
+                    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                    writer.write(text);
+                    writer.flush();
+                },
+                EvidencePackageServiceImpl.CANONICAL_BIN, out -> {
+                    IncrementalCanonicalizer canonicalizer = canonicalizationService.incremental(out);
+                    canonicalizer.append(text);
+                    canonicalizer.finish();
+                }), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,74 @@
+package ai.aletheia.verifier;
+
+import ai.aletheia.BenchmarkText;
+import ai.aletheia.crypto.CanonicalizationServiceImpl;
+import ai.aletheia.crypto.CryptoFixtures;
+import ai.aletheia.crypto.HashServiceImpl;
+import ai.aletheia.crypto.impl.TsaFixtures;
+import ai.aletheia.evidence.EvidenceFixtures;
+import ai.aletheia.evidence.EvidencePackageServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/** Offline {@link EvidenceVerifierImpl#verify} of an .aep file on disk (unzip, hash, RSA, TSA token). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvidenceVerifierBenchmark {
+
+    @Param({ "1024", "16384", "131072", "524288" })
+    int size;
+
+    @Param({ "ascii", "unicode" })
+    String mix;
+
+    private final EvidenceVerifierImpl verifier = new EvidenceVerifierImpl();
+    private Path aep;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CanonicalizationServiceImpl canonicalizationService = new CanonicalizationServiceImpl();
+        EvidencePackageServiceImpl evidencePackageService = new EvidencePackageServiceImpl();
+        byte[] zip = evidencePackageService.toZip(EvidenceFixtures.buildPackage(
+                BenchmarkText.generate(size, mix),
+                canonicalizationService,
+                new HashServiceImpl(canonicalizationService),
+                CryptoFixtures.signatureService(),
+                TsaFixtures.mockTsa(),
+                evidencePackageService));
+        aep = Files.createTempFile("bench-", ".aep");
+        Files.write(aep, zip);
+        if (!verifier.verify(aep).valid()) {
+            throw new IllegalStateException("Benchmark package does not verify: " + verifier.verify(aep).report());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(aep);
+    }
+
+    @Benchmark
+    public VerificationResult verify() {
+        return verifier.verify(aep);
+    }
+}
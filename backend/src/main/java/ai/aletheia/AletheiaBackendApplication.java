@@ -1,12 +1,23 @@
 package ai.aletheia;
 
+import ai.aletheia.config.ArchiveProperties;
+import ai.aletheia.config.AskAsyncProperties;
+import ai.aletheia.config.AuditWriteBehindProperties;
+import ai.aletheia.config.ContentBlobProperties;
+import ai.aletheia.config.EvidenceCacheProperties;
+import ai.aletheia.config.EvidenceExportProperties;
+import ai.aletheia.config.LlmProperties;
 import ai.aletheia.config.PqcSigningProperties;
+import ai.aletheia.config.TsaBatchProperties;
+import ai.aletheia.config.VerifyBatchProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(PqcSigningProperties.class)
+@EnableConfigurationProperties({PqcSigningProperties.class, TsaBatchProperties.class, AskAsyncProperties.class,
+		VerifyBatchProperties.class, EvidenceExportProperties.class, EvidenceCacheProperties.class,
+		AuditWriteBehindProperties.class, ContentBlobProperties.class, ArchiveProperties.class, LlmProperties.class})
 public class AletheiaBackendApplication {
 
 	public static void main(String[] args) {
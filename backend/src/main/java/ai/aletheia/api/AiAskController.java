@@ -2,18 +2,20 @@ package ai.aletheia.api;
 
 import ai.aletheia.api.dto.AiAskRequest;
 import ai.aletheia.api.dto.AiAskResponse;
+import ai.aletheia.audit.AsyncEvidencePipeline;
 import ai.aletheia.audit.AuditRecordService;
+import ai.aletheia.audit.EvidenceCompletionService;
 import ai.aletheia.audit.dto.AuditRecordRequest;
+import ai.aletheia.audit.dto.EvidenceCompletion;
 import ai.aletheia.claim.ClaimCanonical;
 import ai.aletheia.claim.ComplianceClaim;
 import ai.aletheia.claim.ComplianceInferenceService;
 import ai.aletheia.crypto.CanonicalizationService;
 import ai.aletheia.crypto.HashService;
-import ai.aletheia.crypto.PqcSignatureService;
-import ai.aletheia.crypto.PqcSignatureServiceImpl;
+import ai.aletheia.crypto.IncrementalCanonicalizer;
+import ai.aletheia.crypto.IncrementalHash;
 import ai.aletheia.crypto.SignatureService;
-import ai.aletheia.crypto.TimestampException;
-import ai.aletheia.crypto.TimestampService;
+import ai.aletheia.db.entity.EvidenceStatus;
 import ai.aletheia.llm.LLMClient;
 import ai.aletheia.llm.LLMException;
 import ai.aletheia.llm.LLMResult;
@@ -21,6 +23,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -28,16 +31,32 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Main AI endpoint: prompt → LLM → canonicalize → hash → sign → timestamp → store.
  *
  * <p>Requires {@link LLMClient} bean (e.g. OPENAI_API_KEY set).
  * Returns verifiable response with id for GET /api/ai/verify/:id.
+ * TSA and PQC steps run through {@link EvidenceCompletionService}. When {@link AsyncEvidencePipeline}
+ * is enabled, the response is returned once hash and signature exist (status PENDING_TIMESTAMP)
+ * and the record is completed in the background.
+ * POST /api/ai/ask/stream is the server-sent-events variant: chunks are forwarded as they are
+ * generated and the same response arrives as the final event. At most
+ * {@code ai.aletheia.ask.stream.max-concurrent} streams run at once (further ones get 503); with
+ * {@code spring.threads.virtual.enabled=true} each runs on a virtual thread.
  */
 @RestController
 @RequestMapping("/api/ai")
@@ -45,37 +64,61 @@ import java.util.Map;
 public class AiAskController {
 
     private static final Logger log = LoggerFactory.getLogger(AiAskController.class);
+    /** SSE connection limit; covers the LLM call plus sign/TSA/store. */
+    private static final long STREAM_TIMEOUT_MS = 180_000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
 
     private final LLMClient llmClient;
     private final CanonicalizationService canonicalizationService;
     private final HashService hashService;
     private final SignatureService signatureService;
-    private final TimestampService timestampService;
     private final AuditRecordService auditRecordService;
     private final ComplianceInferenceService complianceInferenceService;
-    private final PqcSignatureService pqcSignatureService;
+    private final EvidenceCompletionService evidenceCompletionService;
+    private final AsyncEvidencePipeline asyncEvidencePipeline;
+    /** One thread per open stream, at most {@link #streamSlots} of them. */
+    private final ExecutorService streamExecutor;
+    private final Semaphore streamSlots;
 
     public AiAskController(
             LLMClient llmClient,
             CanonicalizationService canonicalizationService,
             HashService hashService,
             SignatureService signatureService,
-            TimestampService timestampService,
             AuditRecordService auditRecordService,
             ComplianceInferenceService complianceInferenceService,
-            @org.springframework.beans.factory.annotation.Autowired(required = false) PqcSignatureService pqcSignatureService) {
+            EvidenceCompletionService evidenceCompletionService,
+            @org.springframework.beans.factory.annotation.Autowired(required = false) AsyncEvidencePipeline asyncEvidencePipeline,
+            @Value("${ai.aletheia.ask.stream.max-concurrent:64}") int maxStreams,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.llmClient = llmClient;
         this.canonicalizationService = canonicalizationService;
         this.hashService = hashService;
         this.signatureService = signatureService;
-        this.timestampService = timestampService;
         this.auditRecordService = auditRecordService;
         this.complianceInferenceService = complianceInferenceService;
-        this.pqcSignatureService = pqcSignatureService;
+        this.evidenceCompletionService = evidenceCompletionService;
+        this.asyncEvidencePipeline = asyncEvidencePipeline;
+        this.streamSlots = new Semaphore(Math.max(1, maxStreams));
+        this.streamExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(streamThreadFactory(true))
+                : Executors.newCachedThreadPool(streamThreadFactory(false));
+    }
+
+    private static ThreadFactory streamThreadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("ask-stream-", 1).factory();
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "ask-stream-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 
     @Operation(summary = "Ask AI", description = "Full flow: prompt → LLM → canonicalize → hash → sign → timestamp → save. Requires OPENAI_API_KEY.")
-    @ApiResponse(responseCode = "200", description = "Verifiable response with id, hash, signature, tsaToken")
+    @ApiResponse(responseCode = "200", description = "Verifiable response with id, hash, signature, tsaToken, status (tsaToken null while PENDING_TIMESTAMP)")
     @ApiResponse(responseCode = "400", description = "Missing or empty prompt")
     @ApiResponse(responseCode = "502", description = "LLM failed")
     @ApiResponse(responseCode = "503", description = "Processing failed")
@@ -88,95 +131,21 @@ public class AiAskController {
         try {
             LLMResult llmResult = llmClient.complete(request.prompt());
             String responseText = llmResult.responseText();
-            String modelId = llmResult.modelId();
 
             byte[] canonical = canonicalizationService.canonicalize(responseText);
-            String canonicalResponse = new String(canonical, StandardCharsets.UTF_8);
-
             ComplianceClaim compliance = complianceInferenceService.infer(request.prompt(), responseText);
             String responseHash;
-            String claim = null;
-            Double confidence = null;
-            String policyVersion = null;
-
             if (compliance != null) {
-                byte[] claimBytes = ClaimCanonical.toCanonicalBytes(
-                        compliance.claim(), compliance.confidence(), modelId, compliance.policyVersion());
-                byte[] bytesToSign = new byte[canonical.length + 1 + claimBytes.length];
+                byte[] claimBytes = claimSuffix(compliance, llmResult.modelId());
+                byte[] bytesToSign = new byte[canonical.length + claimBytes.length];
                 System.arraycopy(canonical, 0, bytesToSign, 0, canonical.length);
-                bytesToSign[canonical.length] = '\n';
-                System.arraycopy(claimBytes, 0, bytesToSign, canonical.length + 1, claimBytes.length);
+                System.arraycopy(claimBytes, 0, bytesToSign, canonical.length, claimBytes.length);
                 responseHash = hashService.hash(bytesToSign);
-                claim = compliance.claim();
-                confidence = compliance.confidence();
-                policyVersion = compliance.policyVersion();
             } else {
                 responseHash = hashService.hash(canonical);
             }
 
-            String signature = null;
-            try {
-                signature = signatureService.sign(responseHash);
-            } catch (IllegalStateException e) {
-                if (e.getMessage() == null || !e.getMessage().contains("Signing key not configured")) {
-                    throw e;
-                }
-                log.debug("Signing key not configured, proceeding without signature");
-            }
-
-            String tsaToken = null;
-            if (signature != null) {
-                try {
-                    byte[] signatureBytes = Base64.getDecoder().decode(signature);
-                    byte[] token = timestampService.timestamp(signatureBytes);
-                    tsaToken = Base64.getEncoder().encodeToString(token);
-                } catch (TimestampException e) {
-                    log.warn("TSA failed, saving without tsaToken: {}", e.getMessage());
-                }
-            }
-
-            String signaturePqcBase64 = null;
-            String pqcPublicKeyPem = null;
-            if (signature != null && pqcSignatureService != null && pqcSignatureService.isAvailable()) {
-                try {
-                    byte[] hashBytes = PqcSignatureServiceImpl.hashHexToBytes(responseHash);
-                    byte[] pqcSig = pqcSignatureService.sign(hashBytes);
-                    signaturePqcBase64 = Base64.getEncoder().encodeToString(pqcSig);
-                    pqcPublicKeyPem = pqcSignatureService.getPublicKeyPem();
-                } catch (Exception e) {
-                    log.warn("PQC signing failed, continuing without PQC signature: {}", e.getMessage());
-                }
-            }
-            AuditRecordRequest auditRequest = new AuditRecordRequest(
-                    request.prompt(),
-                    canonicalResponse,
-                    responseHash,
-                    signature,
-                    signaturePqcBase64,
-                    pqcPublicKeyPem,
-                    tsaToken,
-                    modelId,
-                    null,
-                    llmResult.temperature(),
-                    null,
-                    1,
-                    claim,
-                    confidence,
-                    policyVersion
-            );
-            Long id = auditRecordService.save(auditRequest);
-
-            log.info("AI ask: id={}, model={}, promptLen={}, responseLen={}, temperature={}",
-                    id, modelId, request.prompt().length(), responseText.length(), llmResult.temperature());
-
-            return ResponseEntity.ok(new AiAskResponse(
-                    canonicalResponse,
-                    responseHash,
-                    signature,
-                    tsaToken,
-                    id,
-                    modelId
-            ));
+            return ResponseEntity.ok(signAndStore(request.prompt(), llmResult, canonical, compliance, responseHash));
         } catch (LLMException e) {
             log.warn("LLM failed: {}", e.getMessage());
             return ResponseEntity.status(502).body(Map.of(
@@ -191,4 +160,192 @@ public class AiAskController {
             ));
         }
     }
+
+    @Operation(summary = "Ask AI (streaming)", description = "Same flow as /ask, streamed as server-sent events: "
+            + "'chunk' events ({\"text\": ...}) while the LLM generates, then one 'done' event with the /ask response "
+            + "(id, hash, signature, tsaToken, status), or one 'error' event. Canonicalization and hashing run as chunks "
+            + "arrive; the hash equals the one /ask would compute for the same text.")
+    @ApiResponse(responseCode = "200", description = "text/event-stream of chunk events and a final done or error event")
+    @ApiResponse(responseCode = "400", description = "Missing or empty prompt (single error event)")
+    @ApiResponse(responseCode = "503", description = "Too many open streams (single error event)")
+    @PostMapping(value = "/ask/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SseEmitter> askStream(@RequestBody AiAskRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        if (request == null || request.prompt() == null || request.prompt().isBlank()) {
+            StreamSender sender = new StreamSender(emitter);
+            sender.send("error", Map.of("error", "Missing or empty 'prompt'"));
+            sender.complete();
+            return ResponseEntity.badRequest().body(emitter);
+        }
+        if (!streamSlots.tryAcquire()) {
+            StreamSender sender = new StreamSender(emitter);
+            sender.send("error", Map.of("error", "Too many open streams"));
+            sender.complete();
+            return ResponseEntity.status(503).body(emitter);
+        }
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    runStream(request.prompt(), emitter);
+                } finally {
+                    streamSlots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected: shutting down
+            streamSlots.release();
+            throw e;
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Stream the LLM output to the client while feeding it through the incremental canonicalizer into
+     * the response hash. Sign, timestamp and store happen once the LLM is done. A client that goes away
+     * mid-stream does not stop the record from being stored.
+     */
+    private void runStream(String prompt, SseEmitter emitter) {
+        StreamSender sender = new StreamSender(emitter);
+        try {
+            ByteArrayOutputStream canonicalCopy = new ByteArrayOutputStream();
+            IncrementalHash hash = hashService.newIncrementalHash();
+            IncrementalCanonicalizer canonicalizer = canonicalizationService.incremental(canonicalCopy, hash);
+
+            LLMResult llmResult = llmClient.stream(prompt, chunk -> {
+                canonicalizer.append(chunk);
+                sender.send("chunk", Map.of("text", chunk));
+            });
+            canonicalizer.finish();
+
+            ComplianceClaim compliance = complianceInferenceService.infer(prompt, llmResult.responseText());
+            if (compliance != null) {
+                hash.write(claimSuffix(compliance, llmResult.modelId()));
+            }
+            AiAskResponse response = signAndStore(prompt, llmResult, canonicalCopy.toByteArray(), compliance, hash.hex());
+            sender.send("done", response);
+            sender.complete();
+        } catch (LLMException e) {
+            log.warn("LLM stream failed: {}", e.getMessage());
+            sender.send("error", Map.of("error", "LLM failed", "message", e.getMessage()));
+            sender.complete();
+        } catch (Exception e) {
+            log.error("AI ask stream failed", e);
+            sender.send("error", Map.of("error", "Processing failed", "message", String.valueOf(e.getMessage())));
+            sender.complete();
+        }
+    }
+
+    /** {@code '\n' + canonical claim}: appended to the canonical response before hashing when a claim is inferred. */
+    private static byte[] claimSuffix(ComplianceClaim compliance, String modelId) {
+        byte[] claimBytes = ClaimCanonical.toCanonicalBytes(
+                compliance.claim(), compliance.confidence(), modelId, compliance.policyVersion());
+        byte[] suffix = new byte[claimBytes.length + 1];
+        suffix[0] = '\n';
+        System.arraycopy(claimBytes, 0, suffix, 1, claimBytes.length);
+        return suffix;
+    }
+
+    /**
+     * Sign the hash, run (or defer) TSA/PQC and save the record. Shared by /ask and /ask/stream.
+     */
+    private AiAskResponse signAndStore(String prompt, LLMResult llmResult, byte[] canonical,
+                                       ComplianceClaim compliance, String responseHash) {
+        String modelId = llmResult.modelId();
+        String canonicalResponse = new String(canonical, StandardCharsets.UTF_8);
+
+        String signature = null;
+        try {
+            signature = signatureService.sign(responseHash);
+        } catch (IllegalStateException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("Signing key not configured")) {
+                throw e;
+            }
+            log.debug("Signing key not configured, proceeding without signature");
+        }
+
+        boolean deferred = signature != null && asyncEvidencePipeline != null;
+        EvidenceCompletion completion = deferred
+                ? EvidenceCompletion.none()
+                : evidenceCompletionService.complete(signature, responseHash);
+        AuditRecordRequest auditRequest = new AuditRecordRequest(
+                prompt,
+                canonicalResponse,
+                responseHash,
+                signature,
+                completion.signaturePqc(),
+                completion.pqcPublicKeyPem(),
+                completion.tsaToken(),
+                modelId,
+                null,
+                llmResult.temperature(),
+                null,
+                1,
+                compliance != null ? compliance.claim() : null,
+                compliance != null ? compliance.confidence() : null,
+                compliance != null ? compliance.policyVersion() : null,
+                completion.tsaMerkleProof()
+        );
+        Long id;
+        EvidenceStatus status;
+        if (deferred) {
+            id = auditRecordService.savePending(auditRequest);
+            status = EvidenceStatus.PENDING_TIMESTAMP;
+            asyncEvidencePipeline.submit(id, signature, responseHash);
+        } else {
+            id = auditRecordService.save(auditRequest, completion.status());
+            status = completion.status();
+        }
+
+        log.info("AI ask: id={}, model={}, promptLen={}, responseLen={}, temperature={}",
+                id, modelId, prompt.length(), llmResult.responseText().length(), llmResult.temperature());
+
+        return new AiAskResponse(
+                canonicalResponse,
+                responseHash,
+                signature,
+                completion.tsaToken(),
+                id,
+                modelId,
+                status
+        );
+    }
+
+    /** Let open streams sign and store their record before the context closes. */
+    @PreDestroy
+    void shutdownStreams() throws InterruptedException {
+        streamExecutor.shutdown();
+        if (!streamExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            streamExecutor.shutdownNow();
+            log.warn("AI ask streams still open after {}s were interrupted; their records may not be stored",
+                    SHUTDOWN_TIMEOUT_SECONDS);
+        }
+    }
+
+    /** Sends SSE events until the first send fails (client gone); later sends are dropped. */
+    private static final class StreamSender {
+        private final SseEmitter emitter;
+        private boolean clientGone;
+
+        StreamSender(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(String name, Object data) {
+            if (clientGone) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                clientGone = true;
+                log.debug("SSE client gone, continuing without sending: {}", e.getMessage());
+            }
+        }
+
+        void complete() {
+            if (!clientGone) {
+                emitter.complete();
+            }
+        }
+    }
 }
@@ -1,19 +1,21 @@
 package ai.aletheia.api;
 
 import ai.aletheia.api.dto.ErrorResponse;
-import ai.aletheia.claim.ClaimCanonical;
-import ai.aletheia.crypto.CanonicalizationService;
-import ai.aletheia.crypto.PqcSignatureService;
+import ai.aletheia.audit.EvidenceExportService;
+import ai.aletheia.audit.EvidencePackageCache;
+import ai.aletheia.audit.RecordArchive;
+import ai.aletheia.audit.RecordEvidenceService;
+import ai.aletheia.audit.dto.EvidenceCacheStats;
 import ai.aletheia.crypto.SignatureService;
 import ai.aletheia.db.AiResponseRepository;
 import ai.aletheia.db.entity.AiResponse;
-import ai.aletheia.evidence.EvidencePackageService;
-import ai.aletheia.policy.PolicyEvaluationService;
-import ai.aletheia.policy.PolicyRuleResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,18 +24,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * Evidence Package endpoint: GET /api/ai/evidence/:id returns the .aep (ZIP) or JSON with base64 file contents.
  *
- * <p>Loads the stored response by id, recomputes canonical bytes, gathers signature and TSA token from DB,
- * loads public key, builds the Evidence Package (DP2.1.1), and returns either ZIP or JSON.
+ * <p>Loads the stored response by id and builds the Evidence Package (DP2.1.1) with
+ * {@link RecordEvidenceService}, returning either ZIP or JSON. ZIPs of records with final evidence come from
+ * {@link EvidencePackageCache} with an ETag (If-None-Match gives 304); others are written straight to the
+ * response output stream. Ids no longer in ai_response are looked up in {@link RecordArchive}.
+ *
+ * <p>GET /api/ai/evidence/export streams the packages of a whole created_at range as one archive;
+ * see {@link EvidenceExportService}.
  */
 @RestController
 @RequestMapping("/api/ai")
@@ -41,28 +50,64 @@ public class AiEvidenceController {
 
     private static final Logger log = LoggerFactory.getLogger(AiEvidenceController.class);
 
-    private static final String PQC_ALGORITHM_NAME = "ML-DSA (Dilithium3)";
-
     private final AiResponseRepository repository;
-    private final CanonicalizationService canonicalizationService;
+    private final RecordArchive recordArchive;
     private final SignatureService signatureService;
-    private final EvidencePackageService evidencePackageService;
-    private final PqcSignatureService pqcSignatureService;
-    private final PolicyEvaluationService policyEvaluationService;
+    private final RecordEvidenceService recordEvidenceService;
+    private final EvidenceExportService evidenceExportService;
+    private final EvidencePackageCache evidencePackageCache;
+    private final ObjectMapper objectMapper;
 
     public AiEvidenceController(
             AiResponseRepository repository,
-            CanonicalizationService canonicalizationService,
+            RecordArchive recordArchive,
             SignatureService signatureService,
-            EvidencePackageService evidencePackageService,
-            PolicyEvaluationService policyEvaluationService,
-            @org.springframework.beans.factory.annotation.Autowired(required = false) PqcSignatureService pqcSignatureService) {
+            RecordEvidenceService recordEvidenceService,
+            EvidenceExportService evidenceExportService,
+            EvidencePackageCache evidencePackageCache,
+            ObjectMapper objectMapper) {
         this.repository = repository;
-        this.canonicalizationService = canonicalizationService;
+        this.recordArchive = recordArchive;
         this.signatureService = signatureService;
-        this.evidencePackageService = evidencePackageService;
-        this.policyEvaluationService = policyEvaluationService;
-        this.pqcSignatureService = pqcSignatureService;
+        this.recordEvidenceService = recordEvidenceService;
+        this.evidenceExportService = evidenceExportService;
+        this.evidencePackageCache = evidencePackageCache;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * All Evidence Packages of a created_at range as one ZIP ({@code from} inclusive, {@code to} exclusive,
+     * ISO-8601): one .aep per record plus manifest.json; see {@link EvidenceExportService}.
+     * The body is a stream, so a bad request is also returned as a (single JSON object) stream.
+     */
+    @Operation(summary = "Export Evidence Packages",
+            description = "Stream a ZIP with one .aep per record created in [from, to), oldest first, and manifest.json with the size and SHA-256 of each package")
+    @ApiResponse(responseCode = "200", description = "ZIP (application/zip) of .aep files and manifest.json")
+    @ApiResponse(responseCode = "400", description = "Missing or invalid range")
+    @ApiResponse(responseCode = "503", description = "Signing key not configured")
+    @GetMapping(value = "/evidence/export", produces = { "application/zip", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            String message = from == null || to == null ? "Both 'from' and 'to' are required" : "'from' must be before 'to'";
+            return jsonStream(400, Map.of("error", "Invalid export request", "message", message));
+        }
+        String publicKeyPem;
+        try {
+            publicKeyPem = signatureService.getPublicKeyPem();
+        } catch (IllegalStateException e) {
+            log.warn("Evidence export requested but signing key not configured: {}", e.getMessage());
+            return jsonStream(503, Map.of(
+                    "error", "Signing key not configured",
+                    "message", "Evidence Package requires a configured signing key to include public_key.pem."
+            ));
+        }
+        String filename = "aletheia-evidence-" + from.toEpochMilli() + "-" + to.toEpochMilli() + ".zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(out -> evidenceExportService.export(from, to, publicKeyPem, out));
     }
 
     @Operation(summary = "Evidence Package", description = "Build and return Evidence Package (.aep) for a stored response by id. Returns ZIP or JSON with base64 file contents.")
@@ -72,9 +117,20 @@ public class AiEvidenceController {
     @GetMapping(value = "/evidence/{id}", produces = { MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.APPLICATION_JSON_VALUE })
     public ResponseEntity<Object> evidence(
             @PathVariable Long id,
-            @RequestParam(name = "format", required = false) String format) {
+            @RequestParam(name = "format", required = false) String format,
+            HttpServletResponse response) throws IOException {
 
-        Optional<AiResponse> opt = repository.findById(id);
+        boolean wantJson = "json".equalsIgnoreCase(format);
+        if (!wantJson) {
+            // A cached package means the record exists and its evidence is final: no DB read, no rebuild
+            String cachedKeyPem = publicKeyPemOrNull();
+            EvidencePackageCache.CachedPackage cached = cachedKeyPem != null ? evidencePackageCache.get(id, cachedKeyPem) : null;
+            if (cached != null) {
+                return zipResponse(id, cached);
+            }
+        }
+
+        Optional<AiResponse> opt = repository.findById(id).or(() -> recordArchive.find(id));
         if (opt.isEmpty()) {
             return ResponseEntity.status(404)
                     .contentType(MediaType.APPLICATION_JSON)
@@ -93,85 +149,8 @@ public class AiEvidenceController {
             ));
         }
 
-        byte[] responseCanonical = canonicalizationService.canonicalize(entity.getResponse());
-        byte[] canonicalBytes;
-        String claim = entity.getClaim();
-        Double confidence = entity.getConfidence();
-        String policyVersion = entity.getPolicyVersion();
-        Double policyCoverage = entity.getPolicyCoverage();
-        List<PolicyRuleResult> policyRules = policyEvaluationService.fromJson(entity.getPolicyRulesEvaluated());
-
-        if (claim != null || policyVersion != null) {
-            byte[] claimBytes = ClaimCanonical.toCanonicalBytes(
-                    claim, confidence, entity.getLlmModel(), policyVersion);
-            canonicalBytes = new byte[responseCanonical.length + 1 + claimBytes.length];
-            System.arraycopy(responseCanonical, 0, canonicalBytes, 0, responseCanonical.length);
-            canonicalBytes[responseCanonical.length] = '\n';
-            System.arraycopy(claimBytes, 0, canonicalBytes, responseCanonical.length + 1, claimBytes.length);
-        } else {
-            canonicalBytes = responseCanonical;
-        }
-
-        byte[] signatureBytes = entity.getSignature() != null && !entity.getSignature().isBlank()
-                ? Base64.getDecoder().decode(entity.getSignature())
-                : null;
-        byte[] tsaTokenBytes = entity.getTsaToken() != null && !entity.getTsaToken().isBlank()
-                ? Base64.getDecoder().decode(entity.getTsaToken())
-                : null;
-
-        byte[] signaturePqcBytes = null;
-        String pqcPublicKeyPem = null;
-        if (entity.getSignaturePqc() != null && !entity.getSignaturePqc().isBlank()) {
-            signaturePqcBytes = Base64.getDecoder().decode(entity.getSignaturePqc());
-            pqcPublicKeyPem = entity.getPqcPublicKeyPem();
-            if (pqcPublicKeyPem == null || pqcPublicKeyPem.isBlank()) {
-                if (pqcSignatureService != null && pqcSignatureService.isAvailable()) {
-                    pqcPublicKeyPem = pqcSignatureService.getPublicKeyPem();
-                }
-            }
-        }
-
-        Map<String, byte[]> files;
-        if (claim != null || policyVersion != null) {
-            files = evidencePackageService.buildPackage(
-                    entity.getResponse(),
-                    canonicalBytes,
-                    entity.getResponseHash(),
-                    signatureBytes,
-                    tsaTokenBytes,
-                    entity.getLlmModel(),
-                    entity.getCreatedAt(),
-                    entity.getId(),
-                    publicKeyPem,
-                    claim,
-                    confidence,
-                    policyVersion,
-                    policyCoverage,
-                    policyRules,
-                    signaturePqcBytes,
-                    pqcPublicKeyPem,
-                    PQC_ALGORITHM_NAME);
-        } else {
-            files = evidencePackageService.buildPackage(
-                    entity.getResponse(),
-                    canonicalBytes,
-                    entity.getResponseHash(),
-                    signatureBytes,
-                    tsaTokenBytes,
-                    entity.getLlmModel(),
-                    entity.getCreatedAt(),
-                    entity.getId(),
-                    publicKeyPem,
-                    policyCoverage,
-                    policyRules,
-                    signaturePqcBytes,
-                    pqcPublicKeyPem,
-                    PQC_ALGORITHM_NAME);
-        }
-
-        boolean wantJson = "json".equalsIgnoreCase(format);
-
         if (wantJson) {
+            Map<String, byte[]> files = recordEvidenceService.files(entity, publicKeyPem);
             Map<String, String> json = new LinkedHashMap<>();
             files.forEach((name, content) -> json.put(name, Base64.getEncoder().encodeToString(content)));
             return ResponseEntity.ok()
@@ -179,11 +158,50 @@ public class AiEvidenceController {
                     .body(json);
         }
 
-        byte[] zip = evidencePackageService.toZip(files);
-        String filename = "aletheia-evidence-" + id + ".aep";
+        if (evidencePackageCache.isCacheable(entity)) {
+            return zipResponse(id, evidencePackageCache.build(entity, publicKeyPem));
+        }
+
+        // Pending or very large: the ZIP goes straight to the servlet output. response.txt and canonical.bin
+        // are encoded while the entry is written, so apart from the loaded entity nothing grows with the response size.
+        String filename = EvidenceExportService.packageFileName(id);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        recordEvidenceService.writeZip(entity, publicKeyPem, response.getOutputStream());
+        response.flushBuffer();
+        // Body already written; null tells Spring MVC the response is complete
+        return null;
+    }
+
+    @Operation(summary = "Evidence cache statistics", description = "Hit, miss, eviction and spill counters of the Evidence Package cache since startup")
+    @ApiResponse(responseCode = "200", description = "Cache counters and current size")
+    @GetMapping(value = "/evidence/cache/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EvidenceCacheStats> cacheStats() {
+        return ResponseEntity.ok(evidencePackageCache.stats());
+    }
+
+    /** Cached package with its ETag; Spring answers a matching If-None-Match with 304 and no body. */
+    private static ResponseEntity<Object> zipResponse(Long id, EvidencePackageCache.CachedPackage pkg) {
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType("application/zip"))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(zip);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + EvidenceExportService.packageFileName(id) + "\"")
+                .eTag(pkg.etag())
+                .contentLength(pkg.zip().length)
+                .body(pkg.zip());
+    }
+
+    private String publicKeyPemOrNull() {
+        try {
+            return signatureService.getPublicKeyPem();
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> jsonStream(int status, Map<String, String> body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, body));
     }
 }
@@ -0,0 +1,113 @@
+package ai.aletheia.api;
+
+import ai.aletheia.api.dto.AiResponseListResponse;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.AiResponseSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists stored records for the history page, newest first, with keyset pagination on (created_at, id).
+ *
+ * <p>Rows are read as {@link AiResponseSummary} projections: no prompt, response or other TEXT column is
+ * loaded, so a page costs the same however long the responses are. The full record stays behind
+ * GET /api/ai/verify/{id}. {@code nextCursor} encodes the last row of the page; unlike an offset it stays
+ * correct while new records are added.
+ */
+@RestController
+@RequestMapping("/api/ai")
+public class AiResponseListController {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+    /** Upper bound when {@code to} is omitted; within the range of every supported database. */
+    private static final Instant MAX_CREATED_AT = Instant.parse("9999-12-31T23:59:59Z");
+
+    private final AiResponseRepository repository;
+
+    public AiResponseListController(AiResponseRepository repository) {
+        this.repository = repository;
+    }
+
+    @Operation(summary = "List records",
+            description = "Metadata and hashes of stored records, newest first; keyset pagination via nextCursor")
+    @ApiResponse(responseCode = "200", description = "One page of records")
+    @ApiResponse(responseCode = "400", description = "Invalid limit, range or cursor")
+    @GetMapping(value = "/responses", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> list(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > MAX_LIMIT) {
+            return badRequest("'limit' must be between 1 and " + MAX_LIMIT);
+        }
+        Instant lower = from != null ? from : Instant.EPOCH;
+        Instant upper = to != null ? to : MAX_CREATED_AT;
+        if (!lower.isBefore(upper)) {
+            return badRequest("'from' must be before 'to'");
+        }
+        Instant beforeCreatedAt = upper;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor c = Cursor.decode(cursor);
+            if (c == null) {
+                return badRequest("Invalid cursor");
+            }
+            beforeCreatedAt = c.createdAt();
+            beforeId = c.id();
+        }
+        // One extra row tells whether there is a next page
+        List<AiResponseSummary> rows = repository.findSummaries(
+                lower, upper, beforeCreatedAt, beforeId, PageRequest.ofSize(size + 1));
+        if (rows.size() <= size) {
+            return ResponseEntity.ok(new AiResponseListResponse(rows, null));
+        }
+        List<AiResponseSummary> page = rows.subList(0, size);
+        AiResponseSummary last = page.get(size - 1);
+        return ResponseEntity.ok(new AiResponseListResponse(page, new Cursor(last.createdAt(), last.id()).encode()));
+    }
+
+    private static ResponseEntity<Object> badRequest(String message) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid list request", "message", message));
+    }
+
+    /** Last row of a page: Base64url of {@code <ISO-8601 created_at>,<id>}. */
+    record Cursor(Instant createdAt, long id) {
+
+        String encode() {
+            String raw = createdAt + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** @return null if {@code value} is not a cursor produced by {@link #encode} */
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int comma = raw.indexOf(',');
+                if (comma < 0) {
+                    return null;
+                }
+                return new Cursor(Instant.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+}
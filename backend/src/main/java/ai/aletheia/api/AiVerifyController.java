@@ -1,101 +1,153 @@
 package ai.aletheia.api;
 
-import ai.aletheia.claim.ClaimCanonical;
+import ai.aletheia.api.dto.AiVerifyBatchRequest;
 import ai.aletheia.api.dto.AiVerifyResponse;
 import ai.aletheia.api.dto.ErrorResponse;
-import ai.aletheia.crypto.CanonicalizationService;
-import ai.aletheia.crypto.HashService;
-import ai.aletheia.crypto.SignatureService;
+import ai.aletheia.audit.BatchVerificationService;
+import ai.aletheia.audit.RecordArchive;
+import ai.aletheia.audit.RecordVerificationService;
+import ai.aletheia.audit.dto.RecordCheck;
+import ai.aletheia.config.VerifyBatchProperties;
 import ai.aletheia.db.AiResponseRepository;
 import ai.aletheia.db.entity.AiResponse;
 import ai.aletheia.policy.PolicyEvaluationService;
 import ai.aletheia.policy.PolicyRuleResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Returns stored audit record by id for the verification page.
  *
  * <p>Includes hashMatch and signatureValid: backend recomputes hash and verifies
- * signature. Returns 404 with JSON body when id not found.
+ * signature. Returns 404 with JSON body when id not found. Archived records are read from
+ * {@link RecordArchive} when the id is no longer in ai_response.
+ *
+ * <p>POST /verify/batch re-checks many records (an id list or a created_at range) and streams
+ * one NDJSON line per record; see {@link BatchVerificationService}.
  */
 @RestController
 @RequestMapping("/api/ai")
 public class AiVerifyController {
 
-    private static final Logger log = LoggerFactory.getLogger(AiVerifyController.class);
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
 
     private final AiResponseRepository repository;
-    private final CanonicalizationService canonicalizationService;
-    private final HashService hashService;
-    private final SignatureService signatureService;
+    private final RecordArchive recordArchive;
+    private final RecordVerificationService recordVerificationService;
+    private final BatchVerificationService batchVerificationService;
     private final PolicyEvaluationService policyEvaluationService;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchIds;
 
     public AiVerifyController(
             AiResponseRepository repository,
-            CanonicalizationService canonicalizationService,
-            HashService hashService,
-            SignatureService signatureService,
-            PolicyEvaluationService policyEvaluationService) {
+            RecordArchive recordArchive,
+            RecordVerificationService recordVerificationService,
+            BatchVerificationService batchVerificationService,
+            PolicyEvaluationService policyEvaluationService,
+            ObjectMapper objectMapper,
+            VerifyBatchProperties batchProperties) {
         this.repository = repository;
-        this.canonicalizationService = canonicalizationService;
-        this.hashService = hashService;
-        this.signatureService = signatureService;
+        this.recordArchive = recordArchive;
+        this.recordVerificationService = recordVerificationService;
+        this.batchVerificationService = batchVerificationService;
         this.policyEvaluationService = policyEvaluationService;
+        this.objectMapper = objectMapper;
+        this.maxBatchIds = batchProperties.getMaxIds();
     }
 
-    @Operation(summary = "Verify record", description = "Fetch stored record by id with hashMatch and signatureValid")
+    @Operation(summary = "Verify record", description = "Fetch stored record by id with hashMatch, signatureValid and evidence status")
     @ApiResponse(responseCode = "200", description = "Full record for verification page")
     @ApiResponse(responseCode = "404", description = "Record not found")
     @GetMapping(value = "/verify/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Object> verify(@PathVariable Long id) {
-        var opt = repository.findById(id);
+        var opt = repository.findById(id).or(() -> recordArchive.find(id));
         if (opt.isPresent()) {
             return ResponseEntity.ok(toResponse(opt.get()));
         }
         return ResponseEntity.status(404).body(ErrorResponse.notFound("Record not found", id));
     }
 
-    private static final String PQC_ALGORITHM = "ML-DSA (Dilithium3)";
+    /**
+     * Re-verify many records. Body has either {@code ids} or {@code from}/{@code to} (ISO-8601, to exclusive).
+     * The body is a stream, so a bad request is also returned as a (single JSON object) stream.
+     */
+    @Operation(summary = "Verify records in bulk",
+            description = "Re-check hash, RSA and PQC signatures for an id list or a created_at range; streams NDJSON, one line per record, then a summary line")
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of per-record results")
+    @ApiResponse(responseCode = "400", description = "Neither ids nor a valid range, or too many ids")
+    @PostMapping(value = "/verify/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = { APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<StreamingResponseBody> verifyBatch(@RequestBody AiVerifyBatchRequest request) {
+        String problem = validate(request);
+        if (problem != null) {
+            Map<String, String> body = Map.of("error", "Invalid batch request", "message", problem);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, body));
+        }
+        StreamingResponseBody stream = request.ids() != null && !request.ids().isEmpty()
+                ? out -> batchVerificationService.verifyIds(request.ids(), out)
+                : out -> batchVerificationService.verifyRange(request.from(), request.to(), out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(stream);
+    }
 
-    private AiVerifyResponse toResponse(AiResponse e) {
-        String computedHash = computeHashValue(e);
-        String stored = e.getResponseHash();
-        boolean hashMatch = computedHash != null && computedHash.equalsIgnoreCase(stored);
-        if (!hashMatch && stored != null && !stored.isBlank()) {
-            String legacyHash = computeHashValueLegacy(e);
-            if (legacyHash != null && legacyHash.equalsIgnoreCase(stored)) {
-                hashMatch = true;
-            }
+    private String validate(AiVerifyBatchRequest request) {
+        if (request == null) {
+            return "Request body required";
+        }
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        boolean hasRange = request.from() != null || request.to() != null;
+        if (hasIds == hasRange) {
+            return "Provide either 'ids' or 'from' and 'to'";
         }
-        if (!hashMatch && stored != null && !stored.isBlank()) {
-            String responseOnlyHash = computeHashResponseOnly(e);
-            if (responseOnlyHash != null && responseOnlyHash.equalsIgnoreCase(stored)) {
-                hashMatch = true;
-                log.debug("Record id={} verified with response-only hash (claim present but was not included at save time)", e.getId());
+        if (hasIds) {
+            if (request.ids().size() > maxBatchIds) {
+                return "Too many ids: " + request.ids().size() + " > " + maxBatchIds;
             }
+            if (request.ids().contains(null)) {
+                return "'ids' must not contain null";
+            }
+            return null;
         }
-        String signatureValid = computeSignatureValid(e);
+        if (request.from() == null || request.to() == null) {
+            return "Both 'from' and 'to' are required";
+        }
+        if (!request.from().isBefore(request.to())) {
+            return "'from' must be before 'to'";
+        }
+        return null;
+    }
+
+    private static final String PQC_ALGORITHM = "ML-DSA (Dilithium3)";
+
+    private AiVerifyResponse toResponse(AiResponse e) {
+        RecordCheck check = recordVerificationService.check(e);
         String signaturePqc = e.getSignaturePqc() != null && !e.getSignaturePqc().isBlank() ? e.getSignaturePqc() : null;
         String pqcAlgorithm = signaturePqc != null ? PQC_ALGORITHM : null;
         Double policyCoverage = e.getPolicyCoverage();
-        List<PolicyRuleResult> policyRules = policyEvaluationService.fromJson(e.getPolicyRulesEvaluated());
+        List<PolicyRuleResult> policyRules = policyEvaluationService.rules(e);
         return new AiVerifyResponse(
                 e.getId(),
                 e.getPrompt(),
                 e.getResponse(),
                 e.getResponseHash(),
-                computedHash,
+                check.computedHash(),
                 e.getSignature(),
                 e.getTsaToken(),
                 e.getLlmModel(),
@@ -107,77 +159,13 @@ public class AiVerifyController {
                 e.getClaim(),
                 e.getConfidence(),
                 e.getPolicyVersion(),
-                hashMatch,
-                signatureValid,
+                check.hashMatch(),
+                check.signatureValid(),
                 policyCoverage,
                 policyRules,
                 signaturePqc,
-                pqcAlgorithm
+                pqcAlgorithm,
+                e.getStatus()
         );
     }
-
-    /** Returns the hash recomputed from stored response (and claim if present), or null on error. Uses current format (%.6f for confidence). */
-    private String computeHashValue(AiResponse e) {
-        return computeHashValueWithClaimFormat(e, true);
-    }
-
-    /** Same as computeHashValue but with legacy confidence format (for records saved before %.6f). */
-    private String computeHashValueLegacy(AiResponse e) {
-        return computeHashValueWithClaimFormat(e, false);
-    }
-
-    /** Hash of response only (no claim). For records that were saved with response-only hash but have claim data. */
-    private String computeHashResponseOnly(AiResponse e) {
-        if (e.getResponseHash() == null || e.getResponseHash().isBlank()) return null;
-        try {
-            byte[] canonical = canonicalizationService.canonicalize(e.getResponse());
-            return hashService.hash(canonical);
-        } catch (Exception ex) {
-            log.warn("Hash (response-only) computation failed for id={}: {}", e.getId(), ex.getMessage());
-            return null;
-        }
-    }
-
-    private String computeHashValueWithClaimFormat(AiResponse e, boolean useFixedFormat) {
-        String stored = e.getResponseHash();
-        if (stored == null || stored.isBlank()) return null;
-        try {
-            byte[] canonical = canonicalizationService.canonicalize(e.getResponse());
-            boolean hasClaim = (e.getClaim() != null && !e.getClaim().isBlank())
-                    || (e.getPolicyVersion() != null && !e.getPolicyVersion().isBlank());
-            if (hasClaim) {
-                byte[] claimBytes = useFixedFormat
-                        ? ClaimCanonical.toCanonicalBytes(e.getClaim(), e.getConfidence(), e.getLlmModel(), e.getPolicyVersion())
-                        : ClaimCanonical.toCanonicalBytesLegacy(e.getClaim(), e.getConfidence(), e.getLlmModel(), e.getPolicyVersion());
-                byte[] bytesToSign = new byte[canonical.length + 1 + claimBytes.length];
-                System.arraycopy(canonical, 0, bytesToSign, 0, canonical.length);
-                bytesToSign[canonical.length] = '\n';
-                System.arraycopy(claimBytes, 0, bytesToSign, canonical.length + 1, claimBytes.length);
-                return hashService.hash(bytesToSign);
-            }
-            return hashService.hash(canonical);
-        } catch (Exception ex) {
-            log.warn("Hash computation failed for id={}: {}", e.getId(), ex.getMessage());
-            return null;
-        }
-    }
-
-    private String computeSignatureValid(AiResponse e) {
-        String sig = e.getSignature();
-        String hash = e.getResponseHash();
-        if (sig == null || sig.isBlank() || hash == null || hash.isBlank()) {
-            return "n_a";
-        }
-        try {
-            return signatureService.verify(hash, sig) ? "valid" : "invalid";
-        } catch (IllegalStateException ex) {
-            if (ex.getMessage() != null && ex.getMessage().contains("Signing key not configured")) {
-                return "n_a";
-            }
-            throw ex;
-        } catch (Exception ex) {
-            log.warn("Signature verification failed for id={}: {}", e.getId(), ex.getMessage());
-            return "invalid";
-        }
-    }
 }
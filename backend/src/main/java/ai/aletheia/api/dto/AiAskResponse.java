@@ -1,14 +1,17 @@
 package ai.aletheia.api.dto;
 
+import ai.aletheia.db.entity.EvidenceStatus;
+
 /**
  * Response for POST /api/ai/ask.
  *
  * @param response     AI response text (canonical form)
  * @param responseHash SHA-256 hex of canonical response
  * @param signature    Base64 RSA signature of hash (null if key not configured)
- * @param tsaToken     Base64 RFC 3161 timestamp token (null if no signature or TSA error)
+ * @param tsaToken     Base64 RFC 3161 timestamp token (null if no signature, TSA error, or still pending)
  * @param id           saved record id in ai_response
  * @param model        model identifier (e.g. gpt-4)
+ * @param status       evidence status: COMPLETE, FAILED, or PENDING_TIMESTAMP (async pipeline; poll GET /api/ai/verify/:id)
  */
 public record AiAskResponse(
         String response,
@@ -16,5 +19,6 @@ public record AiAskResponse(
         String signature,
         String tsaToken,
         Long id,
-        String model
+        String model,
+        EvidenceStatus status
 ) {}
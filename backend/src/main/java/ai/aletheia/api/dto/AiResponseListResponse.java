@@ -0,0 +1,13 @@
+package ai.aletheia.api.dto;
+
+import ai.aletheia.db.AiResponseSummary;
+
+import java.util.List;
+
+/**
+ * Response for GET /api/ai/responses: one page of records, newest first.
+ *
+ * @param items      record metadata and hashes (no prompt or response text; use GET /api/ai/verify/:id)
+ * @param nextCursor opaque cursor for the next page; null on the last page
+ */
+public record AiResponseListResponse(List<AiResponseSummary> items, String nextCursor) {}
@@ -0,0 +1,9 @@
+package ai.aletheia.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Request for POST /api/ai/verify/batch: either {@code ids}, or a {@code [from, to)} range on created_at.
+ */
+public record AiVerifyBatchRequest(List<Long> ids, Instant from, Instant to) {}
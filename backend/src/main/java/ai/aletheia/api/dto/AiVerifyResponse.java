@@ -1,5 +1,6 @@
 package ai.aletheia.api.dto;
 
+import ai.aletheia.db.entity.EvidenceStatus;
 import ai.aletheia.policy.PolicyRuleResult;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -20,6 +21,7 @@ import java.util.List;
  * @param signaturePqc    PQC.5: Base64 ML-DSA signature (null when PQC disabled)
  * @param pqcAlgorithm    PQC.5: e.g. "ML-DSA (Dilithium3)" (null when no PQC)
  * @param computedHash    Backend-recomputed hash (for debugging mismatch; same algorithm as at save time)
+ * @param status          evidence status: PENDING_TIMESTAMP (async pipeline still running), COMPLETE, FAILED
  */
 @JsonInclude(JsonInclude.Include.ALWAYS)
 public record AiVerifyResponse(
@@ -44,5 +46,6 @@ public record AiVerifyResponse(
         Double policyCoverage,
         List<PolicyRuleResult> policyRulesEvaluated,
         String signaturePqc,
-        String pqcAlgorithm
+        String pqcAlgorithm,
+        EvidenceStatus status
 ) {}
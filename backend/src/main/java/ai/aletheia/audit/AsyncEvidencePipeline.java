@@ -0,0 +1,137 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.EvidenceCompletion;
+import ai.aletheia.config.AskAsyncProperties;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background stage of the async ask pipeline: runs {@link EvidenceCompletionService} (TSA, PQC)
+ * and policy evaluation for records saved as {@link EvidenceStatus#PENDING_TIMESTAMP}.
+ *
+ * <p>Bounded: a fixed worker pool with a fixed-size queue. When the queue is full the submitting
+ * thread runs the step itself, so load is pushed back onto requests instead of growing memory.
+ * Records still pending at shutdown stay PENDING_TIMESTAMP in the DB and are resubmitted on the
+ * next startup. With {@code spring.threads.virtual.enabled=true} the workers are virtual threads;
+ * the pool size still bounds how many TSA calls run at once.
+ */
+@Service
+@ConditionalOnProperty(name = "ai.aletheia.ask.async.enabled", havingValue = "true")
+public class AsyncEvidencePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEvidencePipeline.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final EvidenceCompletionService evidenceCompletionService;
+    private final AuditRecordService auditRecordService;
+    private final AiResponseRepository repository;
+    private final ThreadPoolExecutor executor;
+
+    public AsyncEvidencePipeline(EvidenceCompletionService evidenceCompletionService,
+                                 AuditRecordService auditRecordService,
+                                 AiResponseRepository repository,
+                                 AskAsyncProperties props,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.evidenceCompletionService = evidenceCompletionService;
+        this.auditRecordService = auditRecordService;
+        this.repository = repository;
+        this.executor = new ThreadPoolExecutor(
+                props.getWorkerThreads(), props.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getQueueCapacity()),
+                workerThreadFactory(virtualThreads),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Async ask pipeline enabled: workerThreads={}, queueCapacity={}, virtualThreads={}",
+                props.getWorkerThreads(), props.getQueueCapacity(), virtualThreads);
+    }
+
+    private static ThreadFactory workerThreadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("evidence-pipeline-", 1).factory();
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "evidence-pipeline-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Queue TSA, PQC and policy evaluation for a saved pending record.
+     *
+     * @param id           record id (status PENDING_TIMESTAMP)
+     * @param signature    Base64 RSA signature to timestamp
+     * @param responseHash hash that was signed (for PQC)
+     */
+    public void submit(Long id, String signature, String responseHash) {
+        executor.execute(() -> process(id, signature, responseHash));
+    }
+
+    /** Number of records waiting for a worker. */
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    private void process(Long id, String signature, String responseHash) {
+        try {
+            EvidenceCompletion completion = evidenceCompletionService.complete(signature, responseHash);
+            auditRecordService.complete(id, completion);
+            log.debug("Async evidence for id={} finished with status {}", id, completion.status());
+        } catch (Exception e) {
+            log.error("Async evidence for id={} failed", id, e);
+            try {
+                auditRecordService.markFailed(id);
+            } catch (Exception inner) {
+                log.error("Could not mark id={} as FAILED: {}", id, inner.getMessage());
+            }
+        }
+    }
+
+    /** Resubmit records left PENDING_TIMESTAMP by a previous run (crash or shutdown with a full queue). */
+    @EventListener(ApplicationReadyEvent.class)
+    void resumePending() {
+        List<Long> ids = repository.findIdsByStatus(EvidenceStatus.PENDING_TIMESTAMP);
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.info("Resuming async evidence for {} pending records", ids.size());
+        for (Long id : ids) {
+            repository.findById(id).ifPresent(e -> resubmit(e));
+        }
+    }
+
+    private void resubmit(AiResponse e) {
+        if (e.getSignature() == null || e.getSignature().isBlank()) {
+            auditRecordService.complete(e.getId(), EvidenceCompletion.none());
+            return;
+        }
+        submit(e.getId(), e.getSignature(), e.getResponseHash());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            List<Runnable> dropped = executor.shutdownNow();
+            log.warn("Async ask pipeline stopped with {} queued records; they stay PENDING_TIMESTAMP until next start",
+                    dropped.size());
+        }
+    }
+}
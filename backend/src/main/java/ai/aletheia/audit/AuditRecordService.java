@@ -1,11 +1,17 @@
 package ai.aletheia.audit;
 
 import ai.aletheia.audit.dto.AuditRecordRequest;
+import ai.aletheia.audit.dto.EvidenceCompletion;
 import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.ContentBlobStore;
 import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
 import ai.aletheia.policy.PolicyEvaluationResult;
 import ai.aletheia.policy.PolicyEvaluationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Orchestrates persistence of verifiable AI response records.
@@ -13,17 +19,28 @@ import org.springframework.stereotype.Service;
  * <p>Maps {@link AuditRecordRequest} to {@link AiResponse} entity and saves via
  * {@link AiResponseRepository}. No LLM or crypto logic — only persistence.
  * Called from the API layer after hash, sign, and timestamp are computed.
+ * Publishes {@link RecordCompletedEvent} once a record's evidence is final.
+ * Prompt and response of new records go to deduplicated content blobs ({@link ContentBlobStore}).
  */
 @Service
 public class AuditRecordService {
 
     private final AiResponseRepository repository;
     private final PolicyEvaluationService policyEvaluationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentBlobStore contentBlobStore;
+    private final WriteBehindAuditWriter writeBehindWriter;
 
     public AuditRecordService(AiResponseRepository repository,
-                              PolicyEvaluationService policyEvaluationService) {
+                              PolicyEvaluationService policyEvaluationService,
+                              ApplicationEventPublisher eventPublisher,
+                              ContentBlobStore contentBlobStore,
+                              @Autowired(required = false) WriteBehindAuditWriter writeBehindWriter) {
         this.repository = repository;
         this.policyEvaluationService = policyEvaluationService;
+        this.eventPublisher = eventPublisher;
+        this.contentBlobStore = contentBlobStore;
+        this.writeBehindWriter = writeBehindWriter;
     }
 
     /**
@@ -33,17 +50,84 @@ public class AuditRecordService {
      * @return the saved entity's id
      */
     public Long save(AuditRecordRequest request) {
+        return save(request, EvidenceStatus.COMPLETE);
+    }
+
+    /**
+     * Saves a fully processed audit record with the given evidence status (COMPLETE, or FAILED when TSA failed).
+     * With write-behind enabled the insert is batched by {@link WriteBehindAuditWriter}, which also publishes
+     * {@link RecordCompletedEvent}.
+     *
+     * @return the saved entity's id
+     */
+    public Long save(AuditRecordRequest request, EvidenceStatus status) {
         AiResponse entity = mapToEntity(request);
+        entity.setStatus(status);
+        applyPolicyEvaluation(entity);
+        contentBlobStore.externalize(entity);
+        if (writeBehindWriter != null) {
+            return writeBehindWriter.write(entity);
+        }
+        AiResponse saved = repository.save(entity);
+        eventPublisher.publishEvent(new RecordCompletedEvent(saved.getId()));
+        return saved.getId();
+    }
+
+    /**
+     * Async ask pipeline: saves the record as soon as hash and signature exist, with status
+     * PENDING_TIMESTAMP. Policy evaluation runs later in {@link #complete(Long, EvidenceCompletion)},
+     * because its rules depend on the TSA token. Always a direct insert (also with write-behind): the
+     * pipeline reads the record back right away.
+     *
+     * @return the saved entity's id
+     */
+    public Long savePending(AuditRecordRequest request) {
+        AiResponse entity = mapToEntity(request);
+        entity.setStatus(EvidenceStatus.PENDING_TIMESTAMP);
+        contentBlobStore.externalize(entity);
+        AiResponse saved = repository.save(entity);
+        return saved.getId();
+    }
+
+    /**
+     * Async ask pipeline: fills in TSA/PQC artifacts for a pending record, evaluates policy and sets
+     * the final status.
+     *
+     * @throws IllegalArgumentException if no record has this id
+     */
+    @Transactional
+    public void complete(Long id, EvidenceCompletion completion) {
+        AiResponse entity = repository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Record not found: " + id));
+        entity.setTsaToken(completion.tsaToken());
+        entity.setTsaMerkleProof(completion.tsaMerkleProof());
+        entity.setSignaturePqc(completion.signaturePqc());
+        entity.setPqcPublicKeyPem(completion.pqcPublicKeyPem());
+        entity.setStatus(completion.status());
+        applyPolicyEvaluation(entity);
+        repository.save(entity);
+        eventPublisher.publishEvent(new RecordCompletedEvent(id));
+    }
+
+    /** Async ask pipeline: marks a record FAILED after an unexpected post-processing error. */
+    @Transactional
+    public void markFailed(Long id) {
+        repository.findById(id).ifPresent(entity -> {
+            entity.setStatus(EvidenceStatus.FAILED);
+            repository.save(entity);
+            eventPublisher.publishEvent(new RecordCompletedEvent(id));
+        });
+    }
+
+    private void applyPolicyEvaluation(AiResponse entity) {
         PolicyEvaluationResult evaluation = policyEvaluationService.evaluate(entity);
         entity.setPolicyCoverage(evaluation.coverage());
-        entity.setPolicyRulesEvaluated(policyEvaluationService.toJson(evaluation.rules()));
+        entity.setPolicyRules(evaluation.rules());
         // Phase 4.5: if no explicit policyVersion was provided (e.g. DP2.4),
         // persist the demo policy version used for coverage evaluation.
         if (entity.getPolicyVersion() == null || entity.getPolicyVersion().isBlank()) {
             entity.setPolicyVersion(evaluation.policyVersion());
         }
-        AiResponse saved = repository.save(entity);
-        return saved.getId();
     }
 
     private AiResponse mapToEntity(AuditRecordRequest r) {
@@ -52,6 +136,7 @@ public class AuditRecordService {
         e.setSignaturePqc(r.signaturePqc());
         e.setPqcPublicKeyPem(r.pqcPublicKeyPem());
         e.setTsaToken(r.tsaToken());
+        e.setTsaMerkleProof(r.tsaMerkleProof());
         e.setLlmModel(r.llmModel());
         e.setRequestId(r.requestId());
         e.setTemperature(r.temperature());
@@ -60,6 +145,8 @@ public class AuditRecordService {
         e.setClaim(r.claim());
         e.setConfidence(r.confidence());
         e.setPolicyVersion(r.policyVersion());
+        // From the request, before applyPolicyEvaluation may fill in a policy version the hash does not cover
+        e.setCanonicalFormat(SignedPayloadService.currentFormat(r.claim(), r.policyVersion()));
         return e;
     }
 }
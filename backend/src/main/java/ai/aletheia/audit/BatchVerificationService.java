@@ -0,0 +1,217 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.BatchVerifyItem;
+import ai.aletheia.audit.dto.BatchVerifySummary;
+import ai.aletheia.config.VerifyBatchProperties;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Re-verifies many stored records and writes one NDJSON line per record, followed by a summary line.
+ *
+ * <p>Records are read page by page (keyset on (created_at, id) for ranges, chunks of the list for ids).
+ * The checks of a page run on a shared {@link ForkJoinPool} sized to the CPU count: the work is hashing
+ * and RSA/ML-DSA verification, so more threads than cores would not help, and sharing one pool keeps
+ * concurrent batch requests from starving /ask. While a page is being verified the next one is read,
+ * so at most two pages are in memory whatever the range. Lines are written in read order.
+ */
+@Service
+public class BatchVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchVerificationService.class);
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final AiResponseRepository repository;
+    private final RecordVerificationService recordVerificationService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final ForkJoinPool pool;
+
+    public BatchVerificationService(AiResponseRepository repository,
+                                    RecordVerificationService recordVerificationService,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    VerifyBatchProperties props) {
+        this.repository = repository;
+        this.recordVerificationService = recordVerificationService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.pageSize = props.getPageSize();
+        this.pool = new ForkJoinPool(props.getParallelism());
+    }
+
+    /**
+     * Verify the given ids, in the given order (duplicates once). Unknown ids produce a "not_found" line.
+     *
+     * @return summary (also written as the last line)
+     * @throws IOException if the client went away; remaining records are skipped
+     */
+    public BatchVerifySummary verifyIds(List<Long> ids, OutputStream out) throws IOException {
+        List<Long> unique = List.copyOf(new LinkedHashSet<>(ids));
+        return run(new Supplier<>() {
+            private int offset;
+
+            @Override
+            public List<Row> get() {
+                List<Long> chunk = unique.subList(offset, Math.min(offset + pageSize, unique.size()));
+                offset += chunk.size();
+                Map<Long, AiResponse> byId = new HashMap<>();
+                for (AiResponse e : repository.findAllById(chunk)) {
+                    byId.put(e.getId(), e);
+                }
+                List<Row> rows = new ArrayList<>(chunk.size());
+                for (Long id : chunk) {
+                    rows.add(new Row(id, byId.get(id)));
+                }
+                return rows;
+            }
+        }, out);
+    }
+
+    /**
+     * Verify all records with {@code from <= createdAt < to}, oldest first.
+     *
+     * @return summary (also written as the last line)
+     * @throws IOException if the client went away; remaining records are skipped
+     */
+    public BatchVerifySummary verifyRange(Instant from, Instant to, OutputStream out) throws IOException {
+        Pageable page = PageRequest.ofSize(pageSize);
+        return run(new Supplier<>() {
+            private Instant afterCreatedAt = from;
+            private Long afterId = -1L;
+
+            @Override
+            public List<Row> get() {
+                List<AiResponse> records = repository.findPageByCreatedAt(from, to, afterCreatedAt, afterId, page);
+                if (!records.isEmpty()) {
+                    AiResponse last = records.get(records.size() - 1);
+                    afterCreatedAt = last.getCreatedAt();
+                    afterId = last.getId();
+                }
+                List<Row> rows = new ArrayList<>(records.size());
+                for (AiResponse e : records) {
+                    rows.add(new Row(e.getId(), e));
+                }
+                return rows;
+            }
+        }, out);
+    }
+
+    /** Pipeline: verify page N on the pool while page N+1 is read, then write page N in order. */
+    private BatchVerifySummary run(Supplier<List<Row>> pages, OutputStream out) throws IOException {
+        Counts counts = new Counts();
+        List<Row> page = pages.get();
+        while (!page.isEmpty()) {
+            List<ForkJoinTask<BatchVerifyItem>> pending = new ArrayList<>(page.size());
+            for (Row row : page) {
+                pending.add(pool.submit(() -> verify(row)));
+            }
+            // A short page is the last one; skip the extra round trip
+            List<Row> next = page.size() < pageSize ? List.of() : pages.get();
+            try {
+                for (ForkJoinTask<BatchVerifyItem> task : pending) {
+                    BatchVerifyItem item = task.join();
+                    counts.add(item);
+                    writeLine(out, item);
+                }
+                out.flush();
+            } catch (IOException e) {
+                pending.forEach(t -> t.cancel(false));
+                log.debug("Batch verify aborted after {} records: {}", counts.total, e.getMessage());
+                throw e;
+            }
+            // Open-in-view keeps one persistence context for the whole response; drop verified pages from it
+            entityManager.clear();
+            page = next;
+        }
+        BatchVerifySummary summary = counts.toSummary();
+        writeLine(out, Map.of("summary", summary));
+        out.flush();
+        return summary;
+    }
+
+    private BatchVerifyItem verify(Row row) {
+        if (row.entity() == null) {
+            return BatchVerifyItem.notFound(row.id());
+        }
+        try {
+            return BatchVerifyItem.of(row.entity(), recordVerificationService.check(row.entity()));
+        } catch (RuntimeException e) {
+            log.warn("Batch verify failed for id={}: {}", row.id(), e.getMessage());
+            return BatchVerifyItem.failed(row.entity());
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write(NEWLINE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Requested id and the record, or null when no record has that id. */
+    private record Row(Long id, AiResponse entity) {
+    }
+
+    /** Summary counters; only touched by the writing thread. */
+    private static final class Counts {
+        long total;
+        long hashMatch;
+        long hashMismatch;
+        long signatureInvalid;
+        long pqcInvalid;
+        long notFound;
+        long failed;
+
+        void add(BatchVerifyItem item) {
+            total++;
+            if ("not_found".equals(item.error())) {
+                notFound++;
+                return;
+            }
+            if (item.error() != null) {
+                failed++;
+                return;
+            }
+            if (Boolean.TRUE.equals(item.hashMatch())) {
+                hashMatch++;
+            } else {
+                hashMismatch++;
+            }
+            if ("invalid".equals(item.signatureValid())) {
+                signatureInvalid++;
+            }
+            if ("invalid".equals(item.pqcValid())) {
+                pqcInvalid++;
+            }
+        }
+
+        BatchVerifySummary toSummary() {
+            return new BatchVerifySummary(total, hashMatch, hashMismatch, signatureInvalid, pqcInvalid, notFound, failed);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off background job for records saved before V9: finds the canonical format that reproduces each
+ * stored hash ({@link SignedPayloadService#classify}) and stores it, so verify and evidence rebuild one
+ * payload per record instead of probing up to three.
+ *
+ * <p>Runs on a daemon thread after startup, page by page in id order; rows that cannot be reproduced are
+ * marked {@link CanonicalFormat#UNVERIFIABLE}. Only rows whose format is still null are updated, so the job
+ * can be interrupted and simply picks up the rest on the next start. Until a row is classified it is probed
+ * on every check, as before.
+ */
+@Service
+public class CanonicalFormatMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(CanonicalFormatMigration.class);
+
+    private final AiResponseRepository repository;
+    private final SignedPayloadService signedPayloadService;
+    private final EvidencePackageCache evidencePackageCache;
+    private final boolean enabled;
+    private final int pageSize;
+
+    public CanonicalFormatMigration(AiResponseRepository repository,
+                                    SignedPayloadService signedPayloadService,
+                                    EvidencePackageCache evidencePackageCache,
+                                    @Value("${ai.aletheia.canonical-format.migration.enabled:true}") boolean enabled,
+                                    @Value("${ai.aletheia.canonical-format.migration.page-size:500}") int pageSize) {
+        this.repository = repository;
+        this.signedPayloadService = signedPayloadService;
+        this.evidencePackageCache = evidencePackageCache;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread t = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException e) {
+                log.warn("Canonical format migration stopped, resumes on next start: {}", e.getMessage());
+            }
+        }, "canonical-format-migration");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Classify all rows without a canonical format.
+     *
+     * @return number of rows set per format
+     */
+    Map<CanonicalFormat, Integer> migrate() {
+        Map<CanonicalFormat, Integer> counts = new EnumMap<>(CanonicalFormat.class);
+        Pageable page = PageRequest.ofSize(pageSize);
+        Long afterId = 0L;
+        List<AiResponse> records = repository.findUnclassified(afterId, page);
+        while (!records.isEmpty()) {
+            Map<CanonicalFormat, List<Long>> ids = new EnumMap<>(CanonicalFormat.class);
+            for (AiResponse e : records) {
+                ids.computeIfAbsent(signedPayloadService.classify(e), f -> new ArrayList<>()).add(e.getId());
+            }
+            for (Map.Entry<CanonicalFormat, List<Long>> group : ids.entrySet()) {
+                int updated = repository.updateCanonicalFormat(group.getValue(), group.getKey());
+                counts.merge(group.getKey(), updated, Integer::sum);
+                // A package built before classification may carry the wrong canonical.bin
+                group.getValue().forEach(evidencePackageCache::invalidate);
+            }
+            afterId = records.get(records.size() - 1).getId();
+            records = records.size() < pageSize ? List.of() : repository.findUnclassified(afterId, page);
+        }
+        if (!counts.isEmpty()) {
+            log.info("Canonical format migration done: {}", counts);
+        }
+        return counts;
+    }
+}
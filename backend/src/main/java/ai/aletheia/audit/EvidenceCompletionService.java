@@ -0,0 +1,88 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.EvidenceCompletion;
+import ai.aletheia.crypto.BatchTimestampService;
+import ai.aletheia.crypto.BatchedTimestamp;
+import ai.aletheia.crypto.PqcSignatureService;
+import ai.aletheia.crypto.PqcSignatureServiceImpl;
+import ai.aletheia.crypto.TimestampException;
+import ai.aletheia.crypto.TimestampService;
+import ai.aletheia.db.entity.EvidenceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+
+/**
+ * Post-signature evidence steps: RFC 3161 timestamp of the signature (single or Merkle batch)
+ * and the optional PQC signature over the same hash.
+ *
+ * <p>Runs on the request thread in sync mode, or on {@link AsyncEvidencePipeline} workers when
+ * the async ask pipeline is enabled. TSA and PQC failures do not throw: the record is stored
+ * without the missing artifact and the status says whether the timestamp step failed.
+ */
+@Service
+public class EvidenceCompletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(EvidenceCompletionService.class);
+
+    private final TimestampService timestampService;
+    private final BatchTimestampService batchTimestampService;
+    private final PqcSignatureService pqcSignatureService;
+
+    public EvidenceCompletionService(
+            TimestampService timestampService,
+            @Autowired(required = false) BatchTimestampService batchTimestampService,
+            @Autowired(required = false) PqcSignatureService pqcSignatureService) {
+        this.timestampService = timestampService;
+        this.batchTimestampService = batchTimestampService;
+        this.pqcSignatureService = pqcSignatureService;
+    }
+
+    /**
+     * Timestamp the signature and add the PQC signature.
+     *
+     * @param signature    Base64 RSA signature; null → {@link EvidenceCompletion#none()}
+     * @param responseHash 64-char hex hash that was signed
+     * @return artifacts to store with the record
+     */
+    public EvidenceCompletion complete(String signature, String responseHash) {
+        if (signature == null) {
+            return EvidenceCompletion.none();
+        }
+
+        String tsaToken = null;
+        String tsaMerkleProof = null;
+        EvidenceStatus status = EvidenceStatus.COMPLETE;
+        try {
+            byte[] signatureBytes = Base64.getDecoder().decode(signature);
+            if (batchTimestampService != null) {
+                BatchedTimestamp batched = batchTimestampService.timestamp(signatureBytes);
+                tsaToken = Base64.getEncoder().encodeToString(batched.token());
+                tsaMerkleProof = batched.merkleProof();
+            } else {
+                byte[] token = timestampService.timestamp(signatureBytes);
+                tsaToken = Base64.getEncoder().encodeToString(token);
+            }
+        } catch (TimestampException e) {
+            log.warn("TSA failed, saving without tsaToken: {}", e.getMessage());
+            status = EvidenceStatus.FAILED;
+        }
+
+        String signaturePqcBase64 = null;
+        String pqcPublicKeyPem = null;
+        if (pqcSignatureService != null && pqcSignatureService.isAvailable()) {
+            try {
+                byte[] hashBytes = PqcSignatureServiceImpl.hashHexToBytes(responseHash);
+                byte[] pqcSig = pqcSignatureService.sign(hashBytes);
+                signaturePqcBase64 = Base64.getEncoder().encodeToString(pqcSig);
+                pqcPublicKeyPem = pqcSignatureService.getPublicKeyPem();
+            } catch (Exception e) {
+                log.warn("PQC signing failed, continuing without PQC signature: {}", e.getMessage());
+            }
+        }
+        return new EvidenceCompletion(tsaToken, tsaMerkleProof, signaturePqcBase64, pqcPublicKeyPem, status);
+    }
+}
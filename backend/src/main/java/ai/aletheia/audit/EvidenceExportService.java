@@ -0,0 +1,176 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.EvidenceExportEntry;
+import ai.aletheia.audit.dto.EvidenceExportManifest;
+import ai.aletheia.config.EvidenceExportProperties;
+import ai.aletheia.crypto.CryptoPrimitives;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.evidence.NonClosingOutputStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the Evidence Packages of all records in a created_at range as one ZIP: one
+ * {@code aletheia-evidence-<id>.aep} entry per record, oldest first, then {@code manifest.json} with the
+ * size and SHA-256 of every package.
+ *
+ * <p>Records are read page by page (keyset on (created_at, id)). Packages are built on a {@link ForkJoinPool}
+ * while the writer thread copies finished ones to the archive in read order; at most
+ * {@link EvidenceExportProperties#getMaxInFlight()} packages are queued or built ahead of the writer, and the
+ * next page is read while the end of the current one is still building. Packages are STORED in the outer
+ * archive (they are already deflated) with the CRC computed by the worker. Only the manifest entries
+ * (a few hundred bytes per record) grow with the range.
+ */
+@Service
+public class EvidenceExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EvidenceExportService.class);
+    private static final HexFormat HEX_LOWER = HexFormat.of().withLowerCase();
+
+    public static final String MANIFEST_JSON = "manifest.json";
+
+    private final AiResponseRepository repository;
+    private final RecordEvidenceService recordEvidenceService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int maxInFlight;
+    private final ForkJoinPool pool;
+
+    public EvidenceExportService(AiResponseRepository repository,
+                                 RecordEvidenceService recordEvidenceService,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 EvidenceExportProperties props) {
+        this.repository = repository;
+        this.recordEvidenceService = recordEvidenceService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.pageSize = props.getPageSize();
+        this.maxInFlight = props.getMaxInFlight();
+        this.pool = new ForkJoinPool(props.getParallelism());
+    }
+
+    /** Entry name of a record's package in the export archive (same as the single download). */
+    public static String packageFileName(Long id) {
+        return "aletheia-evidence-" + id + ".aep";
+    }
+
+    /**
+     * Export all records with {@code from <= createdAt < to}. {@code out} is not closed.
+     *
+     * @param publicKeyPem signing public key for public_key.pem in every package
+     * @return the manifest (also written as the last entry)
+     * @throws IOException if the client went away; remaining records are skipped
+     */
+    public EvidenceExportManifest export(Instant from, Instant to, String publicKeyPem, OutputStream out)
+            throws IOException {
+        Pageable page = PageRequest.ofSize(pageSize);
+        List<EvidenceExportEntry> manifest = new ArrayList<>();
+        Deque<ForkJoinTask<Built>> pending = new ArrayDeque<>();
+        long failed = 0;
+        Instant afterCreatedAt = from;
+        Long afterId = -1L;
+        try (ZipOutputStream zos = new ZipOutputStream(new NonClosingOutputStream(out))) {
+            List<AiResponse> records = repository.findPageByCreatedAt(from, to, afterCreatedAt, afterId, page);
+            while (!records.isEmpty()) {
+                for (AiResponse entity : records) {
+                    if (pending.size() >= maxInFlight) {
+                        failed += write(zos, pending.removeFirst().join(), manifest);
+                    }
+                    pending.addLast(pool.submit(() -> build(entity, publicKeyPem)));
+                }
+                AiResponse last = records.get(records.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+                // A short page is the last one; skip the extra round trip
+                List<AiResponse> next = records.size() < pageSize
+                        ? List.of()
+                        : repository.findPageByCreatedAt(from, to, afterCreatedAt, afterId, page);
+                while (!pending.isEmpty()) {
+                    failed += write(zos, pending.removeFirst().join(), manifest);
+                }
+                zos.flush();
+                // Open-in-view keeps one persistence context for the whole response; drop exported pages from it
+                entityManager.clear();
+                records = next;
+            }
+            EvidenceExportManifest result = new EvidenceExportManifest(from, to, manifest.size(), failed, manifest);
+            zos.putNextEntry(new ZipEntry(MANIFEST_JSON));
+            zos.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(result));
+            zos.closeEntry();
+            zos.finish();
+            return result;
+        } catch (IOException e) {
+            pending.forEach(t -> t.cancel(false));
+            log.debug("Evidence export aborted after {} records: {}", manifest.size(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /** @return 1 if the record is listed as failed, 0 if its package was written */
+    private static int write(ZipOutputStream zos, Built built, List<EvidenceExportEntry> manifest) throws IOException {
+        if (built.zip() == null) {
+            manifest.add(EvidenceExportEntry.failed(built.entity()));
+            return 1;
+        }
+        String name = packageFileName(built.entity().getId());
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(built.zip().length);
+        entry.setCompressedSize(built.zip().length);
+        entry.setCrc(built.crc());
+        if (built.entity().getCreatedAt() != null) {
+            entry.setTimeLocal(LocalDateTime.ofInstant(built.entity().getCreatedAt(), ZoneOffset.UTC));
+        }
+        zos.putNextEntry(entry);
+        zos.write(built.zip());
+        zos.closeEntry();
+        manifest.add(EvidenceExportEntry.of(built.entity(), name, built.zip().length, built.sha256()));
+        return 0;
+    }
+
+    private Built build(AiResponse entity, String publicKeyPem) {
+        try {
+            byte[] zip = recordEvidenceService.toZip(entity, publicKeyPem);
+            CRC32 crc = new CRC32();
+            crc.update(zip);
+            return new Built(entity, zip, crc.getValue(), HEX_LOWER.formatHex(CryptoPrimitives.sha256(zip)));
+        } catch (RuntimeException e) {
+            log.warn("Evidence export failed for id={}: {}", entity.getId(), e.getMessage());
+            return new Built(entity, null, 0, null);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Package of one record; {@code zip} is null when building it failed. */
+    private record Built(AiResponse entity, byte[] zip, long crc, String sha256) {
+    }
+}
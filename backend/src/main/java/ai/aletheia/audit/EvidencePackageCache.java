@@ -0,0 +1,309 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.EvidenceCacheStats;
+import ai.aletheia.config.EvidenceCacheProperties;
+import ai.aletheia.crypto.CryptoPrimitives;
+import ai.aletheia.crypto.SignatureService;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built Evidence Packages (.aep bytes) of records whose evidence is final, keyed by record id.
+ *
+ * <p>A package never changes once its record is COMPLETE or FAILED, and packages are byte-reproducible,
+ * so a cached copy is served with a strong ETag (SHA-256 of the bytes) and survives as long as the signing
+ * key that went into public_key.pem. Entries are kept in memory up to a total size with LRU eviction;
+ * evicted packages go to an optional spill directory (also LRU, size-bounded) and are read back from there
+ * on the next request. Packages are added when {@link AuditRecordService} reports a record final
+ * ({@link RecordCompletedEvent}, warmed on a background thread) and on a download miss.
+ *
+ * <p>LRU rather than a frequency-based policy: downloads cluster on recent records, and a
+ * {@link LinkedHashMap} in access order needs no extra dependency. All map updates hold the instance
+ * lock; disk reads and writes happen outside it.
+ */
+@Service
+public class EvidencePackageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EvidencePackageCache.class);
+    private static final HexFormat HEX_LOWER = HexFormat.of().withLowerCase();
+    private static final String SPILL_SUFFIX = ".aep";
+    /** Warm-ups waiting for the background thread; more are dropped (the download builds instead). */
+    private static final int WARM_QUEUE_CAPACITY = 1000;
+
+    /** Package bytes and their strong ETag (quoted SHA-256 hex). */
+    public record CachedPackage(byte[] zip, String etag) {
+    }
+
+    private final RecordEvidenceService recordEvidenceService;
+    private final AiResponseRepository repository;
+    private final SignatureService signatureService;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long maxSpillBytes;
+    private final Path spillDir;
+    private final ThreadPoolExecutor warmer;
+
+    private final LinkedHashMap<Long, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Spilled> spilled = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long spilledBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder spillHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+
+    public EvidencePackageCache(RecordEvidenceService recordEvidenceService,
+                                AiResponseRepository repository,
+                                SignatureService signatureService,
+                                EvidenceCacheProperties props) {
+        this.recordEvidenceService = recordEvidenceService;
+        this.repository = repository;
+        this.signatureService = signatureService;
+        this.enabled = props.isEnabled();
+        this.maxBytes = props.getMaxBytes();
+        this.maxEntryBytes = props.getMaxEntryBytes();
+        this.maxSpillBytes = props.getMaxSpillBytes();
+        this.spillDir = enabled && !props.getSpillDir().isEmpty() ? prepareSpillDir(Path.of(props.getSpillDir())) : null;
+        this.warmer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WARM_QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "evidence-cache-warm");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /** Spill files are not indexed across restarts; start from an empty directory. Null if unusable. */
+    private static Path prepareSpillDir(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SPILL_SUFFIX + "*")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            return dir;
+        } catch (IOException e) {
+            log.warn("Evidence cache spill directory {} not usable, spilling disabled: {}", dir, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether the package of this record may be cached: evidence is final and the response is small
+     * enough to build in memory (larger packages are streamed instead).
+     */
+    public boolean isCacheable(AiResponse entity) {
+        return enabled
+                && entity.getStatus() != EvidenceStatus.PENDING_TIMESTAMP
+                && (entity.getResponse() == null || entity.getResponse().length() <= maxEntryBytes);
+    }
+
+    /**
+     * Cached package of the record built with this public key, from memory or the spill directory.
+     *
+     * @return null when not cached (not counted as a miss; {@link #build} counts it)
+     */
+    public CachedPackage get(Long id, String publicKeyPem) {
+        if (!enabled) {
+            return null;
+        }
+        Spilled onDisk;
+        synchronized (this) {
+            Entry entry = memory.get(id);
+            if (entry != null && entry.publicKeyPem().equals(publicKeyPem)) {
+                hits.increment();
+                return entry.pkg();
+            }
+            onDisk = spilled.get(id);
+        }
+        if (onDisk == null || !onDisk.publicKeyPem().equals(publicKeyPem)) {
+            return null;
+        }
+        byte[] zip;
+        try {
+            zip = Files.readAllBytes(onDisk.path());
+        } catch (IOException e) {
+            log.warn("Evidence cache could not read spilled package id={}: {}", id, e.getMessage());
+            removeSpilled(id, onDisk);
+            return null;
+        }
+        spillHits.increment();
+        CachedPackage pkg = new CachedPackage(zip, onDisk.etag());
+        put(id, pkg, publicKeyPem);
+        return pkg;
+    }
+
+    /**
+     * Build the package of a cacheable record (see {@link #isCacheable}), add it to the cache and count a miss.
+     */
+    public CachedPackage build(AiResponse entity, String publicKeyPem) {
+        misses.increment();
+        CachedPackage pkg = create(entity, publicKeyPem);
+        put(entity.getId(), pkg, publicKeyPem);
+        return pkg;
+    }
+
+    /** Drop a record's package, e.g. after the record was rewritten. */
+    public void invalidate(Long id) {
+        Spilled onDisk;
+        synchronized (this) {
+            Entry entry = memory.remove(id);
+            if (entry != null) {
+                memoryBytes -= entry.pkg().zip().length;
+            }
+            onDisk = spilled.get(id);
+        }
+        if (onDisk != null) {
+            removeSpilled(id, onDisk);
+        }
+    }
+
+    public synchronized EvidenceCacheStats stats() {
+        return new EvidenceCacheStats(hits.sum(), spillHits.sum(), misses.sum(), evictions.sum(), spills.sum(),
+                memory.size(), memoryBytes, spilled.size(), spilledBytes);
+    }
+
+    /** Warm the cache for a record that just became final; runs after the commit, off the request thread. */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onRecordCompleted(RecordCompletedEvent event) {
+        if (enabled) {
+            warmer.execute(() -> warm(event.id()));
+        }
+    }
+
+    private void warm(Long id) {
+        try {
+            String publicKeyPem = signatureService.getPublicKeyPem();
+            synchronized (this) {
+                if (memory.containsKey(id)) {
+                    return;
+                }
+            }
+            repository.findById(id)
+                    .filter(this::isCacheable)
+                    .ifPresent(entity -> put(id, create(entity, publicKeyPem), publicKeyPem));
+        } catch (RuntimeException e) {
+            log.debug("Evidence cache warm-up for id={} skipped: {}", id, e.getMessage());
+        }
+    }
+
+    private CachedPackage create(AiResponse entity, String publicKeyPem) {
+        byte[] zip = recordEvidenceService.toZip(entity, publicKeyPem);
+        return new CachedPackage(zip, "\"" + HEX_LOWER.formatHex(CryptoPrimitives.sha256(zip)) + "\"");
+    }
+
+    private void put(Long id, CachedPackage pkg, String publicKeyPem) {
+        if (pkg.zip().length > maxEntryBytes) {
+            return;
+        }
+        List<Map.Entry<Long, Entry>> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry old = memory.put(id, new Entry(pkg, publicKeyPem));
+            memoryBytes += pkg.zip().length - (old != null ? old.pkg().zip().length : 0);
+            Iterator<Map.Entry<Long, Entry>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Long, Entry> e = eldest.next();
+                eldest.remove();
+                memoryBytes -= e.getValue().pkg().zip().length;
+                evicted.add(e);
+            }
+        }
+        evictions.add(evicted.size());
+        if (spillDir != null) {
+            for (Map.Entry<Long, Entry> e : evicted) {
+                spill(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    private void spill(Long id, Entry entry) {
+        synchronized (this) {
+            Spilled existing = spilled.get(id);
+            if (existing != null && existing.etag().equals(entry.pkg().etag())) {
+                return;
+            }
+        }
+        byte[] zip = entry.pkg().zip();
+        Path path = spillDir.resolve(id + SPILL_SUFFIX);
+        try {
+            Path tmp = Files.createTempFile(spillDir, id + SPILL_SUFFIX, ".tmp");
+            Files.write(tmp, zip);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Evidence cache could not spill package id={}: {}", id, e.getMessage());
+            return;
+        }
+        spills.increment();
+        List<Spilled> dropped = new ArrayList<>();
+        synchronized (this) {
+            Spilled old = spilled.put(id, new Spilled(path, zip.length, entry.pkg().etag(), entry.publicKeyPem()));
+            spilledBytes += zip.length - (old != null ? old.size() : 0);
+            Iterator<Spilled> eldest = spilled.values().iterator();
+            while (spilledBytes > maxSpillBytes && eldest.hasNext()) {
+                Spilled s = eldest.next();
+                eldest.remove();
+                spilledBytes -= s.size();
+                dropped.add(s);
+            }
+        }
+        dropped.forEach(s -> deleteQuietly(s.path()));
+    }
+
+    private void removeSpilled(Long id, Spilled expected) {
+        synchronized (this) {
+            if (!spilled.remove(id, expected)) {
+                return;
+            }
+            spilledBytes -= expected.size();
+        }
+        deleteQuietly(expected.path());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete spilled package {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        warmer.shutdownNow();
+    }
+
+    /** In-memory package and the public key PEM it was built with. */
+    private record Entry(CachedPackage pkg, String publicKeyPem) {
+    }
+
+    /** Spilled package: file, size, ETag and the public key PEM it was built with. */
+    private record Spilled(Path path, long size, String etag, String publicKeyPem) {
+    }
+}
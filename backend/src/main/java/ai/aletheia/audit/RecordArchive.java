@@ -0,0 +1,116 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.ArchivedRecord;
+import ai.aletheia.config.ArchiveProperties;
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Archived audit records: one bundle per month ({@code ai_response-YYYY-MM.aep}, a ZIP with a deflated
+ * {@code records/<id>.json} entry per record and {@code manifest.json}), written by {@link RecordArchiver}
+ * and indexed in ai_response_archive by id.
+ *
+ * <p>The index keeps each entry's offset in the bundle, so {@link #find} reads one local header and inflates
+ * one entry instead of opening the ZIP's central directory, which for a month of records is large. Bundles
+ * remain ordinary ZIP files for any other tool.
+ */
+@Service
+public class RecordArchive {
+
+    static final String BUNDLE_PREFIX = "ai_response-";
+    static final String BUNDLE_SUFFIX = ".aep";
+    static final String RECORD_ENTRY_PREFIX = "records/";
+    static final String MANIFEST_ENTRY = "manifest.json";
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+
+    public RecordArchive(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ArchiveProperties props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dir = Path.of(props.getDir());
+    }
+
+    /**
+     * Archived record by id, as a detached entity.
+     *
+     * @return empty when the id is not archived
+     * @throws UncheckedIOException if the id is indexed but its bundle cannot be read
+     */
+    public Optional<AiResponse> find(Long id) {
+        List<Location> found = jdbcTemplate.query(
+                "SELECT bundle, entry_offset FROM ai_response_archive WHERE id = ?",
+                (rs, n) -> new Location(rs.getString(1), rs.getLong(2)), id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Location location = found.get(0);
+        try {
+            return Optional.of(read(dir.resolve(location.bundle()), location.offset()).toEntity());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archived record " + id + " not readable from " + location.bundle(), e);
+        }
+    }
+
+    Path dir() {
+        return dir;
+    }
+
+    static String bundleName(YearMonth month) {
+        return BUNDLE_PREFIX + month + BUNDLE_SUFFIX;
+    }
+
+    static String entryName(Long id) {
+        return RECORD_ENTRY_PREFIX + id + ".json";
+    }
+
+    private ArchivedRecord read(Path bundle, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, offset + header.position()) < 0) {
+                    throw new IOException("Truncated bundle at offset " + offset);
+                }
+            }
+            if (header.getInt(0) != LOCAL_HEADER_SIGNATURE || header.getShort(8) != ZipEntry.DEFLATED) {
+                throw new IOException("No deflated ZIP entry at offset " + offset);
+            }
+            int nameLength = Short.toUnsignedInt(header.getShort(26));
+            int extraLength = Short.toUnsignedInt(header.getShort(28));
+            channel.position(offset + LOCAL_HEADER_SIZE + nameLength + extraLength);
+            Inflater inflater = new Inflater(true);
+            try (InputStream in = new InflaterInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel)), inflater)) {
+                return objectMapper.readValue(in, ArchivedRecord.class);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private record Location(String bundle, long offset) {
+    }
+}
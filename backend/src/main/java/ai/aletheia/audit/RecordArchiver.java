@@ -0,0 +1,291 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.ArchivedRecord;
+import ai.aletheia.config.ArchiveProperties;
+import ai.aletheia.db.AiResponsePartitions;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Moves months of audit records older than {@link ArchiveProperties#getHotMonths()} from ai_response into
+ * {@link RecordArchive} bundles, and keeps ai_response partitions created ahead (PostgreSQL).
+ *
+ * <p>Per month, oldest first: the records are written to a new bundle (temporary file, then renamed and made
+ * read-only), then in one transaction the ids are indexed and the month is removed from ai_response — its
+ * partition detached and dropped on PostgreSQL, its rows deleted on H2. A crash in between leaves the records
+ * in ai_response and the month is simply archived again on the next run. A month that still has records
+ * waiting for their timestamp is skipped until they are final.
+ *
+ * <p>Runs on a daemon thread right after startup and then every {@link ArchiveProperties#getIntervalHours()}.
+ */
+@Service
+public class RecordArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordArchiver.class);
+    private static final String INDEX_SQL =
+            "INSERT INTO ai_response_archive (id, created_at, bundle, entry_offset) VALUES (?, ?, ?, ?)";
+    private static final int INDEX_BATCH_SIZE = 1000;
+
+    private final AiResponseRepository repository;
+    private final AiResponsePartitions partitions;
+    private final RecordArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ArchiveProperties props;
+    private ScheduledExecutorService scheduler;
+
+    public RecordArchiver(AiResponseRepository repository,
+                          AiResponsePartitions partitions,
+                          RecordArchive archive,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper,
+                          ArchiveProperties props) {
+        this.repository = repository;
+        this.partitions = partitions;
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "record-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce, 0, props.getIntervalHours(), TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void runOnce() {
+        try {
+            partitions.ensureAhead(props.getPartitionsAhead());
+            if (props.isEnabled()) {
+                archiveDue();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Record archival stopped, resumes on next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archive every month before the hot window.
+     *
+     * @return number of records archived per month
+     */
+    Map<YearMonth, Integer> archiveDue() {
+        YearMonth firstHot = YearMonth.now(ZoneOffset.UTC).minusMonths(props.getHotMonths() - 1L);
+        Map<YearMonth, Integer> counts = new LinkedHashMap<>();
+        Instant lowerBound = null;
+        while (true) {
+            OffsetDateTime oldest = lowerBound == null
+                    ? jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM ai_response", OffsetDateTime.class)
+                    : jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM ai_response WHERE created_at >= ?",
+                            OffsetDateTime.class, lowerBound.atOffset(ZoneOffset.UTC));
+            if (oldest == null) {
+                break;
+            }
+            YearMonth month = YearMonth.from(oldest.withOffsetSameInstant(ZoneOffset.UTC));
+            if (!month.isBefore(firstHot)) {
+                break;
+            }
+            int archived = archiveMonth(month);
+            if (archived > 0) {
+                counts.put(month, archived);
+            }
+            // Skipped (pending) months are left for the next run
+            lowerBound = AiResponsePartitions.start(month.plusMonths(1));
+        }
+        if (!counts.isEmpty()) {
+            log.info("Archived records: {}", counts);
+        }
+        return counts;
+    }
+
+    /**
+     * Archive all records of one month.
+     *
+     * @return number of records archived; 0 when the month is empty or not final yet
+     */
+    int archiveMonth(YearMonth month) {
+        Instant from = AiResponsePartitions.start(month);
+        Instant to = AiResponsePartitions.start(month.plusMonths(1));
+        Integer pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ai_response WHERE created_at >= ? AND created_at < ? AND status = ?",
+                Integer.class, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC),
+                EvidenceStatus.PENDING_TIMESTAMP.name());
+        if (pending != null && pending > 0) {
+            log.info("Archival of {} skipped: {} records still pending", month, pending);
+            return 0;
+        }
+        String bundle = freeBundleName(month);
+        List<IndexEntry> index;
+        try {
+            index = writeBundle(month, from, to, bundle);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing archive bundle " + bundle + " failed", e);
+        }
+        if (index.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM ai_response_archive WHERE bundle = ?", bundle);
+            jdbcTemplate.batchUpdate(INDEX_SQL, index, INDEX_BATCH_SIZE, (ps, entry) -> {
+                ps.setLong(1, entry.id());
+                ps.setObject(2, entry.createdAt().atOffset(ZoneOffset.UTC));
+                ps.setString(3, bundle);
+                ps.setLong(4, entry.offset());
+            });
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM ai_response WHERE created_at >= ? AND created_at < ?",
+                    Integer.class, from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+            if (rows == null || rows != index.size()) {
+                throw new IllegalStateException(month + " changed while archiving: " + rows + " rows, "
+                        + index.size() + " in bundle");
+            }
+            // Not part of the partition: the bundle carries them
+            jdbcTemplate.update("DELETE FROM policy_rule_result WHERE response_id IN"
+                            + " (SELECT id FROM ai_response WHERE created_at >= ? AND created_at < ?)",
+                    from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+            partitions.removeMonth(month);
+        });
+        log.info("Archived {} records of {} to {}", index.size(), month, bundle);
+        return index.size();
+    }
+
+    /** The month's bundle name, or a dated variant when a bundle of that name is already indexed. */
+    private String freeBundleName(YearMonth month) {
+        String name = RecordArchive.bundleName(month);
+        Integer indexed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ai_response_archive WHERE bundle = ?", Integer.class, name);
+        if (indexed == null || indexed == 0) {
+            return name;
+        }
+        return RecordArchive.BUNDLE_PREFIX + month + "-" + Instant.now().getEpochSecond() + RecordArchive.BUNDLE_SUFFIX;
+    }
+
+    private List<IndexEntry> writeBundle(YearMonth month, Instant from, Instant to, String bundle) throws IOException {
+        Path dir = archive.dir();
+        Files.createDirectories(dir);
+        Path target = dir.resolve(bundle);
+        Path tmp = dir.resolve(bundle + ".tmp");
+        List<IndexEntry> index = new ArrayList<>();
+        try (CountingOutputStream counter = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)));
+             ZipOutputStream zip = new ZipOutputStream(counter)) {
+            zip.setLevel(Deflater.BEST_COMPRESSION);
+            Pageable page = PageRequest.ofSize(props.getPageSize());
+            Instant afterCreatedAt = from;
+            Long afterId = -1L;
+            List<AiResponse> records = repository.findPageByCreatedAt(from, to, afterCreatedAt, afterId, page);
+            while (!records.isEmpty()) {
+                for (AiResponse e : records) {
+                    // Entries before it are complete, so this is where its local header starts
+                    long offset = counter.count();
+                    zip.putNextEntry(new ZipEntry(RecordArchive.entryName(e.getId())));
+                    zip.write(objectMapper.writeValueAsBytes(ArchivedRecord.of(e)));
+                    zip.closeEntry();
+                    index.add(new IndexEntry(e.getId(), e.getCreatedAt(), offset));
+                }
+                AiResponse last = records.get(records.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+                records = records.size() < props.getPageSize()
+                        ? List.of()
+                        : repository.findPageByCreatedAt(from, to, afterCreatedAt, afterId, page);
+            }
+            zip.putNextEntry(new ZipEntry(RecordArchive.MANIFEST_ENTRY));
+            zip.write(objectMapper.writeValueAsBytes(Map.of(
+                    "month", month.toString(),
+                    "from", from.toString(),
+                    "to", to.toString(),
+                    "records", index.size(),
+                    "archivedAt", Instant.now().toString())));
+            zip.closeEntry();
+        }
+        if (index.isEmpty()) {
+            Files.delete(tmp);
+            return index;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (!target.toFile().setWritable(false, false)) {
+            log.warn("Could not make archive bundle {} read-only", target);
+        }
+        return index;
+    }
+
+    private record IndexEntry(Long id, Instant createdAt, long offset) {
+    }
+
+    /** Counts bytes written by the ZipOutputStream, i.e. the position in the bundle. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
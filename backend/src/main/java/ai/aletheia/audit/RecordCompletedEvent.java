@@ -0,0 +1,11 @@
+package ai.aletheia.audit;
+
+/**
+ * Published by {@link AuditRecordService} when a record reaches its final evidence status (COMPLETE or
+ * FAILED); from then on its Evidence Package no longer changes. Listeners that read the record should use
+ * {@code @TransactionalEventListener} so they run after the commit.
+ *
+ * @param id record id
+ */
+public record RecordCompletedEvent(Long id) {
+}
@@ -0,0 +1,165 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.crypto.PqcSignatureService;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.evidence.EvidencePackageService;
+import ai.aletheia.evidence.EvidencePackageServiceImpl;
+import ai.aletheia.policy.PolicyEvaluationService;
+import ai.aletheia.policy.PolicyRuleResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the Evidence Package (.aep) of a stored record: rebuilds canonical.bin as the signed payload in the
+ * record's canonical format (the bytes hash.sha256 is over), gathers signature, TSA token, PQC artifacts
+ * and policy metadata from the record and adds the signing public key.
+ *
+ * <p>Shared by GET /api/ai/evidence/{id} and the bulk export. Stateless, so packages of different records
+ * can be built on several threads at once. The ZIP forms encode response.txt and canonical.bin while the
+ * entry is written, so no full copy of the response bytes is held next to the archive.
+ */
+@Service
+public class RecordEvidenceService {
+
+    private static final String PQC_ALGORITHM_NAME = "ML-DSA (Dilithium3)";
+
+    private final SignedPayloadService signedPayloadService;
+    private final EvidencePackageService evidencePackageService;
+    private final PolicyEvaluationService policyEvaluationService;
+    private final PqcSignatureService pqcSignatureService;
+
+    public RecordEvidenceService(
+            SignedPayloadService signedPayloadService,
+            EvidencePackageService evidencePackageService,
+            PolicyEvaluationService policyEvaluationService,
+            @Autowired(required = false) PqcSignatureService pqcSignatureService) {
+        this.signedPayloadService = signedPayloadService;
+        this.evidencePackageService = evidencePackageService;
+        this.policyEvaluationService = policyEvaluationService;
+        this.pqcSignatureService = pqcSignatureService;
+    }
+
+    /** All package files with their contents (e.g. for the JSON format). */
+    public Map<String, byte[]> files(AiResponse entity, String publicKeyPem) {
+        byte[] canonicalBytes = signedPayloadService.payload(entity, signedPayloadService.payloadFormat(entity));
+        return buildFiles(entity, publicKeyPem, entity.getResponse(), canonicalBytes);
+    }
+
+    /**
+     * Write the package as a ZIP to {@code out}; {@code out} is not closed.
+     *
+     * @throws IOException if writing to {@code out} fails
+     */
+    public void writeZip(AiResponse entity, String publicKeyPem, OutputStream out) throws IOException {
+        Map<String, byte[]> files = buildFiles(entity, publicKeyPem, null, null);
+        CanonicalFormat format = signedPayloadService.payloadFormat(entity);
+        Map<String, EvidencePackageService.EntryWriter> streamed = Map.of(
+                EvidencePackageServiceImpl.RESPONSE_TXT, entry -> writeResponseText(entity, entry),
+                EvidencePackageServiceImpl.CANONICAL_BIN, entry -> signedPayloadService.writePayload(entity, format, entry));
+        evidencePackageService.writeZip(files, streamed, out);
+    }
+
+    /** The package as ZIP bytes (same content as {@link #writeZip}). */
+    public byte[] toZip(AiResponse entity, String publicKeyPem) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            writeZip(entity, publicKeyPem, baos);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to build Evidence Package ZIP", e);
+        }
+        return baos.toByteArray();
+    }
+
+    private static void writeResponseText(AiResponse entity, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(entity.getResponse() != null ? entity.getResponse() : "");
+        writer.flush();
+    }
+
+    private static boolean hasClaim(AiResponse entity) {
+        return entity.getClaim() != null || entity.getPolicyVersion() != null;
+    }
+
+    /**
+     * Package files for the record. {@code responseText}/{@code canonicalBytes} may be null to leave empty
+     * placeholders for entries that are streamed.
+     */
+    private Map<String, byte[]> buildFiles(AiResponse entity, String publicKeyPem, String responseText, byte[] canonicalBytes) {
+        String claim = entity.getClaim();
+        Double confidence = entity.getConfidence();
+        String policyVersion = entity.getPolicyVersion();
+        Double policyCoverage = entity.getPolicyCoverage();
+        List<PolicyRuleResult> policyRules = policyEvaluationService.rules(entity);
+
+        byte[] signatureBytes = entity.getSignature() != null && !entity.getSignature().isBlank()
+                ? Base64.getDecoder().decode(entity.getSignature())
+                : null;
+        byte[] tsaTokenBytes = entity.getTsaToken() != null && !entity.getTsaToken().isBlank()
+                ? Base64.getDecoder().decode(entity.getTsaToken())
+                : null;
+
+        byte[] signaturePqcBytes = null;
+        String pqcPublicKeyPem = null;
+        if (entity.getSignaturePqc() != null && !entity.getSignaturePqc().isBlank()) {
+            signaturePqcBytes = Base64.getDecoder().decode(entity.getSignaturePqc());
+            pqcPublicKeyPem = entity.getPqcPublicKeyPem();
+            if (pqcPublicKeyPem == null || pqcPublicKeyPem.isBlank()) {
+                if (pqcSignatureService != null && pqcSignatureService.isAvailable()) {
+                    pqcPublicKeyPem = pqcSignatureService.getPublicKeyPem();
+                }
+            }
+        }
+
+        Map<String, byte[]> files;
+        if (hasClaim(entity)) {
+            files = evidencePackageService.buildPackage(
+                    responseText,
+                    canonicalBytes,
+                    entity.getResponseHash(),
+                    signatureBytes,
+                    tsaTokenBytes,
+                    entity.getLlmModel(),
+                    entity.getCreatedAt(),
+                    entity.getId(),
+                    publicKeyPem,
+                    claim,
+                    confidence,
+                    policyVersion,
+                    policyCoverage,
+                    policyRules,
+                    signaturePqcBytes,
+                    pqcPublicKeyPem,
+                    PQC_ALGORITHM_NAME);
+        } else {
+            files = evidencePackageService.buildPackage(
+                    responseText,
+                    canonicalBytes,
+                    entity.getResponseHash(),
+                    signatureBytes,
+                    tsaTokenBytes,
+                    entity.getLlmModel(),
+                    entity.getCreatedAt(),
+                    entity.getId(),
+                    publicKeyPem,
+                    policyCoverage,
+                    policyRules,
+                    signaturePqcBytes,
+                    pqcPublicKeyPem,
+                    PQC_ALGORITHM_NAME);
+        }
+
+        evidencePackageService.addTimestampProof(files, entity.getTsaMerkleProof());
+        return files;
+    }
+}
@@ -0,0 +1,105 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.RecordCheck;
+import ai.aletheia.crypto.PqcSignatureServiceImpl;
+import ai.aletheia.crypto.SignatureService;
+import ai.aletheia.db.entity.AiResponse;
+import org.bouncycastle.pqc.crypto.crystals.dilithium.DilithiumPublicKeyParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Re-checks a stored record: recomputes the hash of its signed payload, verifies the RSA
+ * signature and the PQC signature against the public key stored with the record.
+ *
+ * <p>Shared by GET /api/ai/verify/{id} and the batch endpoint. Stateless apart from a small cache of
+ * parsed PQC public keys (records share one key until it is rotated), so it is safe to call from many
+ * threads at once.
+ */
+@Service
+public class RecordVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordVerificationService.class);
+    private static final int MAX_CACHED_PQC_KEYS = 16;
+
+    private final SignedPayloadService signedPayloadService;
+    private final SignatureService signatureService;
+    private final Map<String, DilithiumPublicKeyParameters> pqcKeys = new ConcurrentHashMap<>();
+
+    public RecordVerificationService(
+            SignedPayloadService signedPayloadService,
+            SignatureService signatureService) {
+        this.signedPayloadService = signedPayloadService;
+        this.signatureService = signatureService;
+    }
+
+    /**
+     * Hash, RSA signature and PQC signature checks for one record. The hash is recomputed once, in the
+     * canonical format stored with the record (see {@link SignedPayloadService#payloadFormat}).
+     */
+    public RecordCheck check(AiResponse e) {
+        String stored = e.getResponseHash();
+        String computedHash = stored == null || stored.isBlank()
+                ? null
+                : signedPayloadService.hash(e, signedPayloadService.payloadFormat(e));
+        boolean hashMatch = computedHash != null && computedHash.equalsIgnoreCase(stored);
+        return new RecordCheck(computedHash, hashMatch, computeSignatureValid(e), computePqcValid(e));
+    }
+
+    private String computeSignatureValid(AiResponse e) {
+        String sig = e.getSignature();
+        String hash = e.getResponseHash();
+        if (sig == null || sig.isBlank() || hash == null || hash.isBlank()) {
+            return "n_a";
+        }
+        try {
+            return signatureService.verify(hash, sig) ? "valid" : "invalid";
+        } catch (IllegalStateException ex) {
+            if (ex.getMessage() != null && ex.getMessage().contains("Signing key not configured")) {
+                return "n_a";
+            }
+            throw ex;
+        } catch (Exception ex) {
+            log.warn("Signature verification failed for id={}: {}", e.getId(), ex.getMessage());
+            return "invalid";
+        }
+    }
+
+    /** PQC signature against the key stored with the record, so records signed before a key rotation still verify. */
+    private String computePqcValid(AiResponse e) {
+        String sig = e.getSignaturePqc();
+        if (sig == null || sig.isBlank()) {
+            return "n_a";
+        }
+        try {
+            DilithiumPublicKeyParameters key = pqcKey(e.getPqcPublicKeyPem());
+            byte[] hashBytes = PqcSignatureServiceImpl.hashHexToBytes(e.getResponseHash());
+            return PqcSignatureServiceImpl.verify(key, hashBytes, Base64.getDecoder().decode(sig)) ? "valid" : "invalid";
+        } catch (Exception ex) {
+            log.warn("PQC signature verification failed for id={}: {}", e.getId(), ex.getMessage());
+            return "invalid";
+        }
+    }
+
+    private DilithiumPublicKeyParameters pqcKey(String pem) {
+        if (pem == null || pem.isBlank()) {
+            return null;
+        }
+        DilithiumPublicKeyParameters key = pqcKeys.get(pem);
+        if (key == null) {
+            key = PqcSignatureServiceImpl.parsePublicKeyPem(pem);
+            if (key != null) {
+                if (pqcKeys.size() >= MAX_CACHED_PQC_KEYS) {
+                    pqcKeys.clear();
+                }
+                pqcKeys.put(pem, key);
+            }
+        }
+        return key;
+    }
+}
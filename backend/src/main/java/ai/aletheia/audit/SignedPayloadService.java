@@ -0,0 +1,132 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.claim.ClaimCanonical;
+import ai.aletheia.crypto.CanonicalizationService;
+import ai.aletheia.crypto.HashService;
+import ai.aletheia.crypto.IncrementalCanonicalizer;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * The signed payload of a stored record (the bytes its response hash is over), per {@link CanonicalFormat}.
+ *
+ * <p>Verification and Evidence Packages both go through {@link #payloadFormat}: the format stored with
+ * the record, so one canonicalization and one hash per record. Only rows not yet classified by
+ * {@link CanonicalFormatMigration} are probed with {@link #classify}.
+ */
+@Service
+public class SignedPayloadService {
+
+    private static final Logger log = LoggerFactory.getLogger(SignedPayloadService.class);
+
+    private final CanonicalizationService canonicalizationService;
+    private final HashService hashService;
+
+    public SignedPayloadService(CanonicalizationService canonicalizationService, HashService hashService) {
+        this.canonicalizationService = canonicalizationService;
+        this.hashService = hashService;
+    }
+
+    /** Format a new record is hashed with: claim metadata is appended when there is a claim or policy version. */
+    public static CanonicalFormat currentFormat(String claim, String policyVersion) {
+        return claim != null || policyVersion != null ? CanonicalFormat.RESPONSE_CLAIM : CanonicalFormat.RESPONSE;
+    }
+
+    /**
+     * Format to rebuild the payload with: the stored one, probed for unclassified rows, and the current
+     * format for {@link CanonicalFormat#UNVERIFIABLE} rows (their hash will not match whatever is used).
+     */
+    public CanonicalFormat payloadFormat(AiResponse e) {
+        CanonicalFormat format = e.getCanonicalFormat() != null ? e.getCanonicalFormat() : classify(e);
+        return format == CanonicalFormat.UNVERIFIABLE ? currentFormat(e.getClaim(), e.getPolicyVersion()) : format;
+    }
+
+    /**
+     * Find the format that reproduces the stored hash: current claim format, legacy claim format, then
+     * response only. The response is canonicalized once for all attempts.
+     */
+    public CanonicalFormat classify(AiResponse e) {
+        String stored = e.getResponseHash();
+        if (stored == null || stored.isBlank()) {
+            return CanonicalFormat.UNVERIFIABLE;
+        }
+        try {
+            byte[] canonical = canonicalizationService.canonicalize(e.getResponse());
+            if (e.getClaim() != null || e.getPolicyVersion() != null) {
+                if (stored.equalsIgnoreCase(hashService.hash(withClaim(canonical, e, CanonicalFormat.RESPONSE_CLAIM)))) {
+                    return CanonicalFormat.RESPONSE_CLAIM;
+                }
+                if (stored.equalsIgnoreCase(hashService.hash(withClaim(canonical, e, CanonicalFormat.RESPONSE_CLAIM_LEGACY)))) {
+                    return CanonicalFormat.RESPONSE_CLAIM_LEGACY;
+                }
+            }
+            if (stored.equalsIgnoreCase(hashService.hash(canonical))) {
+                return CanonicalFormat.RESPONSE;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Canonical format probe failed for id={}: {}", e.getId(), ex.getMessage());
+        }
+        return CanonicalFormat.UNVERIFIABLE;
+    }
+
+    /** Payload bytes in the given format ({@link CanonicalFormat#UNVERIFIABLE} is treated as response only). */
+    public byte[] payload(AiResponse e, CanonicalFormat format) {
+        byte[] canonical = canonicalizationService.canonicalize(e.getResponse());
+        return hasClaimSuffix(format) ? withClaim(canonical, e, format) : canonical;
+    }
+
+    /**
+     * Hash of {@link #payload}.
+     *
+     * @return 64-char hex, or null when the payload cannot be hashed (e.g. over the size limit)
+     */
+    public String hash(AiResponse e, CanonicalFormat format) {
+        try {
+            return hashService.hash(payload(e, format));
+        } catch (RuntimeException ex) {
+            log.warn("Hash computation failed for id={}: {}", e.getId(), ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Same bytes as {@link #payload}, canonicalized line by line into {@code out}. */
+    public void writePayload(AiResponse e, CanonicalFormat format, OutputStream out) throws IOException {
+        try {
+            IncrementalCanonicalizer canonicalizer = canonicalizationService.incremental(out);
+            canonicalizer.append(e.getResponse());
+            canonicalizer.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        if (hasClaimSuffix(format)) {
+            out.write('\n');
+            out.write(claimBytes(e, format));
+        }
+    }
+
+    private static boolean hasClaimSuffix(CanonicalFormat format) {
+        return format == CanonicalFormat.RESPONSE_CLAIM || format == CanonicalFormat.RESPONSE_CLAIM_LEGACY;
+    }
+
+    private static byte[] withClaim(byte[] canonical, AiResponse e, CanonicalFormat format) {
+        byte[] claimBytes = claimBytes(e, format);
+        byte[] bytes = new byte[canonical.length + 1 + claimBytes.length];
+        System.arraycopy(canonical, 0, bytes, 0, canonical.length);
+        bytes[canonical.length] = '\n';
+        System.arraycopy(claimBytes, 0, bytes, canonical.length + 1, claimBytes.length);
+        return bytes;
+    }
+
+    private static byte[] claimBytes(AiResponse e, CanonicalFormat format) {
+        return format == CanonicalFormat.RESPONSE_CLAIM_LEGACY
+                ? ClaimCanonical.toCanonicalBytesLegacy(e.getClaim(), e.getConfidence(), e.getLlmModel(), e.getPolicyVersion())
+                : ClaimCanonical.toCanonicalBytes(e.getClaim(), e.getConfidence(), e.getLlmModel(), e.getPolicyVersion());
+    }
+}
@@ -0,0 +1,272 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.config.AuditWriteBehindProperties;
+import ai.aletheia.db.AiResponseIdAllocator;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.policy.PolicyRuleResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for {@link AuditRecordService#save}: the id comes from
+ * {@link AiResponseIdAllocator} right away, the row is queued and one writer thread inserts queued rows as a
+ * JDBC batch, one transaction per batch (with the records' policy_rule_result rows as a second batch).
+ *
+ * <p>Batches form by themselves under load: while one batch commits, new records queue up behind it, so
+ * concurrent requests share a commit (group commit) instead of paying one each. With
+ * {@link AuditWriteBehindProperties#isFlushBeforeAck() flush-before-ack} (default) {@link #write} returns
+ * after that commit, so an acknowledged record is durable exactly as with a direct save. Without it,
+ * {@link #write} returns once queued and the queue is lost if the process dies.
+ *
+ * <p>A batch that fails is retried row by row, so one bad record does not fail the others.
+ * {@link RecordCompletedEvent} is published per row after its commit. On shutdown the queue is drained;
+ * records the writer could not insert before stopping (interrupt, shutdown timeout) fail instead of leaving
+ * their callers waiting.
+ */
+@Service
+@ConditionalOnProperty(name = "ai.aletheia.audit.write-behind.enabled", havingValue = "true")
+public class WriteBehindAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindAuditWriter.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long POLL_MILLIS = 100;
+
+    static final String INSERT_SQL = "INSERT INTO ai_response (id, prompt, response, response_hash, signature,"
+            + " signature_pqc, pqc_public_key_pem, tsa_token, tsa_merkle_proof, llm_model, created_at, request_id,"
+            + " temperature, system_prompt, version, claim, confidence, policy_version, policy_coverage,"
+            + " policy_rules_evaluated, status, canonical_format, prompt_blob, response_blob)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String RULE_INSERT_SQL = "INSERT INTO policy_rule_result (response_id, rule_index, rule_id, status)"
+            + " VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AiResponseIdAllocator idAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final boolean flushBeforeAck;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public WriteBehindAuditWriter(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  AiResponseIdAllocator idAllocator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AuditWriteBehindProperties props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = props.getBatchSize();
+        this.flushBeforeAck = props.isFlushBeforeAck();
+        this.queue = new ArrayBlockingQueue<>(props.getQueueCapacity());
+        this.writer = new Thread(this::run, "audit-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("Audit write-behind enabled: batchSize={}, queueCapacity={}, flushBeforeAck={}",
+                batchSize, props.getQueueCapacity(), flushBeforeAck);
+    }
+
+    /**
+     * Assign an id to a new record and queue it for insert. Blocks while the queue is full and, with
+     * flush-before-ack, until the record is committed.
+     *
+     * @return the record's id (also set on {@code entity})
+     * @throws IllegalStateException if the writer is stopped or (flush-before-ack) the insert failed
+     */
+    public Long write(AiResponse entity) {
+        if (!running) {
+            throw new IllegalStateException("Audit write-behind writer is stopped");
+        }
+        Long id = idAllocator.next();
+        entity.setId(id);
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(Instant.now());
+        }
+        Pending pending = new Pending(entity, new CompletableFuture<>());
+        try {
+            while (!queue.offer(pending, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    throw new IllegalStateException("Audit write-behind writer is stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing audit record " + id, e);
+        }
+        // The writer drains the queue once running is false, so a record queued before that is inserted;
+        // one queued after it may never be taken, so take it back (unless the writer or shutdown got it)
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Audit write-behind writer is stopped");
+        }
+        if (flushBeforeAck) {
+            try {
+                pending.done().join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Audit record " + id + " not saved", e.getCause());
+            }
+        }
+        return id;
+    }
+
+    /** Records queued and not yet committed. */
+    public int queueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                break;
+            } catch (RuntimeException e) {
+                log.error("Audit write-behind batch failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        failQueued();
+    }
+
+    /** Fail the records still queued, so callers waiting for them (flush-before-ack) return. */
+    private void failQueued() {
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (left.isEmpty()) {
+            return;
+        }
+        log.warn("Audit write-behind stopped with {} records not saved", left.size());
+        for (Pending pending : left) {
+            pending.done().completeExceptionally(new IllegalStateException(
+                    "Audit write-behind writer stopped before record " + pending.entity().getId() + " was saved"));
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            batch.forEach(this::completed);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed(batch.get(0), e);
+                return;
+            }
+            log.warn("Audit write-behind batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+        for (Pending pending : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(pending)));
+                completed(pending);
+            } catch (RuntimeException e) {
+                failed(pending, e);
+            }
+        }
+    }
+
+    private void completed(Pending pending) {
+        pending.done().complete(null);
+        eventPublisher.publishEvent(new RecordCompletedEvent(pending.entity().getId()));
+    }
+
+    private static void failed(Pending pending, RuntimeException e) {
+        log.error("Audit record id={} could not be saved: {}", pending.entity().getId(), e.getMessage());
+        pending.done().completeExceptionally(e);
+    }
+
+    private void insert(List<Pending> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, pending) -> bind(ps, pending.entity()));
+        List<Object[]> rules = new ArrayList<>();
+        for (Pending pending : batch) {
+            List<PolicyRuleResult> results = pending.entity().getPolicyRules();
+            for (int i = 0; i < results.size(); i++) {
+                rules.add(new Object[] { pending.entity().getId(), i, results.get(i).ruleId(), results.get(i).status() });
+            }
+        }
+        if (!rules.isEmpty()) {
+            jdbcTemplate.batchUpdate(RULE_INSERT_SQL, rules);
+        }
+    }
+
+    static void bind(PreparedStatement ps, AiResponse e) throws SQLException {
+        ps.setLong(1, e.getId());
+        // Inline text only when not moved to content_blob
+        ps.setString(2, e.getPromptBlob() != null ? null : e.getPrompt());
+        ps.setString(3, e.getResponseBlob() != null ? null : e.getResponse());
+        ps.setString(4, e.getResponseHash());
+        ps.setString(5, e.getSignature());
+        ps.setString(6, e.getSignaturePqc());
+        ps.setString(7, e.getPqcPublicKeyPem());
+        ps.setString(8, e.getTsaToken());
+        ps.setString(9, e.getTsaMerkleProof());
+        ps.setString(10, e.getLlmModel());
+        ps.setObject(11, e.getCreatedAt().atOffset(ZoneOffset.UTC));
+        ps.setString(12, e.getRequestId());
+        setDouble(ps, 13, e.getTemperature());
+        ps.setString(14, e.getSystemPrompt());
+        ps.setInt(15, e.getVersion() != null ? e.getVersion() : 1);
+        ps.setString(16, e.getClaim());
+        setDouble(ps, 17, e.getConfidence());
+        ps.setString(18, e.getPolicyVersion());
+        setDouble(ps, 19, e.getPolicyCoverage());
+        ps.setString(20, e.getPolicyRulesEvaluated());
+        ps.setString(21, e.getStatus() != null ? e.getStatus().name() : "COMPLETE");
+        ps.setString(22, e.getCanonicalFormat() != null ? e.getCanonicalFormat().name() : null);
+        ps.setString(23, e.getPromptBlob());
+        ps.setString(24, e.getResponseBlob());
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) {
+            ps.setDouble(index, value);
+        } else {
+            ps.setNull(index, Types.DOUBLE);
+        }
+    }
+
+    /** Stop accepting records and insert what is queued; what is left after the timeout fails. */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        if (writer.isAlive()) {
+            log.warn("Audit write-behind writer did not stop within {}s", SHUTDOWN_TIMEOUT_SECONDS);
+        }
+        failQueued();
+    }
+
+    /** Queued record and the future completed after its commit. */
+    private record Pending(AiResponse entity, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,77 @@
+package ai.aletheia.audit.dto;
+
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.db.entity.EvidenceStatus;
+import ai.aletheia.policy.PolicyRuleResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One record in an archive bundle ({@code records/<id>.json}): every ai_response column, with prompt and
+ * response as text (content blobs resolved) and the policy_rule_result rows as {@code policyRules}, so the
+ * bundle is self-contained. Bundles made before V17 have {@code policyRulesEvaluated} (JSON) instead.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArchivedRecord(
+        Long id,
+        Instant createdAt,
+        String prompt,
+        String response,
+        String responseHash,
+        String signature,
+        String signaturePqc,
+        String pqcPublicKeyPem,
+        String tsaToken,
+        String tsaMerkleProof,
+        String llmModel,
+        String requestId,
+        Double temperature,
+        String systemPrompt,
+        Integer version,
+        String claim,
+        Double confidence,
+        String policyVersion,
+        Double policyCoverage,
+        String policyRulesEvaluated,
+        List<PolicyRuleResult> policyRules,
+        EvidenceStatus status,
+        CanonicalFormat canonicalFormat
+) {
+    public static ArchivedRecord of(AiResponse e) {
+        return new ArchivedRecord(e.getId(), e.getCreatedAt(), e.getPrompt(), e.getResponse(), e.getResponseHash(),
+                e.getSignature(), e.getSignaturePqc(), e.getPqcPublicKeyPem(), e.getTsaToken(), e.getTsaMerkleProof(),
+                e.getLlmModel(), e.getRequestId(), e.getTemperature(), e.getSystemPrompt(), e.getVersion(),
+                e.getClaim(), e.getConfidence(), e.getPolicyVersion(), e.getPolicyCoverage(),
+                e.getPolicyRulesEvaluated(), e.getPolicyRules().isEmpty() ? null : List.copyOf(e.getPolicyRules()),
+                e.getStatus(), e.getCanonicalFormat());
+    }
+
+    /** Detached entity with the archived values (never to be saved). */
+    public AiResponse toEntity() {
+        AiResponse e = new AiResponse(prompt, response, responseHash);
+        e.setId(id);
+        e.setCreatedAt(createdAt);
+        e.setSignature(signature);
+        e.setSignaturePqc(signaturePqc);
+        e.setPqcPublicKeyPem(pqcPublicKeyPem);
+        e.setTsaToken(tsaToken);
+        e.setTsaMerkleProof(tsaMerkleProof);
+        e.setLlmModel(llmModel);
+        e.setRequestId(requestId);
+        e.setTemperature(temperature);
+        e.setSystemPrompt(systemPrompt);
+        e.setVersion(version);
+        e.setClaim(claim);
+        e.setConfidence(confidence);
+        e.setPolicyVersion(policyVersion);
+        e.setPolicyCoverage(policyCoverage);
+        e.setPolicyRulesEvaluated(policyRulesEvaluated);
+        e.setPolicyRules(policyRules);
+        e.setStatus(status);
+        e.setCanonicalFormat(canonicalFormat);
+        return e;
+    }
+}
@@ -7,6 +7,7 @@ package ai.aletheia.audit.dto;
  * llmModel, requestId, temperature, systemPrompt, version.
  * DP2.4: Optional claim, confidence, policy_version (Minimal AI Claim).
  * PQC.3: Optional signaturePqc (ML-DSA over same hash), pqcPublicKeyPem (stored for Evidence Package).
+ * Batch TSA: Optional tsaMerkleProof when tsaToken covers a Merkle root over several records.
  */
 public record AuditRecordRequest(
         String prompt,
@@ -23,8 +24,19 @@ public record AuditRecordRequest(
         Integer version,
         String claim,
         Double confidence,
-        String policyVersion
+        String policyVersion,
+        String tsaMerkleProof
 ) {
+    /** Request without a batch TSA proof (token issued for this record alone). */
+    public AuditRecordRequest(
+            String prompt, String response, String responseHash,
+            String signature, String signaturePqc, String pqcPublicKeyPem, String tsaToken,
+            String llmModel, String requestId, Double temperature, String systemPrompt, Integer version,
+            String claim, Double confidence, String policyVersion) {
+        this(prompt, response, responseHash, signature, signaturePqc, pqcPublicKeyPem, tsaToken,
+                llmModel, requestId, temperature, systemPrompt, version, claim, confidence, policyVersion, null);
+    }
+
     /** Minimal request with required fields only. */
     public static AuditRecordRequest of(String prompt, String response, String responseHash) {
         return new AuditRecordRequest(
@@ -0,0 +1,47 @@
+package ai.aletheia.audit.dto;
+
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * One NDJSON line of POST /api/ai/verify/batch.
+ *
+ * @param id             record id
+ * @param createdAt      record creation time (null when not found)
+ * @param status         evidence status (null when not found)
+ * @param responseHash   stored hash
+ * @param computedHash   hash recomputed with the current canonical format
+ * @param hashMatch      see {@link RecordCheck#hashMatch()}
+ * @param signatureValid "valid", "invalid" or "n_a"
+ * @param pqcValid       "valid", "invalid" or "n_a"
+ * @param error          "not_found" or "verification_failed"; null when the checks ran
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchVerifyItem(
+        Long id,
+        Instant createdAt,
+        EvidenceStatus status,
+        String responseHash,
+        String computedHash,
+        Boolean hashMatch,
+        String signatureValid,
+        String pqcValid,
+        String error
+) {
+    public static BatchVerifyItem of(AiResponse e, RecordCheck check) {
+        return new BatchVerifyItem(e.getId(), e.getCreatedAt(), e.getStatus(), e.getResponseHash(),
+                check.computedHash(), check.hashMatch(), check.signatureValid(), check.pqcValid(), null);
+    }
+
+    public static BatchVerifyItem notFound(Long id) {
+        return new BatchVerifyItem(id, null, null, null, null, null, null, null, "not_found");
+    }
+
+    public static BatchVerifyItem failed(AiResponse e) {
+        return new BatchVerifyItem(e.getId(), e.getCreatedAt(), e.getStatus(), e.getResponseHash(),
+                null, null, null, null, "verification_failed");
+    }
+}
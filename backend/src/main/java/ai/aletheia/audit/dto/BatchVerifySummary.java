@@ -0,0 +1,23 @@
+package ai.aletheia.audit.dto;
+
+/**
+ * Last NDJSON line of POST /api/ai/verify/batch, written as {@code {"summary": {...}}}.
+ *
+ * @param total            lines written before the summary
+ * @param hashMatch        records whose stored hash matched
+ * @param hashMismatch     records whose stored hash did not match
+ * @param signatureInvalid records with signatureValid = "invalid"
+ * @param pqcInvalid       records with pqcValid = "invalid"
+ * @param notFound         requested ids that do not exist
+ * @param failed           records whose checks threw
+ */
+public record BatchVerifySummary(
+        long total,
+        long hashMatch,
+        long hashMismatch,
+        long signatureInvalid,
+        long pqcInvalid,
+        long notFound,
+        long failed
+) {
+}
@@ -0,0 +1,27 @@
+package ai.aletheia.audit.dto;
+
+/**
+ * Counters of the Evidence Package cache (GET /api/ai/evidence/cache/stats). Counts are since startup.
+ *
+ * @param hits           downloads served from memory
+ * @param spillHits      downloads served from the spill directory
+ * @param misses         downloads that had to build the package
+ * @param evictions      packages dropped from memory (spilled or not)
+ * @param spills         packages written to the spill directory
+ * @param entries        packages in memory now
+ * @param bytes          size of packages in memory now
+ * @param spilledEntries packages in the spill directory now
+ * @param spilledBytes   size of packages in the spill directory now
+ */
+public record EvidenceCacheStats(
+        long hits,
+        long spillHits,
+        long misses,
+        long evictions,
+        long spills,
+        long entries,
+        long bytes,
+        long spilledEntries,
+        long spilledBytes
+) {
+}
@@ -0,0 +1,25 @@
+package ai.aletheia.audit.dto;
+
+import ai.aletheia.db.entity.EvidenceStatus;
+
+/**
+ * Output of the post-signature evidence steps (TSA, PQC) for one record.
+ *
+ * @param tsaToken        Base64 RFC 3161 token (null when no signature or TSA failed)
+ * @param tsaMerkleProof  batch TSA inclusion proof (null when not batched)
+ * @param signaturePqc    Base64 ML-DSA signature (null when PQC disabled or failed)
+ * @param pqcPublicKeyPem PQC public key PEM stored with the record (null when no PQC signature)
+ * @param status          COMPLETE, or FAILED when a signature exists but the TSA step failed
+ */
+public record EvidenceCompletion(
+        String tsaToken,
+        String tsaMerkleProof,
+        String signaturePqc,
+        String pqcPublicKeyPem,
+        EvidenceStatus status
+) {
+    /** Nothing to add (no signature, so no TSA or PQC step). */
+    public static EvidenceCompletion none() {
+        return new EvidenceCompletion(null, null, null, null, EvidenceStatus.COMPLETE);
+    }
+}
@@ -0,0 +1,36 @@
+package ai.aletheia.audit.dto;
+
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * One record in manifest.json of GET /api/ai/evidence/export.
+ *
+ * @param id           record id
+ * @param createdAt    record creation time
+ * @param responseHash stored hash (hash.sha256 inside the package)
+ * @param file         name of the .aep entry in the export archive; null when the package could not be built
+ * @param size         .aep size in bytes
+ * @param sha256       SHA-256 hex of the .aep bytes
+ * @param error        "build_failed" when no package was written; null otherwise
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EvidenceExportEntry(
+        Long id,
+        Instant createdAt,
+        String responseHash,
+        String file,
+        Long size,
+        String sha256,
+        String error
+) {
+    public static EvidenceExportEntry of(AiResponse e, String file, long size, String sha256) {
+        return new EvidenceExportEntry(e.getId(), e.getCreatedAt(), e.getResponseHash(), file, size, sha256, null);
+    }
+
+    public static EvidenceExportEntry failed(AiResponse e) {
+        return new EvidenceExportEntry(e.getId(), e.getCreatedAt(), e.getResponseHash(), null, null, null, "build_failed");
+    }
+}
@@ -0,0 +1,22 @@
+package ai.aletheia.audit.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * manifest.json, the last entry of the GET /api/ai/evidence/export archive.
+ *
+ * @param from     range start (inclusive)
+ * @param to       range end (exclusive)
+ * @param total    records in the range
+ * @param failed   records whose package could not be built (listed with an error, no .aep)
+ * @param packages one entry per record, in archive order (created_at, id)
+ */
+public record EvidenceExportManifest(
+        Instant from,
+        Instant to,
+        long total,
+        long failed,
+        List<EvidenceExportEntry> packages
+) {
+}
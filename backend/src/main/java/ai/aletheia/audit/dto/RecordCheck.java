@@ -0,0 +1,17 @@
+package ai.aletheia.audit.dto;
+
+/**
+ * Result of re-checking one stored record against its evidence.
+ *
+ * @param computedHash   hash recomputed with the current canonical format (null when nothing was stored or on error)
+ * @param hashMatch      stored hash equals the current, legacy or response-only recomputation
+ * @param signatureValid "valid", "invalid" or "n_a" (no signature, or signing key not configured)
+ * @param pqcValid       "valid", "invalid" or "n_a" (no PQC signature stored)
+ */
+public record RecordCheck(
+        String computedHash,
+        boolean hashMatch,
+        String signatureValid,
+        String pqcValid
+) {
+}
@@ -0,0 +1,18 @@
+package ai.aletheia.claim;
+
+import java.util.List;
+
+/**
+ * Phrases that put a prompt in a compliance context, per policy version ({@code classpath:compliance/dictionary.json}
+ * or {@code ai.aletheia.compliance.dictionary}). Phrases match case-insensitively anywhere in the prompt, also
+ * inside words.
+ *
+ * @param fallbackPolicy policy whose phrases mark a compliance context without naming a policy: it is chosen
+ *                       only when no other policy matches; null if there is none
+ * @param policies       policies in priority order (breaks score ties)
+ */
+public record ComplianceDictionary(String fallbackPolicy, List<Policy> policies) {
+
+    /** @param policyVersion stored as the record's policy version (e.g. "gdpr-2024") */
+    public record Policy(String policyVersion, List<String> phrases) {}
+}
@@ -1,34 +1,101 @@
 package ai.aletheia.claim;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * DP2.4 variant 4: Infer compliance mode from prompt (no UI selector).
- * Keywords: GDPR, comply, compliance, clause, AI Act, etc.
+ *
+ * <p>Phrases per policy come from a {@link ComplianceDictionary} (GDPR, AI Act, comply, clause, legal, ...)
+ * and are compiled once into a {@link PhraseAutomaton}, so a prompt is classified in one pass whatever the
+ * number of policies and phrases.
  */
 @Service
 public class ComplianceInferenceService {
 
+    public static final String DEFAULT_DICTIONARY = "classpath:compliance/dictionary.json";
     private static final double DEFAULT_CONFIDENCE = 0.85;
     private static final int CLAIM_MAX_LENGTH = 500;
 
+    private final String[] policyVersions;
+    /** Index of the fallback policy in {@link #policyVersions}, -1 if none. */
+    private final int fallback;
+    private final PhraseAutomaton automaton;
+
+    @Autowired
+    public ComplianceInferenceService(ObjectMapper objectMapper, ResourceLoader resourceLoader,
+                                      @Value("${ai.aletheia.compliance.dictionary:" + DEFAULT_DICTIONARY + "}") String location) {
+        this(load(objectMapper, resourceLoader.getResource(location)));
+    }
+
+    /** With the bundled dictionary. */
+    public ComplianceInferenceService() {
+        this(new ObjectMapper(), new DefaultResourceLoader(), DEFAULT_DICTIONARY);
+    }
+
+    /** @throws IllegalArgumentException if the dictionary is incomplete or names a policy twice */
+    public ComplianceInferenceService(ComplianceDictionary dictionary) {
+        List<ComplianceDictionary.Policy> policies = dictionary.policies() != null ? dictionary.policies() : List.of();
+        policyVersions = new String[policies.size()];
+        List<String> phrases = new ArrayList<>();
+        List<Integer> labels = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < policies.size(); i++) {
+            ComplianceDictionary.Policy policy = policies.get(i);
+            if (policy.policyVersion() == null || policy.policyVersion().isBlank() || !seen.add(policy.policyVersion())) {
+                throw new IllegalArgumentException("Compliance policy " + (i + 1) + " has no or a duplicate policyVersion");
+            }
+            if (policy.phrases() == null || policy.phrases().isEmpty()) {
+                throw new IllegalArgumentException("Compliance policy " + policy.policyVersion() + " has no phrases");
+            }
+            policyVersions[i] = policy.policyVersion();
+            for (String phrase : policy.phrases()) {
+                phrases.add(phrase);
+                labels.add(i);
+            }
+        }
+        if (phrases.isEmpty()) {
+            throw new IllegalArgumentException("Compliance dictionary has no policies");
+        }
+        fallback = dictionary.fallbackPolicy() != null ? List.of(policyVersions).indexOf(dictionary.fallbackPolicy()) : -1;
+        if (dictionary.fallbackPolicy() != null && fallback < 0) {
+            throw new IllegalArgumentException("Fallback policy " + dictionary.fallbackPolicy() + " is not in the dictionary");
+        }
+        automaton = PhraseAutomaton.compile(phrases, labels.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    static ComplianceDictionary load(ObjectMapper objectMapper, Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, ComplianceDictionary.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading compliance dictionary " + resource + " failed", e);
+        }
+    }
+
     /**
      * Infer a minimal claim from prompt and response. Returns null if prompt does not suggest compliance context.
+     * The policy version is the first of {@link #classify}.
      */
     public ComplianceClaim infer(String prompt, String response) {
         if (prompt == null || response == null) return null;
-        String lower = prompt.toLowerCase().strip();
-        if (lower.isEmpty()) return null;
+        if (prompt.isBlank()) return null;
 
-        boolean hasCompliance = lower.contains("gdpr") || lower.contains("comply") || lower.contains("compliance")
-                || lower.contains("clause") || lower.contains("ai act") || lower.contains("legal")
-                || lower.contains("regulatory") || lower.contains("compliant");
-        if (!hasCompliance) return null;
-
-    // TODO: add more policies here?
-        String policyVersion = "compliance-2024";
-        if (lower.contains("gdpr")) policyVersion = "gdpr-2024";
-        else if (lower.contains("ai act")) policyVersion = "ai-act-2024";
+        List<ComplianceMatch> matches = classify(prompt);
+        if (matches.isEmpty()) return null;
+        String policyVersion = matches.get(0).policyVersion();
 
         String claim = firstSentenceOrTruncate(response.trim());
         if (claim.isEmpty()) claim = response.trim().length() > CLAIM_MAX_LENGTH
@@ -38,6 +105,27 @@ public class ComplianceInferenceService {
         return new ComplianceClaim(claim, DEFAULT_CONFIDENCE, policyVersion);
     }
 
+    /**
+     * All policies with a phrase in {@code prompt}: by score (phrase occurrences), ties in dictionary order,
+     * the fallback policy last.
+     */
+    public List<ComplianceMatch> classify(String prompt) {
+        int[] counts = new int[policyVersions.length];
+        automaton.count(prompt, counts);
+        List<ComplianceMatch> matches = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && i != fallback) {
+                matches.add(new ComplianceMatch(policyVersions[i], counts[i]));
+            }
+        }
+        // Stable: ties keep dictionary order
+        matches.sort((a, b) -> Integer.compare(b.score(), a.score()));
+        if (fallback >= 0 && counts[fallback] > 0) {
+            matches.add(new ComplianceMatch(policyVersions[fallback], counts[fallback]));
+        }
+        return matches;
+    }
+
     private static String firstSentenceOrTruncate(String text) {
         if (text == null || text.isEmpty()) return "";
         int end = text.indexOf('.');
@@ -0,0 +1,9 @@
+package ai.aletheia.claim;
+
+/**
+ * A policy matched in a prompt by {@link ComplianceInferenceService#classify}.
+ *
+ * @param policyVersion policy version from the dictionary
+ * @param score         number of phrase occurrences of this policy in the prompt
+ */
+public record ComplianceMatch(String policyVersion, int score) {}
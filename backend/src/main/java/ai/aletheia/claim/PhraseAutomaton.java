@@ -0,0 +1,155 @@
+package ai.aletheia.claim;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho–Corasick automaton over a fixed set of phrases, each with an int label (here: policy index), matched
+ * case-insensitively in one pass over the text.
+ *
+ * <p>Built once into a full transition table (failure links folded in), so each text character costs one
+ * table lookup plus one increment per phrase ending there, however many phrases there are. Characters are
+ * mapped to a dense alphabet of those occurring in phrases; any other character returns to the root. The
+ * table has states × alphabet ints: for thousands of phrases over a Latin alphabet, a few MB.
+ */
+final class PhraseAutomaton {
+
+    /** Symbol of each char up to the highest phrase char; -1 if it occurs in no phrase. */
+    private final int[] symbols;
+    private final int width;
+    /** Next state for (state, symbol) at {@code state * width + symbol}. */
+    private final int[] delta;
+    /** Labels of phrases ending in state s (suffixes included): {@code labels[labelStart[s] .. labelStart[s + 1])}. */
+    private final int[] labelStart;
+    private final int[] labels;
+
+    private PhraseAutomaton(int[] symbols, int width, int[] delta, int[] labelStart, int[] labels) {
+        this.symbols = symbols;
+        this.width = width;
+        this.delta = delta;
+        this.labelStart = labelStart;
+        this.labels = labels;
+    }
+
+    /**
+     * @param phrases  non-blank phrases
+     * @param labelsOf label reported for each phrase (same index)
+     * @throws IllegalArgumentException for a blank phrase or a table too large for an int array
+     */
+    static PhraseAutomaton compile(List<String> phrases, int[] labelsOf) {
+        char max = 0;
+        List<char[]> folded = new ArrayList<>(phrases.size());
+        for (String phrase : phrases) {
+            if (phrase == null || phrase.isBlank()) {
+                throw new IllegalArgumentException("Blank phrase");
+            }
+            char[] chars = phrase.strip().toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(chars[i]);
+                max = (char) Math.max(max, chars[i]);
+            }
+            folded.add(chars);
+        }
+        int[] symbols = new int[max + 1];
+        Arrays.fill(symbols, -1);
+        int width = 0;
+        for (char[] chars : folded) {
+            for (char c : chars) {
+                if (symbols[c] < 0) {
+                    symbols[c] = width++;
+                }
+            }
+        }
+
+        // Trie
+        List<int[]> next = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        next.add(newRow(width));
+        out.add(new ArrayList<>());
+        for (int p = 0; p < folded.size(); p++) {
+            int state = 0;
+            for (char c : folded.get(p)) {
+                int s = symbols[c];
+                if (next.get(state)[s] < 0) {
+                    next.get(state)[s] = next.size();
+                    next.add(newRow(width));
+                    out.add(new ArrayList<>());
+                }
+                state = next.get(state)[s];
+            }
+            out.get(state).add(labelsOf[p]);
+        }
+        int states = next.size();
+        if ((long) states * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Phrase dictionary too large: " + states + " states x " + width + " symbols");
+        }
+
+        // Failure links, breadth first, folded into the transitions; outputs of the failure state appended
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int[] root = next.get(0);
+        for (int s = 0; s < width; s++) {
+            if (root[s] < 0) {
+                root[s] = 0;
+            } else {
+                queue.add(root[s]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            out.get(u).addAll(out.get(fail[u]));
+            int[] row = next.get(u);
+            int[] failRow = next.get(fail[u]);
+            for (int s = 0; s < width; s++) {
+                if (row[s] < 0) {
+                    row[s] = failRow[s];
+                } else {
+                    fail[row[s]] = failRow[s];
+                    queue.add(row[s]);
+                }
+            }
+        }
+
+        int[] delta = new int[states * width];
+        int[] labelStart = new int[states + 1];
+        int total = 0;
+        for (int u = 0; u < states; u++) {
+            System.arraycopy(next.get(u), 0, delta, u * width, width);
+            labelStart[u] = total;
+            total += out.get(u).size();
+        }
+        labelStart[states] = total;
+        int[] labels = new int[total];
+        for (int u = 0, k = 0; u < states; u++) {
+            for (int label : out.get(u)) {
+                labels[k++] = label;
+            }
+        }
+        return new PhraseAutomaton(symbols, width, delta, labelStart, labels);
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /** Add 1 to {@code counts[label]} for every phrase occurrence in {@code text} (overlapping ones included). */
+    void count(CharSequence text, int[] counts) {
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int s = c < symbols.length ? symbols[c] : -1;
+            state = s < 0 ? 0 : delta[state * width + s];
+            for (int k = labelStart[state], end = labelStart[state + 1]; k < end; k++) {
+                counts[labels[k]]++;
+            }
+        }
+    }
+
+    int states() {
+        return labelStart.length - 1;
+    }
+}
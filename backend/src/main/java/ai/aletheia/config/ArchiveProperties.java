@@ -0,0 +1,80 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for archival of old audit records and ai_response partition upkeep.
+ * When {@link #isEnabled()} is true, each month older than {@link #getHotMonths()} is written to a compressed,
+ * read-only bundle in {@link #getDir()} and removed from ai_response; archived ids stay resolvable.
+ *
+ * @see ai.aletheia.audit.RecordArchiver
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.archive")
+public class ArchiveProperties {
+
+    /** If true, old months are archived. Default: false (partitions are still kept ahead on PostgreSQL). */
+    private boolean enabled = false;
+
+    /** Directory of the bundles. Default: ./data/archive. */
+    private String dir = "./data/archive";
+
+    /** Months kept in ai_response, the current one included. Default: 24. */
+    private int hotMonths = 24;
+
+    /** Records read per DB page while writing a bundle. Default: 500. */
+    private int pageSize = 500;
+
+    /** Monthly partitions created ahead of the current month (PostgreSQL). Default: 3. */
+    private int partitionsAhead = 3;
+
+    /** Hours between runs; the first run is right after startup. Default: 24. */
+    private int intervalHours = 24;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    public int getHotMonths() {
+        return hotMonths;
+    }
+
+    public void setHotMonths(int hotMonths) {
+        this.hotMonths = hotMonths > 0 ? hotMonths : 1;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize > 0 ? pageSize : 1;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+
+    public void setPartitionsAhead(int partitionsAhead) {
+        this.partitionsAhead = Math.max(partitionsAhead, 0);
+    }
+
+    public int getIntervalHours() {
+        return intervalHours;
+    }
+
+    public void setIntervalHours(int intervalHours) {
+        this.intervalHours = intervalHours > 0 ? intervalHours : 1;
+    }
+}
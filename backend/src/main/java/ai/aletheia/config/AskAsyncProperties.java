@@ -0,0 +1,47 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the async post-processing stage of POST /api/ai/ask.
+ * When {@link #isEnabled()} is true, the response returns once hash and signature exist;
+ * TSA, PQC signing and policy evaluation run on a bounded worker pool and fill in the record later.
+ *
+ * @see ai.aletheia.audit.AsyncEvidencePipeline
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.ask.async")
+public class AskAsyncProperties {
+
+    /** If true, TSA/PQC/policy run after the response is sent. Default: false (all steps on the request thread). */
+    private boolean enabled = false;
+
+    /** Worker threads for post-processing. Default: 4. */
+    private int workerThreads = 4;
+
+    /** Max queued records; when full, the request thread runs the step itself (back-pressure). Default: 1000. */
+    private int queueCapacity = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads > 0 ? workerThreads : 1;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : 1;
+    }
+}
@@ -0,0 +1,62 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for write-behind persistence of audit records (batched inserts).
+ * When {@link #isEnabled()} is true, {@code AuditRecordService.save} allocates the id from the sequence and
+ * queues the record; one writer thread inserts queued records in JDBC batches, one transaction per batch.
+ *
+ * @see ai.aletheia.audit.WriteBehindAuditWriter
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.audit.write-behind")
+public class AuditWriteBehindProperties {
+
+    /** If true, records are saved by the write-behind writer. Default: false (one insert per request). */
+    private boolean enabled = false;
+
+    /** Max records per insert batch (and transaction). Default: 100. */
+    private int batchSize = 100;
+
+    /** Max queued records; when full, save blocks until the writer catches up (back-pressure). Default: 10000. */
+    private int queueCapacity = 10000;
+
+    /**
+     * If true (default), save returns only after the record's batch is committed (group commit): the record is
+     * durable and readable once the caller has the id. If false, save returns as soon as the record is queued;
+     * records still queued are lost if the process dies, and GET by id may briefly return 404.
+     */
+    private boolean flushBeforeAck = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize > 0 ? batchSize : 1;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : 1;
+    }
+
+    public boolean isFlushBeforeAck() {
+        return flushBeforeAck;
+    }
+
+    public void setFlushBeforeAck(boolean flushBeforeAck) {
+        this.flushBeforeAck = flushBeforeAck;
+    }
+}
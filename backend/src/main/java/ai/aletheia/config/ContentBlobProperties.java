@@ -0,0 +1,49 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for deduplicated prompt/response storage (content_blob, V12).
+ *
+ * @see ai.aletheia.db.ContentBlobStore
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.blob")
+public class ContentBlobProperties {
+
+    /** {@code deflate} or {@code none}. Default: deflate. Existing blobs keep their encoding. */
+    private String compression = "deflate";
+
+    /** Texts shorter than this (UTF-8 bytes) are stored uncompressed. Default: 512. */
+    private int minCompressBytes = 512;
+
+    /** Hashes of blobs known to exist, kept to skip the existence check for repeated texts. Default: 10000. */
+    private int knownHashes = 10000;
+
+    public String getCompression() {
+        return compression;
+    }
+
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    public boolean isCompress() {
+        return "deflate".equalsIgnoreCase(compression);
+    }
+
+    public int getMinCompressBytes() {
+        return minCompressBytes;
+    }
+
+    public void setMinCompressBytes(int minCompressBytes) {
+        this.minCompressBytes = Math.max(0, minCompressBytes);
+    }
+
+    public int getKnownHashes() {
+        return knownHashes;
+    }
+
+    public void setKnownHashes(int knownHashes) {
+        this.knownHashes = Math.max(0, knownHashes);
+    }
+}
@@ -0,0 +1,69 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the Evidence Package cache behind GET /api/ai/evidence/{id}.
+ * Built .aep bytes are kept in memory up to {@link #getMaxBytes()}; least recently used packages are moved
+ * to {@link #getSpillDir()} when set (up to {@link #getMaxSpillBytes()}), otherwise dropped.
+ *
+ * @see ai.aletheia.audit.EvidencePackageCache
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.evidence.cache")
+public class EvidenceCacheProperties {
+
+    /** When false, every download builds the package. Default: true. */
+    private boolean enabled = true;
+
+    /** Total size of packages kept in memory. Default: 64 MiB. */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /** Records with a longer response (chars) or a larger package are not cached but streamed. Default: 4 MiB. */
+    private long maxEntryBytes = 4L * 1024 * 1024;
+
+    /** Directory for packages evicted from memory; empty = no spill. Emptied of *.aep files at startup. */
+    private String spillDir = "";
+
+    /** Total size of spilled packages. Default: 1 GiB. */
+    private long maxSpillBytes = 1024L * 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = Math.max(maxBytes, 0);
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(long maxEntryBytes) {
+        this.maxEntryBytes = Math.max(maxEntryBytes, 0);
+    }
+
+    public String getSpillDir() {
+        return spillDir;
+    }
+
+    public void setSpillDir(String spillDir) {
+        this.spillDir = spillDir == null ? "" : spillDir.strip();
+    }
+
+    public long getMaxSpillBytes() {
+        return maxSpillBytes;
+    }
+
+    public void setMaxSpillBytes(long maxSpillBytes) {
+        this.maxSpillBytes = Math.max(maxSpillBytes, 0);
+    }
+}
@@ -0,0 +1,47 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for GET /api/ai/evidence/export.
+ * Records are read in pages of {@link #getPageSize()}; packages are built on {@link #getParallelism()} threads
+ * with at most {@link #getMaxInFlight()} built but not yet written, so memory does not grow with the range.
+ *
+ * @see ai.aletheia.audit.EvidenceExportService
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.evidence.export")
+public class EvidenceExportProperties {
+
+    /** Records per DB page. Default: 100. */
+    private int pageSize = 100;
+
+    /** Threads building packages; 0 = available processors. Default: 0. */
+    private int parallelism = 0;
+
+    /** Packages queued or built ahead of the writer; 0 = twice the parallelism. Default: 0. */
+    private int maxInFlight = 0;
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize > 0 ? pageSize : 1;
+    }
+
+    public int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(parallelism, 0);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight > 0 ? maxInFlight : 2 * getParallelism();
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(maxInFlight, 0);
+    }
+}
@@ -0,0 +1,184 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.http.HttpClient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LLM providers behind {@link ai.aletheia.llm.LLMClient}: named OpenAI-compatible chat completion endpoints
+ * (OpenAI, an on-prem model gateway, a local llama.cpp or vLLM server) and the HTTP client they share.
+ * {@link #getProvider()} names the one used by POST /api/ai/ask.
+ *
+ * @see ai.aletheia.llm.impl.ConfiguredLLMClient
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.llm")
+public class LlmProperties {
+
+    /** Name of the provider in {@link #getProviders()} used for completions. Default: openai. */
+    private String provider = "openai";
+
+    private final Http http = new Http();
+
+    /** Providers by name, e.g. {@code ai.aletheia.llm.providers.gateway.base-url}. */
+    private final Map<String, Provider> providers = new LinkedHashMap<>();
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Map<String, Provider> getProviders() {
+        return providers;
+    }
+
+    /** The provider named by {@link #getProvider()}, or null if there is none. */
+    public Provider selected() {
+        return provider != null ? providers.get(provider) : null;
+    }
+
+    /** HTTP client shared by all providers. */
+    public static class Http {
+
+        /** HTTP_2 (falls back to HTTP/1.1 when the server does not speak it) or HTTP_1_1. Default: HTTP_2. */
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+        /** Connect timeout in seconds. Default: 10. */
+        private int connectTimeoutSeconds = 10;
+
+        public HttpClient.Version getVersion() {
+            return version;
+        }
+
+        public void setVersion(HttpClient.Version version) {
+            this.version = version != null ? version : HttpClient.Version.HTTP_2;
+        }
+
+        public int getConnectTimeoutSeconds() {
+            return connectTimeoutSeconds;
+        }
+
+        public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+            this.connectTimeoutSeconds = connectTimeoutSeconds > 0 ? connectTimeoutSeconds : 10;
+        }
+    }
+
+    /** One OpenAI-compatible endpoint. */
+    public static class Provider {
+
+        /** API base URL; {@code /chat/completions} is appended, e.g. {@code http://gateway:8000/v1}. */
+        private String baseUrl;
+
+        /** Bearer token; not sent when blank. */
+        private String apiKey;
+
+        /** If true, the provider is not used without {@link #getApiKey()}. Default: false (local servers). */
+        private boolean apiKeyRequired = false;
+
+        /** Model sent in requests; omitted when blank (servers with a single model). */
+        private String model;
+
+        /** Sampling temperature, 0–2. Default: 1.0. */
+        private Double temperature = 1.0;
+
+        /** max_tokens per completion, 1–128000. Default: 2000. */
+        private Integer maxTokens = 2000;
+
+        /**
+         * Deadline in seconds for a whole request: response headers and the full body, streamed or not. A body
+         * still being read at the deadline is closed, failing the call and freeing its slot. Default: 60.
+         */
+        private int timeoutSeconds = 60;
+
+        /** Requests in flight to this provider at most; further callers wait. Default: 16. */
+        private int maxConcurrentRequests = 16;
+
+        /** Seconds a caller waits for a free slot before failing. Default: 30. */
+        private int acquireTimeoutSeconds = 30;
+
+        /** Base URL set and, if required, an API key. */
+        public boolean isConfigured() {
+            return baseUrl != null && !baseUrl.isBlank() && (!apiKeyRequired || (apiKey != null && !apiKey.isBlank()));
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getApiKey() {
+            return apiKey;
+        }
+
+        public void setApiKey(String apiKey) {
+            this.apiKey = apiKey;
+        }
+
+        public boolean isApiKeyRequired() {
+            return apiKeyRequired;
+        }
+
+        public void setApiKeyRequired(boolean apiKeyRequired) {
+            this.apiKeyRequired = apiKeyRequired;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public void setModel(String model) {
+            this.model = model;
+        }
+
+        public Double getTemperature() {
+            return temperature;
+        }
+
+        public void setTemperature(Double temperature) {
+            this.temperature = temperature != null && temperature >= 0 && temperature <= 2 ? temperature : 1.0;
+        }
+
+        public Integer getMaxTokens() {
+            return maxTokens;
+        }
+
+        public void setMaxTokens(Integer maxTokens) {
+            this.maxTokens = maxTokens != null && maxTokens > 0 && maxTokens <= 128000 ? maxTokens : 2000;
+        }
+
+        public int getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        public void setTimeoutSeconds(int timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds > 0 ? timeoutSeconds : 60;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests > 0 ? maxConcurrentRequests : 1;
+        }
+
+        public int getAcquireTimeoutSeconds() {
+            return acquireTimeoutSeconds;
+        }
+
+        public void setAcquireTimeoutSeconds(int acquireTimeoutSeconds) {
+            this.acquireTimeoutSeconds = acquireTimeoutSeconds >= 0 ? acquireTimeoutSeconds : 0;
+        }
+    }
+}
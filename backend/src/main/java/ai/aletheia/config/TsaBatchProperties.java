@@ -0,0 +1,48 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for batched (Merkle-aggregated) TSA timestamping.
+ * When {@link #isEnabled()} is true, records are collected for up to {@link #getMaxWaitMs()}
+ * milliseconds or {@link #getMaxSize()} items, whichever comes first, and one TSA token covers
+ * the whole batch.
+ *
+ * @see ai.aletheia.crypto.BatchTimestampService
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.tsa.batch")
+public class TsaBatchProperties {
+
+    /** If true, /api/ai/ask timestamps a Merkle root per batch instead of one token per record. Default: false. */
+    private boolean enabled = false;
+
+    /** Flush the batch when it reaches this many items. Default: 1024. */
+    private int maxSize = 1024;
+
+    /** Flush the batch at most this long after its first item arrived. Default: 200 ms. */
+    private long maxWaitMs = 200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize > 0 ? maxSize : 1;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs >= 0 ? maxWaitMs : 0;
+    }
+}
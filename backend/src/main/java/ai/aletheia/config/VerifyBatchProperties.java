@@ -0,0 +1,47 @@
+package ai.aletheia.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for POST /api/ai/verify/batch.
+ * Records are read in pages of {@link #getPageSize()}; at most two pages are held in memory at once
+ * (one being verified, the next being read), whatever the size of the requested range.
+ *
+ * @see ai.aletheia.audit.BatchVerificationService
+ */
+@ConfigurationProperties(prefix = "ai.aletheia.verify.batch")
+public class VerifyBatchProperties {
+
+    /** Records per DB page. Default: 200. */
+    private int pageSize = 200;
+
+    /** Threads for hash and signature checks; 0 = available processors. Default: 0. */
+    private int parallelism = 0;
+
+    /** Max ids accepted in one request (ranges are not limited). Default: 10000. */
+    private int maxIds = 10_000;
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize > 0 ? pageSize : 1;
+    }
+
+    public int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(parallelism, 0);
+    }
+
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    public void setMaxIds(int maxIds) {
+        this.maxIds = maxIds > 0 ? maxIds : 1;
+    }
+}
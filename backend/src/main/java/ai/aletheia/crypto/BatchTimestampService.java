@@ -0,0 +1,25 @@
+package ai.aletheia.crypto;
+
+/**
+ * Aggregating RFC 3161 timestamping: collects data for a short window, builds a SHA-256
+ * {@link MerkleTree} over the batch and timestamps only the root. One TSA round trip covers
+ * every record in the batch; each record keeps its own inclusion proof.
+ * <p>
+ * Enabled with {@code ai.aletheia.tsa.batch.enabled=true} (see
+ * {@link ai.aletheia.config.TsaBatchProperties}). When disabled, callers use
+ * {@link TimestampService} directly.
+ */
+public interface BatchTimestampService {
+
+    /**
+     * Add the data to the current batch and block until the batch root is timestamped.
+     * <p>
+     * The Merkle leaf is the data itself (typically signature bytes), so the verifier recomputes
+     * the root from signature.sig and the proof, then checks the TSA token's message imprint.
+     *
+     * @param dataToTimestamp bytes to be timestamped (typically signature bytes)
+     * @return token over the batch root and this item's inclusion proof
+     * @throws TimestampException if the TSA call for the batch fails or times out
+     */
+    BatchedTimestamp timestamp(byte[] dataToTimestamp);
+}
@@ -0,0 +1,10 @@
+package ai.aletheia.crypto;
+
+/**
+ * Result of a batched timestamp request: the TSA token for the batch root plus the
+ * inclusion proof that links the caller's data to that root.
+ *
+ * @param token       RFC 3161 token (ASN.1 DER) over the Merkle root
+ * @param merkleProof inclusion proof text ({@link MerkleTree.Proof#encode()})
+ */
+public record BatchedTimestamp(byte[] token, String merkleProof) {}
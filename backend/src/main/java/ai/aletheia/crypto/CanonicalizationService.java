@@ -1,5 +1,7 @@
 package ai.aletheia.crypto;
 
+import java.io.OutputStream;
+
 /**
  * Produces a deterministic byte representation of LLM response text
  * so that the same logical content always yields the same bytes before hashing.
@@ -15,4 +17,13 @@ public interface CanonicalizationService {
      * @return UTF-8 bytes, deterministic for same logical content
      */
     byte[] canonicalize(String input);
+
+    /**
+     * Incremental form for text that arrives in chunks (e.g. streamed LLM output).
+     * Bytes written to the sinks are identical to {@link #canonicalize(String)} of the concatenated chunks.
+     *
+     * @param sinks receive canonical UTF-8 bytes as each line completes
+     * @return new canonicalizer; call {@link IncrementalCanonicalizer#finish()} after the last chunk
+     */
+    IncrementalCanonicalizer incremental(OutputStream... sinks);
 }
@@ -2,10 +2,9 @@ package ai.aletheia.crypto;
 
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.text.Normalizer;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Canonical form for LLM response text before hashing.
@@ -27,8 +26,15 @@ public class CanonicalizationServiceImpl implements CanonicalizationService {
     /** Maximum input length (characters) to prevent DoS. 512K chars is enough for typical LLM responses. */
     public static final int MAX_INPUT_LENGTH = 512 * 1024;
 
-    private static final String LINE_SEP = "\n";
+    /** Below this code point every char is NFC-stable and none combines with a neighbour (ICU's NFC minNoMaybeCp). */
+    private static final char NFC_QUICK_CHECK_MIN = '\u0300';
 
+    /**
+     * Single pass over the (NFC) text: find each line's trimmed range and encode it straight into
+     * one output buffer sized from a UTF-8 length upper bound. Blank lines are held back as in
+     * {@link IncrementalCanonicalizer}, so a trailing one is never written. NFC is skipped when the
+     * text has no char at or above U+0300 or passes {@link Normalizer#isNormalized}.
+     */
     @Override
     public byte[] canonicalize(String input) {
         if (input == null) {
@@ -39,35 +45,127 @@ public class CanonicalizationServiceImpl implements CanonicalizationService {
                     "Input exceeds maximum length: " + input.length() + " > " + MAX_INPUT_LENGTH);
         }
         // (1) Unicode NFC
-        String nfc = Normalizer.normalize(input, Normalizer.Form.NFC);
-        // (2) Line endings to \n
-        String linesOnly = nfc.replace("\r\n", LINE_SEP).replace("\r", LINE_SEP);
-        String[] parts = linesOnly.split(LINE_SEP, -1);
-        // (3) Trim each line, collapse consecutive blank lines to one
-        List<String> out = new ArrayList<>();
+        String text = isNfc(input) ? input : Normalizer.normalize(input, Normalizer.Form.NFC);
+        int len = text.length();
+        // Output is a subset of the text's chars plus at most one extra \n
+        byte[] out = new byte[utf8Length(text) + 1];
+        int pos = 0;
         boolean lastWasBlank = false;
-        for (String part : parts) {
-            String trimmed = part.trim();
-            boolean blank = trimmed.isEmpty();
-            if (blank) {
+        boolean pendingBlank = false;
+        boolean anyWritten = false;
+        int lineStart = 0;
+        // (2) \r\n, \r and \n all end a line; the end of input ends the last one
+        for (int i = 0; i <= len; i++) {
+            char c = i < len ? text.charAt(i) : '\n';
+            if (c != '\n' && c != '\r') {
+                continue;
+            }
+            // (3) Trim each line, collapse consecutive blank lines to one
+            int start = lineStart;
+            int end = i;
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
                 if (!lastWasBlank) {
-                    out.add("");
+                    pendingBlank = true;
                 }
                 lastWasBlank = true;
             } else {
-                out.add(trimmed);
+                if (pendingBlank) {
+                    if (anyWritten) {
+                        out[pos++] = '\n';
+                    }
+                    anyWritten = true;
+                    pendingBlank = false;
+                }
+                if (anyWritten) {
+                    out[pos++] = '\n';
+                }
+                pos = encodeUtf8(text, start, end, out, pos);
+                anyWritten = true;
                 lastWasBlank = false;
             }
+            if (c == '\r' && i + 1 < len && text.charAt(i + 1) == '\n') {
+                i++;
+            }
+            lineStart = i + 1;
         }
-        // Remove trailing blank line if we added one (so we don't end with \n\n before rule 4)
-        if (!out.isEmpty() && out.get(out.size() - 1).isEmpty()) {
-            out.remove(out.size() - 1);
-        }
-        String joined = String.join(LINE_SEP, out);
         // (4) Non-empty → exactly one trailing newline
-        if (!joined.isEmpty()) {
-            joined = joined + LINE_SEP;
+        if (anyWritten) {
+            out[pos++] = '\n';
+        }
+        return pos == out.length ? out : Arrays.copyOf(out, pos);
+    }
+
+    @Override
+    public IncrementalCanonicalizer incremental(OutputStream... sinks) {
+        return new IncrementalCanonicalizer(sinks);
+    }
+
+    /** NFC quick check: true when normalizing would not change the text. */
+    static boolean isNfc(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= NFC_QUICK_CHECK_MIN) {
+                return Normalizer.isNormalized(text, Normalizer.Form.NFC);
+            }
+        }
+        return true;
+    }
+
+    /** Upper bound of the UTF-8 length (exact except lone surrogates, which encode as one '?' byte). */
+    private static int utf8Length(String text) {
+        int len = text.length();
+        int bytes = len;
+        for (int i = 0; i < len; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Encode {@code text[start, end)} as UTF-8 into {@code dst} at {@code pos}; same bytes as
+     * {@link String#getBytes} with UTF-8 (lone surrogates become '?').
+     *
+     * @return position after the last written byte
+     */
+    static int encodeUtf8(CharSequence text, int start, int end, byte[] dst, int pos) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                dst[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[pos++] = (byte) (0xC0 | (c >> 6));
+                dst[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, text.charAt(++i));
+                    dst[pos++] = (byte) (0xF0 | (cp >> 18));
+                    dst[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    dst[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    dst[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    dst[pos++] = '?';
+                }
+            } else {
+                dst[pos++] = (byte) (0xE0 | (c >> 12));
+                dst[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
         }
-        return joined.getBytes(StandardCharsets.UTF_8);
+        return pos;
     }
 }
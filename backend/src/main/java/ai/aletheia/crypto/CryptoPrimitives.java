@@ -0,0 +1,174 @@
+package ai.aletheia.crypto;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared, pooled crypto primitives for the hot path (hash on every ask/verify, RSA sign/verify,
+ * TSA message imprints).
+ * <p>
+ * {@code MessageDigest.getInstance} and {@code Signature.getInstance(..., "BC")} do a provider lookup
+ * and allocate new engine state on each call. Here initialized instances are borrowed from a small
+ * lock-free pool and returned after use. A pool is used instead of thread-locals because request
+ * threads may be virtual (one instance per virtual thread would never be reused). Instances that
+ * failed mid-operation are dropped, not returned.
+ * <p>
+ * RSA signing uses PKCS#1 v1.5 over a SHA-256 DigestInfo. The DER prefix of that DigestInfo is
+ * constant, so {@link #sha256DigestInfo(byte[])} only concatenates 17 fixed bytes with the hash.
+ */
+public final class CryptoPrimitives {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final String RSA_RAW = "NONEwithRSA";
+    private static final String PROVIDER = "BC";
+    private static final int SHA256_DIGEST_LENGTH = 32;
+    /** Idle instances kept per pool; more concurrent users simply allocate. */
+    private static final int MAX_IDLE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * DER of {@code DigestInfo ::= SEQUENCE { SEQUENCE { id-sha256 }, OCTET STRING (32) }} up to the hash
+     * bytes. Parameters are absent (not NULL): this is what BouncyCastle's {@code DigestInfo} produced for
+     * every signature stored so far and what the offline verifier expects, so it must not change.
+     */
+    private static final byte[] SHA256_DIGEST_INFO_PREFIX = {
+            0x30, 0x2f, 0x30, 0x0b, 0x06, 0x09, 0x60, (byte) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x01,
+            0x04, 0x20
+    };
+
+    static {
+        if (Security.getProvider(PROVIDER) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+    }
+
+    private static final Pool<MessageDigest> SHA256_POOL = new Pool<>(() -> {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(SHA_256 + " not available", e);
+        }
+    });
+
+    private static final Pool<Signature> RSA_POOL = new Pool<>(() -> {
+        try {
+            return Signature.getInstance(RSA_RAW, PROVIDER);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(RSA_RAW + " not available from " + PROVIDER, e);
+        }
+    });
+
+    private CryptoPrimitives() {}
+
+    /** SHA-256 of {@code data}. */
+    public static byte[] sha256(byte[] data) {
+        MessageDigest md = SHA256_POOL.borrow();
+        byte[] digest = md.digest(data);
+        SHA256_POOL.release(md);
+        return digest;
+    }
+
+    /**
+     * Borrow a reset SHA-256 digest for incremental use. Give it back with {@link #releaseSha256}
+     * after {@code digest()}; a digest that is never returned is simply garbage collected.
+     */
+    static MessageDigest borrowSha256() {
+        return SHA256_POOL.borrow();
+    }
+
+    static void releaseSha256(MessageDigest md) {
+        md.reset();
+        SHA256_POOL.release(md);
+    }
+
+    /**
+     * DER DigestInfo for a SHA-256 hash: the constant 17-byte prefix followed by the hash.
+     *
+     * @param hash exactly 32 bytes
+     */
+    public static byte[] sha256DigestInfo(byte[] hash) {
+        if (hash == null || hash.length != SHA256_DIGEST_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Hash must be exactly " + SHA256_DIGEST_LENGTH + " bytes, got " + (hash == null ? "null" : hash.length));
+        }
+        byte[] out = new byte[SHA256_DIGEST_INFO_PREFIX.length + SHA256_DIGEST_LENGTH];
+        System.arraycopy(SHA256_DIGEST_INFO_PREFIX, 0, out, 0, SHA256_DIGEST_INFO_PREFIX.length);
+        System.arraycopy(hash, 0, out, SHA256_DIGEST_INFO_PREFIX.length, SHA256_DIGEST_LENGTH);
+        return out;
+    }
+
+    /**
+     * RSA PKCS#1 v1.5 signature over the SHA-256 DigestInfo of {@code hash}.
+     *
+     * @throws GeneralSecurityException if the key is unusable
+     */
+    public static byte[] signRsaSha256(PrivateKey key, byte[] hash) throws GeneralSecurityException {
+        byte[] digestInfo = sha256DigestInfo(hash);
+        Signature sig = RSA_POOL.borrow();
+        sig.initSign(key);
+        sig.update(digestInfo);
+        byte[] signature = sig.sign();
+        RSA_POOL.release(sig);
+        return signature;
+    }
+
+    /**
+     * Verify an RSA PKCS#1 v1.5 signature over the SHA-256 DigestInfo of {@code hash}.
+     *
+     * @return false if the signature does not match or is malformed
+     * @throws GeneralSecurityException if the key is unusable
+     */
+    public static boolean verifyRsaSha256(PublicKey key, byte[] hash, byte[] signature) throws GeneralSecurityException {
+        byte[] digestInfo = sha256DigestInfo(hash);
+        Signature sig = RSA_POOL.borrow();
+        sig.initVerify(key);
+        sig.update(digestInfo);
+        boolean valid;
+        try {
+            valid = sig.verify(signature);
+        } catch (SignatureException e) {
+            // Malformed signature: the engine is reset by the next initVerify, so it can go back
+            valid = false;
+        }
+        RSA_POOL.release(sig);
+        return valid;
+    }
+
+    /** Bounded set of idle instances; borrow never blocks (allocates when empty). */
+    private static final class Pool<T> {
+        private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final Supplier<T> factory;
+
+        Pool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T borrow() {
+            T t = idle.poll();
+            if (t == null) {
+                return factory.get();
+            }
+            idleCount.decrementAndGet();
+            return t;
+        }
+
+        void release(T t) {
+            if (idleCount.incrementAndGet() <= MAX_IDLE) {
+                idle.offer(t);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+    }
+}
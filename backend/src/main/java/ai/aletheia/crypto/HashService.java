@@ -23,4 +23,13 @@ public interface HashService {
      * @return 64-char hex string
      */
     String hashFromString(String input);
+
+    /**
+     * Start a SHA-256 over canonical bytes that arrive in pieces (e.g. as a sink of
+     * {@link IncrementalCanonicalizer}). {@link IncrementalHash#hex()} equals {@link #hash(byte[])}
+     * over the concatenated bytes.
+     *
+     * @return new incremental hash
+     */
+    IncrementalHash newIncrementalHash();
 }
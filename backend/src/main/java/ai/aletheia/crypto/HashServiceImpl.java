@@ -2,13 +2,10 @@ package ai.aletheia.crypto;
 
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 
 /**
- * SHA-256 hash using standard {@link MessageDigest}. No BouncyCastle required for hashing.
+ * SHA-256 hash using a pooled JDK {@link java.security.MessageDigest} ({@link CryptoPrimitives}).
  * Output is 64-character lowercase hex.
  * <p>
  * Input size is limited to {@value #MAX_CANONICAL_BYTES} bytes to prevent DoS.
@@ -19,7 +16,6 @@ public class HashServiceImpl implements HashService {
     /** Maximum canonical byte array length to prevent DoS. Aligns with canonicalization limit. */
     public static final int MAX_CANONICAL_BYTES = 512 * 1024;
 
-    private static final String SHA_256 = "SHA-256";
     private static final HexFormat HEX_LOWER = HexFormat.of().withLowerCase();
 
     private final CanonicalizationService canonicalizationService;
@@ -35,13 +31,7 @@ public class HashServiceImpl implements HashService {
             throw new IllegalArgumentException(
                     "Canonical bytes exceed maximum length: " + bytes.length + " > " + MAX_CANONICAL_BYTES);
         }
-        try {
-            MessageDigest md = MessageDigest.getInstance(SHA_256);
-            byte[] digest = md.digest(bytes);
-            return HEX_LOWER.formatHex(digest);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(SHA_256 + " not available", e);
-        }
+        return HEX_LOWER.formatHex(CryptoPrimitives.sha256(bytes));
     }
 
     @Override
@@ -49,4 +39,9 @@ public class HashServiceImpl implements HashService {
         byte[] canonical = canonicalizationService.canonicalize(input);
         return hash(canonical);
     }
+
+    @Override
+    public IncrementalHash newIncrementalHash() {
+        return new IncrementalHash(MAX_CANONICAL_BYTES);
+    }
 }
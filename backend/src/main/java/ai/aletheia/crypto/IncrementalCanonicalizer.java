@@ -0,0 +1,133 @@
+package ai.aletheia.crypto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+
+/**
+ * Stateful form of {@link CanonicalizationServiceImpl} for text that arrives in chunks (streamed LLM output).
+ * <p>
+ * Feed chunks with {@link #append(CharSequence)} and call {@link #finish()} once; the bytes written to the
+ * sinks are identical to {@code canonicalize(chunk1 + chunk2 + ...)}. A line is written as soon as its
+ * terminator arrives, so a downstream hash can run while the model is still generating.
+ * <p>
+ * Equivalence with the one-shot rules:
+ * <ul>
+ *   <li>NFC is applied per line. {@code \n} and {@code \r} never compose or reorder with neighbours,
+ *       so normalizing line by line equals normalizing the whole text.</li>
+ *   <li>{@code \r\n} split across two chunks is still one line break (a {@code \n} right after {@code \r}
+ *       is skipped).</li>
+ *   <li>A blank line is held back until a non-blank line follows, so a trailing blank line is dropped
+ *       exactly like the one-shot implementation.</li>
+ * </ul>
+ * Not thread-safe; one instance per stream.
+ */
+public final class IncrementalCanonicalizer {
+
+    private final OutputStream[] sinks;
+    private final StringBuilder line = new StringBuilder();
+    private long inputLength;
+    /** Last char was \r: an immediately following \n belongs to the same line break. */
+    private boolean crPending;
+    private boolean lastWasBlank;
+    /** A collapsed blank line not yet written (dropped if nothing non-blank follows). */
+    private boolean pendingBlank;
+    private boolean anyWritten;
+    private boolean finished;
+
+    /**
+     * @param sinks receive canonical UTF-8 bytes as lines complete (e.g. a copy buffer and an {@link IncrementalHash})
+     */
+    public IncrementalCanonicalizer(OutputStream... sinks) {
+        this.sinks = sinks.clone();
+    }
+
+    /**
+     * Feed the next chunk of text.
+     *
+     * @throws IllegalArgumentException if total input exceeds {@link CanonicalizationServiceImpl#MAX_INPUT_LENGTH}
+     * @throws IllegalStateException    if {@link #finish()} was already called
+     */
+    public void append(CharSequence chunk) {
+        if (finished) {
+            throw new IllegalStateException("Canonicalizer already finished");
+        }
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        inputLength += chunk.length();
+        if (inputLength > CanonicalizationServiceImpl.MAX_INPUT_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Input exceeds maximum length: " + inputLength + " > " + CanonicalizationServiceImpl.MAX_INPUT_LENGTH);
+        }
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c == '\n') {
+                if (crPending) {
+                    crPending = false;
+                    continue;
+                }
+                endLine();
+            } else if (c == '\r') {
+                endLine();
+                crPending = true;
+            } else {
+                crPending = false;
+                line.append(c);
+            }
+        }
+    }
+
+    /** Flush the last line and the final newline. Further {@link #append} calls fail. */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        endLine();
+        if (anyWritten) {
+            write(new byte[] { '\n' });
+        }
+        finished = true;
+    }
+
+    private void endLine() {
+        String text = CanonicalizationServiceImpl.isNfc(line) ? line.toString() : Normalizer.normalize(line, Normalizer.Form.NFC);
+        String trimmed = text.trim();
+        line.setLength(0);
+        if (trimmed.isEmpty()) {
+            if (!lastWasBlank) {
+                pendingBlank = true;
+            }
+            lastWasBlank = true;
+            return;
+        }
+        if (pendingBlank) {
+            writeEntry("");
+            pendingBlank = false;
+        }
+        writeEntry(trimmed);
+        lastWasBlank = false;
+    }
+
+    private void writeEntry(String entry) {
+        if (anyWritten) {
+            write(new byte[] { '\n' });
+        }
+        if (!entry.isEmpty()) {
+            write(entry.getBytes(StandardCharsets.UTF_8));
+        }
+        anyWritten = true;
+    }
+
+    private void write(byte[] bytes) {
+        try {
+            for (OutputStream sink : sinks) {
+                sink.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write canonical bytes", e);
+        }
+    }
+}
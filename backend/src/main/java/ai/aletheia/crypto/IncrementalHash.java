@@ -0,0 +1,69 @@
+package ai.aletheia.crypto;
+
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 over canonical bytes that arrive in pieces. Write bytes as an {@link OutputStream}
+ * (e.g. as a sink of {@link IncrementalCanonicalizer}), then call {@link #hex()} once.
+ * The result equals {@link HashService#hash(byte[])} over the concatenated bytes, and the same
+ * {@value HashServiceImpl#MAX_CANONICAL_BYTES}-byte limit applies.
+ * <p>
+ * Not thread-safe; one instance per stream.
+ */
+public final class IncrementalHash extends OutputStream {
+
+    private static final HexFormat HEX_LOWER = HexFormat.of().withLowerCase();
+
+    private final MessageDigest digest;
+    private final long maxBytes;
+    private long length;
+    private String hex;
+
+    IncrementalHash(long maxBytes) {
+        this.digest = CryptoPrimitives.borrowSha256();
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void write(int b) {
+        checkOpen(1);
+        digest.update((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        checkOpen(len);
+        digest.update(b, off, len);
+    }
+
+    /** Bytes hashed so far. */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Finish the digest.
+     *
+     * @return 64-char lowercase hex; repeated calls return the same value
+     */
+    public String hex() {
+        if (hex == null) {
+            hex = HEX_LOWER.formatHex(digest.digest());
+            CryptoPrimitives.releaseSha256(digest);
+        }
+        return hex;
+    }
+
+    private void checkOpen(int len) {
+        if (hex != null) {
+            throw new IllegalStateException("Hash already finished");
+        }
+        length += len;
+        if (length > maxBytes) {
+            throw new IllegalArgumentException(
+                    "Canonical bytes exceed maximum length: " + length + " > " + maxBytes);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package ai.aletheia.crypto;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle tree over a batch of byte arrays (batch TSA mode).
+ * <p>
+ * Hashing follows RFC 6962 domain separation so a leaf can never be confused with an inner node:
+ * <ul>
+ *   <li>leaf = SHA-256(0x00 || data)</li>
+ *   <li>node = SHA-256(0x01 || left || right)</li>
+ * </ul>
+ * An odd node at the end of a level is promoted unchanged to the next level (no duplication).
+ * A batch of one has root = leaf hash and an empty proof.
+ * <p>
+ * Proof text format ({@link Proof#encode()}), one item per line:
+ * <pre>
+ * sha256-merkle-v1
+ * root &lt;64 hex&gt;
+ * L &lt;64 hex&gt;   (sibling is on the left)
+ * R &lt;64 hex&gt;   (sibling is on the right)
+ * </pre>
+ * The offline verifier parses the same format (see {@code EvidenceVerifierImpl}).
+ */
+public final class MerkleTree {
+
+    public static final String PROOF_HEADER = "sha256-merkle-v1";
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+    private static final HexFormat HEX = HexFormat.of().withLowerCase();
+
+    /** levels.get(0) = leaf hashes, last level = [root]. */
+    private final List<byte[][]> levels;
+
+    private MerkleTree(List<byte[][]> levels) {
+        this.levels = levels;
+    }
+
+    /**
+     * Build the tree for the given leaves (in order).
+     *
+     * @param leaves data items; must be non-empty, no null entries
+     * @return built tree
+     */
+    public static MerkleTree build(List<byte[]> leaves) {
+        if (leaves == null || leaves.isEmpty()) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+        MessageDigest md = newSha256();
+        byte[][] level = new byte[leaves.size()][];
+        for (int i = 0; i < level.length; i++) {
+            byte[] data = leaves.get(i);
+            if (data == null) {
+                throw new IllegalArgumentException("Merkle leaf " + i + " is null");
+            }
+            level[i] = hashLeaf(md, data);
+        }
+        List<byte[][]> levels = new ArrayList<>();
+        levels.add(level);
+        while (level.length > 1) {
+            byte[][] next = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < next.length; i++) {
+                int left = 2 * i;
+                next[i] = left + 1 < level.length
+                        ? hashNode(md, level[left], level[left + 1])
+                        : level[left];
+            }
+            levels.add(next);
+            level = next;
+        }
+        return new MerkleTree(levels);
+    }
+
+    /** Root hash (32 bytes). This is what gets timestamped. */
+    public byte[] root() {
+        return levels.get(levels.size() - 1)[0].clone();
+    }
+
+    public int leafCount() {
+        return levels.get(0).length;
+    }
+
+    /**
+     * Inclusion proof for the leaf at the given index.
+     *
+     * @param leafIndex index into the list passed to {@link #build(List)}
+     * @return proof (siblings from leaf level up to the root)
+     */
+    public Proof proof(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= leafCount()) {
+            throw new IndexOutOfBoundsException("Leaf index " + leafIndex + " out of range 0.." + (leafCount() - 1));
+        }
+        List<Step> steps = new ArrayList<>();
+        int index = leafIndex;
+        for (int l = 0; l < levels.size() - 1; l++) {
+            byte[][] level = levels.get(l);
+            int sibling = index ^ 1;
+            if (sibling < level.length) {
+                steps.add(new Step(sibling < index, level[sibling].clone()));
+            }
+            index /= 2;
+        }
+        return new Proof(root(), List.copyOf(steps));
+    }
+
+    /**
+     * Recompute the root from a leaf's data and its proof steps.
+     *
+     * @return 32-byte root
+     */
+    public static byte[] computeRoot(byte[] leafData, List<Step> steps) {
+        MessageDigest md = newSha256();
+        byte[] current = hashLeaf(md, leafData);
+        for (Step step : steps) {
+            current = step.siblingOnLeft()
+                    ? hashNode(md, step.sibling(), current)
+                    : hashNode(md, current, step.sibling());
+        }
+        return current;
+    }
+
+    private static byte[] hashLeaf(MessageDigest md, byte[] data) {
+        md.update(LEAF_PREFIX);
+        md.update(data);
+        return md.digest();
+    }
+
+    private static byte[] hashNode(MessageDigest md, byte[] left, byte[] right) {
+        md.update(NODE_PREFIX);
+        md.update(left);
+        md.update(right);
+        return md.digest();
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One level of an inclusion proof.
+     *
+     * @param siblingOnLeft true if the sibling is hashed on the left of the running value
+     * @param sibling       32-byte sibling hash
+     */
+    public record Step(boolean siblingOnLeft, byte[] sibling) {}
+
+    /**
+     * Inclusion proof of one leaf in a batch.
+     *
+     * @param root  32-byte tree root (timestamped by the TSA)
+     * @param steps siblings from leaf to root
+     */
+    public record Proof(byte[] root, List<Step> steps) {
+
+        /** Whether the given leaf data hashes up to {@link #root()} through {@link #steps()}. */
+        public boolean verify(byte[] leafData) {
+            return MessageDigest.isEqual(root, computeRoot(leafData, steps));
+        }
+
+        /** Text form stored in ai_response.tsa_merkle_proof and in the Evidence Package. */
+        public String encode() {
+            StringBuilder sb = new StringBuilder(PROOF_HEADER).append('\n');
+            sb.append("root ").append(HEX.formatHex(root)).append('\n');
+            for (Step step : steps) {
+                sb.append(step.siblingOnLeft() ? "L " : "R ").append(HEX.formatHex(step.sibling())).append('\n');
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Parse the text form produced by {@link #encode()}.
+         *
+         * @throws IllegalArgumentException if the text is not a valid proof
+         */
+        public static Proof decode(String text) {
+            if (text == null || text.isBlank()) {
+                throw new IllegalArgumentException("Merkle proof is empty");
+            }
+            String[] lines = text.strip().split("\\R");
+            if (!PROOF_HEADER.equals(lines[0].strip())) {
+                throw new IllegalArgumentException("Unsupported Merkle proof format: " + lines[0].strip());
+            }
+            byte[] root = null;
+            List<Step> steps = new ArrayList<>();
+            for (int i = 1; i < lines.length; i++) {
+                String line = lines[i].strip();
+                if (line.isEmpty()) continue;
+                int sp = line.indexOf(' ');
+                if (sp < 0) {
+                    throw new IllegalArgumentException("Malformed Merkle proof line: " + line);
+                }
+                String tag = line.substring(0, sp);
+                byte[] value = parseHash(line.substring(sp + 1).strip());
+                switch (tag) {
+                    case "root" -> root = value;
+                    case "L" -> steps.add(new Step(true, value));
+                    case "R" -> steps.add(new Step(false, value));
+                    default -> throw new IllegalArgumentException("Malformed Merkle proof line: " + line);
+                }
+            }
+            if (root == null) {
+                throw new IllegalArgumentException("Merkle proof has no root");
+            }
+            return new Proof(root, List.copyOf(steps));
+        }
+
+        private static byte[] parseHash(String hex) {
+            if (hex.length() != 64) {
+                throw new IllegalArgumentException("Merkle proof hash must be 64 hex characters");
+            }
+            return HEX.parseHex(hex);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import jakarta.annotation.PostConstruct;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -154,9 +155,23 @@ public class PqcSignatureServiceImpl implements PqcSignatureService {
         if (!isAvailable()) {
             return false;
         }
+        return verify(publicKeyParams, hashBytes, signatureBytes);
+    }
+
+    /**
+     * Verify a PQC signature with an explicit public key (e.g. the PEM stored with a record,
+     * which may differ from the currently loaded key after rotation).
+     *
+     * @return false on malformed input or mismatch
+     */
+    public static boolean verify(DilithiumPublicKeyParameters publicKey, byte[] hashBytes, byte[] signatureBytes) {
+        if (publicKey == null || hashBytes == null || hashBytes.length != SHA256_DIGEST_LENGTH
+                || signatureBytes == null || signatureBytes.length == 0) {
+            return false;
+        }
         try {
             DilithiumSigner signer = new DilithiumSigner();
-            signer.init(false, publicKeyParams);
+            signer.init(false, publicKey);
             return signer.verifySignature(hashBytes, signatureBytes);
         } catch (Exception e) {
             log.debug("PQC verify failed: {}", e.getMessage());
@@ -164,6 +179,27 @@ public class PqcSignatureServiceImpl implements PqcSignatureService {
         }
     }
 
+    /**
+     * Parse an ML-DSA public key PEM (as stored in ai_response.pqc_public_key_pem).
+     *
+     * @return key parameters, or null if the PEM is empty, malformed or not a Dilithium key
+     */
+    public static DilithiumPublicKeyParameters parsePublicKeyPem(String pem) {
+        if (pem == null || pem.isBlank()) {
+            return null;
+        }
+        try (PEMParser parser = new PEMParser(new StringReader(pem))) {
+            if (parser.readObject() instanceof SubjectPublicKeyInfo spki
+                    && PublicKeyFactory.createKey(spki) instanceof DilithiumPublicKeyParameters dilithium) {
+                return dilithium;
+            }
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.debug("PQC public key PEM not parseable: {}", e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public String getPublicKeyPem() {
         if (!isAvailable() || publicKeyPemCache == null) {
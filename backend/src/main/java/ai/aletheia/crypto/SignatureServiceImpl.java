@@ -1,8 +1,5 @@
 package ai.aletheia.crypto;
 
-import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
-import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
-import org.bouncycastle.asn1.x509.DigestInfo;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.openssl.PEMKeyPair;
 import org.bouncycastle.openssl.PEMParser;
@@ -26,14 +23,13 @@ import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Security;
-import java.security.Signature;
-import java.security.SignatureException;
 import java.util.Base64;
 import java.util.HexFormat;
 
 /**
  * RSA signature over a SHA-256 hash using PKCS#1 v1.5 (DigestInfo).
  * Private key is loaded from PEM file; public key is derived from private for verification.
+ * Signature engines and the DigestInfo encoding come from {@link CryptoPrimitives}.
  * <p>
  * Key generation (document for operators):
  * <pre>
@@ -44,7 +40,6 @@ import java.util.HexFormat;
 @Service
 public class SignatureServiceImpl implements SignatureService {
 
-    private static final String SIGNATURE_ALG = "NONEwithRSA";
     private static final String PROVIDER = "BC";
     private static final int SHA256_DIGEST_LENGTH = 32;
     private static final HexFormat HEX = HexFormat.of().withLowerCase();
@@ -59,6 +54,8 @@ public class SignatureServiceImpl implements SignatureService {
     private final ResourceLoader resourceLoader;
     private PrivateKey privateKey;
     private PublicKey publicKey;
+    /** PEM of {@link #publicKey}, encoded once (every evidence package includes it). */
+    private volatile String publicKeyPem;
 
     @Autowired
     public SignatureServiceImpl(
@@ -138,11 +135,7 @@ public class SignatureServiceImpl implements SignatureService {
         }
         ensureKeysLoaded();
         try {
-            byte[] digestInfo = buildDigestInfo(hashBytes);
-            Signature sig = Signature.getInstance(SIGNATURE_ALG, PROVIDER);
-            sig.initSign(privateKey);
-            sig.update(digestInfo);
-            return sig.sign();
+            return CryptoPrimitives.signRsaSha256(privateKey, hashBytes);
         } catch (Exception e) {
             throw new IllegalStateException("Signing failed", e);
         }
@@ -172,28 +165,12 @@ public class SignatureServiceImpl implements SignatureService {
         }
         ensureKeysLoaded();
         try {
-            byte[] expectedDigestInfo = buildDigestInfo(hashBytes);
-            Signature sig = Signature.getInstance(SIGNATURE_ALG, PROVIDER);
-            sig.initVerify(publicKey);
-            sig.update(expectedDigestInfo);
-            return sig.verify(signatureBytes);
-        } catch (SignatureException e) {
-            return false;
+            return CryptoPrimitives.verifyRsaSha256(publicKey, hashBytes, signatureBytes);
         } catch (Exception e) {
             throw new IllegalStateException("Verification failed", e);
         }
     }
 
-    private static byte[] buildDigestInfo(byte[] hash) {
-        AlgorithmIdentifier algId = new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256);
-        DigestInfo digestInfo = new DigestInfo(algId, hash);
-        try {
-            return digestInfo.getEncoded();
-        } catch (IOException e) {
-            throw new IllegalStateException("DigestInfo encoding failed", e);
-        }
-    }
-
     private static byte[] decodeHashHex(String hashHex) {
         if (hashHex == null || hashHex.length() != 64) {
             throw new IllegalArgumentException(
@@ -217,11 +194,17 @@ public class SignatureServiceImpl implements SignatureService {
 
     @Override
     public String getPublicKeyPem() {
+        String pem = publicKeyPem;
+        if (pem != null) {
+            return pem;
+        }
         ensureKeysLoaded();
         try (StringWriter sw = new StringWriter(); JcaPEMWriter w = new JcaPEMWriter(sw)) {
             w.writeObject(publicKey);
             w.flush();
-            return sw.toString();
+            pem = sw.toString();
+            publicKeyPem = pem;
+            return pem;
         } catch (IOException e) {
             throw new IllegalStateException("Failed to export public key as PEM", e);
         }
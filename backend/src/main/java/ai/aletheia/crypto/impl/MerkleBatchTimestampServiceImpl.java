@@ -0,0 +1,155 @@
+package ai.aletheia.crypto.impl;
+
+import ai.aletheia.config.TsaBatchProperties;
+import ai.aletheia.crypto.BatchTimestampService;
+import ai.aletheia.crypto.BatchedTimestamp;
+import ai.aletheia.crypto.MerkleTree;
+import ai.aletheia.crypto.TimestampException;
+import ai.aletheia.crypto.TimestampService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Merkle-aggregating {@link BatchTimestampService} on top of the configured {@link TimestampService}
+ * (mock or real TSA).
+ * <p>
+ * Items are collected until the batch holds {@code max-size} items or {@code max-wait-ms} has passed
+ * since the first item arrived. The batch is then flushed: one SHA-256 Merkle tree is built, the
+ * root is sent to the TSA, and every waiting caller gets the shared token plus its own inclusion
+ * proof. A full batch is flushed on the thread that filled it; time-bounded flushes run on a single
+ * daemon scheduler thread.
+ *
+ * @see MerkleTree
+ */
+@Service
+@ConditionalOnProperty(name = "ai.aletheia.tsa.batch.enabled", havingValue = "true")
+public class MerkleBatchTimestampServiceImpl implements BatchTimestampService {
+
+    private static final Logger log = LoggerFactory.getLogger(MerkleBatchTimestampServiceImpl.class);
+    private static final HexFormat HEX = HexFormat.of().withLowerCase();
+    /** Upper bound for the TSA round trip itself, on top of the batching window. */
+    private static final long TSA_CALL_TIMEOUT_MS = 60_000;
+
+    private final TimestampService delegate;
+    private final int maxSize;
+    private final long maxWaitMs;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MerkleBatchTimestampServiceImpl(TimestampService delegate, TsaBatchProperties props) {
+        this.delegate = delegate;
+        this.maxSize = props.getMaxSize();
+        this.maxWaitMs = props.getMaxWaitMs();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tsa-batch");
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("TSA batch mode enabled: maxSize={}, maxWaitMs={}", maxSize, maxWaitMs);
+    }
+
+    @Override
+    public BatchedTimestamp timestamp(byte[] dataToTimestamp) {
+        if (dataToTimestamp == null || dataToTimestamp.length == 0) {
+            throw new IllegalArgumentException("Data to timestamp cannot be null or empty");
+        }
+        Pending item = new Pending(dataToTimestamp.clone(), new CompletableFuture<>());
+        List<Pending> full = null;
+        synchronized (lock) {
+            pending.add(item);
+            if (pending.size() >= maxSize) {
+                full = drainLocked();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flushDue, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            flush(full);
+        }
+        return await(item);
+    }
+
+    private BatchedTimestamp await(Pending item) {
+        try {
+            return item.result().get(maxWaitMs + TSA_CALL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimestampException te) {
+                throw te;
+            }
+            throw new TimestampException("Batch timestamp failed: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            throw new TimestampException("Batch timestamp timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimestampException("Batch timestamp interrupted", e);
+        }
+    }
+
+    private void flushDue() {
+        List<Pending> batch;
+        synchronized (lock) {
+            batch = drainLocked();
+        }
+        flush(batch);
+    }
+
+    /** Caller must hold {@link #lock}. */
+    private List<Pending> drainLocked() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<byte[]> leaves = new ArrayList<>(batch.size());
+            for (Pending p : batch) {
+                leaves.add(p.data());
+            }
+            MerkleTree tree = MerkleTree.build(leaves);
+            byte[] token = delegate.timestamp(tree.root());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(new BatchedTimestamp(token, tree.proof(i).encode()));
+            }
+            log.debug("TSA batch flushed: {} items, root {}", batch.size(), HEX.formatHex(tree.root()));
+        } catch (RuntimeException e) {
+            log.warn("TSA batch of {} items failed: {}", batch.size(), e.getMessage());
+            for (Pending p : batch) {
+                p.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushDue();
+        scheduler.shutdown();
+    }
+
+    private record Pending(byte[] data, CompletableFuture<BatchedTimestamp> result) {}
+}
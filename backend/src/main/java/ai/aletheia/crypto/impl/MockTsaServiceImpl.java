@@ -1,5 +1,6 @@
 package ai.aletheia.crypto.impl;
 
+import ai.aletheia.crypto.CryptoPrimitives;
 import ai.aletheia.crypto.TimestampException;
 import ai.aletheia.crypto.TimestampService;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
@@ -27,8 +28,6 @@ import jakarta.annotation.PostConstruct;
 import java.io.InputStreamReader;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 import java.security.cert.X509Certificate;
 import java.util.Date;
@@ -140,10 +139,6 @@ public class MockTsaServiceImpl implements TimestampService {
     }
 
     private static byte[] sha256(byte[] data) {
-        try {
-            return MessageDigest.getInstance("SHA-256").digest(data);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not available", e);
-        }
+        return CryptoPrimitives.sha256(data);
     }
 }
@@ -1,5 +1,6 @@
 package ai.aletheia.crypto.impl;
 
+import ai.aletheia.crypto.CryptoPrimitives;
 import ai.aletheia.crypto.TimestampException;
 import ai.aletheia.crypto.TimestampService;
 import org.bouncycastle.tsp.TSPAlgorithms;
@@ -17,8 +18,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 
 /**
@@ -110,10 +109,6 @@ public class RealTsaServiceImpl implements TimestampService {
     }
 
     private static byte[] sha256(byte[] data) {
-        try {
-            return MessageDigest.getInstance("SHA-256").digest(data);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not available", e);
-        }
+        return CryptoPrimitives.sha256(data);
     }
 }
@@ -0,0 +1,52 @@
+package ai.aletheia.db;
+
+import ai.aletheia.db.entity.AiResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out ai_response ids without an insert, for writers that insert rows themselves (batched JDBC).
+ *
+ * <p>Same scheme as the entity's Hibernate generator: one sequence call reserves
+ * {@link AiResponse#ID_ALLOCATION_SIZE} ids ({@code v - size + 1 .. v}), so ids from here and from
+ * {@code repository.save} never collide. Ids are unique, not gap-free: an unused rest of a block is lost on
+ * restart, exactly as with Hibernate.
+ */
+@Component
+public class AiResponseIdAllocator {
+
+    static final String SEQUENCE = "ai_response_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private long next = 1;
+    private long hi = 0;
+
+    @Autowired
+    public AiResponseIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this(jdbcTemplate, entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE));
+    }
+
+    /** @param nextValueSql query returning the next value of ai_response_seq in the database's dialect */
+    public AiResponseIdAllocator(JdbcTemplate jdbcTemplate, String nextValueSql) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = nextValueSql;
+    }
+
+    /** Next unused id; hits the database once per {@link AiResponse#ID_ALLOCATION_SIZE} calls. */
+    public synchronized long next() {
+        if (next > hi) {
+            Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            if (value == null) {
+                throw new IllegalStateException("Sequence " + SEQUENCE + " returned no value");
+            }
+            hi = value;
+            next = value - AiResponse.ID_ALLOCATION_SIZE + 1;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,100 @@
+package ai.aletheia.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Runtime upkeep of the monthly partitions of ai_response (created by V13, PostgreSQL): partition
+ * {@code ai_response_pYYYYMM} holds {@code created_at} in that UTC month, {@code ai_response_default}
+ * anything without one.
+ *
+ * <p>On other databases (H2 in tests and local runs) ai_response stays a single table: there is nothing to
+ * create and {@link #removeMonth} deletes the month's rows instead of dropping a partition.
+ */
+@Component
+public class AiResponsePartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(AiResponsePartitions.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean partitioned;
+
+    public AiResponsePartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Whether ai_response is partitioned, i.e. the database is PostgreSQL. */
+    public boolean isPartitioned() {
+        Boolean p = partitioned;
+        if (p == null) {
+            p = jdbcTemplate.execute((Connection c) -> isPostgres(c));
+            partitioned = p;
+        }
+        return p;
+    }
+
+    /** Create partitions from the current month to {@code monthsAhead} months ahead, where missing. */
+    public void ensureAhead(int monthsAhead) {
+        if (!isPartitioned()) {
+            return;
+        }
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            jdbcTemplate.execute(createSql(month.plusMonths(i)));
+        }
+    }
+
+    /**
+     * Remove all rows of a month from ai_response: detach and drop its partition when there is one, else
+     * delete by range. Runs in the caller's transaction.
+     *
+     * @return whether a partition was dropped
+     */
+    public boolean removeMonth(YearMonth month) {
+        if (isPartitioned() && partitionExists(month)) {
+            String name = partitionName(month);
+            jdbcTemplate.execute("ALTER TABLE ai_response DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+            log.info("Dropped partition {}", name);
+            return true;
+        }
+        jdbcTemplate.update("DELETE FROM ai_response WHERE created_at >= ? AND created_at < ?",
+                start(month).atOffset(ZoneOffset.UTC), start(month.plusMonths(1)).atOffset(ZoneOffset.UTC));
+        return false;
+    }
+
+    private boolean partitionExists(YearMonth month) {
+        Integer n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " WHERE i.inhparent = 'ai_response'::regclass AND c.relname = ?",
+                Integer.class, partitionName(month));
+        return n != null && n > 0;
+    }
+
+    public static boolean isPostgres(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+    }
+
+    /** First instant of the month (UTC). */
+    public static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    public static String partitionName(YearMonth month) {
+        return String.format("ai_response_p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /** DDL for one month's partition; a no-op when it exists. PostgreSQL only. */
+    public static String createSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF ai_response"
+                + " FOR VALUES FROM ('" + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')";
+    }
+}
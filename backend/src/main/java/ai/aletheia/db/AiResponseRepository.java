@@ -1,7 +1,18 @@
 package ai.aletheia.db;
 
 import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.db.entity.EvidenceStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Spring Data JPA repository for {@link AiResponse} entities.
@@ -10,4 +21,71 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * uses this to persist verifiable AI responses after the crypto pipeline completes.
  */
 public interface AiResponseRepository extends JpaRepository<AiResponse, Long> {
+
+    /** Ids of records in the given evidence status (e.g. PENDING_TIMESTAMP to resume after restart), oldest first. */
+    @Query("select r.id from AiResponse r where r.status = :status order by r.id")
+    List<Long> findIdsByStatus(@Param("status") EvidenceStatus status);
+
+    /**
+     * Keyset page of records with {@code from <= createdAt < to}, ordered by (createdAt, id), strictly after
+     * the cursor (afterCreatedAt, afterId). Start with ({@code from}, {@code -1}); continue with the last row
+     * of the previous page. Uses idx_ai_response_created_at_id and never scans skipped rows, unlike OFFSET.
+     * Only {@code pageable}'s size is used.
+     */
+    @Query("select r from AiResponse r where r.createdAt >= :from and r.createdAt < :to"
+            + " and (r.createdAt > :afterCreatedAt or (r.createdAt = :afterCreatedAt and r.id > :afterId))"
+            + " order by r.createdAt, r.id")
+    List<AiResponse> findPageByCreatedAt(@Param("from") Instant from,
+                                         @Param("to") Instant to,
+                                         @Param("afterCreatedAt") Instant afterCreatedAt,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    /**
+     * Keyset page of {@link AiResponseSummary} with {@code from <= createdAt < to}, newest first, strictly
+     * before the cursor (beforeCreatedAt, beforeId). Start with ({@code to}, {@link Long#MAX_VALUE}); continue
+     * with the last row of the previous page. Reads no TEXT column. Only {@code pageable}'s size is used.
+     */
+    @Query("select new ai.aletheia.db.AiResponseSummary(r.id, r.createdAt, r.llmModel, r.requestId, r.responseHash,"
+            + " r.status, r.canonicalFormat, r.policyVersion, r.policyCoverage, r.confidence,"
+            + " case when r.signature is not null then true else false end,"
+            + " case when r.tsaToken is not null then true else false end,"
+            + " case when r.signaturePqc is not null then true else false end)"
+            + " from AiResponse r where r.createdAt >= :from and r.createdAt < :to"
+            + " and (r.createdAt < :beforeCreatedAt or (r.createdAt = :beforeCreatedAt and r.id < :beforeId))"
+            + " order by r.createdAt desc, r.id desc")
+    List<AiResponseSummary> findSummaries(@Param("from") Instant from,
+                                          @Param("to") Instant to,
+                                          @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                          @Param("beforeId") Long beforeId,
+                                          Pageable pageable);
+
+    /**
+     * Next page of records without a canonical format (saved before V9), by id after {@code afterId}.
+     * Only {@code pageable}'s size is used.
+     */
+    @Query("select r from AiResponse r where r.canonicalFormat is null and r.id > :afterId order by r.id")
+    List<AiResponse> findUnclassified(@Param("afterId") Long afterId, Pageable pageable);
+
+    /** Next page of records by id after {@code afterId}. Only {@code pageable}'s size is used. */
+    @Query("select r from AiResponse r where r.id > :afterId order by r.id")
+    List<AiResponse> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Ids of records whose policy rule {@code ruleId} has {@code status} (e.g. R1 "not_evaluated"), by id
+     * after {@code afterId}. Answered from idx_policy_rule_result_rule_status (V17) without reading
+     * ai_response text or parsing JSON. Only {@code pageable}'s size is used.
+     */
+    @Query("select r.id from AiResponse r join r.policyRules p where p.ruleId = :ruleId and p.status = :status"
+            + " and r.id > :afterId order by r.id")
+    List<Long> findIdsByPolicyRule(@Param("ruleId") String ruleId,
+                                   @Param("status") String status,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    /** Set the canonical format of the given records; only rows still unclassified are updated. */
+    @Modifying
+    @Transactional
+    @Query("update AiResponse r set r.canonicalFormat = :format where r.id in :ids and r.canonicalFormat is null")
+    int updateCanonicalFormat(@Param("ids") Collection<Long> ids, @Param("format") CanonicalFormat format);
 }
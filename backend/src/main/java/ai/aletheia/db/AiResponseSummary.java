@@ -0,0 +1,33 @@
+package ai.aletheia.db;
+
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.db.entity.EvidenceStatus;
+
+import java.time.Instant;
+
+/**
+ * Listing projection of {@link ai.aletheia.db.entity.AiResponse}: metadata and hashes only.
+ *
+ * <p>Built by a JPQL constructor expression, so the TEXT columns (prompt, response, system prompt, policy
+ * rules, PQC key) are never read and the row is not a managed entity. Signature, TSA token and PQC signature
+ * are reduced to presence flags.
+ *
+ * @param signed      RSA signature stored
+ * @param timestamped RFC 3161 TSA token stored
+ * @param pqcSigned   ML-DSA signature stored
+ */
+public record AiResponseSummary(
+        Long id,
+        Instant createdAt,
+        String llmModel,
+        String requestId,
+        String responseHash,
+        EvidenceStatus status,
+        CanonicalFormat canonicalFormat,
+        String policyVersion,
+        Double policyCoverage,
+        Double confidence,
+        boolean signed,
+        boolean timestamped,
+        boolean pqcSigned
+) {}
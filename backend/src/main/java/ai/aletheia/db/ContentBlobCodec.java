@@ -0,0 +1,111 @@
+package ai.aletheia.db;
+
+import ai.aletheia.crypto.CryptoPrimitives;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encoding of content_blob rows: the key is the SHA-256 (lowercase hex) of the text's UTF-8 bytes, the data
+ * is those bytes either as they are ({@link #IDENTITY}) or raw-deflated ({@link #DEFLATE}).
+ *
+ * <p>Deflate is used only when the text is at least {@code minCompressBytes} long and actually shrinks;
+ * short prompts stay uncompressed. The V12 backfill keeps its own copy of this encoding; changing the
+ * hash here would stop new records from sharing blobs with backfilled ones.
+ */
+public final class ContentBlobCodec {
+
+    public static final String IDENTITY = "identity";
+    public static final String DEFLATE = "deflate";
+    /** Default for {@code minCompressBytes}: below this deflate rarely pays for its header. */
+    public static final int DEFAULT_MIN_COMPRESS_BYTES = 512;
+
+    private static final HexFormat HEX_LOWER = HexFormat.of().withLowerCase();
+
+    /** Encoded text: key, encoding, UTF-8 length and stored bytes. */
+    public record Encoded(String hash, String encoding, long size, byte[] data) {
+    }
+
+    private ContentBlobCodec() {}
+
+    /** Blob key of the UTF-8 bytes of a text. */
+    public static String hash(byte[] raw) {
+        return HEX_LOWER.formatHex(CryptoPrimitives.sha256(raw));
+    }
+
+    public static Encoded encode(String text, boolean compress, int minCompressBytes) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        return encode(raw, hash(raw), compress, minCompressBytes);
+    }
+
+    /** @param hash {@link #hash} of {@code raw}, when the caller already has it */
+    public static Encoded encode(byte[] raw, String hash, boolean compress, int minCompressBytes) {
+        if (compress && raw.length >= minCompressBytes) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                return new Encoded(hash, DEFLATE, raw.length, deflated);
+            }
+        }
+        return new Encoded(hash, IDENTITY, raw.length, raw);
+    }
+
+    /**
+     * @throws IllegalStateException if the data is corrupt or the encoding unknown
+     */
+    public static String decode(String encoding, long size, byte[] data) {
+        if (IDENTITY.equals(encoding)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (DEFLATE.equals(encoding)) {
+            return new String(inflate(data, size), StandardCharsets.UTF_8);
+        }
+        throw new IllegalStateException("Unknown content blob encoding: " + encoding);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Content blob too large: " + size);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            byte[] out = new byte[(int) size];
+            int n = 0;
+            while (n < out.length) {
+                int read = inflater.inflate(out, n, out.length - n);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != out.length) {
+                throw new IllegalStateException("Content blob inflated to " + n + " bytes, expected " + size);
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt content blob", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ai.aletheia.db;
+
+import ai.aletheia.config.ContentBlobProperties;
+import ai.aletheia.db.entity.AiResponse;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes prompt and response texts to content_blob, once per distinct text, and points records at them.
+ *
+ * <p>A blob is inserted in its own short transaction before the record that references it, so a duplicate key
+ * from a concurrent writer of the same text only fails that insert (the blob is there either way). Blobs are
+ * never updated or deleted, so hashes seen recently are remembered (LRU) and repeated texts — templated
+ * prompts — cost no database round trip at all.
+ */
+@Service
+public class ContentBlobStore {
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM content_blob WHERE hash = ?";
+    static final String INSERT_SQL = "INSERT INTO content_blob (hash, encoding, size, data, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final boolean compress;
+    private final int minCompressBytes;
+    private final int maxKnown;
+    private final LinkedHashMap<String, Boolean> known = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > maxKnown;
+        }
+    };
+
+    public ContentBlobStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ContentBlobProperties props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.compress = props.isCompress();
+        this.minCompressBytes = props.getMinCompressBytes();
+        this.maxKnown = props.getKnownHashes();
+    }
+
+    /** Move the entity's inline prompt and response to content blobs. Null texts stay null. */
+    public void externalize(AiResponse entity) {
+        if (entity.getPromptBlob() == null && entity.getPrompt() != null) {
+            entity.movePromptToBlob(store(entity.getPrompt()));
+        }
+        if (entity.getResponseBlob() == null && entity.getResponse() != null) {
+            entity.moveResponseToBlob(store(entity.getResponse()));
+        }
+    }
+
+    /**
+     * Make sure a blob with this text exists.
+     *
+     * @return its hash
+     */
+    public String store(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        String hash = ContentBlobCodec.hash(raw);
+        synchronized (known) {
+            if (known.get(hash) != null) {
+                return hash;
+            }
+        }
+        ContentBlobCodec.Encoded encoded = ContentBlobCodec.encode(raw, hash, compress, minCompressBytes);
+        newTransaction.executeWithoutResult(status -> {
+            Integer count = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, hash);
+            if (count == null || count == 0) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, hash, encoded.encoding(), encoded.size(), encoded.data(),
+                            Instant.now().atOffset(ZoneOffset.UTC));
+                } catch (DuplicateKeyException e) {
+                    // Same text stored concurrently
+                    status.setRollbackOnly();
+                }
+            }
+        });
+        synchronized (known) {
+            known.put(hash, Boolean.TRUE);
+        }
+        return hash;
+    }
+}
@@ -1,7 +1,10 @@
 package ai.aletheia.db.entity;
 
+import ai.aletheia.policy.PolicyRuleResult;
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * JPA entity for the {@code ai_response} table.
@@ -12,23 +15,53 @@ import java.time.Instant;
  *
  * <p>Schema is defined in Flyway migration {@code V1__create_ai_response.sql}.
  * Signature and TSA token are stored as Base64 strings (VARCHAR) for portability.
+ * Prompt and response are either inline or, since V12, references to deduplicated {@link ContentBlob} rows;
+ * {@link #getPrompt()} and {@link #getResponse()} return the text either way.
  */
 @Entity
 @Table(name = "ai_response")
 public class AiResponse {
 
+    /** Ids are taken from ai_response_seq in blocks of this size (see V11); shared with AiResponseIdAllocator. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /** From ai_response_seq (V11), so the id is known before the insert and inserts can be batched. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ai_response_seq")
+    @SequenceGenerator(name = "ai_response_seq", sequenceName = "ai_response_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    /** User prompt sent to the LLM. */
-    @Column(nullable = false, columnDefinition = "TEXT")
+    /** User prompt sent to the LLM, when stored inline; null when it is in {@link #promptBlob}. */
+    @Column(columnDefinition = "TEXT")
     private String prompt;
 
-    /** LLM response text (original, before canonicalization). */
-    @Column(nullable = false, columnDefinition = "TEXT")
+    /** LLM response text (original, before canonicalization), when stored inline; null when in {@link #responseBlob}. */
+    @Column(columnDefinition = "TEXT")
     private String response;
 
+    /** V12: content_blob hash of the prompt (deduplicated, optionally compressed). */
+    @Column(name = "prompt_blob", length = 64)
+    private String promptBlob;
+
+    /** V12: content_blob hash of the response. */
+    @Column(name = "response_blob", length = 64)
+    private String responseBlob;
+
+    @ManyToOne
+    @JoinColumn(name = "prompt_blob", insertable = false, updatable = false)
+    private ContentBlob promptContent;
+
+    @ManyToOne
+    @JoinColumn(name = "response_blob", insertable = false, updatable = false)
+    private ContentBlob responseContent;
+
+    /** Text moved to a blob on this instance (before the blob is loaded through {@link #promptContent}). */
+    @Transient
+    private String promptText;
+
+    @Transient
+    private String responseText;
+
     /** SHA-256 hash (64-char hex) of canonical response bytes. Immutable proof of content. */
     @Column(name = "response_hash", nullable = false, length = 64)
     private String responseHash;
@@ -49,6 +82,10 @@ public class AiResponse {
     @Column(name = "tsa_token", length = 4096)
     private String tsaToken;
 
+    /** Batch TSA: Merkle inclusion proof linking this record's signature to the timestamped root. Null when not batched. */
+    @Column(name = "tsa_merkle_proof", columnDefinition = "TEXT")
+    private String tsaMerkleProof;
+
     /** LLM model identifier (e.g. "gpt-4", "gemini-pro"). */
     @Column(name = "llm_model", length = 255)
     private String llmModel;
@@ -88,10 +125,29 @@ public class AiResponse {
     @Column(name = "policy_coverage")
     private Double policyCoverage;
 
-    /** Phase 4: JSON array of policy rule results (ruleId + status). */
+    /**
+     * Phase 4: JSON array of policy rule results (ruleId + status). Since V17 only on rows written without
+     * {@link #policyRules} (and in archive bundles made before); see {@code PolicyEvaluationService.rules}.
+     */
     @Column(name = "policy_rules_evaluated", columnDefinition = "TEXT")
     private String policyRulesEvaluated;
 
+    /** V17: policy rule results in rule order, one policy_rule_result row each. */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "policy_rule_result", joinColumns = @JoinColumn(name = "response_id"))
+    @OrderColumn(name = "rule_index")
+    private List<PolicyRuleResult> policyRules = new ArrayList<>();
+
+    /** Evidence status: PENDING_TIMESTAMP while the async pipeline runs TSA/PQC/policy; COMPLETE or FAILED after. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EvidenceStatus status = EvidenceStatus.COMPLETE;
+
+    /** Bytes the response hash was computed over; null for rows not yet classified (see V9). */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "canonical_format", length = 32)
+    private CanonicalFormat canonicalFormat;
+
     @PrePersist
     void onPersist() {
         if (createdAt == null) {
@@ -100,6 +156,9 @@ public class AiResponse {
         if (version == null) {
             version = 1;
         }
+        if (status == null) {
+            status = EvidenceStatus.COMPLETE;
+        }
     }
 
     // --- Constructors ---
@@ -119,11 +178,53 @@ public class AiResponse {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public String getPrompt() { return prompt; }
-    public void setPrompt(String prompt) { this.prompt = prompt; }
+    /** The prompt, inline or from its content blob. */
+    public String getPrompt() {
+        if (prompt != null) return prompt;
+        if (promptText != null) return promptText;
+        return promptContent != null ? promptContent.getText() : null;
+    }
 
-    public String getResponse() { return response; }
-    public void setResponse(String response) { this.response = response; }
+    /** Store the prompt inline (drops any blob reference). */
+    public void setPrompt(String prompt) {
+        this.prompt = prompt;
+        this.promptBlob = null;
+        this.promptContent = null;
+        this.promptText = null;
+    }
+
+    /** The response, inline or from its content blob. */
+    public String getResponse() {
+        if (response != null) return response;
+        if (responseText != null) return responseText;
+        return responseContent != null ? responseContent.getText() : null;
+    }
+
+    /** Store the response inline (drops any blob reference). */
+    public void setResponse(String response) {
+        this.response = response;
+        this.responseBlob = null;
+        this.responseContent = null;
+        this.responseText = null;
+    }
+
+    public String getPromptBlob() { return promptBlob; }
+
+    /** Reference the prompt by the hash of its stored content_blob instead of inline. */
+    public void movePromptToBlob(String hash) {
+        this.promptText = getPrompt();
+        this.prompt = null;
+        this.promptBlob = hash;
+    }
+
+    public String getResponseBlob() { return responseBlob; }
+
+    /** Reference the response by the hash of its stored content_blob instead of inline. */
+    public void moveResponseToBlob(String hash) {
+        this.responseText = getResponse();
+        this.response = null;
+        this.responseBlob = hash;
+    }
 
     public String getResponseHash() { return responseHash; }
     public void setResponseHash(String responseHash) { this.responseHash = responseHash; }
@@ -140,6 +241,9 @@ public class AiResponse {
     public String getTsaToken() { return tsaToken; }
     public void setTsaToken(String tsaToken) { this.tsaToken = tsaToken; }
 
+    public String getTsaMerkleProof() { return tsaMerkleProof; }
+    public void setTsaMerkleProof(String tsaMerkleProof) { this.tsaMerkleProof = tsaMerkleProof; }
+
     public String getLlmModel() { return llmModel; }
     public void setLlmModel(String llmModel) { this.llmModel = llmModel; }
 
@@ -172,4 +276,17 @@ public class AiResponse {
 
     public String getPolicyRulesEvaluated() { return policyRulesEvaluated; }
     public void setPolicyRulesEvaluated(String policyRulesEvaluated) { this.policyRulesEvaluated = policyRulesEvaluated; }
+
+    public List<PolicyRuleResult> getPolicyRules() { return policyRules; }
+    public void setPolicyRules(List<PolicyRuleResult> policyRules) {
+        // Replace the contents, not the collection Hibernate tracks
+        this.policyRules.clear();
+        if (policyRules != null) this.policyRules.addAll(policyRules);
+    }
+
+    public EvidenceStatus getStatus() { return status; }
+    public void setStatus(EvidenceStatus status) { this.status = status; }
+
+    public CanonicalFormat getCanonicalFormat() { return canonicalFormat; }
+    public void setCanonicalFormat(CanonicalFormat canonicalFormat) { this.canonicalFormat = canonicalFormat; }
 }
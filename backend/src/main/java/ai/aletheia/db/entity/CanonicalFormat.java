@@ -0,0 +1,18 @@
+package ai.aletheia.db.entity;
+
+/**
+ * Which bytes the stored response hash of an {@link AiResponse} was computed over (the signed payload).
+ *
+ * <p>Set when a record is saved. Rows saved before the column existed are classified once by
+ * {@code CanonicalFormatMigration}; until then the column is null and the formats are probed.
+ */
+public enum CanonicalFormat {
+    /** Canonical response only. */
+    RESPONSE,
+    /** Canonical response, {@code '\n'}, canonical claim metadata with confidence as {@code %.6f}. */
+    RESPONSE_CLAIM,
+    /** As {@link #RESPONSE_CLAIM} with confidence as {@code Double.toString} (records saved before %.6f). */
+    RESPONSE_CLAIM_LEGACY,
+    /** No stored hash, or no format reproduces it (e.g. the row was changed after signing). */
+    UNVERIFIABLE
+}
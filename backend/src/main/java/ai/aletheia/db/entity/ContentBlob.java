@@ -0,0 +1,68 @@
+package ai.aletheia.db.entity;
+
+import ai.aletheia.db.ContentBlobCodec;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for the {@code content_blob} table: prompt and response texts stored once per distinct content
+ * and referenced from {@link AiResponse} by hash (see V12).
+ *
+ * <p>Rows are written by {@code ContentBlobStore} and never change; the decoded text is kept after the
+ * first {@link #getText()}.
+ */
+@Entity
+@Immutable
+@Table(name = "content_blob")
+public class ContentBlob {
+
+    /** SHA-256 (64-char lowercase hex) of the text's UTF-8 bytes. */
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    /** {@code identity} or {@code deflate}; see {@link ContentBlobCodec}. */
+    @Column(nullable = false, length = 16)
+    private String encoding;
+
+    /** UTF-8 length of the text (before compression). */
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Transient
+    private String text;
+
+    /** Default constructor for JPA. */
+    protected ContentBlob() {}
+
+    public String getHash() { return hash; }
+
+    public String getEncoding() { return encoding; }
+
+    public long getSize() { return size; }
+
+    /** Stored bytes as returned by the database (compressed for {@code deflate}). */
+    public byte[] getData() { return data; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    /** Decoded text. */
+    public String getText() {
+        if (text == null) {
+            text = ContentBlobCodec.decode(encoding, size, data);
+        }
+        return text;
+    }
+}
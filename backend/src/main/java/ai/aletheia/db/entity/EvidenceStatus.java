@@ -0,0 +1,16 @@
+package ai.aletheia.db.entity;
+
+/**
+ * Lifecycle of the evidence attached to an {@link AiResponse}.
+ *
+ * <p>With the async ask pipeline, a record is saved as soon as hash and signature exist
+ * ({@link #PENDING_TIMESTAMP}); TSA, PQC signing and policy evaluation fill it in later.
+ */
+public enum EvidenceStatus {
+    /** Hash and signature stored; TSA token, PQC signature and policy evaluation still pending. */
+    PENDING_TIMESTAMP,
+    /** All evidence steps ran (TSA token may still be absent when no signature was produced). */
+    COMPLETE,
+    /** Post-processing failed (e.g. TSA unreachable); record has hash and signature only. */
+    FAILED
+}
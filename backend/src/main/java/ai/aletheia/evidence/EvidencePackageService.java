@@ -2,6 +2,8 @@ package ai.aletheia.evidence;
 
 import ai.aletheia.policy.PolicyRuleResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -11,7 +13,8 @@ import java.util.Map;
  *
  * <p>Format (DP2.1.1): response.txt, canonical.bin, hash.sha256, signature.sig,
  * timestamp.tsr, metadata.json, public_key.pem. Optional PQC (PQC.4): signature_pqc.sig,
- * pqc_public_key.pem, pqc_algorithm.json when PQC was used.
+ * pqc_public_key.pem, pqc_algorithm.json when PQC was used. Optional batch TSA: timestamp_proof.txt
+ * when timestamp.tsr covers a Merkle root over several records.
  */
 public interface EvidencePackageService {
 
@@ -104,6 +107,15 @@ public interface EvidencePackageService {
             String pqcPublicKeyPem,
             String pqcAlgorithmName);
 
+    /**
+     * Batch TSA: add timestamp_proof.txt (Merkle inclusion proof of signature.sig under the timestamped root).
+     * No-op when merkleProof is null or blank, so packages for non-batched records are unchanged.
+     *
+     * @param files       map returned by {@link #buildPackage}
+     * @param merkleProof proof text as stored in ai_response.tsa_merkle_proof
+     */
+    void addTimestampProof(Map<String, byte[]> files, String merkleProof);
+
     /**
      * Pack the evidence file map into a ZIP (e.g. .aep).
      *
@@ -111,4 +123,26 @@ public interface EvidencePackageService {
      * @return ZIP bytes
      */
     byte[] toZip(Map<String, byte[]> files);
+
+    /**
+     * Write the evidence files as a ZIP straight to {@code out}, without building the archive in memory.
+     * Same entries and order as {@link #toZip}. {@code out} is not closed.
+     * <p>
+     * An entry named in {@code streamed} is produced by its writer instead of from {@code files}, at the
+     * position of the same name in {@code files} (use a null/empty placeholder from {@link #buildPackage}),
+     * or after all other entries if absent. Use it for content that grows with the response (response.txt,
+     * canonical.bin) so no full copy of it is held.
+     *
+     * @param files    map from filename to content
+     * @param streamed writers for entries whose content is produced while writing (may be empty)
+     * @param out      destination, e.g. the servlet output stream
+     * @throws IOException if writing to {@code out} fails
+     */
+    void writeZip(Map<String, byte[]> files, Map<String, EntryWriter> streamed, OutputStream out) throws IOException;
+
+    /** Content of one streamed ZIP entry. Must not close the stream it is given. */
+    @FunctionalInterface
+    interface EntryWriter {
+        void writeTo(OutputStream entry) throws IOException;
+    }
 }
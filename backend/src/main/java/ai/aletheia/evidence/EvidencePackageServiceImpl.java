@@ -7,12 +7,16 @@ import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -35,6 +39,19 @@ public class EvidencePackageServiceImpl implements EvidencePackageService {
     public static final String PQC_PUBLIC_KEY_PEM = "pqc_public_key.pem";
     public static final String PQC_ALGORITHM_JSON = "pqc_algorithm.json";
 
+    /** Batch TSA: Merkle inclusion proof when timestamp.tsr covers a batch root. */
+    public static final String TIMESTAMP_PROOF_TXT = "timestamp_proof.txt";
+
+    private static final Set<String> STORED_ENTRIES = Set.of(
+            HASH_SHA256, SIGNATURE_SIG, TIMESTAMP_TSR, PUBLIC_KEY_PEM,
+            SIGNATURE_PQC_SIG, PQC_PUBLIC_KEY_PEM, TIMESTAMP_PROOF_TXT);
+
+    /**
+     * Modification time of every entry (the earliest DOS date, no time zone). With a fixed time the same
+     * files always give byte-identical ZIPs, so a package hash (ETag, export manifest) is reproducible.
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -202,6 +219,14 @@ public class EvidencePackageServiceImpl implements EvidencePackageService {
         }
     }
 
+    @Override
+    public void addTimestampProof(Map<String, byte[]> files, String merkleProof) {
+        if (merkleProof == null || merkleProof.isBlank()) {
+            return;
+        }
+        files.put(TIMESTAMP_PROOF_TXT, merkleProof.getBytes(StandardCharsets.UTF_8));
+    }
+
     private void addPolicyMetadata(Map<String, Object> metadata,
                                    Double policyCoverage,
                                    List<PolicyRuleResult> policyRulesEvaluated) {
@@ -216,21 +241,62 @@ public class EvidencePackageServiceImpl implements EvidencePackageService {
     @Override
     public byte[] toZip(Map<String, byte[]> files) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-            for (String name : files.keySet()) {
-                byte[] content = files.get(name);
-                if (content == null) {
-                    content = new byte[0];
-                }
-                ZipEntry entry = new ZipEntry(name);
-                entry.setSize(content.length);
-                zos.putNextEntry(entry);
-                zos.write(content);
-                zos.closeEntry();
-            }
+        try {
+            writeZip(files, Map.of(), baos);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to build Evidence Package ZIP", e);
         }
         return baos.toByteArray();
     }
+
+    @Override
+    public void writeZip(Map<String, byte[]> files, Map<String, EntryWriter> streamed, OutputStream out) throws IOException {
+        try (ZipOutputStream zos = new ZipOutputStream(new NonClosingOutputStream(out))) {
+            OutputStream entryOut = new NonClosingOutputStream(zos);
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                EntryWriter writer = streamed.get(file.getKey());
+                if (writer != null) {
+                    putStreamed(zos, entryOut, file.getKey(), writer);
+                } else {
+                    putBytes(zos, file.getKey(), file.getValue() != null ? file.getValue() : new byte[0]);
+                }
+            }
+            for (Map.Entry<String, EntryWriter> writer : streamed.entrySet()) {
+                if (!files.containsKey(writer.getKey())) {
+                    putStreamed(zos, entryOut, writer.getKey(), writer.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Hashes, signatures, tokens and keys are hex/Base64/PEM of random bytes and a few KB at most: STORED
+     * with size and CRC computed up front (no deflater pass, no data descriptor). Everything else is deflated.
+     */
+    private static void putBytes(ZipOutputStream zos, String name, byte[] content) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        entry.setSize(content.length);
+        if (STORED_ENTRIES.contains(name)) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+        zos.putNextEntry(entry);
+        zos.write(content);
+        zos.closeEntry();
+    }
+
+    /** Deflated; size and CRC go into the data descriptor after the content. */
+    private static void putStreamed(ZipOutputStream zos, OutputStream entryOut, String name, EntryWriter writer)
+            throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        zos.putNextEntry(entry);
+        writer.writeTo(entryOut);
+        entryOut.flush();
+        zos.closeEntry();
+    }
 }
@@ -0,0 +1,27 @@
+package ai.aletheia.evidence;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Lets a wrapping stream (a ZipOutputStream, an entry writer) be closed without closing the stream underneath:
+ * {@link #close()} only flushes. Writes are passed through in bulk, not byte by byte as in
+ * {@link FilterOutputStream}.
+ */
+public final class NonClosingOutputStream extends FilterOutputStream {
+
+    public NonClosingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
@@ -1,5 +1,7 @@
 package ai.aletheia.llm;
 
+import java.util.function.Consumer;
+
 /**
  * Client for LLM completion. Implementations call OpenAI, Gemini, Mistral, etc.
  *
@@ -15,4 +17,24 @@ public interface LLMClient {
      * @throws LLMException on API errors (rate limit, timeout, invalid key, etc.)
      */
     LLMResult complete(String prompt);
+
+    /**
+     * Streaming completion: pass each text chunk to {@code onChunk} as the model produces it, then
+     * return the full result. The concatenated chunks equal {@link LLMResult#responseText()}.
+     * <p>
+     * Default: non-streaming {@link #complete(String)} delivered as one chunk, for clients
+     * without a streaming API.
+     *
+     * @param prompt  user prompt (non-null, may be empty)
+     * @param onChunk receives chunks in order, on the calling thread
+     * @return full response text and model id
+     * @throws LLMException on API errors
+     */
+    default LLMResult stream(String prompt, Consumer<String> onChunk) {
+        LLMResult result = complete(prompt);
+        if (!result.responseText().isEmpty()) {
+            onChunk.accept(result.responseText());
+        }
+        return result;
+    }
 }
@@ -0,0 +1,82 @@
+package ai.aletheia.llm.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads a chat completion or one streamed chunk token by token, keeping only {@code model},
+ * {@code choices[0].<holder>.content} and {@code error}. Everything else (usage, logprobs, further choices)
+ * is skipped without building a tree.
+ */
+final class ChatCompletionParser {
+
+    /** Holder of the text in a full completion. */
+    static final String MESSAGE = "message";
+    /** Holder of the text in a streamed chunk. */
+    static final String DELTA = "delta";
+
+    private ChatCompletionParser() {
+    }
+
+    /**
+     * @param choices number of entries in {@code choices}
+     * @param content text of the first choice, or null
+     * @param error   {@code error} value as JSON, or null
+     */
+    record Completion(String model, int choices, String content, String error) {
+    }
+
+    /** Parse the JSON object at the start of {@code p}; the parser must have an object codec (for {@code error}). */
+    static Completion read(JsonParser p, String holder) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Completion is not a JSON object");
+        }
+        String model = null;
+        int choices = 0;
+        String content = null;
+        String error = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("model".equals(field) && value == JsonToken.VALUE_STRING) {
+                model = p.getText();
+            } else if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    if (choices++ == 0 && p.currentToken() == JsonToken.START_OBJECT) {
+                        content = readChoice(p, holder);
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else if ("error".equals(field) && value != JsonToken.VALUE_NULL) {
+                error = value.isStructStart() ? p.readValueAsTree().toString() : p.getText();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return new Completion(model, choices, content, error);
+    }
+
+    /** {@code <holder>.content} of the choice object at the current token. */
+    private static String readChoice(JsonParser p, String holder) throws IOException {
+        String content = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            if (p.nextToken() == JsonToken.START_OBJECT && holder.equals(field)) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String inner = p.currentName();
+                    if (p.nextToken() == JsonToken.VALUE_STRING && "content".equals(inner)) {
+                        content = p.getText();
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        return content;
+    }
+}
@@ -0,0 +1,77 @@
+package ai.aletheia.llm.impl;
+
+import ai.aletheia.config.LlmProperties;
+import ai.aletheia.llm.LLMClient;
+import ai.aletheia.llm.LLMResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Service;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link LLMClient} backed by the providers in {@link LlmProperties}: one {@link OpenAiCompatibleClient} per
+ * configured provider, all on one shared {@link HttpClient}. Completions go to the provider named by
+ * {@code ai.aletheia.llm.provider}; {@link #provider(String)} reaches the others.
+ *
+ * <p>Loads only when that provider is configured (base URL and, for OpenAI, OPENAI_API_KEY), so without one
+ * POST /api/ai/ask falls back to 503.
+ */
+@Service
+@Conditional(LlmProviderConfigured.class)
+public class ConfiguredLLMClient implements LLMClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfiguredLLMClient.class);
+
+    private final Map<String, OpenAiCompatibleClient> providers;
+    private final OpenAiCompatibleClient selected;
+
+    public ConfiguredLLMClient(LlmProperties props, ObjectMapper objectMapper) {
+        HttpClient httpClient = httpClient(props.getHttp());
+        Map<String, OpenAiCompatibleClient> clients = new LinkedHashMap<>();
+        props.getProviders().forEach((name, provider) -> {
+            if (provider.isConfigured()) {
+                clients.put(name, new OpenAiCompatibleClient(name, provider, httpClient, objectMapper));
+            } else if (!name.equals(props.getProvider())) {
+                log.info("LLM provider '{}' skipped: no base-url or api-key", name);
+            }
+        });
+        this.providers = Collections.unmodifiableMap(clients);
+        this.selected = providers.get(props.getProvider());
+        if (selected == null) {
+            throw new IllegalStateException("LLM provider '" + props.getProvider() + "' is not configured");
+        }
+        log.info("LLM provider '{}' selected, http={}", selected.name(), props.getHttp().getVersion());
+    }
+
+    /** Shared by all providers: one connection pool, HTTP/2 where the server supports it. */
+    static HttpClient httpClient(LlmProperties.Http http) {
+        return HttpClient.newBuilder()
+                .version(http.getVersion())
+                .connectTimeout(Duration.ofSeconds(http.getConnectTimeoutSeconds()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public LLMResult complete(String prompt) {
+        return selected.complete(prompt);
+    }
+
+    @Override
+    public LLMResult stream(String prompt, Consumer<String> onChunk) {
+        return selected.stream(prompt, onChunk);
+    }
+
+    /** A configured provider by name, or null. */
+    public OpenAiCompatibleClient provider(String name) {
+        return providers.get(name);
+    }
+}
@@ -0,0 +1,30 @@
+package ai.aletheia.llm.impl;
+
+import ai.aletheia.config.LlmProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches when the provider named by {@code ai.aletheia.llm.provider} is {@link LlmProperties.Provider#isConfigured()
+ * configured}. Without one there is no {@link ai.aletheia.llm.LLMClient} and POST /api/ai/ask answers 503.
+ */
+class LlmProviderConfigured extends SpringBootCondition {
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        LlmProperties props = Binder.get(context.getEnvironment())
+                .bind("ai.aletheia.llm", LlmProperties.class)
+                .orElseGet(LlmProperties::new);
+        LlmProperties.Provider provider = props.selected();
+        if (provider == null) {
+            return ConditionOutcome.noMatch("No LLM provider '" + props.getProvider() + "'");
+        }
+        if (!provider.isConfigured()) {
+            return ConditionOutcome.noMatch("LLM provider '" + props.getProvider() + "' has no base-url or api-key");
+        }
+        return ConditionOutcome.match("LLM provider '" + props.getProvider() + "' configured");
+    }
+}
@@ -0,0 +1,318 @@
+package ai.aletheia.llm.impl;
+
+import ai.aletheia.config.LlmProperties;
+import ai.aletheia.llm.LLMClient;
+import ai.aletheia.llm.LLMException;
+import ai.aletheia.llm.LLMResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Chat Completions client for one OpenAI-compatible provider (OpenAI, an on-prem gateway, llama.cpp, vLLM).
+ *
+ * <p>Requests go through the {@link HttpClient} shared by all providers, so HTTP/2 streams to one host are
+ * multiplexed over one connection and HTTP/1.1 connections are kept alive and reused. Completions are read
+ * from the response stream with {@link ChatCompletionParser} instead of a {@code JsonNode} tree.
+ * {@link #stream} uses {@code "stream": true} and reads the server-sent {@code data:} lines as they arrive.
+ *
+ * <p>{@link LlmProperties.Provider#getTimeoutSeconds()} is a deadline for the whole request, body included:
+ * {@link HttpRequest#timeout} only covers the wait for response headers, so past the deadline the body
+ * stream is closed, which fails a read blocked on a stalled server and frees the caller and its slot.
+ *
+ * <p>At most {@link LlmProperties.Provider#getMaxConcurrentRequests()} requests are in flight; a caller
+ * waits up to {@link LlmProperties.Provider#getAcquireTimeoutSeconds()} for a slot, then fails with
+ * {@link LLMException} instead of piling up on a saturated model server.
+ */
+public class OpenAiCompatibleClient implements LLMClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAiCompatibleClient.class);
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String SSE_DONE = "[DONE]";
+    /** Closes response bodies whose request is past its deadline; one daemon thread for all providers. */
+    private static final ScheduledThreadPoolExecutor DEADLINES = deadlineScheduler();
+
+    private final String name;
+    private final URI uri;
+    private final String apiKey;
+    private final String model;
+    private final double temperature;
+    private final int maxTokens;
+    private final Duration timeout;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutSeconds;
+    private final Semaphore slots;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    public OpenAiCompatibleClient(String name, LlmProperties.Provider props, HttpClient httpClient,
+                                  ObjectMapper objectMapper) {
+        if (!props.isConfigured()) {
+            throw new IllegalStateException("LLM provider '" + name + "' needs base-url"
+                    + (props.isApiKeyRequired() ? " and api-key" : ""));
+        }
+        String baseUrl = props.getBaseUrl().trim();
+        this.name = name;
+        this.uri = URI.create((baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl)
+                + "/chat/completions");
+        this.apiKey = props.getApiKey() != null && !props.getApiKey().isBlank() ? props.getApiKey() : null;
+        this.model = props.getModel() != null && !props.getModel().isBlank() ? props.getModel() : null;
+        this.temperature = props.getTemperature();
+        this.maxTokens = props.getMaxTokens();
+        this.timeout = Duration.ofSeconds(props.getTimeoutSeconds());
+        this.maxConcurrentRequests = props.getMaxConcurrentRequests();
+        this.acquireTimeoutSeconds = props.getAcquireTimeoutSeconds();
+        this.slots = new Semaphore(maxConcurrentRequests, true);
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        log.info("LLM provider '{}' initialized, url={}, model={}, temperature={}, maxTokens={}, maxConcurrentRequests={}",
+                name, uri, model, temperature, maxTokens, maxConcurrentRequests);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Requests currently holding a slot. */
+    public int inFlight() {
+        return maxConcurrentRequests - slots.availablePermits();
+    }
+
+    @Override
+    public LLMResult complete(String prompt) {
+        String p = prompt != null ? prompt : "";
+        acquire();
+        try {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            HttpResponse<InputStream> response = httpClient.send(buildRequest(p, false),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            return readBody(response, deadline, body -> parseResponse(body, p));
+        } catch (LLMException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LLMException("LLM provider '" + name + "' call interrupted", e);
+        } catch (Exception e) {
+            throw new LLMException("LLM provider '" + name + "' call failed: " + e.getMessage(), e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    @Override
+    public LLMResult stream(String prompt, Consumer<String> onChunk) {
+        String p = prompt != null ? prompt : "";
+        acquire();
+        try {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            HttpResponse<InputStream> response = httpClient.send(buildRequest(p, true),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            return readBody(response, deadline, body -> parseStream(
+                    new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), p, onChunk));
+        } catch (LLMException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LLMException("LLM provider '" + name + "' call interrupted", e);
+        } catch (Exception e) {
+            throw new LLMException("LLM provider '" + name + "' call failed: " + e.getMessage(), e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Check the status and read the body with {@code reader}, closing the body when {@code deadline}
+     * ({@link System#nanoTime()}) passes.
+     */
+    private LLMResult readBody(HttpResponse<InputStream> response, long deadline, BodyReader reader)
+            throws Exception {
+        InputStream body = response.body();
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> cutoff = DEADLINES.schedule(() -> {
+            expired.set(true);
+            closeQuietly(body);
+        }, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        try (body) {
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                checkStatus(response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return reader.read(body);
+        } catch (IOException e) {
+            if (expired.get()) {
+                throw new LLMException("LLM provider '" + name + "' timed out after " + timeout.toSeconds()
+                        + "s reading the response", e);
+            }
+            throw e;
+        } finally {
+            cutoff.cancel(false);
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor deadlineScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "llm-deadline");
+            t.setDaemon(true);
+            return t;
+        });
+        // Almost every deadline is cancelled; don't keep them queued until they would have fired
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @FunctionalInterface
+    private interface BodyReader {
+        LLMResult read(InputStream body) throws Exception;
+    }
+
+    private void acquire() {
+        try {
+            if (!slots.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new LLMException("LLM provider '" + name + "' busy: " + maxConcurrentRequests
+                        + " requests in flight for " + acquireTimeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LLMException("Interrupted while waiting for LLM provider '" + name + "'", e);
+        }
+    }
+
+    private HttpRequest buildRequest(String prompt, boolean stream) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Content-Type", "application/json")
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(buildRequestBody(prompt, stream)));
+        if (apiKey != null) {
+            builder.header("Authorization", "Bearer " + apiKey);
+        }
+        return builder.build();
+    }
+
+    private byte[] buildRequestBody(String prompt, boolean stream) throws Exception {
+        ObjectNode root = objectMapper.createObjectNode();
+        if (model != null) {
+            root.put("model", model);
+        }
+        if (stream) {
+            root.put("stream", true);
+        }
+        root.put("max_tokens", maxTokens);
+        root.put("temperature", temperature);
+        ArrayNode messages = root.putArray("messages");
+        ObjectNode msg = messages.addObject();
+        msg.put("role", "user");
+        msg.put("content", prompt);
+        return objectMapper.writeValueAsBytes(root);
+    }
+
+    private LLMResult parseResponse(InputStream body, String prompt) throws Exception {
+        ChatCompletionParser.Completion completion;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            completion = ChatCompletionParser.read(parser, ChatCompletionParser.MESSAGE);
+        }
+        if (completion.error() != null) {
+            throw new LLMException("LLM provider '" + name + "' error: " + completion.error());
+        }
+        if (completion.choices() == 0) {
+            throw new LLMException("LLM provider '" + name + "' response has no choices");
+        }
+        String responseText = completion.content() != null ? completion.content() : "";
+        String modelId = modelId(completion.model());
+
+        log.info("LLM complete: provider={}, model={}, promptLen={}, responseLen={}, temperature={}",
+                name, modelId, prompt.length(), responseText.length(), temperature);
+        return new LLMResult(responseText, modelId, temperature);
+    }
+
+    /**
+     * Read {@code data:} lines of a streamed completion until {@code [DONE]} or end of body.
+     * Each line carries {@code choices[0].delta.content}; empty deltas (role, finish) are skipped.
+     */
+    private LLMResult parseStream(BufferedReader lines, String prompt, Consumer<String> onChunk) throws Exception {
+        StringBuilder responseText = new StringBuilder();
+        String streamedModel = null;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (!line.startsWith(SSE_DATA_PREFIX)) {
+                continue;
+            }
+            String data = line.substring(SSE_DATA_PREFIX.length()).trim();
+            if (SSE_DONE.equals(data)) {
+                break;
+            }
+            if (data.isEmpty()) {
+                continue;
+            }
+            ChatCompletionParser.Completion chunk;
+            try (JsonParser parser = objectMapper.createParser(data)) {
+                chunk = ChatCompletionParser.read(parser, ChatCompletionParser.DELTA);
+            }
+            if (chunk.error() != null) {
+                throw new LLMException("LLM provider '" + name + "' stream error: " + chunk.error());
+            }
+            if (chunk.model() != null) {
+                streamedModel = chunk.model();
+            }
+            if (chunk.content() != null && !chunk.content().isEmpty()) {
+                responseText.append(chunk.content());
+                onChunk.accept(chunk.content());
+            }
+        }
+        String modelId = modelId(streamedModel);
+
+        log.info("LLM stream: provider={}, model={}, promptLen={}, responseLen={}, temperature={}",
+                name, modelId, prompt.length(), responseText.length(), temperature);
+        return new LLMResult(responseText.toString(), modelId, temperature);
+    }
+
+    /** Model reported by the server, else the configured one, else the provider name. */
+    private String modelId(String reported) {
+        if (reported != null && !reported.isBlank()) {
+            return reported;
+        }
+        return model != null ? model : name;
+    }
+
+    private void checkStatus(int status, String body) {
+        if (status == 401) {
+            throw new LLMException("LLM provider '" + name + "' API key invalid or expired (401)");
+        }
+        if (status == 429) {
+            throw new LLMException("LLM provider '" + name + "' rate limit exceeded (429)");
+        }
+        if (status == 503) {
+            throw new LLMException("LLM provider '" + name + "' service unavailable (503)");
+        }
+        if (status < 200 || status >= 300) {
+            throw new LLMException("LLM provider '" + name + "' API error: " + status + " " + body);
+        }
+    }
+}
@@ -1,58 +0,0 @@
-package ai.aletheia.metrics;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.PrePersist;
-import jakarta.persistence.Table;
-
-import java.time.Instant;
-
-/**
- * Phase 4 minimal analytics event.
- */
-@Entity
-@Table(name = "metrics_event")
-public class MetricEvent {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "event_name", nullable = false, length = 64)
-    private String eventName;
-
-    @Column(name = "response_id")
-    private Long responseId;
-
-    @Column(name = "created_at", nullable = false)
-    private Instant createdAt;
-
-    protected MetricEvent() {}
-
-    public MetricEvent(String eventName, Long responseId) {
-        this.eventName = eventName;
-        this.responseId = responseId;
-    }
-
-    @PrePersist
-    void onPersist() {
-        if (createdAt == null) {
-            createdAt = Instant.now();
-        }
-    }
-
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getEventName() { return eventName; }
-    public void setEventName(String eventName) { this.eventName = eventName; }
-
-    public Long getResponseId() { return responseId; }
-    public void setResponseId(Long responseId) { this.responseId = responseId; }
-
-    public Instant getCreatedAt() { return createdAt; }
-    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
-}
@@ -1,7 +1,8 @@
 package ai.aletheia.metrics;
 
 /**
- * JSON body for POST /api/metrics/event.
+ * JSON body for POST /api/metrics/event. {@code responseId} is accepted but not stored: events are only
+ * counted per minute.
  */
 public record MetricEventRequest(
         String event,
@@ -0,0 +1,57 @@
+package ai.aletheia.metrics;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Bucket sizes of the metrics rollups, each with its table. Buckets start at whole UTC minutes, hours, days.
+ */
+public enum MetricsBucket {
+    MINUTE("minute", "metrics_rollup_minute", ChronoUnit.MINUTES),
+    HOUR("hour", "metrics_rollup_hour", ChronoUnit.HOURS),
+    DAY("day", "metrics_rollup_day", ChronoUnit.DAYS);
+
+    private final String value;
+    private final String table;
+    private final ChronoUnit unit;
+
+    MetricsBucket(String value, String table, ChronoUnit unit) {
+        this.value = value;
+        this.table = table;
+        this.unit = unit;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    String table() {
+        return table;
+    }
+
+    ChronoUnit unit() {
+        return unit;
+    }
+
+    /** Start of the bucket containing {@code t}. */
+    public Instant start(Instant t) {
+        return t.atOffset(ZoneOffset.UTC).truncatedTo(unit).toInstant();
+    }
+
+    /** Start of the next bucket. */
+    public Instant next(Instant bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+
+    public static Optional<MetricsBucket> fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(v -> v.value.equalsIgnoreCase(value.trim()))
+                .findFirst();
+    }
+}
@@ -3,30 +3,38 @@ package ai.aletheia.metrics;
 import ai.aletheia.api.dto.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
 /**
- * Phase 4 minimal analytics endpoints.
+ * Phase 4 minimal analytics endpoints: record an event, all-time totals, and counts per minute, hour or day
+ * over a range ({@link MetricsService#timeseries}).
  */
 @RestController
 @RequestMapping("/api/metrics")
 public class MetricsController {
 
+    /** Max buckets per time series request. */
+    static final int MAX_POINTS = 2000;
+
     private final MetricsService metricsService;
 
     public MetricsController(MetricsService metricsService) {
         this.metricsService = metricsService;
     }
 
-    @Operation(summary = "Record analytics event", description = "Stores a minimal metrics event for Phase 4.")
+    @Operation(summary = "Record analytics event", description = "Counts a minimal metrics event for Phase 4 (aggregated per minute).")
     @ApiResponse(responseCode = "204", description = "Event recorded")
     @ApiResponse(responseCode = "400", description = "Invalid event name")
     @PostMapping(value = "/event", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -35,7 +43,7 @@ public class MetricsController {
             return ResponseEntity.badRequest().body(ErrorResponse.badRequest("Missing event name"));
         }
         try {
-            metricsService.recordEvent(request.event(), request.responseId());
+            metricsService.recordEvent(request.event());
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(ErrorResponse.badRequest(ex.getMessage()));
@@ -48,4 +56,34 @@ public class MetricsController {
     public ResponseEntity<Map<String, Long>> summary() {
         return ResponseEntity.ok(metricsService.summary());
     }
+
+    @Operation(summary = "Metrics time series",
+            description = "Counts of one event per minute, hour or day in [from, to) (ISO-8601, UTC buckets), zeros included; read from pre-aggregated rollups")
+    @ApiResponse(responseCode = "200", description = "One point per bucket, oldest first")
+    @ApiResponse(responseCode = "400", description = "Unknown event or bucket, invalid range, or more than " + MAX_POINTS + " buckets")
+    @GetMapping(value = "/timeseries", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> timeseries(
+            @RequestParam(name = "event", required = false) String event,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "bucket", defaultValue = "hour") String bucket) {
+        Optional<MetricEventType> type = MetricEventType.fromValue(event);
+        if (type.isEmpty()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.badRequest("Unknown event: " + event));
+        }
+        Optional<MetricsBucket> size = MetricsBucket.fromValue(bucket);
+        if (size.isEmpty()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.badRequest("Unknown bucket: " + bucket + " (minute, hour, day)"));
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(ErrorResponse.badRequest(from == null || to == null
+                    ? "Both 'from' and 'to' are required" : "'from' must be before 'to'"));
+        }
+        long points = size.get().unit().between(size.get().start(from), to.minusNanos(1)) + 1;
+        if (points > MAX_POINTS) {
+            return ResponseEntity.badRequest().body(ErrorResponse.badRequest(
+                    "Range has " + points + " " + bucket + " buckets, max " + MAX_POINTS));
+        }
+        return ResponseEntity.ok(metricsService.timeseries(type.get(), from, to, size.get()));
+    }
 }
@@ -0,0 +1,123 @@
+package ai.aletheia.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps metrics_rollup_hour (from metrics_rollup_minute) and metrics_rollup_day (from metrics_rollup_hour)
+ * up to date, so time series of any range read one row per bucket.
+ *
+ * <p>Incremental: each run recomputes only the target buckets from the latest one already rolled up (which
+ * may have been partial) onwards, and at least the last {@link #LATE_WINDOW}, for minute counts flushed late.
+ * Recomputing is delete-and-insert of those buckets in one transaction, so a run can be repeated or
+ * interrupted safely. On the first run (empty target) everything is rolled up.
+ */
+@Service
+public class MetricsRollupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsRollupJob.class);
+    static final Duration LATE_WINDOW = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long intervalSeconds;
+    private ScheduledExecutorService scheduler;
+
+    public MetricsRollupJob(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${ai.aletheia.metrics.rollup-interval-seconds:60}") long intervalSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.intervalSeconds = Math.max(intervalSeconds, 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-rollup");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rollUp();
+            } catch (RuntimeException e) {
+                log.warn("Metrics rollup failed, retrying on next run: {}", e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** Roll up minutes into hours, then hours into days. */
+    void rollUp() {
+        Instant lateFrom = Instant.now().minus(LATE_WINDOW);
+        rollUp(MetricsBucket.MINUTE, MetricsBucket.HOUR, since(MetricsBucket.MINUTE, MetricsBucket.HOUR, lateFrom));
+        rollUp(MetricsBucket.HOUR, MetricsBucket.DAY, since(MetricsBucket.HOUR, MetricsBucket.DAY, lateFrom));
+    }
+
+    /** Recompute all target buckets starting at or after the bucket of {@code since}; null = nothing to do. */
+    void rollUp(MetricsBucket source, MetricsBucket target, Instant since) {
+        if (since == null) {
+            return;
+        }
+        Instant from = target.start(since);
+        Map<Key, Long> sums = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT bucket_start, event_name, event_count FROM " + source.table()
+                        + " WHERE bucket_start >= ?",
+                rs -> {
+                    Instant start = target.start(rs.getObject(1, OffsetDateTime.class).toInstant());
+                    sums.merge(new Key(start, rs.getString(2)), rs.getLong(3), Long::sum);
+                },
+                from.atOffset(ZoneOffset.UTC));
+        List<Object[]> rows = new ArrayList<>(sums.size());
+        sums.forEach((key, count) -> rows.add(new Object[] {
+                key.bucketStart().atOffset(ZoneOffset.UTC), key.eventName(), count }));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM " + target.table() + " WHERE bucket_start >= ?", from.atOffset(ZoneOffset.UTC));
+            jdbcTemplate.batchUpdate("INSERT INTO " + target.table()
+                    + " (bucket_start, event_name, event_count) VALUES (?, ?, ?)", rows);
+        });
+    }
+
+    /** Latest target bucket (or the oldest source bucket when target is empty), but not after {@code lateFrom}. */
+    private Instant since(MetricsBucket source, MetricsBucket target, Instant lateFrom) {
+        OffsetDateTime latest = jdbcTemplate.queryForObject(
+                "SELECT MAX(bucket_start) FROM " + target.table(), OffsetDateTime.class);
+        if (latest == null) {
+            OffsetDateTime oldest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(bucket_start) FROM " + source.table(), OffsetDateTime.class);
+            return oldest != null ? oldest.toInstant() : null;
+        }
+        Instant t = latest.toInstant();
+        return t.isBefore(lateFrom) ? t : lateFrom;
+    }
+
+    private record Key(Instant bucketStart, String eventName) {
+    }
+}
@@ -1,33 +1,197 @@
 package ai.aletheia.metrics;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Phase 4 minimal analytics collector.
+ *
+ * <p>Events are counted in memory, one {@link LongAdder} per event type and minute, so recording an event
+ * never touches the database and concurrent beacons do not contend on one counter. A flusher thread adds the
+ * counts to metrics_rollup_minute every few seconds (and on shutdown); {@link #summary()} is the rollup totals
+ * plus what is not flushed yet. Counts not flushed are lost if the process dies.
+ *
+ * <p>{@link #timeseries} reads one rollup row per bucket (minute, or hour and day from {@link MetricsRollupJob})
+ * plus the in-memory counts. Hour and day buckets trail flushed minutes by up to one rollup interval.
  */
 @Service
 public class MetricsService {
 
-    private final MetricEventRepository repository;
+    private static final Logger log = LoggerFactory.getLogger(MetricsService.class);
+    private static final MetricEventType[] TYPES = MetricEventType.values();
+    private static final long MINUTE_MILLIS = 60_000;
 
-    public MetricsService(MetricEventRepository repository) {
-        this.repository = repository;
+    private static final String UPDATE_SQL =
+            "UPDATE metrics_rollup_minute SET event_count = event_count + ? WHERE bucket_start = ? AND event_name = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO metrics_rollup_minute (bucket_start, event_name, event_count) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    /** Minute (epoch millis / 60000) to one adder per {@link MetricEventType} ordinal. */
+    private final ConcurrentHashMap<Long, LongAdder[]> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalSeconds;
+
+    public MetricsService(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${ai.aletheia.metrics.flush-interval-seconds:10}") long flushIntervalSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flushIntervalSeconds = Math.max(flushIntervalSeconds, 1);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
     }
 
-    public void recordEvent(String eventName, Long responseId) {
+    public void recordEvent(String eventName) {
         MetricEventType type = MetricEventType.fromValue(eventName)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown event: " + eventName));
-        repository.save(new MetricEvent(type.value(), responseId));
+        long minute = System.currentTimeMillis() / MINUTE_MILLIS;
+        buckets.computeIfAbsent(minute, m -> newAdders())[type.ordinal()].increment();
     }
 
-    public Map<String, Long> summary() {
+    /** Total count per event: flushed rollups plus counts still in memory. */
+    public synchronized Map<String, Long> summary() {
         Map<String, Long> out = new LinkedHashMap<>();
-        for (MetricEventType type : MetricEventType.values()) {
-            out.put(type.value(), repository.countByEventName(type.value()));
+        for (MetricEventType type : TYPES) {
+            out.put(type.value(), 0L);
+        }
+        jdbcTemplate.query("SELECT event_name, SUM(event_count) FROM metrics_rollup_minute GROUP BY event_name",
+                rs -> {
+                    String event = rs.getString(1);
+                    long count = rs.getLong(2);
+                    out.computeIfPresent(event, (k, v) -> v + count);
+                });
+        for (LongAdder[] adders : buckets.values()) {
+            for (MetricEventType type : TYPES) {
+                out.merge(type.value(), adders[type.ordinal()].sum(), Long::sum);
+            }
         }
         return out;
     }
+
+    /**
+     * Counts of one event per bucket in [from, to), zeros included; {@code from} is rounded down to its bucket.
+     */
+    public synchronized MetricsTimeseriesResponse timeseries(MetricEventType type, Instant from, Instant to,
+                                                             MetricsBucket bucket) {
+        Instant first = bucket.start(from);
+        Map<Instant, Long> counts = new LinkedHashMap<>();
+        for (Instant t = first; t.isBefore(to); t = bucket.next(t)) {
+            counts.put(t, 0L);
+        }
+        jdbcTemplate.query("SELECT bucket_start, event_count FROM " + bucket.table()
+                        + " WHERE event_name = ? AND bucket_start >= ? AND bucket_start < ?",
+                rs -> {
+                    Instant start = rs.getObject(1, OffsetDateTime.class).toInstant();
+                    long count = rs.getLong(2);
+                    counts.computeIfPresent(start, (k, v) -> v + count);
+                },
+                type.value(), first.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+        for (Map.Entry<Long, LongAdder[]> minute : buckets.entrySet()) {
+            Instant start = bucket.start(Instant.ofEpochMilli(minute.getKey() * MINUTE_MILLIS));
+            long count = minute.getValue()[type.ordinal()].sum();
+            if (count > 0) {
+                counts.computeIfPresent(start, (k, v) -> v + count);
+            }
+        }
+        List<MetricsTimeseriesResponse.Point> points = new ArrayList<>(counts.size());
+        counts.forEach((start, count) -> points.add(new MetricsTimeseriesResponse.Point(start, count)));
+        return new MetricsTimeseriesResponse(type.value(), bucket.value(), first, to, points);
+    }
+
+    /**
+     * Add in-memory counts to metrics_rollup_minute, one transaction for all minutes. On failure the counts
+     * go back into memory for the next flush.
+     */
+    synchronized void flush() {
+        long currentMinute = System.currentTimeMillis() / MINUTE_MILLIS;
+        List<Delta> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder[]> bucket : buckets.entrySet()) {
+            long minute = bucket.getKey();
+            // Past minutes are dropped once flushed; one minute of grace so that an increment racing the
+            // flush (a thread that looked the bucket up just before) still lands in a bucket that is flushed
+            if (minute < currentMinute - 1) {
+                buckets.remove(minute);
+            }
+            LongAdder[] adders = bucket.getValue();
+            for (MetricEventType type : TYPES) {
+                long count = adders[type.ordinal()].sumThenReset();
+                if (count > 0) {
+                    deltas.add(new Delta(minute, type, count));
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach(this::upsert));
+        } catch (RuntimeException e) {
+            for (Delta d : deltas) {
+                buckets.computeIfAbsent(d.minute(), m -> newAdders())[d.type().ordinal()].add(d.count());
+            }
+            throw e;
+        }
+    }
+
+    private void upsert(Delta d) {
+        Object bucketStart = Instant.ofEpochMilli(d.minute() * MINUTE_MILLIS).atOffset(ZoneOffset.UTC);
+        if (jdbcTemplate.update(UPDATE_SQL, d.count(), bucketStart, d.type().value()) == 0) {
+            jdbcTemplate.update(INSERT_SQL, bucketStart, d.type().value(), d.count());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Metrics flush failed, retrying on next run: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[TYPES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private record Delta(long minute, MetricEventType type, long count) {
+    }
 }
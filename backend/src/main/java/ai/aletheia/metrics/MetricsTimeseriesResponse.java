@@ -0,0 +1,25 @@
+package ai.aletheia.metrics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JSON body of GET /api/metrics/timeseries: one point per bucket in [from, to), zeros included.
+ *
+ * @param event  event name
+ * @param bucket minute, hour or day
+ * @param from   start of the first bucket (requested from, rounded down)
+ * @param to     requested end (exclusive)
+ * @param points counts, oldest first
+ */
+public record MetricsTimeseriesResponse(
+        String event,
+        String bucket,
+        Instant from,
+        Instant to,
+        List<Point> points
+) {
+    /** Count of one bucket. */
+    public record Point(Instant start, long count) {
+    }
+}
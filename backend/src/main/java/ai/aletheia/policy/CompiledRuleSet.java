@@ -0,0 +1,258 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A {@link PolicyRuleSetDefinition} compiled into an immutable evaluator: each rule's condition is a tree of
+ * small predicates over direct field getters, built once. Evaluating reads fields and compares.
+ *
+ * <p>Only {@link #evaluate(AiResponse, PolicyRuleResult[])} allocates nothing per call (apart from a regex
+ * matcher per {@code matches} test); bulk callers such as {@link PolicyReevaluationJob} reuse one buffer.
+ * {@link #evaluate(AiResponse)} allocates a result array, list and {@link PolicyEvaluationResult} per call,
+ * for callers that keep the results: the request path stores them with the record.
+ */
+public final class CompiledRuleSet {
+
+    static final String PASS = "pass";
+    static final String NOT_EVALUATED = "not_evaluated";
+
+    private final String id;
+    private final String version;
+    /** Conditions by rule; null = never evaluated. */
+    private final Predicate[] conditions;
+    private final PolicyRuleResult[] passed;
+    private final PolicyRuleResult[] notEvaluated;
+
+    private CompiledRuleSet(String id, String version, Predicate[] conditions,
+                            PolicyRuleResult[] passed, PolicyRuleResult[] notEvaluated) {
+        this.id = id;
+        this.version = version;
+        this.conditions = conditions;
+        this.passed = passed;
+        this.notEvaluated = notEvaluated;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the definition is incomplete or uses an unknown field or operator
+     */
+    public static CompiledRuleSet compile(PolicyRuleSetDefinition def) {
+        if (def == null || isBlank(def.id()) || isBlank(def.version())) {
+            throw new IllegalArgumentException("Rule set needs 'id' and 'version'");
+        }
+        List<PolicyRuleSetDefinition.Rule> rules = def.rules() != null ? def.rules() : List.of();
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Rule set " + name(def.id(), def.version()) + " has no rules");
+        }
+        int n = rules.size();
+        Predicate[] conditions = new Predicate[n];
+        PolicyRuleResult[] passed = new PolicyRuleResult[n];
+        PolicyRuleResult[] notEvaluated = new PolicyRuleResult[n];
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            PolicyRuleSetDefinition.Rule rule = rules.get(i);
+            if (rule == null || isBlank(rule.id()) || !ids.add(rule.id())) {
+                throw new IllegalArgumentException("Rule " + (i + 1) + " of " + name(def.id(), def.version())
+                        + " has no id or a duplicate id");
+            }
+            try {
+                conditions[i] = rule.when() != null ? compile(rule.when()) : null;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rule " + rule.id() + ": " + e.getMessage(), e);
+            }
+            passed[i] = new PolicyRuleResult(rule.id(), PASS);
+            notEvaluated[i] = new PolicyRuleResult(rule.id(), NOT_EVALUATED);
+        }
+        return new CompiledRuleSet(def.id(), def.version(), conditions, passed, notEvaluated);
+    }
+
+    /** {@code id@version}, the key rule sets are looked up by. */
+    public String name() {
+        return name(id, version);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int size() {
+        return conditions.length;
+    }
+
+    /** Evaluate all rules into a new result; coverage is passed rules / all rules. Allocates per call. */
+    public PolicyEvaluationResult evaluate(AiResponse record) {
+        PolicyRuleResult[] results = new PolicyRuleResult[conditions.length];
+        int passCount = evaluate(record, results);
+        return new PolicyEvaluationResult(id, version, (double) passCount / conditions.length, List.of(results));
+    }
+
+    /**
+     * Evaluate into {@code out} (length at least {@link #size()}), reusing shared immutable results.
+     *
+     * @return number of rules passed
+     */
+    public int evaluate(AiResponse record, PolicyRuleResult[] out) {
+        int passCount = 0;
+        for (int i = 0; i < conditions.length; i++) {
+            Predicate condition = conditions[i];
+            if (condition != null && condition.test(record)) {
+                out[i] = passed[i];
+                passCount++;
+            } else {
+                out[i] = notEvaluated[i];
+            }
+        }
+        return passCount;
+    }
+
+    static String name(String id, String version) {
+        return id + "@" + version;
+    }
+
+    private static Predicate compile(PolicyRuleSetDefinition.Condition c) {
+        if (c.all() != null) {
+            Predicate[] parts = compileAll(c.all());
+            return r -> {
+                for (Predicate p : parts) {
+                    if (!p.test(r)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        if (c.any() != null) {
+            Predicate[] parts = compileAll(c.any());
+            return r -> {
+                for (Predicate p : parts) {
+                    if (p.test(r)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        if (c.not() != null) {
+            Predicate inner = compile(c.not());
+            return r -> !inner.test(r);
+        }
+        PolicyField field = PolicyField.fromValue(c.field())
+                .orElseThrow(() -> new IllegalArgumentException("unknown field '" + c.field() + "'"));
+        String op = c.op() != null ? c.op() : "";
+        JsonNode value = c.value();
+        return switch (op) {
+            case "present" -> r -> isPresent(field.get(r));
+            case "absent" -> r -> !isPresent(field.get(r));
+            case "equals" -> field.isNumeric() ? compare(field, op, number(value), 0, 0) : equalsText(field, text(value));
+            case "in" -> in(field, value);
+            case "contains" -> {
+                String needle = text(value);
+                yield r -> field.get(r) instanceof String s && s.contains(needle);
+            }
+            case "containsIgnoreCase" -> {
+                String needle = text(value);
+                yield r -> field.get(r) instanceof String s && containsIgnoreCase(s, needle);
+            }
+            case "matches" -> {
+                Pattern pattern = pattern(value);
+                yield r -> field.get(r) instanceof String s && pattern.matcher(s).find();
+            }
+            case "gt" -> compare(field, op, number(value), 1, 1);
+            case "gte" -> compare(field, op, number(value), 0, 1);
+            case "lt" -> compare(field, op, number(value), -1, -1);
+            case "lte" -> compare(field, op, number(value), -1, 0);
+            default -> throw new IllegalArgumentException("unknown op '" + op + "'");
+        };
+    }
+
+    private static Predicate[] compileAll(List<PolicyRuleSetDefinition.Condition> conditions) {
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("empty all/any");
+        }
+        return conditions.stream().map(CompiledRuleSet::compile).toArray(Predicate[]::new);
+    }
+
+    private static Predicate equalsText(PolicyField field, String expected) {
+        return r -> expected.equals(field.get(r));
+    }
+
+    private static Predicate in(PolicyField field, JsonNode value) {
+        if (value == null || !value.isArray() || value.isEmpty()) {
+            throw new IllegalArgumentException("'in' needs a non-empty list value");
+        }
+        Set<String> allowed = new HashSet<>();
+        value.forEach(v -> allowed.add(v.asText()));
+        Set<String> values = Set.copyOf(allowed);
+        return r -> field.get(r) instanceof String s && values.contains(s);
+    }
+
+    /** Passes when {@code signum(actual - operand)} is in [min, max]. */
+    private static Predicate compare(PolicyField field, String op, double operand, int min, int max) {
+        if (!field.isNumeric()) {
+            throw new IllegalArgumentException("'" + op + "' needs a numeric field");
+        }
+        return r -> {
+            if (!(field.get(r) instanceof Double d)) {
+                return false;
+            }
+            int sign = Integer.signum(Double.compare(d, operand));
+            return sign >= min && sign <= max;
+        };
+    }
+
+    private static boolean isPresent(Object v) {
+        return v != null && !(v instanceof String s && s.isBlank());
+    }
+
+    private static boolean containsIgnoreCase(String s, String needle) {
+        int last = s.length() - needle.length();
+        for (int i = 0; i <= last; i++) {
+            if (s.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String text(JsonNode value) {
+        if (value == null || value.isNull() || value.isContainerNode()) {
+            throw new IllegalArgumentException("needs a text value");
+        }
+        return value.asText();
+    }
+
+    private static double number(JsonNode value) {
+        if (value == null || !value.isNumber()) {
+            throw new IllegalArgumentException("needs a numeric value");
+        }
+        return value.asDouble();
+    }
+
+    private static Pattern pattern(JsonNode value) {
+        try {
+            return Pattern.compile(text(value));
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("invalid regex: " + e.getDescription());
+        }
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    /** Compiled condition. */
+    @FunctionalInterface
+    private interface Predicate {
+        boolean test(AiResponse record);
+    }
+}
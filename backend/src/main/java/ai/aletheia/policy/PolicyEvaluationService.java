@@ -4,13 +4,14 @@ import ai.aletheia.db.entity.AiResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Phase 4 demo policy evaluator.
+ * Policy evaluator: runs the record's rule set from {@link PolicyRuleSets} (the bundled
+ * {@value #DEMO_POLICY_ID} rule set unless the record's policy version names another).
  *
  * <p>Coverage formula: pass_count / total_rules. Rules marked "not_evaluated"
  * do not contribute to coverage and keep the UI honest about gaps.
@@ -20,35 +21,32 @@ public class PolicyEvaluationService {
 
     public static final String DEMO_POLICY_ID = "aletheia-demo";
     public static final String DEMO_POLICY_VERSION = "2026-01";
-    private static final int TOTAL_RULES = 4;
 
     private final ObjectMapper objectMapper;
+    private final PolicyRuleSets ruleSets;
 
-    public PolicyEvaluationService(ObjectMapper objectMapper) {
+    @Autowired
+    public PolicyEvaluationService(ObjectMapper objectMapper, PolicyRuleSets ruleSets) {
         this.objectMapper = objectMapper;
+        this.ruleSets = ruleSets;
     }
 
-    public PolicyEvaluationResult evaluate(AiResponse response) {
-        List<PolicyRuleResult> rules = new ArrayList<>();
-
-        boolean hasSignature = response.getSignature() != null && !response.getSignature().isBlank();
-        boolean hasTimestamp = response.getTsaToken() != null && !response.getTsaToken().isBlank();
-        boolean hasModel = response.getLlmModel() != null && !response.getLlmModel().isBlank();
-
-        rules.add(new PolicyRuleResult("R1", hasSignature && hasTimestamp ? "pass" : "not_evaluated"));
-        rules.add(new PolicyRuleResult("R2", hasModel ? "pass" : "not_evaluated"));
-        rules.add(new PolicyRuleResult("R3", "not_evaluated"));
-        rules.add(new PolicyRuleResult("R4", "not_evaluated"));
+    /** With the bundled rule sets only. */
+    public PolicyEvaluationService(ObjectMapper objectMapper) {
+        this(objectMapper, PolicyRuleSets.bundled(objectMapper));
+    }
 
-        long passCount = rules.stream().filter(rule -> "pass".equals(rule.status())).count();
-        double coverage = (double) passCount / TOTAL_RULES;
+    public PolicyEvaluationResult evaluate(AiResponse response) {
+        return ruleSets.forRecord(response).evaluate(response);
+    }
 
-        return new PolicyEvaluationResult(
-                DEMO_POLICY_ID,
-                DEMO_POLICY_VERSION,
-                coverage,
-                rules
-        );
+    /**
+     * The record's rule results: its policy_rule_result rows, else (rows written without them, archive
+     * bundles made before V17) the legacy JSON column.
+     */
+    public List<PolicyRuleResult> rules(AiResponse record) {
+        List<PolicyRuleResult> rules = record.getPolicyRules();
+        return rules != null && !rules.isEmpty() ? rules : fromJson(record.getPolicyRulesEvaluated());
     }
 
     public String toJson(List<PolicyRuleResult> rules) {
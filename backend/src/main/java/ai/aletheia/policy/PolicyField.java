@@ -0,0 +1,47 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.db.entity.AiResponse;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Record fields a policy rule can test, each with a direct getter (no reflection).
+ */
+enum PolicyField {
+    PROMPT("prompt", AiResponse::getPrompt, false),
+    RESPONSE("response", AiResponse::getResponse, false),
+    SIGNATURE("signature", AiResponse::getSignature, false),
+    SIGNATURE_PQC("signaturePqc", AiResponse::getSignaturePqc, false),
+    TSA_TOKEN("tsaToken", AiResponse::getTsaToken, false),
+    LLM_MODEL("llmModel", AiResponse::getLlmModel, false),
+    REQUEST_ID("requestId", AiResponse::getRequestId, false),
+    SYSTEM_PROMPT("systemPrompt", AiResponse::getSystemPrompt, false),
+    CLAIM("claim", AiResponse::getClaim, false),
+    POLICY_VERSION("policyVersion", AiResponse::getPolicyVersion, false),
+    CONFIDENCE("confidence", AiResponse::getConfidence, true),
+    TEMPERATURE("temperature", AiResponse::getTemperature, true);
+
+    private final String value;
+    private final Function<AiResponse, Object> getter;
+    private final boolean numeric;
+
+    PolicyField(String value, Function<AiResponse, Object> getter, boolean numeric) {
+        this.value = value;
+        this.getter = getter;
+        this.numeric = numeric;
+    }
+
+    Object get(AiResponse r) {
+        return getter.apply(r);
+    }
+
+    boolean isNumeric() {
+        return numeric;
+    }
+
+    static Optional<PolicyField> fromValue(String value) {
+        return Arrays.stream(values()).filter(f -> f.value.equals(value)).findFirst();
+    }
+}
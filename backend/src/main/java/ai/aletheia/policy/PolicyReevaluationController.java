@@ -0,0 +1,54 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.api.dto.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Start and follow re-evaluation of stored records against a policy rule set ({@link PolicyReevaluationJob}).
+ * Rule sets are named {@code id@version}, or {@code id} for its highest version.
+ */
+@RestController
+@RequestMapping("/api/policy/reevaluations")
+public class PolicyReevaluationController {
+
+    private final PolicyReevaluationJob job;
+
+    public PolicyReevaluationController(PolicyReevaluationJob job) {
+        this.job = job;
+    }
+
+    @Operation(summary = "Start policy re-evaluation",
+            description = "Re-evaluates all stored records against the rule set in the background; resumes an unfinished run")
+    @ApiResponse(responseCode = "202", description = "Started; progress at the checkpoint")
+    @ApiResponse(responseCode = "400", description = "Unknown rule set")
+    @ApiResponse(responseCode = "409", description = "A re-evaluation is already running")
+    @PostMapping(value = "/{ruleSet}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> start(@PathVariable("ruleSet") String ruleSet) {
+        try {
+            return ResponseEntity.accepted().body(job.start(ruleSet));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ErrorResponse.badRequest(ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(409).body(new ErrorResponse(ex.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "Policy re-evaluation progress",
+            description = "Status, checkpoint, records evaluated and current throughput")
+    @ApiResponse(responseCode = "200", description = "Progress")
+    @ApiResponse(responseCode = "404", description = "Never started for this rule set")
+    @GetMapping(value = "/{ruleSet}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> progress(@PathVariable("ruleSet") String ruleSet) {
+        return job.progress(ruleSet)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(ErrorResponse.notFound("Re-evaluation not found", ruleSet)));
+    }
+}
@@ -0,0 +1,378 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.db.AiResponsePartitions;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-evaluates all stored records against one policy rule set, e.g. after a new version is published, and
+ * stores the results in policy_evaluation per rule set and record. The coverage saved with each record at
+ * {@code AuditRecordService.save} is left as it was.
+ *
+ * <p>A reader thread pages through ai_response by id (keyset, no OFFSET) and hands each page to a pool of
+ * {@code parallelism} workers, which evaluate it and upsert its results as one JDBC batch in one transaction;
+ * at most two pages per worker are in flight. The checkpoint in policy_reevaluation advances to the last id
+ * below which every page is written, so after a failure or restart the job resumes from there. Pages past
+ * the checkpoint that were already written are written again with the same result.
+ *
+ * <p>One job runs at a time. A job still running at shutdown is resumed on the next start.
+ */
+@Service
+public class PolicyReevaluationJob {
+
+    public enum Status { RUNNING, DONE, FAILED }
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyReevaluationJob.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    static final String POSTGRES_UPSERT_SQL = "INSERT INTO policy_evaluation (rule_set, response_id, policy_coverage,"
+            + " policy_rules_evaluated, evaluated_at) VALUES (?, ?, ?, ?, ?) ON CONFLICT (rule_set, response_id)"
+            + " DO UPDATE SET policy_coverage = EXCLUDED.policy_coverage,"
+            + " policy_rules_evaluated = EXCLUDED.policy_rules_evaluated, evaluated_at = EXCLUDED.evaluated_at";
+    static final String H2_UPSERT_SQL = "MERGE INTO policy_evaluation (rule_set, response_id, policy_coverage,"
+            + " policy_rules_evaluated, evaluated_at) KEY (rule_set, response_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final AiResponseRepository repository;
+    private final PolicyRuleSets ruleSets;
+    private final PolicyEvaluationService policyEvaluationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int parallelism;
+    private final boolean resumeOnStartup;
+    private volatile String upsertSql;
+    private volatile Run current;
+
+    public PolicyReevaluationJob(AiResponseRepository repository,
+                                 PolicyRuleSets ruleSets,
+                                 PolicyEvaluationService policyEvaluationService,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${ai.aletheia.policy.reevaluation.page-size:500}") int pageSize,
+                                 @Value("${ai.aletheia.policy.reevaluation.parallelism:4}") int parallelism,
+                                 @Value("${ai.aletheia.policy.reevaluation.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.repository = repository;
+        this.ruleSets = ruleSets;
+        this.policyEvaluationService = policyEvaluationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    /**
+     * Start re-evaluating against {@code name} ({@code id@version}, or {@code id} for its highest version).
+     * Resumes from the checkpoint if a previous run did not finish; starts over if it did.
+     *
+     * @throws IllegalArgumentException if the rule set is unknown
+     * @throws IllegalStateException if a job is running
+     */
+    public synchronized PolicyReevaluationProgress start(String name) {
+        CompiledRuleSet ruleSet = ruleSets.get(name);
+        if (ruleSet == null) {
+            throw new IllegalArgumentException("Unknown policy rule set: " + name);
+        }
+        if (busy()) {
+            throw new IllegalStateException("Re-evaluation against " + current.ruleSet.name() + " is running");
+        }
+        OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+        Optional<PolicyReevaluationProgress> previous = load(ruleSet.name());
+        if (previous.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO policy_reevaluation (rule_set, status, last_id, evaluated, started_at,"
+                    + " updated_at) VALUES (?, ?, 0, 0, ?, ?)", ruleSet.name(), Status.RUNNING.name(), now, now);
+        } else if (previous.get().status() == Status.DONE) {
+            jdbcTemplate.update("UPDATE policy_reevaluation SET status = ?, last_id = 0, evaluated = 0, started_at = ?,"
+                    + " updated_at = ?, finished_at = NULL WHERE rule_set = ?", Status.RUNNING.name(), now, now, ruleSet.name());
+        } else {
+            jdbcTemplate.update("UPDATE policy_reevaluation SET status = ?, updated_at = ? WHERE rule_set = ?",
+                    Status.RUNNING.name(), now, ruleSet.name());
+        }
+        PolicyReevaluationProgress checkpoint = load(ruleSet.name()).orElseThrow();
+        Run run = new Run(ruleSet, checkpoint.lastId(), checkpoint.evaluated());
+        current = run;
+        log.info("Policy re-evaluation against {} started after id {}", ruleSet.name(), checkpoint.lastId());
+        run.thread.start();
+        return checkpoint;
+    }
+
+    /** Progress for {@code name} ({@code id@version} or {@code id}), empty if it was never started. */
+    public Optional<PolicyReevaluationProgress> progress(String name) {
+        CompiledRuleSet ruleSet = ruleSets.get(name);
+        Optional<PolicyReevaluationProgress> progress = load(ruleSet != null ? ruleSet.name() : name);
+        Run run = current;
+        if (progress.isEmpty() || run == null || !run.thread.isAlive()
+                || !run.ruleSet.name().equals(progress.get().ruleSet())) {
+            return progress;
+        }
+        PolicyReevaluationProgress p = progress.get();
+        return Optional.of(new PolicyReevaluationProgress(p.ruleSet(), p.status(), p.lastId(), p.evaluated(),
+                run.recordsPerSecond(), p.startedAt(), p.updatedAt(), p.finishedAt()));
+    }
+
+    /** Whether a job is running. */
+    public boolean isRunning() {
+        Run run = current;
+        return run != null && run.thread.isAlive();
+    }
+
+    /** A job is running, other than the one calling (which is finishing). */
+    private boolean busy() {
+        Run run = current;
+        return run != null && run.thread.isAlive() && run.thread != Thread.currentThread();
+    }
+
+    /** Resume the oldest job left running by a previous process, if its rule set is still loaded. */
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeOnStartup() {
+        if (resumeOnStartup) {
+            resume();
+        }
+    }
+
+    private synchronized void resume() {
+        if (busy()) {
+            return;
+        }
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT rule_set FROM policy_reevaluation WHERE status = ? ORDER BY updated_at",
+                String.class, Status.RUNNING.name());
+        for (String name : names) {
+            if (ruleSets.get(name) != null) {
+                start(name);
+                return;
+            }
+            log.warn("Policy re-evaluation against {} not resumed: rule set not loaded", name);
+        }
+    }
+
+    private Optional<PolicyReevaluationProgress> load(String name) {
+        return jdbcTemplate.query("SELECT rule_set, status, last_id, evaluated, started_at, updated_at, finished_at"
+                + " FROM policy_reevaluation WHERE rule_set = ?", PolicyReevaluationJob::progress, name).stream().findFirst();
+    }
+
+    private static PolicyReevaluationProgress progress(ResultSet rs, int row) throws SQLException {
+        OffsetDateTime finishedAt = rs.getObject("finished_at", OffsetDateTime.class);
+        return new PolicyReevaluationProgress(rs.getString("rule_set"), Status.valueOf(rs.getString("status")),
+                rs.getLong("last_id"), rs.getLong("evaluated"), null,
+                rs.getObject("started_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("updated_at", OffsetDateTime.class).toInstant(),
+                finishedAt != null ? finishedAt.toInstant() : null);
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            sql = jdbcTemplate.execute((Connection c) -> AiResponsePartitions.isPostgres(c))
+                    ? POSTGRES_UPSERT_SQL : H2_UPSERT_SQL;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    /** Stop the running job at the next page; it resumes on the next start. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        Run run = current;
+        if (run != null) {
+            run.stopRequested = true;
+            run.thread.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        }
+    }
+
+    /** One run against one rule set: the reader thread, its workers and the checkpoint. */
+    private final class Run {
+
+        final CompiledRuleSet ruleSet;
+        final Thread thread;
+        final long startNanos = System.nanoTime();
+        final AtomicLong evaluatedThisRun = new AtomicLong();
+        /** Pages in read order, not yet below the checkpoint. Guards lastId, evaluated and lastLogNanos. */
+        final ArrayDeque<Page> pages = new ArrayDeque<>();
+        long lastId;
+        long evaluated;
+        long lastLogNanos = startNanos;
+        volatile boolean stopRequested;
+        volatile RuntimeException failure;
+
+        Run(CompiledRuleSet ruleSet, long lastId, long evaluated) {
+            this.ruleSet = ruleSet;
+            this.lastId = lastId;
+            this.evaluated = evaluated;
+            this.thread = new Thread(this::run, "policy-reevaluation");
+            this.thread.setDaemon(true);
+        }
+
+        double recordsPerSecond() {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            return seconds > 0 ? evaluatedThisRun.get() / seconds : 0;
+        }
+
+        void run() {
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread t = new Thread(r, "policy-reevaluation-worker");
+                t.setDaemon(true);
+                return t;
+            });
+            Semaphore inFlight = new Semaphore(parallelism * 2);
+            Pageable pageable = PageRequest.ofSize(pageSize);
+            long afterId = lastId;
+            try {
+                while (!stopRequested && failure == null) {
+                    List<AiResponse> records = repository.findPageAfterId(afterId, pageable);
+                    if (records.isEmpty()) {
+                        break;
+                    }
+                    afterId = records.get(records.size() - 1).getId();
+                    Page page = new Page(afterId, records.size());
+                    inFlight.acquire();
+                    synchronized (pages) {
+                        pages.add(page);
+                    }
+                    workers.execute(() -> {
+                        try {
+                            write(records);
+                            completed(page);
+                        } catch (RuntimeException e) {
+                            if (failure == null) {
+                                failure = e;
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    if (records.size() < pageSize) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                stopRequested = true;
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                workers.shutdown();
+                try {
+                    if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        log.warn("Policy re-evaluation against {}: page writes still running after {}s, cancelling",
+                                ruleSet.name(), SHUTDOWN_TIMEOUT_SECONDS);
+                        workers.shutdownNow();
+                        stopRequested = true;
+                    }
+                } catch (InterruptedException e) {
+                    workers.shutdownNow();
+                    stopRequested = true;
+                }
+            }
+            finish();
+        }
+
+        private void write(List<AiResponse> records) {
+            OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+            List<Object[]> rows = new ArrayList<>(records.size());
+            // One buffer per page: results are serialized right away, so nothing per record but the row
+            PolicyRuleResult[] results = new PolicyRuleResult[ruleSet.size()];
+            List<PolicyRuleResult> view = Arrays.asList(results);
+            for (AiResponse record : records) {
+                int passed = ruleSet.evaluate(record, results);
+                rows.add(new Object[] { ruleSet.name(), record.getId(), (double) passed / results.length,
+                        policyEvaluationService.toJson(view), now });
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(upsertSql(), rows));
+            evaluatedThisRun.addAndGet(records.size());
+        }
+
+        /** Mark {@code page} written and move the checkpoint past every written page at the head. */
+        private void completed(Page page) {
+            synchronized (pages) {
+                page.done = true;
+                boolean advanced = false;
+                while (!pages.isEmpty() && pages.peek().done) {
+                    Page head = pages.poll();
+                    lastId = head.lastId;
+                    evaluated += head.size;
+                    advanced = true;
+                }
+                if (!advanced) {
+                    return;
+                }
+                jdbcTemplate.update("UPDATE policy_reevaluation SET last_id = ?, evaluated = ?, updated_at = ?"
+                        + " WHERE rule_set = ?", lastId, evaluated, Instant.now().atOffset(ZoneOffset.UTC), ruleSet.name());
+                long now = System.nanoTime();
+                if (now - lastLogNanos >= LOG_INTERVAL_NANOS) {
+                    lastLogNanos = now;
+                    log.info("Policy re-evaluation against {}: {} records, up to id {}, {}/s",
+                            ruleSet.name(), evaluated, lastId, Math.round(recordsPerSecond()));
+                }
+            }
+        }
+
+        private void finish() {
+            OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+            if (failure != null) {
+                jdbcTemplate.update("UPDATE policy_reevaluation SET status = ?, updated_at = ? WHERE rule_set = ?",
+                        Status.FAILED.name(), now, ruleSet.name());
+                log.error("Policy re-evaluation against {} failed after id {}, start again to resume: {}",
+                        ruleSet.name(), lastId, failure.getMessage());
+                return;
+            }
+            boolean allWritten;
+            synchronized (pages) {
+                allWritten = pages.isEmpty();
+            }
+            // Unwritten pages are past the checkpoint: leave the job RUNNING so it resumes there
+            if (stopRequested || !allWritten) {
+                log.info("Policy re-evaluation against {} stopped after id {}, resumes on next start",
+                        ruleSet.name(), lastId);
+                return;
+            }
+            jdbcTemplate.update("UPDATE policy_reevaluation SET status = ?, updated_at = ?, finished_at = ?"
+                    + " WHERE rule_set = ?", Status.DONE.name(), now, now, ruleSet.name());
+            log.info("Policy re-evaluation against {} done: {} records in this run, {}/s",
+                    ruleSet.name(), evaluatedThisRun.get(), Math.round(recordsPerSecond()));
+            // Another job may have been left running by a previous process
+            resume();
+        }
+    }
+
+    /** A page handed to a worker: its last id and size. */
+    private static final class Page {
+        final long lastId;
+        final int size;
+        boolean done;
+
+        Page(long lastId, int size) {
+            this.lastId = lastId;
+            this.size = size;
+        }
+    }
+}
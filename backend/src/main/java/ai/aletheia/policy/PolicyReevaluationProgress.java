@@ -0,0 +1,19 @@
+package ai.aletheia.policy;
+
+import java.time.Instant;
+
+/**
+ * Progress of a {@link PolicyReevaluationJob} for one rule set: records up to {@code lastId} are evaluated
+ * ({@code evaluated} in total). {@code recordsPerSecond} is the rate of the run in progress, null when none is.
+ */
+public record PolicyReevaluationProgress(
+        String ruleSet,
+        PolicyReevaluationJob.Status status,
+        long lastId,
+        long evaluated,
+        Double recordsPerSecond,
+        Instant startedAt,
+        Instant updatedAt,
+        Instant finishedAt
+) {
+}
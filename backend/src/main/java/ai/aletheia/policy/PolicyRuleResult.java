@@ -1,9 +1,12 @@
 package ai.aletheia.policy;
 
+import jakarta.persistence.Embeddable;
+
 /**
- * Phase 4 demo policy rule evaluation result.
+ * Phase 4 demo policy rule evaluation result. Stored per record in policy_rule_result (V17).
  *
  * @param ruleId stable rule identifier (e.g. "R1")
  * @param status evaluation status: "pass" or "not_evaluated"
  */
+@Embeddable
 public record PolicyRuleResult(String ruleId, String status) {}
@@ -0,0 +1,42 @@
+package ai.aletheia.policy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Declarative rule set as read from a policy file ({@code policies/<id>@<version>.json}); compiled by
+ * {@link CompiledRuleSet#compile}.
+ *
+ * @param id          policy id, e.g. "aletheia-demo" or "gdpr-2024"
+ * @param version     rule set version, e.g. "2026-01"
+ * @param description free text
+ * @param rules       rules in result order
+ */
+public record PolicyRuleSetDefinition(
+        String id,
+        String version,
+        String description,
+        List<Rule> rules
+) {
+    /**
+     * One rule: passes when {@code when} holds; without {@code when} it is always "not_evaluated".
+     */
+    public record Rule(String id, String description, Condition when) {
+    }
+
+    /**
+     * Either a combination ({@code all}, {@code any} or {@code not}) or a test of one record field:
+     * {@code field} with {@code op} one of present, absent, equals, in, contains, containsIgnoreCase,
+     * matches (regex, find), gt, gte, lt, lte; {@code value} is the operand (a list for {@code in}).
+     */
+    public record Condition(
+            List<Condition> all,
+            List<Condition> any,
+            Condition not,
+            String field,
+            String op,
+            JsonNode value
+    ) {
+    }
+}
@@ -0,0 +1,242 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loaded policy rule sets, compiled once ({@link CompiledRuleSet}) and looked up by {@code id@version}.
+ *
+ * <p>Rule sets come from {@code classpath:policies/*.json} and, when {@code ai.aletheia.policy.dir} is set, from
+ * {@code *.json} files in that directory, which override bundled ones of the same name. The directory is
+ * watched: on any change all files are reloaded and the new set of compiled rule sets replaces the old one
+ * in one step, so an evaluation sees either. A file that does not parse or compile is logged and what was
+ * last loaded from that file stays in use, whatever the file is called.
+ *
+ * <p>A record is evaluated against the rule set matching its policy version (as {@code id@version}, or as
+ * {@code id} for that id's highest version), else the default ({@code ai.aletheia.policy.default-rule-set}).
+ * Versions are compared segment by segment ({@link #compareVersions}), so {@code 2026-10} is above
+ * {@code 2026-9} and {@code v10} above {@code v9}.
+ */
+@Component
+public class PolicyRuleSets {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyRuleSets.class);
+    static final String BUNDLED = "classpath*:policies/*.json";
+    public static final String DEFAULT_RULE_SET = "aletheia-demo@2026-01";
+    private static final long RELOAD_SETTLE_MILLIS = 200;
+
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+    private final String defaultName;
+    /** Rule sets by name and, for the highest version of each id, by id. Replaced as a whole on reload. */
+    private volatile Map<String, CompiledRuleSet> byName = Map.of();
+    /** Last rule set compiled from each source (resource URL or file path), kept when the source breaks. */
+    private volatile Map<String, CompiledRuleSet> bySource = Map.of();
+    private volatile CompiledRuleSet defaultRuleSet;
+    private WatchService watchService;
+
+    @Autowired
+    public PolicyRuleSets(ObjectMapper objectMapper,
+                          @Value("${ai.aletheia.policy.dir:}") String dir,
+                          @Value("${ai.aletheia.policy.default-rule-set:" + DEFAULT_RULE_SET + "}") String defaultName) {
+        this.objectMapper = objectMapper;
+        this.dir = dir == null || dir.isBlank() ? null : Path.of(dir);
+        this.defaultName = defaultName;
+    }
+
+    /** Bundled rule sets only, default {@value #DEFAULT_RULE_SET}; no directory, no watching. */
+    public static PolicyRuleSets bundled(ObjectMapper objectMapper) {
+        PolicyRuleSets ruleSets = new PolicyRuleSets(objectMapper, null, DEFAULT_RULE_SET);
+        ruleSets.init();
+        return ruleSets;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        init();
+        watch();
+    }
+
+    /**
+     * Initial load.
+     *
+     * @throws IllegalStateException if the default rule set is not among them
+     */
+    void init() {
+        reload();
+        if (defaultRuleSet == null) {
+            throw new IllegalStateException("Default policy rule set " + defaultName + " not found");
+        }
+    }
+
+    /** Rule set by {@code id@version}, or by id for its highest version; null if unknown. */
+    public CompiledRuleSet get(String name) {
+        return name != null ? byName.get(name) : null;
+    }
+
+    /** Rule set for the record's policy version, else the default. */
+    public CompiledRuleSet forRecord(AiResponse record) {
+        CompiledRuleSet ruleSet = get(record.getPolicyVersion());
+        return ruleSet != null ? ruleSet : defaultRuleSet;
+    }
+
+    public CompiledRuleSet defaultRuleSet() {
+        return defaultRuleSet;
+    }
+
+    /** Load and compile all rule sets again; keeps the previous version of any that fails. */
+    public synchronized void reload() {
+        Map<String, CompiledRuleSet> previous = bySource;
+        Map<String, CompiledRuleSet> sources = new HashMap<>();
+        Map<String, CompiledRuleSet> loaded = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(BUNDLED)) {
+                try (InputStream in = resource.getInputStream()) {
+                    load(in, resource.getURL().toString(), loaded, sources, previous);
+                }
+            }
+            if (dir != null && Files.isDirectory(dir)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+                    for (Path file : files) {
+                        try (InputStream in = Files.newInputStream(file)) {
+                            load(in, file.toAbsolutePath().toString(), loaded, sources, previous);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Loading policy rule sets failed", e);
+        }
+        Map<String, CompiledRuleSet> index = new HashMap<>(loaded);
+        for (CompiledRuleSet ruleSet : loaded.values()) {
+            index.merge(ruleSet.id(), ruleSet, (a, b) -> compareVersions(a.version(), b.version()) >= 0 ? a : b);
+        }
+        bySource = sources;
+        byName = Collections.unmodifiableMap(index);
+        CompiledRuleSet newDefault = index.get(defaultName);
+        if (newDefault != null) {
+            defaultRuleSet = newDefault;
+        }
+        log.info("Policy rule sets loaded: {}", loaded.keySet());
+    }
+
+    private void load(InputStream in, String source, Map<String, CompiledRuleSet> loaded,
+                      Map<String, CompiledRuleSet> sources, Map<String, CompiledRuleSet> previous) {
+        CompiledRuleSet ruleSet;
+        try {
+            ruleSet = CompiledRuleSet.compile(objectMapper.readValue(in, PolicyRuleSetDefinition.class));
+        } catch (IOException | IllegalArgumentException e) {
+            ruleSet = previous.get(source);
+            log.error("Policy file {} not loaded{}: {}", source,
+                    ruleSet != null ? ", keeping " + ruleSet.name() : "", e.getMessage());
+            if (ruleSet == null) {
+                return;
+            }
+        }
+        sources.put(source, ruleSet);
+        loaded.put(ruleSet.name(), ruleSet);
+    }
+
+    /**
+     * Order of two versions: split into runs of digits and of other characters, separators ({@code .-_} and
+     * the like) dropped; digit runs compare as numbers, other runs as text, and a version that is a prefix
+     * of the other is lower. {@code 2026-9 < 2026-10}, {@code v9 < v10}, {@code 1.2 < 1.2.1}.
+     */
+    static int compareVersions(String a, String b) {
+        String[] x = segments(a);
+        String[] y = segments(b);
+        for (int i = 0; i < Math.min(x.length, y.length); i++) {
+            int c = compareSegment(x[i], y[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(x.length, y.length);
+    }
+
+    private static String[] segments(String version) {
+        return version.replaceAll("(?<=\\d)(?=\\D)|(?<=\\D)(?=\\d)", ".")
+                .split("[^\\p{Alnum}]+");
+    }
+
+    private static int compareSegment(String a, String b) {
+        boolean aNumeric = !a.isEmpty() && Character.isDigit(a.charAt(0));
+        boolean bNumeric = !b.isEmpty() && Character.isDigit(b.charAt(0));
+        if (aNumeric && bNumeric) {
+            String x = a.replaceFirst("^0+(?=.)", "");
+            String y = b.replaceFirst("^0+(?=.)", "");
+            return x.length() != y.length() ? Integer.compare(x.length(), y.length()) : x.compareTo(y);
+        }
+        return a.compareTo(b);
+    }
+
+    void watch() throws IOException {
+        if (dir == null || !Files.isDirectory(dir)) {
+            return;
+        }
+        watchService = dir.getFileSystem().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        Thread t = new Thread(this::watchLoop, "policy-reload");
+        t.setDaemon(true);
+        t.start();
+        log.info("Watching {} for policy rule set changes", dir);
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // Editors write in several steps: let them finish, then reload once for all events
+                TimeUnit.MILLISECONDS.sleep(RELOAD_SETTLE_MILLIS);
+                key.pollEvents();
+                for (WatchKey more = watchService.poll(); more != null; more = watchService.poll()) {
+                    more.pollEvents();
+                    more.reset();
+                }
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.error("Policy reload failed: {}", e.getMessage());
+                }
+                if (!key.reset()) {
+                    log.warn("Policy directory {} no longer watched", dir);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
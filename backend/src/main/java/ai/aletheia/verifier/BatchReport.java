@@ -0,0 +1,113 @@
+package ai.aletheia.verifier;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Writes batch verification results as they arrive: human-readable text, JSON or CSV.
+ * JSON and CSV are written by hand so the verifier JAR needs no JSON library.
+ *
+ * <p>JSON: {@code {"files":[{"path","valid","failureReason","pqcValid","millis"}...],"summary":{...}}}.
+ * CSV: header {@code path,valid,failure_reason,pqc_valid,millis}, one row per package, no summary row.
+ */
+final class BatchReport {
+
+    enum Format { TEXT, JSON, CSV }
+
+    private final Format format;
+    private final PrintStream out;
+    private boolean first = true;
+
+    BatchReport(Format format, PrintStream out) {
+        this.format = format;
+        this.out = out;
+    }
+
+    void start() {
+        switch (format) {
+            case JSON -> out.print("{\"files\":[");
+            case CSV -> out.println("path,valid,failure_reason,pqc_valid,millis");
+            case TEXT -> { }
+        }
+    }
+
+    void add(BatchVerifier.FileResult r) {
+        VerificationResult v = r.result();
+        String millis = String.format(Locale.ROOT, "%.3f", r.millis());
+        switch (format) {
+            case JSON -> {
+                out.print(first ? "\n" : ",\n");
+                out.print("{\"path\":" + jsonString(r.path().toString())
+                        + ",\"valid\":" + v.valid()
+                        + ",\"failureReason\":" + jsonString(v.failureReason())
+                        + ",\"pqcValid\":" + v.pqcValid()
+                        + ",\"millis\":" + millis + "}");
+            }
+            case CSV -> out.println(csv(r.path().toString()) + "," + v.valid() + "," + csv(v.failureReason()) + ","
+                    + (v.pqcValid() == null ? "" : v.pqcValid()) + "," + millis);
+            case TEXT -> out.println((v.valid() ? "VALID   " : "INVALID ") + r.path() + "  " + millis + " ms"
+                    + (v.valid() ? "" : "  " + v.failureReason()));
+        }
+        first = false;
+    }
+
+    void finish(BatchVerifier.Summary s) {
+        switch (format) {
+            case JSON -> out.println((first ? "" : "\n") + "],\"summary\":{\"total\":" + s.total()
+                    + ",\"valid\":" + s.valid()
+                    + ",\"invalid\":" + s.invalid()
+                    + ",\"wallMillis\":" + millis(s.wallNanos())
+                    + ",\"sumMillis\":" + millis(s.sumNanos())
+                    + ",\"maxMillis\":" + millis(s.maxNanos()) + "}}");
+            case CSV -> { }
+            case TEXT -> out.println(summaryLine(s));
+        }
+        out.flush();
+    }
+
+    /** One-line human summary (also printed to stderr for JSON/CSV output). */
+    static String summaryLine(BatchVerifier.Summary s) {
+        double mean = s.total() == 0 ? 0 : s.sumNanos() / 1_000_000.0 / s.total();
+        return String.format(Locale.ROOT, "%d packages: %d valid, %d invalid in %s ms (per package: mean %.3f ms, max %s ms)",
+                s.total(), s.valid(), s.invalid(), millis(s.wallNanos()), mean, millis(s.maxNanos()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    static String jsonString(String s) {
+        if (s == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    static String csv(String s) {
+        if (s == null) {
+            return "";
+        }
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,197 @@
+package ai.aletheia.verifier;
+
+import ai.aletheia.evidence.EvidencePackageServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Verifies many Evidence Packages in one JVM (batch mode of {@link VerifierMain}).
+ *
+ * <p>Packages are verified in parallel on a fixed pool (one thread per core by default; the work is
+ * hashing and signature checks). One {@link EvidenceVerifier} is shared, so public keys and TSA
+ * certificates that repeat across packages are parsed once. Results are delivered in input order,
+ * each with its own wall-clock time.
+ */
+public final class BatchVerifier {
+
+    /** Verification result of one package. */
+    public record FileResult(Path path, VerificationResult result, long nanos) {
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Totals of a batch run.
+     *
+     * @param wallNanos elapsed time of the whole run
+     * @param sumNanos  sum of per-file times (> wallNanos when files ran in parallel)
+     * @param maxNanos  slowest file
+     */
+    public record Summary(int total, int valid, int invalid, long wallNanos, long sumNanos, long maxNanos) {
+        public boolean allValid() {
+            return total > 0 && invalid == 0;
+        }
+    }
+
+    private final EvidenceVerifier verifier;
+    private final int threads;
+
+    public BatchVerifier(EvidenceVerifier verifier, int threads) {
+        this.verifier = verifier;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Verify the packages in parallel and pass each result to {@code onResult} in input order
+     * (on the calling thread).
+     */
+    public Summary run(List<Path> packages, Consumer<FileResult> onResult) {
+        long start = System.nanoTime();
+        int valid = 0;
+        long sumNanos = 0;
+        long maxNanos = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, packages.size())), workerThreadFactory());
+        try {
+            List<Future<FileResult>> pending = new ArrayList<>(packages.size());
+            for (Path path : packages) {
+                pending.add(pool.submit(() -> verifyOne(path)));
+            }
+            for (Future<FileResult> future : pending) {
+                FileResult r = join(future);
+                if (r.result().valid()) {
+                    valid++;
+                }
+                sumNanos += r.nanos();
+                maxNanos = Math.max(maxNanos, r.nanos());
+                onResult.accept(r);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Summary(packages.size(), valid, packages.size() - valid, System.nanoTime() - start, sumNanos, maxNanos);
+    }
+
+    private FileResult verifyOne(Path path) {
+        long t0 = System.nanoTime();
+        VerificationResult result;
+        try {
+            result = verifier.verify(path);
+        } catch (RuntimeException e) {
+            result = VerificationResult.invalid(List.of("error: " + e.getMessage()), "verification error: " + e.getMessage());
+        }
+        return new FileResult(path, result, System.nanoTime() - t0);
+    }
+
+    private static FileResult join(Future<FileResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Verification task failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "verifier-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Expand CLI arguments to package paths, in argument order without duplicates:
+     * <ul>
+     *   <li>a .aep file, or a package directory (contains hash.sha256): as is;</li>
+     *   <li>any other directory: every .aep file and package directory below it, sorted;</li>
+     *   <li>an argument with glob characters ({@code * ? [ {}), for shells that do not expand them:
+     *       matching .aep files and package directories, e.g. {@code "archive/2026-0?/*.aep"};</li>
+     *   <li>anything else (e.g. a missing path): as is, so it is reported as invalid.</li>
+     * </ul>
+     */
+    public static List<Path> expand(List<String> args) throws IOException {
+        Set<Path> out = new LinkedHashSet<>();
+        for (String arg : args) {
+            if (isGlob(arg)) {
+                out.addAll(expandGlob(arg));
+                continue;
+            }
+            Path path = Paths.get(arg);
+            if (Files.isDirectory(path) && !isPackageDir(path)) {
+                out.addAll(findPackages(path, p -> true));
+            } else {
+                out.add(path);
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    /** True for a file (normally .aep) or a package directory: the classic one-package CLI call. */
+    static boolean isSinglePackage(Path path) {
+        return Files.isRegularFile(path) || isPackageDir(path);
+    }
+
+    static boolean isGlob(String arg) {
+        return arg.indexOf('*') >= 0 || arg.indexOf('?') >= 0 || arg.indexOf('[') >= 0 || arg.indexOf('{') >= 0;
+    }
+
+    private static List<Path> expandGlob(String pattern) throws IOException {
+        // Walk from the longest leading part without glob characters
+        String normalized = pattern.replace('\\', '/');
+        int firstGlob = normalized.length();
+        for (char c : new char[] { '*', '?', '[', '{' }) {
+            int i = normalized.indexOf(c);
+            if (i >= 0) {
+                firstGlob = Math.min(firstGlob, i);
+            }
+        }
+        int slash = normalized.lastIndexOf('/', firstGlob);
+        Path base = slash < 0 ? Paths.get(".") : Paths.get(slash == 0 ? "/" : normalized.substring(0, slash));
+        String relative = normalized.substring(slash + 1);
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + relative);
+        return findPackages(base, p -> matcher.matches(base.relativize(p)));
+    }
+
+    private static List<Path> findPackages(Path root, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(p -> (Files.isRegularFile(p) && isAep(p)) || isPackageDir(p))
+                    .filter(filter)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isAep(Path p) {
+        return p.getFileName() != null && p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".aep");
+    }
+
+    private static boolean isPackageDir(Path p) {
+        return Files.isDirectory(p) && Files.isRegularFile(p.resolve(EvidencePackageServiceImpl.HASH_SHA256));
+    }
+}
@@ -1,5 +1,6 @@
 package ai.aletheia.verifier;
 
+import ai.aletheia.crypto.MerkleTree;
 import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x509.DigestInfo;
@@ -15,7 +16,9 @@ import org.bouncycastle.pqc.crypto.crystals.dilithium.DilithiumSigner;
 import org.bouncycastle.pqc.crypto.util.PublicKeyFactory;
 import org.bouncycastle.tsp.TimeStampToken;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -28,21 +31,44 @@ import java.security.SignatureException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 /**
  * Offline verifier for Evidence Package (DP2.2.1).
- * Verification order: (1) hash, (2) signature, (3) TSA token.
+ * Verification order: (1) hash, (2) signature, (3) TSA token (and Merkle inclusion proof when batched).
+ *
+ * <p>A .aep is read straight into memory (never extracted to disk), with caps per file and per package.
+ *
+ * <p>Thread-safe. Parsed public keys (RSA, PQC) and TSA certificates are cached per instance, so when
+ * one instance verifies many packages from the same signer (batch mode of {@link VerifierMain}) the PEM
+ * and certificate parsing happens once.
  */
 public class EvidenceVerifierImpl implements EvidenceVerifier {
 
     private static final String PROVIDER = "BC";
     private static final int SHA256_DIGEST_LENGTH = 32;
     private static final HexFormat HEX = HexFormat.of().withLowerCase();
+    /** Distinct keys/certificates kept per cache; a package set rarely has more than a handful. */
+    private static final int MAX_CACHED = 64;
+
+    /** Default cap for one package file (canonical.bin is at most 512 KiB when produced by the backend). */
+    public static final long DEFAULT_MAX_ENTRY_BYTES = 16L * 1024 * 1024;
+    /** Default cap for all files of one package together. */
+    public static final long DEFAULT_MAX_PACKAGE_BYTES = 64L * 1024 * 1024;
+
+    private final long maxEntryBytes;
+    private final long maxPackageBytes;
+    private final Map<String, PublicKey> publicKeys = new ConcurrentHashMap<>();
+    private final Map<String, DilithiumPublicKeyParameters> pqcPublicKeys = new ConcurrentHashMap<>();
+    private final Map<X509CertificateHolder, X509Certificate> tsaCertificates = new ConcurrentHashMap<>();
 
     static {
         if (Security.getProvider(PROVIDER) == null) {
@@ -50,36 +76,42 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
         }
     }
 
+    public EvidenceVerifierImpl() {
+        this(DEFAULT_MAX_ENTRY_BYTES, DEFAULT_MAX_PACKAGE_BYTES);
+    }
+
+    /**
+     * @param maxEntryBytes   largest accepted package file
+     * @param maxPackageBytes largest accepted total of all files (uncompressed)
+     */
+    public EvidenceVerifierImpl(long maxEntryBytes, long maxPackageBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxPackageBytes = maxPackageBytes;
+    }
+
     @Override
     public VerificationResult verify(Path path) {
         List<String> report = new ArrayList<>();
-        Path dir = path;
-        boolean isZip = false;
-        Path tempDir = null;
 
         try {
+            PackageFiles files;
             if (Files.isRegularFile(path) && path.toString().toLowerCase(Locale.ROOT).endsWith(".aep")) {
-                tempDir = Files.createTempDirectory("aep-");
-                try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(path))) {
-                    ZipEntry entry;
-                    while ((entry = zis.getNextEntry()) != null) {
-                        if (entry.isDirectory()) continue;
-                        Path out = tempDir.resolve(entry.getName());
-                        Files.createDirectories(out.getParent());
-                        Files.copy(zis, out);
-                    }
+                Map<String, byte[]> entries;
+                try (InputStream in = Files.newInputStream(path)) {
+                    entries = readZip(in);
                 }
-                dir = tempDir;
-                isZip = true;
-            } else if (!Files.isDirectory(path)) {
+                files = entries::get;
+            } else if (Files.isDirectory(path)) {
+                files = directoryFiles(path);
+            } else {
                 return VerificationResult.invalid(report, "path is not a directory or .aep file");
             }
 
-            byte[] hashFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.HASH_SHA256);
-            byte[] canonicalFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.CANONICAL_BIN);
-            byte[] signatureFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.SIGNATURE_SIG);
-            byte[] timestampFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.TIMESTAMP_TSR);
-            byte[] publicKeyFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.PUBLIC_KEY_PEM);
+            byte[] hashFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.HASH_SHA256);
+            byte[] canonicalFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.CANONICAL_BIN);
+            byte[] signatureFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.SIGNATURE_SIG);
+            byte[] timestampFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.TIMESTAMP_TSR);
+            byte[] publicKeyFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.PUBLIC_KEY_PEM);
 
             if (hashFile == null || hashFile.length == 0) {
                 return VerificationResult.invalid(report, "missing or empty hash.sha256");
@@ -112,17 +144,18 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
             report.add("hash: OK");
 
             // (2) Signature check
-            PublicKey publicKey = loadPublicKeyFromPem(publicKeyFile);
+            PublicKey publicKey = cached(publicKeys, pemKey(publicKeyFile), k -> loadPublicKeyFromPem(publicKeyFile));
             if (publicKey == null) {
                 return VerificationResult.invalid(report, "failed to load public key from public_key.pem");
             }
             byte[] hashBytes = HEX.parseHex(hashHex);
             boolean sigValid = false;
+            byte[] signatureBytes = null;
             if (signatureFile != null && signatureFile.length > 0) {
                 String sigBase64 = new String(signatureFile, StandardCharsets.UTF_8).trim().replaceAll("\\s+", "");
                 if (!sigBase64.isEmpty()) {
                     try {
-                        byte[] signatureBytes = Base64.getDecoder().decode(sigBase64);
+                        signatureBytes = Base64.getDecoder().decode(sigBase64);
                         sigValid = verifySignature(hashBytes, signatureBytes, publicKey);
                     } catch (IllegalArgumentException ignored) {
                     }
@@ -155,13 +188,23 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
                         java.util.Collection<X509CertificateHolder> matches = certStore.getMatches(token.getSID());
                         if (matches != null && !matches.isEmpty()) {
                             X509CertificateHolder holder = matches.iterator().next();
-                            X509Certificate cert = new JcaX509CertificateConverter().setProvider(PROVIDER).getCertificate(holder);
+                            X509Certificate cert = cached(tsaCertificates, holder, EvidenceVerifierImpl::toCertificate);
                             var signerVerifier = new JcaSimpleSignerInfoVerifierBuilder().setProvider(PROVIDER).build(cert);
                             if (!token.isSignatureValid(signerVerifier)) {
                                 report.add("timestamp signature: INVALID");
                                 return VerificationResult.invalid(report, "timestamp signature invalid");
                             }
                         }
+
+                        // Batch TSA: token covers a Merkle root; signature.sig must be a leaf under that root
+                        byte[] proofFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.TIMESTAMP_PROOF_TXT);
+                        if (proofFile != null && proofFile.length > 0) {
+                            String proofFailure = verifyMerkleProof(proofFile, signatureBytes,
+                                    token.getTimeStampInfo().getMessageImprintDigest(), report);
+                            if (proofFailure != null) {
+                                return VerificationResult.invalid(report, proofFailure);
+                            }
+                        }
                     } catch (Exception e) {
                         report.add("timestamp: INVALID (" + e.getMessage() + ")");
                         return VerificationResult.invalid(report, "timestamp invalid");
@@ -170,7 +213,7 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
             }
 
             // DP2.4: Optionally display claim and policy_version from metadata.json
-            byte[] metadataFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.METADATA_JSON);
+            byte[] metadataFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.METADATA_JSON);
             if (metadataFile != null && metadataFile.length > 0) {
                 String metadataJson = new String(metadataFile, StandardCharsets.UTF_8);
                 String claim = extractJsonString(metadataJson, "claim");
@@ -184,15 +227,16 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
             }
 
             // PQC.8: If Evidence Package contains PQC files, verify ML-DSA signature over same hash
-            byte[] signaturePqcFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.SIGNATURE_PQC_SIG);
-            byte[] pqcPublicKeyFile = readFile(dir, ai.aletheia.evidence.EvidencePackageServiceImpl.PQC_PUBLIC_KEY_PEM);
+            byte[] signaturePqcFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.SIGNATURE_PQC_SIG);
+            byte[] pqcPublicKeyFile = files.read(ai.aletheia.evidence.EvidencePackageServiceImpl.PQC_PUBLIC_KEY_PEM);
             Boolean pqcValid = null;
             if (signaturePqcFile != null && signaturePqcFile.length > 0 && pqcPublicKeyFile != null && pqcPublicKeyFile.length > 0) {
                 String pqcSigBase64 = new String(signaturePqcFile, StandardCharsets.UTF_8).trim().replaceAll("\\s+", "");
                 if (!pqcSigBase64.isEmpty()) {
                     try {
                         byte[] pqcSigBytes = Base64.getDecoder().decode(pqcSigBase64);
-                        DilithiumPublicKeyParameters pqcPublicKey = loadPqcPublicKeyFromPem(pqcPublicKeyFile);
+                        DilithiumPublicKeyParameters pqcPublicKey =
+                                cached(pqcPublicKeys, pemKey(pqcPublicKeyFile), k -> loadPqcPublicKeyFromPem(pqcPublicKeyFile));
                         if (pqcPublicKey != null) {
                             DilithiumSigner signer = new DilithiumSigner();
                             signer.init(false, pqcPublicKey);
@@ -218,16 +262,40 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
         } catch (IOException e) {
             report.add("error: " + e.getMessage());
             return VerificationResult.invalid(report, "failed to read package: " + e.getMessage());
-        } finally {
-            if (tempDir != null) {
-                try {
-                    deleteRecursively(tempDir);
-                } catch (IOException ignored) {
-                }
-            }
         }
     }
 
+    /**
+     * Batch TSA: check that signatureBytes hashes up to the proof's root and that the TSA token's
+     * message imprint is SHA-256 of that root. Adds a report line; returns failure reason or null if OK.
+     */
+    private static String verifyMerkleProof(byte[] proofFile, byte[] signatureBytes, byte[] messageImprint,
+                                            List<String> report) {
+        MerkleTree.Proof proof;
+        try {
+            proof = MerkleTree.Proof.decode(new String(proofFile, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            report.add("timestamp proof: INVALID (" + e.getMessage() + ")");
+            return "timestamp proof invalid";
+        }
+        if (!proof.verify(signatureBytes)) {
+            report.add("timestamp proof: INVALID (signature is not a leaf of the batch root)");
+            return "timestamp proof invalid";
+        }
+        byte[] expectedImprint;
+        try {
+            expectedImprint = MessageDigest.getInstance("SHA-256").digest(proof.root());
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        if (!MessageDigest.isEqual(expectedImprint, messageImprint)) {
+            report.add("timestamp proof: INVALID (batch root does not match timestamp token)");
+            return "timestamp proof invalid";
+        }
+        report.add("timestamp proof: OK (batch root " + HEX.formatHex(proof.root()) + ")");
+        return null;
+    }
+
     /** Extract a string value for key from a minimal JSON object (no nested objects). */
     private static String extractJsonString(String json, String key) {
         if (json == null || key == null) return null;
@@ -255,10 +323,98 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
         return sb.toString();
     }
 
-    private static byte[] readFile(Path dir, String name) throws IOException {
-        Path f = dir.resolve(name);
-        if (!Files.isRegularFile(f)) return null;
-        return Files.readAllBytes(f);
+    /**
+     * Read all entries of a .aep into memory, keyed by name. Only plain top-level names are kept (the package
+     * is flat); nested or {@code ..} names are skipped, and nothing is ever written to disk, so entry names
+     * cannot escape anywhere. Every entry, kept or skipped, counts towards the package cap, which also
+     * bounds zip bombs.
+     *
+     * @throws IOException on a malformed zip, a duplicate name, or when a size cap is exceeded
+     */
+    private Map<String, byte[]> readZip(InputStream in) throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        long remaining = maxPackageBytes;
+        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(in))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                if (entry.isDirectory()) continue;
+                String name = entry.getName();
+                byte[] data = readCapped(zis, name, remaining);
+                remaining -= data.length;
+                if (!isPlainName(name)) continue;
+                if (entries.putIfAbsent(name, data) != null) {
+                    throw new IOException("duplicate entry " + name);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /** Files of an unpacked package directory, read on demand with the same caps as a .aep. */
+    private PackageFiles directoryFiles(Path dir) {
+        long[] remaining = { maxPackageBytes };
+        return name -> {
+            Path f = dir.resolve(name);
+            if (!Files.isRegularFile(f)) return null;
+            byte[] data;
+            try (InputStream in = Files.newInputStream(f)) {
+                data = readCapped(in, name, remaining[0]);
+            }
+            remaining[0] -= data.length;
+            return data;
+        };
+    }
+
+    private byte[] readCapped(InputStream in, String name, long remainingPackage) throws IOException {
+        long limit = Math.min(maxEntryBytes, remainingPackage);
+        byte[] data = in.readNBytes((int) Math.min(limit, Integer.MAX_VALUE - 9) + 1);
+        if (data.length > limit) {
+            throw new IOException(limit == maxEntryBytes
+                    ? "entry " + name + " exceeds " + maxEntryBytes + " bytes"
+                    : "package exceeds " + maxPackageBytes + " bytes");
+        }
+        return data;
+    }
+
+    private static boolean isPlainName(String name) {
+        return !name.isEmpty() && name.indexOf('/') < 0 && name.indexOf('\\') < 0 && !name.equals("..") && !name.equals(".");
+    }
+
+    /** One package's files by name; null when absent. */
+    @FunctionalInterface
+    private interface PackageFiles {
+        byte[] read(String name) throws IOException;
+    }
+
+    /**
+     * Cached value for key, computed on first use. Null results are not cached. The cache is simply
+     * emptied when full (no LRU bookkeeping on the hot path).
+     */
+    private static <K, V> V cached(Map<K, V> cache, K key, Function<K, V> loader) {
+        V value = cache.get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                if (cache.size() >= MAX_CACHED) {
+                    cache.clear();
+                }
+                cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /** Cache key for a PEM file: its text without surrounding whitespace. */
+    private static String pemKey(byte[] pemBytes) {
+        return new String(pemBytes, StandardCharsets.UTF_8).trim();
+    }
+
+    private static X509Certificate toCertificate(X509CertificateHolder holder) {
+        try {
+            return new JcaX509CertificateConverter().setProvider(PROVIDER).getCertificate(holder);
+        } catch (java.security.cert.CertificateException e) {
+            throw new IllegalStateException("TSA certificate not readable: " + e.getMessage(), e);
+        }
     }
 
     private static PublicKey loadPublicKeyFromPem(byte[] pemBytes) {
@@ -324,15 +480,4 @@ public class EvidenceVerifierImpl implements EvidenceVerifier {
             throw new IllegalStateException("DigestInfo encoding failed", e);
         }
     }
-
-    private static void deleteRecursively(Path path) throws IOException {
-        if (Files.isDirectory(path)) {
-            try (var stream = Files.list(path)) {
-                for (Path p : stream.toList()) {
-                    deleteRecursively(p);
-                }
-            }
-        }
-        Files.delete(path);
-    }
 }
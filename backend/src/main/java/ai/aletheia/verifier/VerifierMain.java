@@ -1,7 +1,15 @@
 package ai.aletheia.verifier;
 
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * CLI entrypoint for offline Evidence Package verification (DP2.2.2).
@@ -11,6 +19,12 @@ import java.nio.file.Paths;
  *
  * <p>Exit code: 0 = VALID, 1 = INVALID or error. No backend call.
  *
+ * <p>Batch mode: several paths, a directory of packages, or a quoted glob verifies all packages in one JVM,
+ * in parallel, and prints one line per package plus a summary (see {@link BatchVerifier}). Options:
+ * {@code --threads N} (default: CPU count), {@code --format text|json|csv} (default: text),
+ * {@code --output FILE} (default: stdout; for json/csv the summary still goes to stderr).
+ * Exit code 0 only if every package is VALID.
+ *
  * <p>Run from backend directory:
  * <pre>
  * mvn exec:java -Dexec.mainClass="ai.aletheia.verifier.VerifierMain" -Dexec.args="/path/to/package"
@@ -18,24 +32,75 @@ import java.nio.file.Paths;
  * Or with a run JAR:
  * <pre>
  * java -cp target/backend-*.jar ai.aletheia.verifier.VerifierMain /path/to/package
+ * java -jar target/aletheia-verifier.jar --format csv --output results.csv /path/to/evidence-dir
  * </pre>
  */
 public final class VerifierMain {
 
+    private static final String USAGE =
+            "Usage: VerifierMain [--threads N] [--format text|json|csv] [--output FILE] <path-to-evidence-dir-or-.aep>...";
+
     private VerifierMain() {}
 
     public static void main(String[] args) {
-        if (args == null || args.length != 1 || args[0] == null || args[0].isBlank()) {
-            System.err.println("Usage: VerifierMain <path-to-evidence-dir-or-.aep>");
+        if (args == null || args.length == 0) {
+            System.err.println(USAGE);
             System.exit(1);
         }
 
-        Path path = Paths.get(args[0].trim());
-        if (!java.nio.file.Files.exists(path)) {
-            System.err.println("Path does not exist: " + path);
+        int threads = Runtime.getRuntime().availableProcessors();
+        BatchReport.Format format = BatchReport.Format.TEXT;
+        String output = null;
+        boolean options = false;
+        List<String> paths = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--threads" -> threads = Integer.parseInt(optionValue(args, ++i, arg));
+                    case "--format" -> format = BatchReport.Format.valueOf(optionValue(args, ++i, arg).toUpperCase(Locale.ROOT));
+                    case "--output" -> output = optionValue(args, ++i, arg);
+                    default -> {
+                        if (arg == null || arg.isBlank() || arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        paths.add(arg.trim());
+                        continue;
+                    }
+                }
+                options = true;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        if (paths.isEmpty()) {
+            System.err.println(USAGE);
             System.exit(1);
         }
 
+        if (!options && paths.size() == 1 && !BatchVerifier.isGlob(paths.get(0))) {
+            Path path = Paths.get(paths.get(0));
+            if (!Files.exists(path)) {
+                System.err.println("Path does not exist: " + path);
+                System.exit(1);
+            }
+            if (BatchVerifier.isSinglePackage(path)) {
+                System.exit(verifySingle(path));
+            }
+        }
+        System.exit(verifyBatch(paths, threads, format, output));
+    }
+
+    private static String optionValue(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[i];
+    }
+
+    private static int verifySingle(Path path) {
         EvidenceVerifier verifier = new EvidenceVerifierImpl();
         VerificationResult result = verifier.verify(path);
 
@@ -45,10 +110,45 @@ public final class VerifierMain {
 
         if (result.valid()) {
             System.out.println("VALID");
-            System.exit(0);
-        } else {
-            System.err.println("INVALID: " + (result.failureReason() != null ? result.failureReason() : "verification failed"));
-            System.exit(1);
+            return 0;
+        }
+        System.err.println("INVALID: " + (result.failureReason() != null ? result.failureReason() : "verification failed"));
+        return 1;
+    }
+
+    private static int verifyBatch(List<String> args, int threads, BatchReport.Format format, String output) {
+        List<Path> packages;
+        try {
+            packages = BatchVerifier.expand(args);
+        } catch (IOException e) {
+            System.err.println("Cannot list packages: " + e.getMessage());
+            return 1;
+        }
+        if (packages.isEmpty()) {
+            System.err.println("No evidence packages found");
+            return 1;
+        }
+
+        PrintStream out = System.out;
+        try {
+            if (output != null) {
+                out = new PrintStream(new FileOutputStream(output), false, StandardCharsets.UTF_8);
+            }
+            BatchReport report = new BatchReport(format, out);
+            report.start();
+            BatchVerifier.Summary summary = new BatchVerifier(new EvidenceVerifierImpl(), threads).run(packages, report::add);
+            report.finish(summary);
+            if (format != BatchReport.Format.TEXT || output != null) {
+                System.err.println(BatchReport.summaryLine(summary));
+            }
+            return summary.allValid() ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Cannot write " + output + ": " + e.getMessage());
+            return 1;
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
         }
     }
 }
@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Sequence for ai_response ids, so ids can be allocated before the insert and inserts can be batched
+ * (IDENTITY hands out the id only as part of each single-row insert).
+ *
+ * <p>Java rather than SQL because the start depends on existing rows and H2 and PostgreSQL have no common
+ * syntax for that. Ids are taken in blocks of {@value #ALLOCATION_SIZE}: a sequence value {@code v} reserves
+ * {@code v - 49 .. v} (Hibernate's pooled optimizer), so the sequence starts at {@code max(id) + 50}. The
+ * identity default of the column stays for manual inserts but the application no longer uses it.
+ */
+public class V11__create_ai_response_id_sequence extends BaseJavaMigration {
+
+    /** Must match the allocationSize of AiResponse's id generator. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement st = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM ai_response")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            st.execute("CREATE SEQUENCE ai_response_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
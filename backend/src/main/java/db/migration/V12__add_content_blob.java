@@ -0,0 +1,226 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Content-addressed storage for prompts and responses: content_blob holds each distinct text once, keyed by
+ * the SHA-256 of its UTF-8 bytes and deflated when that pays off; ai_response references it through
+ * prompt_blob / response_blob. Existing rows are moved over here ({@link #backfill}).
+ *
+ * <p>Java because the binary column type differs (BYTEA on PostgreSQL, BLOB on H2) and the backfill needs
+ * SHA-256 and deflate. The inline prompt/response columns stay for rows written directly; one of
+ * text and reference is required.
+ *
+ * <p>Self-contained on purpose: the backfill encodes blobs the way ContentBlobCodec did when V12 was written
+ * (raw deflate from {@value #MIN_COMPRESS_BYTES} bytes when it shrinks the text) and does not call
+ * application code, so later changes there cannot change what this migration writes.
+ */
+public class V12__add_content_blob extends BaseJavaMigration {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int MIN_COMPRESS_BYTES = 512;
+    private static final HexFormat HEX_LOWER = HexFormat.of().withLowerCase();
+
+    private static final String SELECT_PAGE = "SELECT id, prompt, response FROM ai_response"
+            + " WHERE id > ? AND (prompt IS NOT NULL OR response IS NOT NULL) ORDER BY id";
+    private static final String UPDATE_ROW = "UPDATE ai_response SET prompt_blob = COALESCE(?, prompt_blob),"
+            + " response_blob = COALESCE(?, response_blob), prompt = NULL, response = NULL WHERE id = ?";
+    private static final String INSERT_BLOB = "INSERT INTO content_blob (hash, encoding, size, data, created_at)"
+            + " VALUES (?, ?, ?, ?, ?)";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String binary = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")
+                ? "BYTEA" : "BLOB";
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE content_blob ("
+                    + " hash VARCHAR(64) PRIMARY KEY,"
+                    + " encoding VARCHAR(16) NOT NULL,"
+                    + " size BIGINT NOT NULL,"
+                    + " data " + binary + " NOT NULL,"
+                    + " created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            st.execute("ALTER TABLE ai_response ADD COLUMN prompt_blob VARCHAR(64)");
+            st.execute("ALTER TABLE ai_response ADD COLUMN response_blob VARCHAR(64)");
+            st.execute("ALTER TABLE ai_response ADD CONSTRAINT fk_ai_response_prompt_blob"
+                    + " FOREIGN KEY (prompt_blob) REFERENCES content_blob (hash)");
+            st.execute("ALTER TABLE ai_response ADD CONSTRAINT fk_ai_response_response_blob"
+                    + " FOREIGN KEY (response_blob) REFERENCES content_blob (hash)");
+            st.execute("ALTER TABLE ai_response ALTER COLUMN prompt DROP NOT NULL");
+            st.execute("ALTER TABLE ai_response ALTER COLUMN response DROP NOT NULL");
+            // Still required, inline or as a blob
+            st.execute("ALTER TABLE ai_response ADD CONSTRAINT ck_ai_response_prompt"
+                    + " CHECK (prompt IS NOT NULL OR prompt_blob IS NOT NULL)");
+            st.execute("ALTER TABLE ai_response ADD CONSTRAINT ck_ai_response_response"
+                    + " CHECK (response IS NOT NULL OR response_blob IS NOT NULL)");
+        }
+        backfill(connection, PAGE_SIZE);
+    }
+
+    /**
+     * Move inline prompt/response texts to content_blob on the caller's connection and transaction. Rows are
+     * read in id order, a page at a time; per page the distinct texts are looked up by hash in one query,
+     * missing blobs are inserted as one batch and the rows are updated as another. Rows with a null text
+     * (already moved) are left as they are, so a second run only picks up what is left.
+     *
+     * @return number of ai_response rows updated
+     */
+    public static long backfill(Connection connection, int pageSize) throws SQLException {
+        long updated = 0;
+        long afterId = 0;
+        while (true) {
+            List<Row> rows = readPage(connection, afterId, pageSize);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+            Map<String, Blob> blobs = new LinkedHashMap<>();
+            for (Row row : rows) {
+                row.promptHash = add(blobs, row.prompt);
+                row.responseHash = add(blobs, row.response);
+            }
+            insertMissing(connection, blobs);
+            try (PreparedStatement ps = connection.prepareStatement(UPDATE_ROW)) {
+                for (Row row : rows) {
+                    ps.setString(1, row.promptHash);
+                    ps.setString(2, row.responseHash);
+                    ps.setLong(3, row.id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            updated += rows.size();
+            afterId = rows.get(rows.size() - 1).id;
+        }
+    }
+
+    private static List<Row> readPage(Connection connection, long afterId, int pageSize) throws SQLException {
+        List<Row> rows = new ArrayList<>(pageSize);
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_PAGE)) {
+            ps.setLong(1, afterId);
+            ps.setMaxRows(pageSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Row(rs.getLong(1), rs.getString(2), rs.getString(3)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String add(Map<String, Blob> blobs, String text) {
+        if (text == null) {
+            return null;
+        }
+        Blob blob = encode(text);
+        blobs.putIfAbsent(blob.hash(), blob);
+        return blob.hash();
+    }
+
+    private static void insertMissing(Connection connection, Map<String, Blob> blobs) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        String placeholders = String.join(",", Collections.nCopies(blobs.size(), "?"));
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT hash FROM content_blob WHERE hash IN (" + placeholders + ")")) {
+            int i = 1;
+            for (String hash : blobs.keySet()) {
+                ps.setString(i++, hash);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_BLOB)) {
+            boolean any = false;
+            for (Blob blob : blobs.values()) {
+                if (existing.contains(blob.hash())) {
+                    continue;
+                }
+                ps.setString(1, blob.hash());
+                ps.setString(2, blob.encoding());
+                ps.setLong(3, blob.size());
+                ps.setBytes(4, blob.data());
+                ps.setObject(5, Instant.now().atOffset(ZoneOffset.UTC));
+                ps.addBatch();
+                any = true;
+            }
+            if (any) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    /** SHA-256 (lowercase hex) of the UTF-8 bytes; raw deflate when long enough and smaller, else identity. */
+    private static Blob encode(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        String hash;
+        try {
+            hash = HEX_LOWER.formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        if (raw.length >= MIN_COMPRESS_BYTES) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                return new Blob(hash, "deflate", raw.length, deflated);
+            }
+        }
+        return new Blob(hash, "identity", raw.length, raw);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private record Blob(String hash, String encoding, long size, byte[] data) {
+    }
+
+    private static final class Row {
+        final long id;
+        final String prompt;
+        final String response;
+        String promptHash;
+        String responseHash;
+
+        Row(long id, String prompt, String response) {
+            this.id = id;
+            this.prompt = prompt;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Archive index and, on PostgreSQL, monthly partitions of ai_response.
+ *
+ * <p>ai_response_archive maps ids of archived records to the bundle file holding them and the offset of
+ * their entry in it (see {@code RecordArchive}). On PostgreSQL ai_response is rebuilt as a table partitioned by range of
+ * {@code created_at}: one partition per month from the oldest row to three months ahead, plus a default
+ * partition. The primary key becomes (id, created_at), as PostgreSQL requires the partition key in it; ids
+ * stay unique through ai_response_seq. Old months can then be dropped as a whole instead of deleted row by
+ * row, and vacuum works per partition. H2 has no partitioning and keeps the single table.
+ *
+ * <p>The partition DDL is spelled out here rather than taken from AiResponsePartitions, which keeps
+ * partitions going at runtime, so changes there cannot alter what this migration does.
+ */
+public class V13__partition_ai_response_by_month extends BaseJavaMigration {
+
+    private static final int MONTHS_AHEAD = 3;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE ai_response_archive ("
+                    + " id BIGINT PRIMARY KEY,"
+                    + " created_at TIMESTAMP WITH TIME ZONE NOT NULL,"
+                    + " bundle VARCHAR(255) NOT NULL,"
+                    + " entry_offset BIGINT NOT NULL,"
+                    + " archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            st.execute("CREATE INDEX idx_ai_response_archive_bundle ON ai_response_archive (bundle)");
+            if (postgres) {
+                partition(st);
+            }
+        }
+    }
+
+    private static void partition(Statement st) throws Exception {
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        YearMonth oldest = now;
+        try (ResultSet rs = st.executeQuery("SELECT MIN(created_at) FROM ai_response")) {
+            if (rs.next()) {
+                Timestamp min = rs.getTimestamp(1);
+                if (min != null) {
+                    oldest = YearMonth.from(min.toInstant().atOffset(ZoneOffset.UTC));
+                }
+            }
+        }
+        st.execute("ALTER TABLE ai_response RENAME TO ai_response_unpartitioned");
+        // Not INCLUDING IDENTITY: ids come from ai_response_seq (V11)
+        st.execute("CREATE TABLE ai_response (LIKE ai_response_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                + " PARTITION BY RANGE (created_at)");
+        for (YearMonth m = oldest; !m.isAfter(now.plusMonths(MONTHS_AHEAD)); m = m.plusMonths(1)) {
+            // ai_response_pYYYYMM holds created_at in that UTC month
+            st.execute(String.format("CREATE TABLE ai_response_p%04d%02d PARTITION OF ai_response"
+                    + " FOR VALUES FROM ('%s') TO ('%s')",
+                    m.getYear(), m.getMonthValue(), start(m), start(m.plusMonths(1))));
+        }
+        st.execute("CREATE TABLE ai_response_default PARTITION OF ai_response DEFAULT");
+        st.execute("INSERT INTO ai_response SELECT * FROM ai_response_unpartitioned");
+        st.execute("DROP TABLE ai_response_unpartitioned");
+        // After the copy (and after the old table's index names are free)
+        st.execute("ALTER TABLE ai_response ADD CONSTRAINT ai_response_pkey PRIMARY KEY (id, created_at)");
+        st.execute("ALTER TABLE ai_response ADD CONSTRAINT fk_ai_response_prompt_blob"
+                + " FOREIGN KEY (prompt_blob) REFERENCES content_blob (hash)");
+        st.execute("ALTER TABLE ai_response ADD CONSTRAINT fk_ai_response_response_blob"
+                + " FOREIGN KEY (response_blob) REFERENCES content_blob (hash)");
+        st.execute("CREATE INDEX idx_ai_response_created_at ON ai_response (created_at)");
+        st.execute("CREATE INDEX idx_ai_response_request_id ON ai_response (request_id)");
+        st.execute("CREATE INDEX idx_ai_response_created_at_id ON ai_response (created_at, id)");
+        st.execute("CREATE INDEX idx_ai_response_status ON ai_response (status)");
+        st.execute("CREATE INDEX idx_ai_response_canonical_format ON ai_response (canonical_format)");
+    }
+
+    /** First instant of the month (UTC). */
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,129 @@
+package db.migration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Policy rule results as rows instead of a JSON column: policy_rule_result holds one row per record and rule,
+ * in rule order, indexed by (rule_id, status) so "records where R1 did not pass" is an index range scan.
+ * Existing rows are moved over here ({@link #backfill}).
+ *
+ * <p>Java because the backfill parses the JSON. No foreign key to ai_response: its key is (id, created_at)
+ * on PostgreSQL; RecordArchiver deletes the rows of archived records.
+ */
+public class V17__add_policy_rule_result extends BaseJavaMigration {
+
+    private static final int PAGE_SIZE = 500;
+    private static final String SELECT_PAGE = "SELECT id, policy_rules_evaluated FROM ai_response"
+            + " WHERE id > ? AND policy_rules_evaluated IS NOT NULL ORDER BY id";
+    private static final String INSERT_RULE = "INSERT INTO policy_rule_result (response_id, rule_index, rule_id, status)"
+            + " VALUES (?, ?, ?, ?)";
+    private static final String CLEAR_JSON = "UPDATE ai_response SET policy_rules_evaluated = NULL WHERE id = ?";
+    private static final int MAX_RULE_ID = 64;
+    private static final int MAX_STATUS = 16;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE policy_rule_result ("
+                    + " response_id BIGINT NOT NULL,"
+                    + " rule_index INT NOT NULL,"
+                    + " rule_id VARCHAR(64) NOT NULL,"
+                    + " status VARCHAR(16) NOT NULL,"
+                    + " PRIMARY KEY (response_id, rule_index))");
+            st.execute("CREATE INDEX idx_policy_rule_result_rule_status"
+                    + " ON policy_rule_result (rule_id, status, response_id)");
+        }
+        backfill(connection, PAGE_SIZE);
+    }
+
+    /**
+     * Turn each row's policy_rules_evaluated JSON into policy_rule_result rows and clear the JSON, walking
+     * ai_response by id in pages of {@code pageSize}. JSON that is not a non-empty list of
+     * {@code {ruleId, status}} fitting the columns stays where it is; PolicyEvaluationService still reads it.
+     *
+     * @return number of ai_response rows moved
+     */
+    public static long backfill(Connection connection, int pageSize) throws SQLException {
+        long moved = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>(pageSize);
+            List<List<String[]>> rules = new ArrayList<>(pageSize);
+            int read = 0;
+            try (PreparedStatement ps = connection.prepareStatement(SELECT_PAGE)) {
+                ps.setLong(1, afterId);
+                ps.setMaxRows(pageSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        read++;
+                        afterId = rs.getLong(1);
+                        List<String[]> parsed = parse(rs.getString(2));
+                        if (parsed != null) {
+                            ids.add(afterId);
+                            rules.add(parsed);
+                        }
+                    }
+                }
+            }
+            if (read == 0) {
+                return moved;
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_RULE);
+                 PreparedStatement clear = connection.prepareStatement(CLEAR_JSON)) {
+                for (int i = 0; i < ids.size(); i++) {
+                    List<String[]> rowRules = rules.get(i);
+                    for (int r = 0; r < rowRules.size(); r++) {
+                        insert.setLong(1, ids.get(i));
+                        insert.setInt(2, r);
+                        insert.setString(3, rowRules.get(r)[0]);
+                        insert.setString(4, rowRules.get(r)[1]);
+                        insert.addBatch();
+                    }
+                    clear.setLong(1, ids.get(i));
+                    clear.addBatch();
+                }
+                insert.executeBatch();
+                clear.executeBatch();
+            }
+            moved += ids.size();
+        }
+    }
+
+    /** (ruleId, status) pairs, or null when the JSON cannot be stored as rows. */
+    private static List<String[]> parse(String json) {
+        JsonNode array;
+        try {
+            array = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (array == null || !array.isArray() || array.isEmpty()) {
+            return null;
+        }
+        List<String[]> rules = new ArrayList<>(array.size());
+        for (JsonNode rule : array) {
+            JsonNode ruleId = rule.get("ruleId");
+            JsonNode status = rule.get("status");
+            if (ruleId == null || !ruleId.isTextual() || ruleId.asText().length() > MAX_RULE_ID
+                    || status == null || !status.isTextual() || status.asText().length() > MAX_STATUS) {
+                return null;
+            }
+            rules.add(new String[] { ruleId.asText(), status.asText() });
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,4 @@
+-- Keyset pagination on (created_at, id): GET /api/ai/responses (newest first), evidence export and
+-- batch verify (oldest first). The composite index serves both directions without a sort on ties.
+
+CREATE INDEX idx_ai_response_created_at_id ON ai_response (created_at, id);
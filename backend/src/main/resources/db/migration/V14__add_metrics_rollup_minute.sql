@@ -0,0 +1,15 @@
+-- Analytics events counted per event and minute. MetricsService counts events in memory and adds the
+-- counts here on a schedule, instead of inserting one metrics_event row per event.
+-- Existing metrics_event rows are rolled up once; the table is kept but no longer written.
+
+CREATE TABLE metrics_rollup_minute (
+    bucket_start  TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_name    VARCHAR(64) NOT NULL,
+    event_count   BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, event_name)
+);
+
+INSERT INTO metrics_rollup_minute (bucket_start, event_name, event_count)
+SELECT DATE_TRUNC('MINUTE', created_at), event_name, COUNT(*)
+FROM metrics_event
+GROUP BY DATE_TRUNC('MINUTE', created_at), event_name;
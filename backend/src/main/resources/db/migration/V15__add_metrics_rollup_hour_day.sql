@@ -0,0 +1,17 @@
+-- Hourly and daily event counts for GET /api/metrics/timeseries, rolled up from metrics_rollup_minute
+-- (hour) and metrics_rollup_hour (day) by MetricsRollupJob. Buckets are UTC. The job fills both tables
+-- from existing rows on its first run.
+
+CREATE TABLE metrics_rollup_hour (
+    bucket_start  TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_name    VARCHAR(64) NOT NULL,
+    event_count   BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, event_name)
+);
+
+CREATE TABLE metrics_rollup_day (
+    bucket_start  TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_name    VARCHAR(64) NOT NULL,
+    event_count   BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, event_name)
+);
@@ -0,0 +1,23 @@
+-- Re-evaluation of stored records against a policy rule set (PolicyReevaluationJob): results per rule set
+-- (id@version) and record, next to the coverage stored on ai_response at save time, which is not changed.
+-- No foreign key to ai_response: its key is (id, created_at) on PostgreSQL, and archived records keep their rows.
+
+CREATE TABLE policy_evaluation (
+    rule_set                VARCHAR(128) NOT NULL,
+    response_id             BIGINT NOT NULL,
+    policy_coverage         DOUBLE PRECISION NOT NULL,
+    policy_rules_evaluated  TEXT NOT NULL,
+    evaluated_at            TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (rule_set, response_id)
+);
+
+-- One row per rule set: records up to last_id are evaluated; a restart resumes after it.
+CREATE TABLE policy_reevaluation (
+    rule_set     VARCHAR(128) PRIMARY KEY,
+    status       VARCHAR(16) NOT NULL,
+    last_id      BIGINT NOT NULL,
+    evaluated    BIGINT NOT NULL,
+    started_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    finished_at  TIMESTAMP WITH TIME ZONE
+);
@@ -0,0 +1,4 @@
+-- Batch TSA: when one RFC 3161 token covers a Merkle root over many records, each record stores
+-- its inclusion proof (text, see MerkleTree.Proof). Null when the token was issued for this record alone.
+
+ALTER TABLE ai_response ADD COLUMN tsa_merkle_proof TEXT;
@@ -0,0 +1,6 @@
+-- Async ask pipeline: evidence status (PENDING_TIMESTAMP, COMPLETE, FAILED).
+-- Existing rows were fully processed on the request thread, so they default to COMPLETE.
+
+ALTER TABLE ai_response ADD COLUMN status VARCHAR(32) DEFAULT 'COMPLETE' NOT NULL;
+
+CREATE INDEX idx_ai_response_status ON ai_response (status);
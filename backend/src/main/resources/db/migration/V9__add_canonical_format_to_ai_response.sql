@@ -0,0 +1,7 @@
+-- Signed payload format per record (RESPONSE, RESPONSE_CLAIM, RESPONSE_CLAIM_LEGACY, UNVERIFIABLE).
+-- New rows get it on insert; existing rows stay NULL until CanonicalFormatMigration classifies them
+-- in the background after startup.
+
+ALTER TABLE ai_response ADD COLUMN canonical_format VARCHAR(32);
+
+CREATE INDEX idx_ai_response_canonical_format ON ai_response (canonical_format);
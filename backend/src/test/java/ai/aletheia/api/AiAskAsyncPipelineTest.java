@@ -0,0 +1,79 @@
+package ai.aletheia.api;
+
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
+import ai.aletheia.policy.PolicyRuleResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Async ask pipeline: /ask returns with hash and signature, then TSA and policy evaluation
+ * complete the record in the background and /verify reports COMPLETE.
+ */
+@SpringBootTest(properties = "ai.aletheia.ask.async.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AiAskAsyncPipelineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ask_returnsBeforeTimestamp_andRecordIsCompletedInBackground() throws Exception {
+        String json = mockMvc.perform(post("/api/ai/ask")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prompt\":\"hello\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responseHash").isString())
+                .andExpect(jsonPath("$.signature").isString())
+                .andExpect(jsonPath("$.status").value("PENDING_TIMESTAMP"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode body = objectMapper.readTree(json);
+        assertThat(body.get("tsaToken").isNull()).isTrue();
+        long id = body.get("id").asLong();
+
+        AiResponse completed = awaitStatusChange(id);
+        assertThat(completed.getStatus()).isEqualTo(EvidenceStatus.COMPLETE);
+        assertThat(completed.getTsaToken()).isNotBlank();
+        assertThat(completed.getPolicyRules()).extracting(PolicyRuleResult::ruleId).contains("R1");
+
+        mockMvc.perform(get("/api/ai/verify/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETE"))
+                .andExpect(jsonPath("$.tsaToken").isString())
+                .andExpect(jsonPath("$.signatureValid").value("valid"));
+    }
+
+    private AiResponse awaitStatusChange(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            AiResponse r = repository.findById(id).orElseThrow();
+            if (r.getStatus() != EvidenceStatus.PENDING_TIMESTAMP) {
+                return r;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Record " + id + " still PENDING_TIMESTAMP after 10s");
+    }
+}
@@ -3,17 +3,23 @@ package ai.aletheia.api;
 import ai.aletheia.db.AiResponseRepository;
 import ai.aletheia.db.entity.AiResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -70,4 +76,91 @@ class AiAskControllerTest {
                         .content("{\"prompt\":\"\"}"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void askStream_sendsChunksThenDone_hashMatchesAsk() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/ai/ask/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prompt\":\"hello\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> events = new ArrayList<>();
+        List<String> data = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("event:")) {
+                events.add(line.substring("event:".length()).trim());
+            } else if (line.startsWith("data:")) {
+                data.add(line.substring("data:".length()));
+            }
+        }
+        assertThat(events).hasSizeGreaterThan(2);
+        assertThat(events.get(events.size() - 1)).isEqualTo("done");
+        assertThat(events.subList(0, events.size() - 1)).containsOnly("chunk");
+        StringBuilder streamedText = new StringBuilder();
+        for (String chunk : data.subList(0, data.size() - 1)) {
+            streamedText.append(objectMapper.readTree(chunk).get("text").asText());
+        }
+        assertThat(streamedText.toString()).isEqualTo("Hello! How can I help you?");
+
+        var done = objectMapper.readTree(data.get(data.size() - 1));
+        assertThat(done.get("signature").asText()).isNotBlank();
+        assertThat(done.get("tsaToken").asText()).isNotBlank();
+        assertThat(done.get("status").asText()).isEqualTo("COMPLETE");
+
+        String askJson = mockMvc.perform(post("/api/ai/ask")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prompt\":\"hello\"}"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(done.get("responseHash").asText())
+                .isEqualTo(objectMapper.readTree(askJson).get("responseHash").asText());
+
+        Optional<AiResponse> saved = repository.findById(done.get("id").asLong());
+        assertThat(saved).isPresent();
+        assertThat(saved.get().getResponseHash()).isEqualTo(done.get("responseHash").asText());
+    }
+
+    @Test
+    void askStream_emptyPrompt_returns400() throws Exception {
+        mockMvc.perform(post("/api/ai/ask/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"prompt\":\"\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    @ActiveProfiles("test")
+    @TestPropertySource(properties = {
+            "ai.aletheia.ask.stream.max-concurrent=1",
+            "ai.aletheia.test.mock-llm-delay-ms=1000"
+    })
+    class StreamLimit {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        void askStream_beyondMaxConcurrent_returns503() throws Exception {
+            MvcResult first = mockMvc.perform(post("/api/ai/ask/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"prompt\":\"hello\"}"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(post("/api/ai/ask/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"prompt\":\"hello\"}"))
+                    .andExpect(status().isServiceUnavailable());
+
+            assertThat(mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).contains("event:done");
+        }
+    }
 }
@@ -2,6 +2,7 @@ package ai.aletheia.api;
 
 import ai.aletheia.db.AiResponseRepository;
 import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -10,17 +11,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
- * Integration test for GET /api/ai/evidence/:id.
- * Verifies: 200 with ZIP or JSON (format=json); 404 for unknown id; 503 when signing key not configured is not tested here (key is set in test profile).
+ * Integration test for GET /api/ai/evidence/:id and GET /api/ai/evidence/export.
+ * Verifies: 200 with ZIP or JSON (format=json); 404 for unknown id; 503 when signing key not configured is not tested here (key is set in test profile);
+ * export archive order and manifest; 400 for a missing or reversed range; cached ZIP with ETag and 304.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -105,4 +117,150 @@ class AiEvidenceControllerTest {
                 .andExpect(jsonPath("$.error").value("Record not found"))
                 .andExpect(jsonPath("$.details").value(999999));
     }
+
+    @Test
+    void evidence_zipEntriesMatchJsonFormat_signatureStored() throws Exception {
+        AiResponse entity = new AiResponse("Q", "  Line one  \r\n\n\n\u00e9t\u00e9 caf\u0065\u0301\n", "d".repeat(64));
+        entity.setSignature(Base64.getEncoder().encodeToString(new byte[] { 9, 8, 7 }));
+        entity.setTsaToken(Base64.getEncoder().encodeToString(new byte[] { 6, 5 }));
+        entity.setLlmModel("m");
+        entity.setClaim("A claim");
+        entity.setConfidence(0.75);
+        entity.setPolicyVersion("2026-01");
+        AiResponse saved = repository.save(entity);
+
+        byte[] zip = mockMvc.perform(get("/api/ai/evidence/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode json = new ObjectMapper().readTree(mockMvc.perform(get("/api/ai/evidence/" + saved.getId()).param("format", "json"))
+                .andReturn().getResponse().getContentAsString());
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        Map<String, Integer> methods = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry e;
+            while ((e = zis.getNextEntry()) != null) {
+                entries.put(e.getName(), zis.readAllBytes());
+                methods.put(e.getName(), e.getMethod());
+            }
+        }
+        List<String> jsonNames = new ArrayList<>();
+        json.fieldNames().forEachRemaining(jsonNames::add);
+        assertThat(entries.keySet()).containsExactlyElementsOf(jsonNames);
+        for (String name : jsonNames) {
+            if (name.equals("metadata.json")) {
+                continue;
+            }
+            assertThat(entries.get(name)).as(name).isEqualTo(Base64.getDecoder().decode(json.get(name).asText()));
+        }
+        assertThat(methods.get("signature.sig")).isEqualTo(ZipEntry.STORED);
+        assertThat(methods.get("hash.sha256")).isEqualTo(ZipEntry.STORED);
+        assertThat(methods.get("canonical.bin")).isEqualTo(ZipEntry.DEFLATED);
+    }
+
+    @Test
+    void export_range_streamsArchiveWithPackagesAndManifest() throws Exception {
+        Instant at = Instant.parse("1997-07-07T00:00:00Z");
+        AiResponse first = new AiResponse("Q", "first\n", "f".repeat(64));
+        first.setCreatedAt(at);
+        first = repository.save(first);
+        AiResponse second = new AiResponse("Q", "second\n", "f".repeat(64));
+        second.setCreatedAt(at.plusSeconds(1));
+        second = repository.save(second);
+
+        MvcResult started = mockMvc.perform(get("/api/ai/evidence/export")
+                        .param("from", at.toString())
+                        .param("to", at.plusSeconds(2).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] zip = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType("application/zip")))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString(".zip")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> names = new ArrayList<>();
+        byte[] manifest = null;
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry e;
+            while ((e = zis.getNextEntry()) != null) {
+                names.add(e.getName());
+                byte[] content = zis.readAllBytes();
+                if (e.getName().equals("manifest.json")) {
+                    manifest = content;
+                }
+            }
+        }
+        assertThat(names).containsExactly(
+                "aletheia-evidence-" + first.getId() + ".aep",
+                "aletheia-evidence-" + second.getId() + ".aep",
+                "manifest.json");
+        JsonNode json = new ObjectMapper().readTree(manifest);
+        assertThat(json.get("total").asLong()).isEqualTo(2);
+        assertThat(json.get("packages").get(1).get("id").asLong()).isEqualTo(second.getId());
+        assertThat(json.get("packages").get(1).get("sha256").asText()).hasSize(64);
+    }
+
+    @Test
+    void export_missingOrReversedRange_returns400() throws Exception {
+        MvcResult missing = mockMvc.perform(get("/api/ai/evidence/export").param("from", "2001-01-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(missing))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid export request"));
+        MvcResult reversed = mockMvc.perform(get("/api/ai/evidence/export")
+                        .param("from", "2002-01-01T00:00:00Z")
+                        .param("to", "2001-01-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(reversed))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("'from' must be before 'to'"));
+    }
+
+    @Test
+    void evidence_completeRecord_cachedWithEtag_ifNoneMatchGives304() throws Exception {
+        AiResponse entity = new AiResponse("Q", "cache me\n", "c".repeat(64));
+        entity.setSignature(Base64.getEncoder().encodeToString(new byte[] { 3, 1, 4 }));
+        entity.setStatus(EvidenceStatus.COMPLETE);
+        AiResponse saved = repository.save(entity);
+        long hitsBefore = cacheStats().get("hits").asLong();
+
+        MvcResult first = mockMvc.perform(get("/api/ai/evidence/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        byte[] body = first.getResponse().getContentAsByteArray();
+
+        byte[] again = mockMvc.perform(get("/api/ai/evidence/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(again).isEqualTo(body);
+
+        mockMvc.perform(get("/api/ai/evidence/" + saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        assertThat(cacheStats().get("hits").asLong()).isGreaterThanOrEqualTo(hitsBefore + 2);
+    }
+
+    @Test
+    void evidence_pendingRecord_streamedWithoutEtag() throws Exception {
+        AiResponse entity = new AiResponse("Q", "not final\n", "c".repeat(64));
+        entity.setStatus(EvidenceStatus.PENDING_TIMESTAMP);
+        AiResponse saved = repository.save(entity);
+
+        mockMvc.perform(get("/api/ai/evidence/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    private JsonNode cacheStats() throws Exception {
+        return new ObjectMapper().readTree(mockMvc.perform(get("/api/ai/evidence/cache/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
 }
@@ -0,0 +1,96 @@
+package ai.aletheia.api;
+
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AiResponseListControllerTest {
+
+    private static final String FROM = "2002-03-04T00:00:00Z";
+    private static final String TO = "2002-03-04T00:01:00Z";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void list_pagesNewestFirstWithCursor_withoutTextColumns() throws Exception {
+        Instant base = Instant.parse(FROM);
+        List<Long> newestFirst = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AiResponse entity = new AiResponse("Q" + i, "A" + i, "h".repeat(64));
+            entity.setLlmModel("gpt-4");
+            entity.setSignature(i % 2 == 0 ? "sig" : null);
+            // Two records per second: ties on created_at are ordered by id
+            entity.setCreatedAt(base.plusSeconds(i / 2));
+            newestFirst.add(0, repository.save(entity).getId());
+        }
+        AiResponse outside = new AiResponse("Q", "A", "h".repeat(64));
+        outside.setCreatedAt(Instant.parse(TO));
+        repository.save(outside);
+
+        JsonNode first = list("?limit=3&from=" + FROM + "&to=" + TO);
+        assertThat(ids(first)).containsExactlyElementsOf(newestFirst.subList(0, 3));
+        assertThat(first.get("nextCursor").isTextual()).isTrue();
+        JsonNode item = first.get("items").get(0);
+        assertThat(item.get("responseHash").asText()).isEqualTo("h".repeat(64));
+        assertThat(item.get("llmModel").asText()).isEqualTo("gpt-4");
+        assertThat(item.get("signed").asBoolean()).isFalse();
+        assertThat(first.get("items").get(1).get("signed").asBoolean()).isTrue();
+        assertThat(item.has("prompt")).isFalse();
+        assertThat(item.has("response")).isFalse();
+
+        JsonNode second = list("?limit=3&from=" + FROM + "&to=" + TO + "&cursor=" + first.get("nextCursor").asText());
+        assertThat(ids(second)).containsExactly(newestFirst.get(3));
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void list_invalidParameters_returns400() throws Exception {
+        mockMvc.perform(get("/api/ai/responses?limit=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid list request"));
+        mockMvc.perform(get("/api/ai/responses?limit=" + (AiResponseListController.MAX_LIMIT + 1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/ai/responses?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        mockMvc.perform(get("/api/ai/responses?from=" + TO + "&to=" + FROM))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode list(String query) throws Exception {
+        String body = mockMvc.perform(get("/api/ai/responses" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(n -> ids.add(n.get("id").asLong()));
+        return ids;
+    }
+}
@@ -1,15 +1,28 @@
 package ai.aletheia.api;
 
+import ai.aletheia.crypto.CanonicalizationService;
+import ai.aletheia.crypto.HashService;
+import ai.aletheia.crypto.SignatureService;
 import ai.aletheia.db.AiResponseRepository;
 import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -22,6 +35,18 @@ class AiVerifyControllerTest {
     @Autowired
     private AiResponseRepository repository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CanonicalizationService canonicalizationService;
+
+    @Autowired
+    private HashService hashService;
+
+    @Autowired
+    private SignatureService signatureService;
+
     @Test
     void verify_existingId_returnsRecord() throws Exception {
         AiResponse entity = new AiResponse("Q", "A", "hash123");
@@ -95,4 +120,101 @@ class AiVerifyControllerTest {
                 .andExpect(jsonPath("$.error").value("Record not found"))
                 .andExpect(jsonPath("$.details").value(999999));
     }
+
+    @Test
+    void verifyBatch_ids_streamsOneLinePerIdInOrderThenSummary() throws Exception {
+        long first = saveSigned("batch one");
+        long second = saveSigned("batch two");
+        AiResponse tampered = repository.save(new AiResponse("Q", "A", "0".repeat(64)));
+
+        List<JsonNode> lines = verifyBatch("{\"ids\":[" + second + ",999999," + first + "," + tampered.getId() + "," + second + "]}");
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(second);
+        assertThat(lines.get(0).get("hashMatch").asBoolean()).isTrue();
+        assertThat(lines.get(0).get("signatureValid").asText()).isEqualTo("valid");
+        assertThat(lines.get(0).get("pqcValid").asText()).isEqualTo("n_a");
+        assertThat(lines.get(0).has("error")).isFalse();
+        assertThat(lines.get(1).get("id").asLong()).isEqualTo(999999);
+        assertThat(lines.get(1).get("error").asText()).isEqualTo("not_found");
+        assertThat(lines.get(2).get("id").asLong()).isEqualTo(first);
+        assertThat(lines.get(2).get("hashMatch").asBoolean()).isTrue();
+        assertThat(lines.get(3).get("hashMatch").asBoolean()).isFalse();
+        assertThat(lines.get(3).get("signatureValid").asText()).isEqualTo("n_a");
+
+        JsonNode summary = lines.get(4).get("summary");
+        assertThat(summary.get("total").asLong()).isEqualTo(4);
+        assertThat(summary.get("hashMatch").asLong()).isEqualTo(2);
+        assertThat(summary.get("hashMismatch").asLong()).isEqualTo(1);
+        assertThat(summary.get("notFound").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyBatch_range_returnsRecordsInCreatedAtOrder() throws Exception {
+        Instant base = Instant.parse("2001-02-03T00:00:00Z");
+        List<Long> expected = new ArrayList<>();
+        for (int i = 2; i >= 0; i--) {
+            AiResponse entity = new AiResponse("Q" + i, "A" + i, "h".repeat(64));
+            entity.setCreatedAt(base.plusSeconds(i));
+            expected.add(0, repository.save(entity).getId());
+        }
+        AiResponse outside = new AiResponse("Q", "A", "h".repeat(64));
+        outside.setCreatedAt(base.plusSeconds(3));
+        repository.save(outside);
+
+        List<JsonNode> lines = verifyBatch("{\"from\":\"2001-02-03T00:00:00Z\",\"to\":\"2001-02-03T00:00:03Z\"}");
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.subList(0, 3)).extracting(n -> n.get("id").asLong()).containsExactlyElementsOf(expected);
+        assertThat(lines.get(0).get("createdAt").asText()).isEqualTo("2001-02-03T00:00:00Z");
+        assertThat(lines.get(3).get("summary").get("total").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void verifyBatch_idsAndRange_returns400() throws Exception {
+        mockMvc.perform(asyncDispatch(postBatch(
+                        "{\"ids\":[1],\"from\":\"2001-01-01T00:00:00Z\",\"to\":\"2002-01-01T00:00:00Z\"}")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid batch request"));
+    }
+
+    @Test
+    void verifyBatch_emptyOrReversedRange_returns400() throws Exception {
+        mockMvc.perform(asyncDispatch(postBatch("{}")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(asyncDispatch(postBatch("{\"from\":\"2002-01-01T00:00:00Z\",\"to\":\"2001-01-01T00:00:00Z\"}")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("'from' must be before 'to'"));
+    }
+
+    /** Record whose hash and RSA signature were produced like /ask does (response only, no claim). */
+    private long saveSigned(String response) {
+        String hash = hashService.hash(canonicalizationService.canonicalize(response));
+        AiResponse entity = new AiResponse("Q", response, hash);
+        entity.setSignature(signatureService.sign(hash));
+        return repository.save(entity).getId();
+    }
+
+    /** The body is always streamed (also for 400), so results need an async dispatch. */
+    private MvcResult postBatch(String json) throws Exception {
+        return mockMvc.perform(post("/api/ai/verify/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private List<JsonNode> verifyBatch(String json) throws Exception {
+        String body = mockMvc.perform(asyncDispatch(postBatch(json)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
 }
@@ -0,0 +1,156 @@
+package ai.aletheia.api;
+
+import ai.aletheia.crypto.TimestampException;
+import ai.aletheia.crypto.TimestampService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for the /ask execution model: fires {@value #REQUESTS} concurrent requests against a
+ * stub LLM and stub TSA that each block for a fixed time (like a slow HTTP call), and records how many
+ * requests were inside the TSA step at once.
+ *
+ * <p>With platform threads, in-flight requests are capped by {@code server.tomcat.threads.max}
+ * ({@value #TOMCAT_MAX_THREADS} here). With {@code spring.threads.virtual.enabled=true}, blocked
+ * requests park their virtual thread and the cap disappears.
+ */
+class AskConcurrencyLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AskConcurrencyLoadTest.class);
+
+    static final int TOMCAT_MAX_THREADS = 8;
+    static final int REQUESTS = 48;
+    static final long STUB_DELAY_MS = 300;
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @Import(StubTsaConfig.class)
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=false",
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "ai.aletheia.test.mock-llm-delay-ms=" + STUB_DELAY_MS
+    })
+    class PlatformThreads {
+
+        @LocalServerPort
+        int port;
+
+        @org.springframework.beans.factory.annotation.Autowired
+        InFlightRecordingTsa tsa;
+
+        @Test
+        void inFlightRequests_areCappedByTomcatThreadPool() throws Exception {
+            int maxInFlight = runLoad(port, tsa, "platform");
+            assertThat(maxInFlight).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @Import(StubTsaConfig.class)
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=true",
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "ai.aletheia.test.mock-llm-delay-ms=" + STUB_DELAY_MS
+    })
+    class VirtualThreads {
+
+        @LocalServerPort
+        int port;
+
+        @org.springframework.beans.factory.annotation.Autowired
+        InFlightRecordingTsa tsa;
+
+        @Test
+        void inFlightRequests_exceedTomcatThreadPool() throws Exception {
+            int maxInFlight = runLoad(port, tsa, "virtual");
+            assertThat(maxInFlight).isGreaterThan(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    static int runLoad(int port, InFlightRecordingTsa tsa, String mode) {
+        tsa.reset();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/api/ai/ask"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"prompt\":\"hello\"}"))
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> f : futures) {
+            assertThat(f.join().statusCode()).isEqualTo(200);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("/ask load [{}]: requests={}, maxInFlight={}, elapsedMs={}, req/s={}",
+                mode, REQUESTS, tsa.maxInFlight(), elapsedMs, REQUESTS * 1000L / Math.max(1, elapsedMs));
+        return tsa.maxInFlight();
+    }
+
+    /** Stub TSA: blocks like an HTTP round trip and records peak concurrency. */
+    static class InFlightRecordingTsa implements TimestampService {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public byte[] timestamp(byte[] dataToTimestamp) {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(STUB_DELAY_MS);
+                return new byte[] { 0x30, 0x00 };
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimestampException("Stub TSA interrupted", e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        int maxInFlight() {
+            return maxInFlight.get();
+        }
+
+        void reset() {
+            maxInFlight.set(0);
+        }
+    }
+
+    @TestConfiguration
+    static class StubTsaConfig {
+
+        @Bean
+        @Primary
+        InFlightRecordingTsa inFlightRecordingTsa() {
+            return new InFlightRecordingTsa();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ai.aletheia.audit;
 
 import ai.aletheia.audit.dto.AuditRecordRequest;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -15,6 +18,9 @@ class AuditRecordServiceTest {
     @Autowired
     private AuditRecordService service;
 
+    @Autowired
+    private AiResponseRepository repository;
+
     @Test
     void save_returnsIdAndPersistsAllFields() {
         AuditRecordRequest request = new AuditRecordRequest(
@@ -45,4 +51,19 @@ class AuditRecordServiceTest {
         Long id = service.save(request);
         assertThat(id).isNotNull();
     }
+
+    @Test
+    void save_storesCanonicalFormatOfRequest_notOfDefaultPolicyVersion() {
+        Long plain = service.save(AuditRecordRequest.of("Hi", "Hello!", "abc123"));
+        Long withClaim = service.save(new AuditRecordRequest(
+                "Q", "A", "def456", null, null, null, null, "gpt-4", null, null, null, 1,
+                "Complies with Art. 12", 0.9, "gdpr-2024", null));
+
+        AiResponse plainEntity = repository.findById(plain).orElseThrow();
+        // Policy evaluation fills in a policy version, but the hash was computed over the response only
+        assertThat(plainEntity.getPolicyVersion()).isNotNull();
+        assertThat(plainEntity.getCanonicalFormat()).isEqualTo(CanonicalFormat.RESPONSE);
+        assertThat(repository.findById(withClaim).orElseThrow().getCanonicalFormat())
+                .isEqualTo(CanonicalFormat.RESPONSE_CLAIM);
+    }
 }
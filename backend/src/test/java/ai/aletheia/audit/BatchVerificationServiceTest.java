@@ -0,0 +1,115 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.BatchVerifySummary;
+import ai.aletheia.config.VerifyBatchProperties;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paging of {@link BatchVerificationService} with a tiny page size: keyset continuation across equal
+ * created_at values, short last page, id chunks in request order.
+ */
+@SpringBootTest
+class BatchVerificationServiceTest {
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private RecordVerificationService recordVerificationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private BatchVerificationService service;
+
+    @BeforeEach
+    void setUp() {
+        VerifyBatchProperties props = new VerifyBatchProperties();
+        props.setPageSize(2);
+        props.setParallelism(2);
+        service = new BatchVerificationService(repository, recordVerificationService, entityManager, objectMapper, props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void verifyRange_pagesAcrossEqualTimestamps_noGapsOrDuplicates() throws Exception {
+        Instant at = Instant.parse("1999-05-05T00:00:00Z");
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            AiResponse entity = new AiResponse("Q" + i, "A" + i, "h".repeat(64));
+            entity.setCreatedAt(i < 3 ? at : at.plusMillis(1));
+            expected.add(repository.save(entity).getId());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchVerifySummary summary = service.verifyRange(at, at.plusSeconds(1), out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines).hasSize(6);
+        assertThat(lines.subList(0, 5)).extracting(n -> n.get("id").asLong()).containsExactlyElementsOf(expected);
+        assertThat(summary.total()).isEqualTo(5);
+        assertThat(summary.hashMismatch()).isEqualTo(5);
+        assertThat(lines.get(5).get("summary").get("total").asLong()).isEqualTo(5);
+    }
+
+    @Test
+    void verifyRange_emptyRange_writesOnlySummary() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Instant from = Instant.parse("1970-01-02T00:00:00Z");
+        BatchVerifySummary summary = service.verifyRange(from, from.plusSeconds(1), out);
+
+        assertThat(summary.total()).isZero();
+        assertThat(lines(out)).hasSize(1);
+    }
+
+    @Test
+    void verifyIds_keepsRequestOrderAcrossChunksAndDropsDuplicates() throws Exception {
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            saved.add(repository.save(new AiResponse("Q" + i, "A" + i, "h".repeat(64))).getId());
+        }
+        List<Long> requested = List.of(saved.get(2), -1L, saved.get(0), saved.get(2), saved.get(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchVerifySummary summary = service.verifyIds(requested, out);
+
+        List<JsonNode> lines = lines(out);
+        assertThat(lines.subList(0, 4)).extracting(n -> n.get("id").asLong())
+                .containsExactly(saved.get(2), -1L, saved.get(0), saved.get(1));
+        assertThat(lines.get(1).get("error").asText()).isEqualTo("not_found");
+        assertThat(summary.total()).isEqualTo(4);
+        assertThat(summary.notFound()).isEqualTo(1);
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,92 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.crypto.HashService;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.evidence.EvidencePackageServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link CanonicalFormatMigration} on rows saved without a canonical format: each is classified by the
+ * format that reproduces its hash, and verify and evidence then agree on the signed payload.
+ */
+@SpringBootTest
+class CanonicalFormatMigrationTest {
+
+    private static final String PEM = "-----BEGIN PUBLIC KEY-----\ntest\n-----END PUBLIC KEY-----\n";
+
+    @Autowired
+    private CanonicalFormatMigration migration;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private SignedPayloadService signedPayloadService;
+
+    @Autowired
+    private HashService hashService;
+
+    @Autowired
+    private RecordVerificationService recordVerificationService;
+
+    @Autowired
+    private RecordEvidenceService recordEvidenceService;
+
+    @Test
+    void migrate_classifiesEachVariant_verifyAndEvidenceUseSamePayload() {
+        Long plain = saveHashedAs("plain answer", null, null, CanonicalFormat.RESPONSE);
+        Long claim = saveHashedAs("claim answer", "Complies", "gdpr-2024", CanonicalFormat.RESPONSE_CLAIM);
+        Long legacy = saveHashedAs("legacy answer", "Complies", "gdpr-2024", CanonicalFormat.RESPONSE_CLAIM_LEGACY);
+        Long claimNotHashed = saveHashedAs("claim not hashed", "Complies", "gdpr-2024", CanonicalFormat.RESPONSE);
+        // Default policy version set by policy evaluation after a response-only hash
+        Long policyOnly = saveHashedAs("policy only", null, "demo-1", CanonicalFormat.RESPONSE);
+        Long tampered = saveHashedAs("original answer", null, null, CanonicalFormat.RESPONSE);
+        AiResponse changed = repository.findById(tampered).orElseThrow();
+        changed.setResponse("changed answer");
+        repository.save(changed);
+
+        migration.migrate();
+
+        assertFormat(plain, CanonicalFormat.RESPONSE, true);
+        assertFormat(claim, CanonicalFormat.RESPONSE_CLAIM, true);
+        assertFormat(legacy, CanonicalFormat.RESPONSE_CLAIM_LEGACY, true);
+        assertFormat(claimNotHashed, CanonicalFormat.RESPONSE, true);
+        assertFormat(policyOnly, CanonicalFormat.RESPONSE, true);
+        assertFormat(tampered, CanonicalFormat.UNVERIFIABLE, false);
+    }
+
+    @Test
+    void migrate_secondRun_updatesNothing() {
+        saveHashedAs("once", null, null, CanonicalFormat.RESPONSE);
+        migration.migrate();
+
+        assertThat(migration.migrate()).isEmpty();
+    }
+
+    /** Saves a record without canonical format whose hash is over the payload in {@code hashedAs}. */
+    private Long saveHashedAs(String response, String claim, String policyVersion, CanonicalFormat hashedAs) {
+        AiResponse e = new AiResponse("prompt", response, "placeholder");
+        e.setClaim(claim);
+        // Legacy and current claim formats differ in confidence ("0.25" vs "0.250000")
+        e.setConfidence(claim != null ? 0.25 : null);
+        e.setPolicyVersion(policyVersion);
+        e.setLlmModel("gpt-4");
+        e.setResponseHash(hashService.hash(signedPayloadService.payload(e, hashedAs)));
+        return repository.save(e).getId();
+    }
+
+    private void assertFormat(Long id, CanonicalFormat expected, boolean verifiable) {
+        AiResponse e = repository.findById(id).orElseThrow();
+        assertThat(e.getCanonicalFormat()).as("format of id=%s", id).isEqualTo(expected);
+        assertThat(recordVerificationService.check(e).hashMatch()).as("hash match of id=%s", id).isEqualTo(verifiable);
+        byte[] canonicalBin = recordEvidenceService.files(e, PEM).get(EvidencePackageServiceImpl.CANONICAL_BIN);
+        assertThat(hashService.hash(canonicalBin).equalsIgnoreCase(e.getResponseHash()))
+                .as("canonical.bin of id=%s matches hash.sha256", id).isEqualTo(verifiable);
+    }
+}
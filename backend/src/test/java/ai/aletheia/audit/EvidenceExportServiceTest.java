@@ -0,0 +1,158 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.EvidenceExportManifest;
+import ai.aletheia.config.EvidenceExportProperties;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link EvidenceExportService} with a tiny page size and in-flight window: archive order across pages and
+ * equal created_at values, manifest hashes, STORED packages identical to the single download, failed records.
+ */
+@SpringBootTest
+class EvidenceExportServiceTest {
+
+    private static final String PEM = "-----BEGIN PUBLIC KEY-----\ntest\n-----END PUBLIC KEY-----\n";
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private RecordEvidenceService recordEvidenceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private EvidenceExportService service;
+
+    @BeforeEach
+    void setUp() {
+        EvidenceExportProperties props = new EvidenceExportProperties();
+        props.setPageSize(2);
+        props.setParallelism(2);
+        props.setMaxInFlight(3);
+        service = new EvidenceExportService(repository, recordEvidenceService, entityManager, objectMapper, props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void export_packagesInOrder_manifestHashesMatchStoredEntries() throws Exception {
+        Instant at = Instant.parse("1998-03-03T00:00:00Z");
+        List<AiResponse> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            AiResponse entity = new AiResponse("Q" + i, "Answer " + i + "\n", "e".repeat(64));
+            entity.setSignature(Base64.getEncoder().encodeToString(new byte[] { (byte) i }));
+            entity.setCreatedAt(i < 3 ? at : at.plusMillis(1));
+            saved.add(repository.save(entity));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EvidenceExportManifest manifest = service.export(at, at.plusSeconds(1), PEM, out);
+
+        Map<String, Integer> methods = new LinkedHashMap<>();
+        Map<String, byte[]> entries = unzip(out.toByteArray(), methods);
+        List<String> expectedNames = new ArrayList<>();
+        saved.forEach(e -> expectedNames.add(EvidenceExportService.packageFileName(e.getId())));
+        expectedNames.add(EvidenceExportService.MANIFEST_JSON);
+        assertThat(entries.keySet()).containsExactlyElementsOf(expectedNames);
+
+        assertThat(manifest.total()).isEqualTo(5);
+        assertThat(manifest.failed()).isZero();
+        JsonNode json = objectMapper.readTree(entries.get(EvidenceExportService.MANIFEST_JSON));
+        assertThat(json.get("packages")).hasSize(5);
+        for (int i = 0; i < 5; i++) {
+            String name = expectedNames.get(i);
+            JsonNode item = json.get("packages").get(i);
+            assertThat(item.get("id").asLong()).isEqualTo(saved.get(i).getId());
+            assertThat(item.get("file").asText()).isEqualTo(name);
+            assertThat(item.get("size").asLong()).isEqualTo(entries.get(name).length);
+            assertThat(item.get("sha256").asText()).isEqualTo(sha256(entries.get(name)));
+            assertThat(methods.get(name)).isEqualTo(ZipEntry.STORED);
+            // Entry times inside a package are the build time, so compare contents rather than bytes
+            assertThat(unzip(entries.get(name), new LinkedHashMap<>()))
+                    .usingRecursiveComparison()
+                    .isEqualTo(unzip(recordEvidenceService.toZip(saved.get(i), PEM), new LinkedHashMap<>()));
+        }
+    }
+
+    @Test
+    void export_recordThatCannotBeBuilt_listedAsFailedWithoutPackage() throws Exception {
+        Instant at = Instant.parse("1998-04-04T00:00:00Z");
+        AiResponse good = new AiResponse("Q", "ok", "e".repeat(64));
+        good.setCreatedAt(at);
+        good = repository.save(good);
+        AiResponse broken = new AiResponse("Q", "broken", "e".repeat(64));
+        broken.setSignature("not base64!");
+        broken.setCreatedAt(at.plusMillis(1));
+        broken = repository.save(broken);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EvidenceExportManifest manifest = service.export(at, at.plusSeconds(1), PEM, out);
+
+        assertThat(manifest.total()).isEqualTo(2);
+        assertThat(manifest.failed()).isEqualTo(1);
+        assertThat(manifest.packages().get(0).file()).isEqualTo(EvidenceExportService.packageFileName(good.getId()));
+        assertThat(manifest.packages().get(1).id()).isEqualTo(broken.getId());
+        assertThat(manifest.packages().get(1).error()).isEqualTo("build_failed");
+        assertThat(manifest.packages().get(1).file()).isNull();
+    }
+
+    @Test
+    void export_emptyRange_writesOnlyManifest() throws Exception {
+        Instant from = Instant.parse("1970-01-03T00:00:00Z");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EvidenceExportManifest manifest = service.export(from, from.plusSeconds(1), PEM, out);
+
+        assertThat(manifest.total()).isZero();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(zis.getNextEntry().getName()).isEqualTo(EvidenceExportService.MANIFEST_JSON);
+            assertThat(zis.getNextEntry()).isNull();
+        }
+    }
+
+    private static Map<String, byte[]> unzip(byte[] zip, Map<String, Integer> methods) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), zis.readAllBytes());
+                methods.put(entry.getName(), entry.getMethod());
+            }
+        }
+        return entries;
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
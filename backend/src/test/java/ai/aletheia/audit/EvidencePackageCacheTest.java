@@ -0,0 +1,151 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.EvidenceCacheStats;
+import ai.aletheia.config.EvidenceCacheProperties;
+import ai.aletheia.crypto.SignatureService;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.EvidenceStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link EvidencePackageCache} with a tiny memory budget: hits, LRU eviction to the spill directory and back,
+ * key change, pending records, reproducible ETags.
+ */
+@SpringBootTest
+class EvidencePackageCacheTest {
+
+    private static final String PEM = "-----BEGIN PUBLIC KEY-----\ntest\n-----END PUBLIC KEY-----\n";
+
+    @Autowired
+    private RecordEvidenceService recordEvidenceService;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private SignatureService signatureService;
+
+    @TempDir
+    Path spillDir;
+
+    private EvidencePackageCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void build_thenGet_hitWithSha256Etag() throws Exception {
+        cache = newCache(1 << 20, "");
+        AiResponse entity = save("cached answer");
+
+        EvidencePackageCache.CachedPackage built = cache.build(entity, PEM);
+        EvidencePackageCache.CachedPackage hit = cache.get(entity.getId(), PEM);
+
+        assertThat(hit).isSameAs(built);
+        assertThat(built.etag()).isEqualTo("\"" + HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(built.zip())) + "\"");
+        EvidenceCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.entries()).isEqualTo(1);
+        assertThat(stats.bytes()).isEqualTo(built.zip().length);
+    }
+
+    @Test
+    void rebuildAfterInvalidate_sameBytesAndEtag() {
+        cache = newCache(1 << 20, "");
+        AiResponse entity = save("reproducible");
+
+        EvidencePackageCache.CachedPackage first = cache.build(entity, PEM);
+        cache.invalidate(entity.getId());
+        assertThat(cache.get(entity.getId(), PEM)).isNull();
+        EvidencePackageCache.CachedPackage second = cache.build(entity, PEM);
+
+        assertThat(second.zip()).isEqualTo(first.zip());
+        assertThat(second.etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void leastRecentlyUsedSpilledAndReadBack() throws Exception {
+        AiResponse a = save("package a");
+        AiResponse b = save("package b");
+        AiResponse c = save("package c");
+        long size = recordEvidenceService.toZip(a, PEM).length;
+        cache = newCache(2 * size + size / 2, spillDir.toString());
+
+        cache.build(a, PEM);
+        EvidencePackageCache.CachedPackage builtB = cache.build(b, PEM);
+        cache.get(a.getId(), PEM);
+        cache.build(c, PEM);
+
+        EvidenceCacheStats afterEviction = cache.stats();
+        assertThat(afterEviction.entries()).isEqualTo(2);
+        assertThat(afterEviction.evictions()).isEqualTo(1);
+        assertThat(afterEviction.spilledEntries()).isEqualTo(1);
+        assertThat(Files.exists(spillDir.resolve(b.getId() + ".aep"))).isTrue();
+
+        EvidencePackageCache.CachedPackage fromDisk = cache.get(b.getId(), PEM);
+        assertThat(fromDisk.zip()).isEqualTo(builtB.zip());
+        assertThat(fromDisk.etag()).isEqualTo(builtB.etag());
+        assertThat(cache.stats().spillHits()).isEqualTo(1);
+    }
+
+    @Test
+    void otherPublicKey_notServed() {
+        cache = newCache(1 << 20, "");
+        AiResponse entity = save("key bound");
+        cache.build(entity, PEM);
+
+        assertThat(cache.get(entity.getId(), PEM.replace("test", "rotated"))).isNull();
+    }
+
+    @Test
+    void pendingOrOversizedRecord_notCacheable() {
+        cache = newCache(1 << 20, "");
+        AiResponse pending = new AiResponse("Q", "pending", "e".repeat(64));
+        pending.setStatus(EvidenceStatus.PENDING_TIMESTAMP);
+        AiResponse large = new AiResponse("Q", "x".repeat(2 << 20), "e".repeat(64));
+
+        assertThat(cache.isCacheable(pending)).isFalse();
+        assertThat(cache.isCacheable(large)).isFalse();
+        assertThat(cache.isCacheable(new AiResponse("Q", "done", "e".repeat(64)))).isTrue();
+    }
+
+    @Test
+    void staleSpillFiles_removedAtStartup() throws Exception {
+        Path stale = Files.writeString(spillDir.resolve("42.aep"), "old");
+        cache = newCache(1 << 20, spillDir.toString());
+
+        assertThat(Files.exists(stale)).isFalse();
+    }
+
+    private EvidencePackageCache newCache(long maxBytes, String dir) {
+        EvidenceCacheProperties props = new EvidenceCacheProperties();
+        props.setMaxBytes(maxBytes);
+        props.setMaxEntryBytes(1 << 20);
+        props.setSpillDir(dir);
+        return new EvidencePackageCache(recordEvidenceService, repository, signatureService, props);
+    }
+
+    private AiResponse save(String response) {
+        AiResponse entity = new AiResponse("Q", response, "e".repeat(64));
+        entity.setStatus(EvidenceStatus.COMPLETE);
+        return repository.save(entity);
+    }
+}
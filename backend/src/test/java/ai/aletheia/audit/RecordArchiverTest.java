@@ -0,0 +1,102 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.crypto.HashService;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.db.entity.EvidenceStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link RecordArchiver#archiveMonth} on H2 (rows deleted, no partitions): the month moves to a read-only
+ * bundle and its ids still resolve through verify and evidence.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecordArchiverTest {
+
+    @Autowired
+    private RecordArchiver archiver;
+
+    @Autowired
+    private RecordArchive archive;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private SignedPayloadService signedPayloadService;
+
+    @Autowired
+    private HashService hashService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void archiveMonth_movesRecordsToBundle_idsStillVerifiable() throws Exception {
+        YearMonth month = YearMonth.of(2001, 5);
+        Long first = save("first answer", Instant.parse("2001-05-01T00:00:00Z"), EvidenceStatus.COMPLETE);
+        Long last = save("last answer", Instant.parse("2001-05-31T23:59:59Z"), EvidenceStatus.COMPLETE);
+        Long next = save("next month", Instant.parse("2001-06-01T00:00:00Z"), EvidenceStatus.COMPLETE);
+
+        assertThat(archiver.archiveMonth(month)).isEqualTo(2);
+
+        assertThat(repository.findById(first)).isEmpty();
+        assertThat(repository.findById(last)).isEmpty();
+        assertThat(repository.findById(next)).isPresent();
+        Path bundle = archive.dir().resolve(RecordArchive.bundleName(month));
+        assertThat(Files.getPosixFilePermissions(bundle)).doesNotContain(PosixFilePermission.OWNER_WRITE);
+        try (ZipFile zip = new ZipFile(bundle.toFile())) {
+            assertThat(zip.getEntry(RecordArchive.entryName(first))).isNotNull();
+            assertThat(zip.getEntry(RecordArchive.MANIFEST_ENTRY)).isNotNull();
+        }
+
+        assertThat(archive.find(last).orElseThrow().getResponse()).isEqualTo("last answer");
+        mockMvc.perform(get("/api/ai/verify/" + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response").value("first answer"))
+                .andExpect(jsonPath("$.hashMatch").value(true));
+        mockMvc.perform(get("/api/ai/evidence/" + last))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType("application/zip")));
+        mockMvc.perform(get("/api/ai/verify/" + (next + 1_000_000)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void archiveMonth_withPendingRecord_skipped() {
+        Long pending = save("pending", Instant.parse("2001-07-10T00:00:00Z"), EvidenceStatus.PENDING_TIMESTAMP);
+
+        assertThat(archiver.archiveMonth(YearMonth.of(2001, 7))).isZero();
+        assertThat(repository.findById(pending)).isPresent();
+    }
+
+    private Long save(String response, Instant createdAt, EvidenceStatus status) {
+        AiResponse e = new AiResponse("prompt", response, "placeholder");
+        e.setLlmModel("gpt-4");
+        e.setCreatedAt(createdAt);
+        e.setStatus(status);
+        e.setCanonicalFormat(CanonicalFormat.RESPONSE);
+        e.setResponseHash(hashService.hash(signedPayloadService.payload(e, CanonicalFormat.RESPONSE)));
+        return repository.save(e).getId();
+    }
+}
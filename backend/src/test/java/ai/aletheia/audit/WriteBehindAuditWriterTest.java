@@ -0,0 +1,134 @@
+package ai.aletheia.audit;
+
+import ai.aletheia.audit.dto.AuditRecordRequest;
+import ai.aletheia.config.AuditWriteBehindProperties;
+import ai.aletheia.db.AiResponseIdAllocator;
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.db.entity.CanonicalFormat;
+import ai.aletheia.db.entity.EvidenceStatus;
+import ai.aletheia.policy.PolicyRuleResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link AuditRecordService#save} through {@link WriteBehindAuditWriter}: ids from the sequence next to
+ * direct saves, batched inserts, flush-before-ack, a failing row, writes racing shutdown.
+ */
+@SpringBootTest(properties = {
+        "ai.aletheia.audit.write-behind.enabled=true",
+        "ai.aletheia.audit.write-behind.batch-size=16"
+})
+class WriteBehindAuditWriterTest {
+
+    @Autowired
+    private AuditRecordService auditRecordService;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AiResponseIdAllocator idAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void concurrentSaves_persistedBeforeAckWithIdsDistinctFromDirectSaves() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> n % 10 == 0
+                    ? repository.save(new AiResponse("direct " + n, "A", "h".repeat(64))).getId()
+                    : auditRecordService.save(new AuditRecordRequest("Q" + n, "A" + n, "h".repeat(64),
+                            null, null, null, null, "gpt-4", null, null, null, 1,
+                            "claim " + n, 0.5, "gdpr-2024"))));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<Long> f : futures) {
+            ids.add(f.get());
+        }
+        pool.shutdown();
+
+        assertThat(ids).hasSize(200);
+        Long id = futures.get(7).get();
+        AiResponse saved = repository.findById(id).orElseThrow();
+        assertThat(saved.getPrompt()).isEqualTo("Q7");
+        assertThat(saved.getResponse()).isEqualTo("A7");
+        assertThat(saved.getClaim()).isEqualTo("claim 7");
+        assertThat(saved.getConfidence()).isEqualTo(0.5);
+        assertThat(saved.getStatus()).isEqualTo(EvidenceStatus.COMPLETE);
+        assertThat(saved.getCanonicalFormat()).isEqualTo(CanonicalFormat.RESPONSE_CLAIM);
+        assertThat(saved.getPolicyRules()).extracting(PolicyRuleResult::ruleId).startsWith("R1", "R2");
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(repository.findAllById(ids)).hasSize(200);
+    }
+
+    @Test
+    void failingRecord_throwsAndLaterRecordsAreSaved() {
+        assertThatThrownBy(() -> auditRecordService.save(AuditRecordRequest.of(null, "A", "h".repeat(64))))
+                .isInstanceOf(IllegalStateException.class);
+
+        Long id = auditRecordService.save(AuditRecordRequest.of("Q", "A", "h".repeat(64)));
+        assertThat(repository.findById(id)).isPresent();
+    }
+
+    @Test
+    void writesDuringShutdown_areSavedOrFail_noneLeftWaiting() throws Exception {
+        AuditWriteBehindProperties props = new AuditWriteBehindProperties();
+        props.setBatchSize(4);
+        props.setFlushBeforeAck(true);
+        WriteBehindAuditWriter writer = new WriteBehindAuditWriter(jdbcTemplate, transactionManager, idAllocator,
+                eventPublisher, props);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> writer.write(new AiResponse("Q" + n, "A" + n, "h".repeat(64)))));
+        }
+        Thread.sleep(20);
+        writer.shutdown();
+
+        Set<Long> saved = new HashSet<>();
+        int rejected = 0;
+        for (Future<Long> f : futures) {
+            try {
+                saved.add(f.get(10, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(saved.size() + rejected).isEqualTo(400);
+        assertThat(rejected).isPositive();
+        assertThat(repository.findAllById(saved)).hasSize(saved.size());
+        assertThatThrownBy(() -> writer.write(new AiResponse("late", "A", "h".repeat(64))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package ai.aletheia.claim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ComplianceInferenceServiceTest {
+
+    private final ComplianceInferenceService service = new ComplianceInferenceService();
+
+    @Test
+    void infer_bundledDictionary_picksPolicyByPhrase() {
+        assertThat(service.infer("Does this comply with GDPR?", "Yes. It does.").policyVersion()).isEqualTo("gdpr-2024");
+        assertThat(service.infer("Is this AI Act compliant?", "Yes.").policyVersion()).isEqualTo("ai-act-2024");
+        assertThat(service.infer("Review this clause", "Fine.").policyVersion()).isEqualTo("compliance-2024");
+        assertThat(service.infer("What is 2+2?", "4")).isNull();
+        assertThat(service.infer("  ", "4")).isNull();
+
+        ComplianceClaim claim = service.infer("Is it legal?", "It is legal. More text.");
+        assertThat(claim.claim()).isEqualTo("It is legal.");
+        assertThat(claim.confidence()).isEqualTo(0.85);
+    }
+
+    @Test
+    void classify_returnsAllPoliciesWithScores_fallbackLast() {
+        List<ComplianceMatch> matches = service.classify("GDPR and the AI Act: compliance with the GDPR clause");
+
+        assertThat(matches).containsExactly(
+                new ComplianceMatch("gdpr-2024", 2),
+                new ComplianceMatch("ai-act-2024", 1),
+                new ComplianceMatch("compliance-2024", 2));
+    }
+
+    @Test
+    void classify_overlappingPhrases_allCounted() {
+        ComplianceInferenceService classic = new ComplianceInferenceService(new ComplianceDictionary(null, List.of(
+                new ComplianceDictionary.Policy("he", List.of("he")),
+                new ComplianceDictionary.Policy("she", List.of("she")),
+                new ComplianceDictionary.Policy("his-hers", List.of("his", "hers")))));
+
+        assertThat(classic.classify("USHERS")).containsExactly(
+                new ComplianceMatch("he", 1), new ComplianceMatch("she", 1), new ComplianceMatch("his-hers", 1));
+        assertThat(classic.classify("ahishers")).containsExactly(
+                new ComplianceMatch("his-hers", 2), new ComplianceMatch("he", 1), new ComplianceMatch("she", 1));
+        assertThat(classic.classify("none")).isEmpty();
+    }
+
+    @Test
+    void dictionary_invalid_throws() {
+        assertThatThrownBy(() -> new ComplianceInferenceService(new ComplianceDictionary(null, List.of(
+                new ComplianceDictionary.Policy("a", List.of("x")), new ComplianceDictionary.Policy("a", List.of("y"))))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ComplianceInferenceService(new ComplianceDictionary("missing", List.of(
+                new ComplianceDictionary.Policy("a", List.of("x"))))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ComplianceInferenceService(new ComplianceDictionary(null, List.of(
+                new ComplianceDictionary.Policy("a", List.of(" "))))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package ai.aletheia.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Byte-for-byte equivalence of the single-pass {@link CanonicalizationServiceImpl} with the original
+ * split/trim/join implementation (kept here as {@link #reference}). Stored hashes depend on these
+ * bytes, so any difference would break verification of existing records.
+ */
+class CanonicalizationGoldenCorpusTest {
+
+    /** Hand-picked cases: every rule, every line-ending mix, NFC edge cases, surrogates. */
+    private static final String[] CORPUS = {
+            "", " ", "\n", "\r", "\r\n", "\n\r", "\r\r\n", "\n\n\n", " \t \n \t ",
+            "a", "a\n", "a\r\n", "a\r", "\na", "\n\na", "a\n\n", "a\n\n\nb", "a\r\n\r\n\r\nb", "a\r\rb",
+            "  leading", "trailing  ", "\tboth\t", "mid  dle", "a \n b \n c ",
+            "\u000b\fform\u000bfeed\f", "\u0000null\u0000", "\u001f !",
+            "\u00a0nbsp\u00a0", "\u2003em space\u2003", "\u3000ideographic\u3000",
+            "caf\u00e9", "cafe\u0301", "A\u030a", "\u212b", "\u1e9b\u0323", "\u0344", "\u0958",
+            "\u1100\u1161\u11a8", "\uac01", "e\u0301\u0323", "e\u0323\u0301", "\n\u0301", "\u0301\n",
+            "\ud83d\ude00", "\ud83d", "\ude00", "x\ud83d\ny", "\ude00\ud83d", "\ufeffbom", "\ufffd",
+            "\u65e5\u672c\u8a9e\r\n\u0627\u0644\u0639\u0631\u0628\u064a\u0629",
+            "Line one\n\nLine two\n\n\n\nLine three   \n   \n",
+    };
+
+    private final CanonicalizationServiceImpl service = new CanonicalizationServiceImpl();
+
+    @Test
+    void corpus_matchesReferenceImplementation() {
+        for (String input : CORPUS) {
+            assertEquivalent(input);
+        }
+    }
+
+    @Test
+    void pairwiseConcatenations_matchReferenceImplementation() {
+        for (String a : CORPUS) {
+            for (String b : CORPUS) {
+                assertEquivalent(a + b);
+            }
+        }
+    }
+
+    @Test
+    void randomCorpus_matchesReferenceImplementation() {
+        Random random = new Random(20260101L);
+        for (int round = 0; round < 5000; round++) {
+            StringBuilder sb = new StringBuilder();
+            int pieces = random.nextInt(40);
+            for (int i = 0; i < pieces; i++) {
+                if (random.nextInt(4) == 0) {
+                    sb.append((char) random.nextInt(0x10000));
+                } else {
+                    sb.append(CORPUS[random.nextInt(CORPUS.length)]);
+                }
+            }
+            assertEquivalent(sb.toString());
+        }
+    }
+
+    @Test
+    void largeInputs_matchReferenceImplementation() {
+        String ascii = "The quick brown fox jumps over the lazy dog.  \r\n\r\n".repeat(11000);
+        String unicode = "Gr\u00fc\u00dfe, \u65e5\u672c, cafe\u0301 \ud83d\ude00\n".repeat(30000);
+        assertEquivalent(ascii.substring(0, CanonicalizationServiceImpl.MAX_INPUT_LENGTH - 1));
+        assertEquivalent(unicode.substring(0, 400_000));
+    }
+
+    @Test
+    void nfcQuickCheck_agreesWithNormalizer() {
+        for (String input : CORPUS) {
+            assertThat(CanonicalizationServiceImpl.isNfc(input))
+                    .as("isNfc(%s)", escape(input))
+                    .isEqualTo(Normalizer.isNormalized(input, Normalizer.Form.NFC));
+        }
+    }
+
+    private void assertEquivalent(String input) {
+        assertThat(service.canonicalize(input)).as("canonicalize(%s)", escape(input)).isEqualTo(reference(input));
+    }
+
+    /** The original implementation, verbatim. */
+    private static byte[] reference(String input) {
+        String nfc = Normalizer.normalize(input, Normalizer.Form.NFC);
+        String linesOnly = nfc.replace("\r\n", "\n").replace("\r", "\n");
+        String[] parts = linesOnly.split("\n", -1);
+        List<String> out = new ArrayList<>();
+        boolean lastWasBlank = false;
+        for (String part : parts) {
+            String trimmed = part.trim();
+            boolean blank = trimmed.isEmpty();
+            if (blank) {
+                if (!lastWasBlank) {
+                    out.add("");
+                }
+                lastWasBlank = true;
+            } else {
+                out.add(trimmed);
+                lastWasBlank = false;
+            }
+        }
+        if (!out.isEmpty() && out.get(out.size() - 1).isEmpty()) {
+            out.remove(out.size() - 1);
+        }
+        String joined = String.join("\n", out);
+        if (!joined.isEmpty()) {
+            joined = joined + "\n";
+        }
+        return joined.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String s) {
+        if (s.length() > 80) {
+            s = s.substring(0, 80) + "...";
+        }
+        StringBuilder sb = new StringBuilder();
+        s.chars().forEach(c -> sb.append(c < 0x20 || c > 0x7e ? String.format("\\u%04x", c) : String.valueOf((char) c)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package ai.aletheia.crypto;
+
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.DigestInfo;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CryptoPrimitivesTest {
+
+    @Test
+    void digestInfo_matchesBouncyCastleEncodingOfStoredSignatures() throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest("x".getBytes(StandardCharsets.UTF_8));
+        byte[] expected = new DigestInfo(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), hash).getEncoded();
+        assertThat(CryptoPrimitives.sha256DigestInfo(hash)).isEqualTo(expected);
+    }
+
+    @Test
+    void digestInfo_wrongHashLength_throws() {
+        assertThatThrownBy(() -> CryptoPrimitives.sha256DigestInfo(new byte[31]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rsaSignature_interoperatesWithPerCallNoneWithRsa() throws Exception {
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+        kpg.initialize(2048);
+        KeyPair kp = kpg.generateKeyPair();
+        byte[] data = "evidence".getBytes(StandardCharsets.UTF_8);
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+
+        byte[] signature = CryptoPrimitives.signRsaSha256(kp.getPrivate(), hash);
+
+        Signature perCall = Signature.getInstance("NONEwithRSA", "BC");
+        perCall.initVerify(kp.getPublic());
+        perCall.update(new DigestInfo(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256), hash).getEncoded());
+        assertThat(perCall.verify(signature)).isTrue();
+        assertThat(CryptoPrimitives.verifyRsaSha256(kp.getPublic(), hash, signature)).isTrue();
+        hash[0] ^= 1;
+        assertThat(CryptoPrimitives.verifyRsaSha256(kp.getPublic(), hash, signature)).isFalse();
+        assertThat(CryptoPrimitives.verifyRsaSha256(kp.getPublic(), hash, new byte[] { 1, 2, 3 })).isFalse();
+    }
+
+    @Test
+    void sha256_concurrentCallers_getCorrectDigests() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                results.add(pool.submit(() -> {
+                    MessageDigest reference = MessageDigest.getInstance("SHA-256");
+                    for (int i = 0; i < 2000; i++) {
+                        byte[] data = (seed + ":" + i).getBytes(StandardCharsets.UTF_8);
+                        if (!MessageDigest.isEqual(reference.digest(data), CryptoPrimitives.sha256(data))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
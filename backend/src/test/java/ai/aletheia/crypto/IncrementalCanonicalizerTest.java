@@ -0,0 +1,123 @@
+package ai.aletheia.crypto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalCanonicalizerTest {
+
+    /** Pieces that hit every rule: line breaks, blank lines, trimming, NFC composition. */
+    private static final String[] PIECES = {
+            "a", "Hello", " ", "  ", "\t", "\n", "\r", "\r\n", "\n\n\n", "\u00e9", "e", "\u0301", "\u0323",
+            "A\u030a", "\u212b", "\u1e9b\u0323", "\u65e5\u672c", "\ud83d\ude00", "\u000b", "\f", "x  \r\n  y"
+    };
+
+    private CanonicalizationService service;
+    private HashService hashService;
+
+    @BeforeEach
+    void setUp() {
+        service = new CanonicalizationServiceImpl();
+        hashService = new HashServiceImpl(service);
+    }
+
+    @Test
+    void randomTextSplitAtRandomBoundaries_matchesOneShot() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            StringBuilder text = new StringBuilder();
+            int pieces = random.nextInt(30);
+            for (int i = 0; i < pieces; i++) {
+                text.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String input = text.toString();
+            assertThat(streamed(input, random)).as("input %s", escape(input))
+                    .isEqualTo(service.canonicalize(input));
+        }
+    }
+
+    @Test
+    void crLfSplitAcrossChunks_isOneLineBreak() {
+        assertThat(streamed("a\r", "\nb")).isEqualTo(service.canonicalize("a\r\nb"));
+        assertThat(streamed("a\r", "\r", "\nb")).isEqualTo(service.canonicalize("a\r\r\nb"));
+    }
+
+    @Test
+    void combiningMarkInNextChunk_composes() {
+        assertThat(streamed("caf", "e", "\u0301\n")).isEqualTo("caf\u00e9\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void surrogatePairSplitAcrossChunks_encodedOnce() {
+        assertThat(streamed("x\uD83D", "\uDE00")).isEqualTo(service.canonicalize("x\uD83D\uDE00"));
+    }
+
+    @Test
+    void blankOnlyAndEmpty_produceNoBytes() {
+        assertThat(streamed()).isEmpty();
+        assertThat(streamed("  \n", "\r\n\t")).isEmpty();
+    }
+
+    @Test
+    void incrementalHashOverCanonicalSink_matchesHashService() {
+        String input = "Line one  \r\n\r\n\r\nLine two\u0301\n";
+        IncrementalHash hash = hashService.newIncrementalHash();
+        IncrementalCanonicalizer canonicalizer = service.incremental(hash);
+        canonicalizer.append(input.substring(0, 7));
+        canonicalizer.append(input.substring(7));
+        canonicalizer.finish();
+        assertThat(hash.hex()).isEqualTo(hashService.hash(service.canonicalize(input)));
+        assertThat(hash.length()).isEqualTo(service.canonicalize(input).length);
+    }
+
+    @Test
+    void appendAfterFinish_throws() {
+        IncrementalCanonicalizer canonicalizer = service.incremental(new ByteArrayOutputStream());
+        canonicalizer.finish();
+        assertThatThrownBy(() -> canonicalizer.append("x")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void inputExceedingMaxLengthAcrossChunks_throws() {
+        IncrementalCanonicalizer canonicalizer = service.incremental(new ByteArrayOutputStream());
+        canonicalizer.append("a".repeat(CanonicalizationServiceImpl.MAX_INPUT_LENGTH));
+        assertThatThrownBy(() -> canonicalizer.append("b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds maximum length");
+    }
+
+    private byte[] streamed(String... chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IncrementalCanonicalizer canonicalizer = service.incremental(out);
+        for (String chunk : chunks) {
+            canonicalizer.append(chunk);
+        }
+        canonicalizer.finish();
+        return out.toByteArray();
+    }
+
+    private byte[] streamed(String input, Random random) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IncrementalCanonicalizer canonicalizer = service.incremental(out);
+        int pos = 0;
+        while (pos < input.length()) {
+            int end = Math.min(input.length(), pos + 1 + random.nextInt(4));
+            canonicalizer.append(input.substring(pos, end));
+            pos = end;
+        }
+        canonicalizer.finish();
+        return out.toByteArray();
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder();
+        s.chars().forEach(c -> sb.append(c < 0x20 || c > 0x7e ? String.format("\\u%04x", c) : String.valueOf((char) c)));
+        return sb.toString();
+    }
+}
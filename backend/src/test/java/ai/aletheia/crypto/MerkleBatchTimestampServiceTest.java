@@ -0,0 +1,92 @@
+package ai.aletheia.crypto;
+
+import ai.aletheia.config.TsaBatchProperties;
+import ai.aletheia.crypto.impl.MerkleBatchTimestampServiceImpl;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests {@link MerkleBatchTimestampServiceImpl} over the mock TSA: concurrent callers share one token,
+ * each proof links the caller's data to the root, and the token imprint is SHA-256(root).
+ */
+@SpringBootTest
+class MerkleBatchTimestampServiceTest {
+
+    @Autowired
+    private TimestampService timestampService;
+
+    private MerkleBatchTimestampServiceImpl newService(int maxSize, long maxWaitMs) {
+        TsaBatchProperties props = new TsaBatchProperties();
+        props.setEnabled(true);
+        props.setMaxSize(maxSize);
+        props.setMaxWaitMs(maxWaitMs);
+        return new MerkleBatchTimestampServiceImpl(timestampService, props);
+    }
+
+    @Test
+    void fullBatch_sharesOneTokenAndEveryProofVerifies() throws Exception {
+        int n = 8;
+        BatchTimestampService service = newService(n, 10_000);
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        try {
+            List<byte[]> inputs = new ArrayList<>();
+            List<Future<BatchedTimestamp>> futures = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                byte[] data = ("sig-" + i).getBytes(StandardCharsets.UTF_8);
+                inputs.add(data);
+                futures.add(pool.submit(() -> service.timestamp(data)));
+            }
+            byte[] firstToken = null;
+            for (int i = 0; i < n; i++) {
+                BatchedTimestamp result = futures.get(i).get();
+                if (firstToken == null) {
+                    firstToken = result.token();
+                }
+                assertThat(result.token()).isEqualTo(firstToken);
+                MerkleTree.Proof proof = MerkleTree.Proof.decode(result.merkleProof());
+                assertThat(proof.verify(inputs.get(i))).isTrue();
+
+                TimeStampToken token = new TimeStampToken(new CMSSignedData(result.token()));
+                byte[] expectedImprint = MessageDigest.getInstance("SHA-256").digest(proof.root());
+                assertThat(token.getTimeStampInfo().getMessageImprintDigest()).isEqualTo(expectedImprint);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void partialBatch_isFlushedAfterMaxWait() {
+        BatchTimestampService service = newService(1000, 20);
+        byte[] data = "lonely".getBytes(StandardCharsets.UTF_8);
+
+        BatchedTimestamp result = service.timestamp(data);
+
+        assertThat(result.token()).isNotEmpty();
+        MerkleTree.Proof proof = MerkleTree.Proof.decode(result.merkleProof());
+        assertThat(proof.steps()).isEmpty();
+        assertThat(proof.verify(data)).isTrue();
+    }
+
+    @Test
+    void emptyInput_throws() {
+        BatchTimestampService service = newService(4, 20);
+        assertThatThrownBy(() -> service.timestamp(new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("null or empty");
+    }
+}
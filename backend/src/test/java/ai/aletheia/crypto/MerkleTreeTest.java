@@ -0,0 +1,78 @@
+package ai.aletheia.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link MerkleTree}: every leaf's proof reaches the root (balanced and odd batch sizes),
+ * proof text round-trips, and a foreign leaf or tampered proof does not verify.
+ */
+class MerkleTreeTest {
+
+    private static List<byte[]> leaves(int n) {
+        List<byte[]> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            out.add(("signature-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    @Test
+    void everyLeafProofVerifies_forVariousBatchSizes() {
+        for (int n = 1; n <= 17; n++) {
+            List<byte[]> leaves = leaves(n);
+            MerkleTree tree = MerkleTree.build(leaves);
+            assertThat(tree.leafCount()).isEqualTo(n);
+            for (int i = 0; i < n; i++) {
+                MerkleTree.Proof proof = tree.proof(i);
+                assertThat(proof.root()).isEqualTo(tree.root());
+                assertThat(proof.verify(leaves.get(i))).as("n=%d leaf=%d", n, i).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void singleLeaf_hasEmptyProof() {
+        MerkleTree tree = MerkleTree.build(leaves(1));
+        assertThat(tree.proof(0).steps()).isEmpty();
+    }
+
+    @Test
+    void encodeDecode_roundTrip() {
+        List<byte[]> leaves = leaves(5);
+        MerkleTree tree = MerkleTree.build(leaves);
+        String text = tree.proof(3).encode();
+
+        assertThat(text).startsWith(MerkleTree.PROOF_HEADER + "\n");
+        MerkleTree.Proof decoded = MerkleTree.Proof.decode(text);
+        assertThat(decoded.root()).isEqualTo(tree.root());
+        assertThat(decoded.verify(leaves.get(3))).isTrue();
+    }
+
+    @Test
+    void foreignLeaf_doesNotVerify() {
+        List<byte[]> leaves = leaves(4);
+        MerkleTree.Proof proof = MerkleTree.build(leaves).proof(1);
+        assertThat(proof.verify(leaves.get(2))).isFalse();
+        assertThat(proof.verify("other".getBytes(StandardCharsets.UTF_8))).isFalse();
+    }
+
+    @Test
+    void decode_rejectsUnknownFormat() {
+        assertThatThrownBy(() -> MerkleTree.Proof.decode("md5-merkle\nroot 00"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported");
+    }
+
+    @Test
+    void build_emptyBatch_throws() {
+        assertThatThrownBy(() -> MerkleTree.build(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
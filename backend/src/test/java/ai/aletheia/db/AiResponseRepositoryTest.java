@@ -1,12 +1,15 @@
 package ai.aletheia.db;
 
 import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.policy.PolicyRuleResult;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -74,4 +77,20 @@ class AiResponseRepositoryTest {
         assertThat(found.getPolicyCoverage()).isNull();
         assertThat(found.getPolicyRulesEvaluated()).isNull();
     }
+
+    @Test
+    void policyRules_storedAsRows_queryableByRuleAndStatus() {
+        AiResponse passed = new AiResponse("Q", "A", "hash");
+        passed.setPolicyRules(List.of(new PolicyRuleResult("R1", "pass"), new PolicyRuleResult("R2", "pass")));
+        AiResponse notPassed = new AiResponse("Q", "A", "hash");
+        notPassed.setPolicyRules(List.of(new PolicyRuleResult("R1", "not_evaluated"), new PolicyRuleResult("R2", "pass")));
+        Long passedId = repository.save(passed).getId();
+        Long notPassedId = repository.save(notPassed).getId();
+
+        List<Long> ids = repository.findIdsByPolicyRule("R1", "not_evaluated", passedId - 1, PageRequest.ofSize(10));
+
+        assertThat(ids).contains(notPassedId).doesNotContain(passedId);
+        assertThat(repository.findById(notPassedId).orElseThrow().getPolicyRules())
+                .containsExactly(new PolicyRuleResult("R1", "not_evaluated"), new PolicyRuleResult("R2", "pass"));
+    }
 }
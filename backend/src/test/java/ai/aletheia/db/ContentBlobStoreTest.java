@@ -0,0 +1,101 @@
+package ai.aletheia.db;
+
+import ai.aletheia.audit.AuditRecordService;
+import ai.aletheia.audit.dto.AuditRecordRequest;
+import ai.aletheia.db.entity.AiResponse;
+import db.migration.V12__add_content_blob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deduplicated prompt/response storage: records saved through {@link AuditRecordService} reference one
+ * content_blob row per distinct text, and the V12 backfill moves inline rows over
+ * into the same blobs.
+ */
+@SpringBootTest
+class ContentBlobStoreTest {
+
+    @Autowired
+    private AuditRecordService auditRecordService;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void save_samePromptTwice_storedOnceAndReadBack() {
+        String prompt = "Summarize GDPR Article 12 " + UUID.randomUUID();
+        String longResponse = "Article 12 requires concise, transparent information. ".repeat(100);
+        Long first = auditRecordService.save(request(prompt, longResponse));
+        Long second = auditRecordService.save(request(prompt, "short"));
+
+        String promptHash = ContentBlobCodec.hash(prompt.getBytes(StandardCharsets.UTF_8));
+        assertThat(count(promptHash)).isEqualTo(1);
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT prompt, response, prompt_blob, response_blob FROM ai_response WHERE id = ?", first);
+        assertThat(row.get("prompt")).isNull();
+        assertThat(row.get("response")).isNull();
+        assertThat(row.get("prompt_blob")).isEqualTo(promptHash);
+        assertThat(jdbcTemplate.queryForObject("SELECT prompt_blob FROM ai_response WHERE id = ?", String.class, second))
+                .isEqualTo(promptHash);
+
+        assertThat(encoding(row.get("response_blob"))).isEqualTo(ContentBlobCodec.DEFLATE);
+        assertThat(encoding(ContentBlobCodec.hash("short".getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(ContentBlobCodec.IDENTITY);
+
+        AiResponse loaded = repository.findById(first).orElseThrow();
+        assertThat(loaded.getPrompt()).isEqualTo(prompt);
+        assertThat(loaded.getResponse()).isEqualTo(longResponse);
+        assertThat(repository.findById(second).orElseThrow().getResponse()).isEqualTo("short");
+    }
+
+    @Test
+    void backfill_movesInlineRowsToBlobs() throws Exception {
+        String text = "inline " + UUID.randomUUID();
+        Long a = repository.save(new AiResponse(text, text, "h".repeat(64))).getId();
+        Long b = repository.save(new AiResponse(text, "other " + text, "h".repeat(64))).getId();
+        assertThat(jdbcTemplate.queryForObject("SELECT prompt FROM ai_response WHERE id = ?", String.class, a))
+                .isEqualTo(text);
+
+        try (Connection connection = dataSource.getConnection()) {
+            V12__add_content_blob.backfill(connection, 2);
+        }
+
+        String hash = ContentBlobCodec.hash(text.getBytes(StandardCharsets.UTF_8));
+        assertThat(count(hash)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ai_response WHERE id IN (?, ?) AND (prompt IS NOT NULL OR response IS NOT NULL)",
+                Integer.class, a, b)).isZero();
+        assertThat(repository.findById(a).orElseThrow().getResponse()).isEqualTo(text);
+        assertThat(repository.findById(b).orElseThrow().getPrompt()).isEqualTo(text);
+        assertThat(repository.findById(b).orElseThrow().getResponse()).isEqualTo("other " + text);
+    }
+
+    private int count(String hash) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM content_blob WHERE hash = ?", Integer.class, hash);
+    }
+
+    private String encoding(Object hash) {
+        return jdbcTemplate.queryForObject("SELECT encoding FROM content_blob WHERE hash = ?", String.class, hash);
+    }
+
+    private static AuditRecordRequest request(String prompt, String response) {
+        return new AuditRecordRequest(prompt, response, "h".repeat(64), null, null, null, null, "gpt-4",
+                null, null, null, 1, null, null, null);
+    }
+}
@@ -0,0 +1,55 @@
+package ai.aletheia.db;
+
+import ai.aletheia.db.entity.AiResponse;
+import ai.aletheia.policy.PolicyEvaluationService;
+import ai.aletheia.policy.PolicyRuleResult;
+import db.migration.V17__add_policy_rule_result;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The V17 backfill on rows that still carry the JSON column. */
+@SpringBootTest
+class PolicyRuleResultMigrationTest {
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private PolicyEvaluationService policyEvaluationService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void backfill_movesJsonToRows_keepsUnparseable() throws Exception {
+        Long json = saveWithJson("[{\"ruleId\":\"R1\",\"status\":\"pass\"},{\"ruleId\":\"R2\",\"status\":\"not_evaluated\"}]");
+        Long broken = saveWithJson("not json");
+        assertThat(policyEvaluationService.rules(repository.findById(json).orElseThrow()))
+                .extracting(PolicyRuleResult::ruleId).containsExactly("R1", "R2");
+
+        try (Connection connection = dataSource.getConnection()) {
+            V17__add_policy_rule_result.backfill(connection, 1);
+        }
+
+        AiResponse moved = repository.findById(json).orElseThrow();
+        assertThat(moved.getPolicyRulesEvaluated()).isNull();
+        assertThat(moved.getPolicyRules()).containsExactly(
+                new PolicyRuleResult("R1", "pass"), new PolicyRuleResult("R2", "not_evaluated"));
+        assertThat(policyEvaluationService.rules(moved)).isEqualTo(moved.getPolicyRules());
+        AiResponse kept = repository.findById(broken).orElseThrow();
+        assertThat(kept.getPolicyRulesEvaluated()).isEqualTo("not json");
+        assertThat(kept.getPolicyRules()).isEmpty();
+    }
+
+    private Long saveWithJson(String json) {
+        AiResponse entity = new AiResponse("Q", "A", "hash");
+        entity.setPolicyRulesEvaluated(json);
+        return repository.save(entity).getId();
+    }
+}
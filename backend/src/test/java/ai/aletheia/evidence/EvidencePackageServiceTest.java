@@ -4,13 +4,19 @@ import ai.aletheia.policy.PolicyRuleResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -147,6 +153,57 @@ class EvidencePackageServiceTest {
         assertThat(zip[1]).isEqualTo((byte) 0x4B);
     }
 
+    @Test
+    void toZip_sameFiles_byteIdenticalArchive() throws Exception {
+        Map<String, byte[]> files = service.buildPackage(
+                RESPONSE_TEXT, CANONICAL_BYTES, HASH_HEX, MOCK_SIGNATURE, MOCK_TSA_TOKEN, MODEL, CREATED_AT, RESPONSE_ID,
+                PUBLIC_KEY_PEM, null, null);
+
+        byte[] first = service.toZip(files);
+        Thread.sleep(2100); // DOS timestamps have 2 s resolution
+        byte[] second = service.toZip(files);
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void writeZip_streamedEntryReplacesPlaceholderInPlace_outNotClosed() throws Exception {
+        Map<String, byte[]> files = service.buildPackage(
+                null, null, HASH_HEX, MOCK_SIGNATURE, MOCK_TSA_TOKEN, MODEL, CREATED_AT, RESPONSE_ID, PUBLIC_KEY_PEM, null, null);
+        Map<String, EvidencePackageService.EntryWriter> streamed = new LinkedHashMap<>();
+        streamed.put(EvidencePackageServiceImpl.CANONICAL_BIN, out -> {
+            out.write(CANONICAL_BYTES);
+            out.close(); // must not end the archive
+        });
+        streamed.put("extra.txt", out -> out.write('x'));
+        boolean[] closed = { false };
+        ByteArrayOutputStream buf = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        service.writeZip(files, streamed, buf);
+
+        List<String> names = new ArrayList<>();
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(buf.toByteArray()))) {
+            ZipEntry e;
+            while ((e = zis.getNextEntry()) != null) {
+                names.add(e.getName());
+                entries.put(e.getName(), zis.readAllBytes());
+            }
+        }
+        List<String> expected = new ArrayList<>(files.keySet());
+        expected.add("extra.txt");
+        assertThat(names).containsExactlyElementsOf(expected);
+        assertThat(entries.get(EvidencePackageServiceImpl.CANONICAL_BIN)).isEqualTo(CANONICAL_BYTES);
+        assertThat(entries.get(EvidencePackageServiceImpl.RESPONSE_TXT)).isEmpty();
+        assertThat(entries.get("extra.txt")).containsExactly('x');
+        assertThat(closed[0]).isFalse();
+    }
+
     @Test
     void buildPackage_handlesNullSignatureAndTsaToken() {
         Map<String, byte[]> files = service.buildPackage(
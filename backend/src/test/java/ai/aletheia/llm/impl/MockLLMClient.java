@@ -1,31 +1,60 @@
 package ai.aletheia.llm.impl;
 
 import ai.aletheia.llm.LLMClient;
+import ai.aletheia.llm.LLMException;
 import ai.aletheia.llm.LLMResult;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Consumer;
+
 /**
  * Mock LLM client for tests: implements {@link LLMClient} without calling any real API.
  *
  * <p>Used when {@code @ActiveProfiles("test")}: returns deterministic responses so tests
- * don't need OPENAI_API_KEY or network. Replaces OpenAiLLMClient in test context.
+ * don't need OPENAI_API_KEY or network. Replaces ConfiguredLLMClient in test context.
+ * Optional {@code ai.aletheia.test.mock-llm-delay-ms} simulates a slow model (load tests).
+ * {@link #stream} emits the same response in small chunks so chunk boundaries are exercised.
  */
 @Service
 @Profile("test")
 @Primary
 public class MockLLMClient implements LLMClient {
 
+    static final int STREAM_CHUNK_CHARS = 5;
+
+    @Value("${ai.aletheia.test.mock-llm-delay-ms:0}")
+    private long delayMs;
+
     @Override
     public LLMResult complete(String prompt) {
         if (prompt == null) {
             prompt = "";
         }
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LLMException("Mock LLM interrupted", e);
+            }
+        }
         String response = "2+2 equals 4.";
         if (prompt.toLowerCase().contains("hello")) {
             response = "Hello! How can I help you?";
         }
         return new LLMResult(response, "mock-model", 0.7);
     }
+
+    @Override
+    public LLMResult stream(String prompt, Consumer<String> onChunk) {
+        LLMResult result = complete(prompt);
+        String text = result.responseText();
+        for (int i = 0; i < text.length(); i += STREAM_CHUNK_CHARS) {
+            onChunk.accept(text.substring(i, Math.min(text.length(), i + STREAM_CHUNK_CHARS)));
+        }
+        return result;
+    }
 }
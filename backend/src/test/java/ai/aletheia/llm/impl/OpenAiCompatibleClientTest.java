@@ -0,0 +1,281 @@
+package ai.aletheia.llm.impl;
+
+import ai.aletheia.config.LlmProperties;
+import ai.aletheia.llm.LLMException;
+import ai.aletheia.llm.LLMResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link OpenAiCompatibleClient} against an in-process OpenAI-compatible server (HTTP/1.1, as a local
+ * llama.cpp or gateway would be): streamed parsing of completions and chunks, optional API key, and the
+ * per-provider concurrency limit, the request deadline on a stalled body; and when {@link ConfiguredLLMClient} loads.
+ */
+class OpenAiCompatibleClientTest {
+
+    private static final String COMPLETION = """
+            {"id":"c1","object":"chat.completion","model":"llama-3-8b",
+             "choices":[{"index":0,"message":{"role":"assistant","content":"Hello there","tool_calls":[]},
+                         "logprobs":{"content":[{"token":"Hello","logprob":-0.1}]},"finish_reason":"stop"},
+                        {"index":1,"message":{"role":"assistant","content":"ignored"}}],
+             "usage":{"prompt_tokens":3,"completion_tokens":2,"total_tokens":5}}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> responseBody = new AtomicReference<>(COMPLETION);
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private final AtomicReference<JsonNode> requestBody = new AtomicReference<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    /** If set, only this much of a body is sent before the server stalls. */
+    private final AtomicReference<String> stalledBody = new AtomicReference<>();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        hold.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            requestBody.set(objectMapper.readTree(exchange.getRequestBody()));
+            if (stalledBody.get() != null) {
+                // Headers and part of the body, then nothing: a gateway hanging mid-stream
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream out = exchange.getResponseBody();
+                out.write(stalledBody.get().getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                hold.await(10, TimeUnit.SECONDS);
+                out.close();
+                return;
+            }
+            hold.await(10, TimeUnit.SECONDS);
+            byte[] body = responseBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(responseStatus.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private OpenAiCompatibleClient client(String apiKey, String model, int maxConcurrentRequests, int acquireTimeoutSeconds) {
+        return client(apiKey, model, maxConcurrentRequests, acquireTimeoutSeconds, 60);
+    }
+
+    private OpenAiCompatibleClient client(String apiKey, String model, int maxConcurrentRequests,
+                                          int acquireTimeoutSeconds, int timeoutSeconds) {
+        LlmProperties.Provider props = new LlmProperties.Provider();
+        props.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/");
+        props.setApiKey(apiKey);
+        props.setModel(model);
+        props.setTemperature(0.2);
+        props.setMaxTokens(64);
+        props.setMaxConcurrentRequests(maxConcurrentRequests);
+        props.setAcquireTimeoutSeconds(acquireTimeoutSeconds);
+        props.setTimeoutSeconds(timeoutSeconds);
+        return new OpenAiCompatibleClient("gateway", props,
+                ConfiguredLLMClient.httpClient(new LlmProperties.Http()), objectMapper);
+    }
+
+    @Test
+    void complete_readsFirstChoiceAndModel_skipsOtherFields() {
+        LLMResult result = client("secret", "llama-3", 4, 5).complete("Hi");
+
+        assertThat(result.responseText()).isEqualTo("Hello there");
+        assertThat(result.modelId()).isEqualTo("llama-3-8b");
+        assertThat(result.temperature()).isEqualTo(0.2);
+        assertThat(authorization.get()).isEqualTo("Bearer secret");
+        assertThat(requestBody.get().get("model").asText()).isEqualTo("llama-3");
+        assertThat(requestBody.get().get("max_tokens").asInt()).isEqualTo(64);
+        assertThat(requestBody.get().get("messages").get(0).get("content").asText()).isEqualTo("Hi");
+    }
+
+    @Test
+    void complete_withoutKeyOrModel_omitsThemAndFallsBackToProviderName() {
+        responseBody.set("{\"choices\":[{\"message\":{\"content\":\"ok\"}}]}");
+
+        LLMResult result = client(null, "", 4, 5).complete("Hi");
+
+        assertThat(result.responseText()).isEqualTo("ok");
+        assertThat(result.modelId()).isEqualTo("gateway");
+        assertThat(authorization.get()).isNull();
+        assertThat(requestBody.get().has("model")).isFalse();
+    }
+
+    @Test
+    void complete_errorsAndEmptyChoices_throwLlmException() {
+        OpenAiCompatibleClient client = client(null, "m", 4, 5);
+        responseStatus.set(429);
+        responseBody.set("{\"error\":{\"message\":\"slow down\"}}");
+        assertThatThrownBy(() -> client.complete("Hi")).isInstanceOf(LLMException.class).hasMessageContaining("429");
+
+        responseStatus.set(200);
+        assertThatThrownBy(() -> client.complete("Hi")).isInstanceOf(LLMException.class).hasMessageContaining("slow down");
+
+        responseBody.set("{\"choices\":[]}");
+        assertThatThrownBy(() -> client.complete("Hi")).isInstanceOf(LLMException.class).hasMessageContaining("no choices");
+    }
+
+    @Test
+    void stream_concatenatesDeltas() {
+        responseBody.set("""
+                data: {"model":"llama-3-8b","choices":[{"index":0,"delta":{"role":"assistant"}}]}
+
+                data: {"model":"llama-3-8b","choices":[{"index":0,"delta":{"content":"Hel"}}]}
+
+                data: {"model":"llama-3-8b","choices":[{"index":0,"delta":{"content":"lo"},"finish_reason":null}]}
+
+                data: {"model":"llama-3-8b","choices":[{"index":0,"delta":{},"finish_reason":"stop"}]}
+
+                data: [DONE]
+
+                """);
+        List<String> chunks = new ArrayList<>();
+
+        LLMResult result = client(null, "m", 4, 5).stream("Hi", chunks::add);
+
+        assertThat(chunks).containsExactly("Hel", "lo");
+        assertThat(result.responseText()).isEqualTo("Hello");
+        assertThat(result.modelId()).isEqualTo("llama-3-8b");
+        assertThat(requestBody.get().get("stream").asBoolean()).isTrue();
+    }
+
+    @Test
+    void concurrentCalls_areCappedPerProvider() throws Exception {
+        OpenAiCompatibleClient client = client(null, "m", 2, 10);
+        hold = new CountDownLatch(1);
+        List<CompletableFuture<LLMResult>> calls = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(6)) {
+            for (int i = 0; i < 6; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> client.complete("Hi"), callers));
+            }
+            while (inFlight.get() < 2) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(200);
+            assertThat(inFlight.get()).isEqualTo(2);
+            assertThat(client.inFlight()).isEqualTo(2);
+            hold.countDown();
+            for (CompletableFuture<LLMResult> call : calls) {
+                assertThat(call.get(10, TimeUnit.SECONDS).responseText()).isEqualTo("Hello there");
+            }
+        }
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        assertThat(client.inFlight()).isZero();
+    }
+
+    @Test
+    void noFreeSlotWithinAcquireTimeout_throwsBusy() throws Exception {
+        OpenAiCompatibleClient client = client(null, "m", 1, 0);
+        hold = new CountDownLatch(1);
+        CompletableFuture<LLMResult> first = CompletableFuture.supplyAsync(() -> client.complete("Hi"));
+        while (inFlight.get() < 1) {
+            Thread.sleep(10);
+        }
+
+        assertThatThrownBy(() -> client.complete("Hi")).isInstanceOf(LLMException.class).hasMessageContaining("busy");
+
+        hold.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS).responseText()).isEqualTo("Hello there");
+    }
+
+    @Test
+    void stalledBody_failsAtDeadline_andFreesSlot() {
+        OpenAiCompatibleClient client = client(null, "m", 1, 0, 1);
+        hold = new CountDownLatch(1);
+        List<String> chunks = new ArrayList<>();
+
+        long start = System.nanoTime();
+        stalledBody.set("{\"model\":\"llama-3-8b\",\"choices\":[");
+        assertThatThrownBy(() -> client.complete("Hi")).isInstanceOf(LLMException.class)
+                .hasMessageContaining("timed out after 1s");
+        stalledBody.set("data: {\"choices\":[{\"index\":0,\"delta\":{\"content\":\"Hel\"}}]}\n\n");
+        assertThatThrownBy(() -> client.stream("Hi", chunks::add)).isInstanceOf(LLMException.class)
+                .hasMessageContaining("timed out after 1s");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(8));
+        assertThat(chunks).containsExactly("Hel");
+        assertThat(client.inFlight()).isZero();
+    }
+
+    @Test
+    void configuredClient_loadsOnlyForConfiguredSelectedProvider() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(ProviderConfig.class)
+                .withPropertyValues(
+                        "ai.aletheia.llm.providers.openai.base-url=https://api.openai.com/v1",
+                        "ai.aletheia.llm.providers.openai.api-key-required=true",
+                        "ai.aletheia.llm.providers.gateway.base-url=http://127.0.0.1:"
+                                + server.getAddress().getPort() + "/v1");
+
+        runner.run(ctx -> assertThat(ctx).doesNotHaveBean(ConfiguredLLMClient.class));
+        runner.withPropertyValues("ai.aletheia.llm.provider=missing")
+                .run(ctx -> assertThat(ctx).doesNotHaveBean(ConfiguredLLMClient.class));
+        runner.withPropertyValues("ai.aletheia.llm.providers.openai.api-key=sk-test")
+                .run(ctx -> assertThat(ctx.getBean(ConfiguredLLMClient.class).provider("gateway")).isNotNull());
+        runner.withPropertyValues("ai.aletheia.llm.provider=gateway").run(ctx -> {
+            ConfiguredLLMClient client = ctx.getBean(ConfiguredLLMClient.class);
+            assertThat(client.provider("openai")).isNull();
+            assertThat(client.complete("Hi").responseText()).isEqualTo("Hello there");
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(LlmProperties.class)
+    @Import(ConfiguredLLMClient.class)
+    static class ProviderConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
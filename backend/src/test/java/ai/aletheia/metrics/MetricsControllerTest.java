@@ -1,13 +1,22 @@
 package ai.aletheia.metrics;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -19,17 +28,106 @@ class MetricsControllerTest {
     private MockMvc mockMvc;
 
     @Autowired
-    private MetricEventRepository repository;
+    private MetricsService metricsService;
+
+    @Autowired
+    private MetricsRollupJob rollupJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Test
-    void recordEvent_persistsEvent() throws Exception {
-        long before = repository.count();
+    void recordEvent_countedInSummaryBeforeAndAfterFlush() throws Exception {
+        long before = summary("landing_view");
+        long rolledUpBefore = rolledUp("landing_view");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/metrics/event")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"event\":\"landing_view\"}"))
+                    .andExpect(status().isNoContent());
+        }
+        assertThat(summary("landing_view")).isEqualTo(before + 3);
 
+        metricsService.flush();
+
+        assertThat(rolledUp("landing_view")).isGreaterThanOrEqualTo(rolledUpBefore + 3);
+        assertThat(summary("landing_view")).isEqualTo(before + 3);
+    }
+
+    @Test
+    void recordEvent_unknownEvent_returns400() throws Exception {
         mockMvc.perform(post("/api/metrics/event")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content("{\"event\":\"landing_view\"}"))
-                .andExpect(status().isNoContent());
+                        .content("{\"event\":\"no_such_event\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void timeseries_readsMinuteHourAndDayRollups() throws Exception {
+        insertMinute("2003-01-01T10:15:00Z", 2);
+        insertMinute("2003-01-01T10:45:00Z", 3);
+        insertMinute("2003-01-01T11:05:00Z", 4);
+        insertMinute("2003-01-02T00:00:00Z", 5);
+        Instant since = Instant.parse("2003-01-01T00:00:00Z");
+        rollupJob.rollUp(MetricsBucket.MINUTE, MetricsBucket.HOUR, since);
+        rollupJob.rollUp(MetricsBucket.HOUR, MetricsBucket.DAY, since);
+
+        JsonNode minutes = timeseries("event=cta_click&bucket=minute&from=2003-01-01T10:00:00Z&to=2003-01-01T11:00:00Z");
+        assertThat(minutes.get("points")).hasSize(60);
+        assertThat(minutes.get("points").get(15).get("count").asLong()).isEqualTo(2);
+        assertThat(minutes.get("points").get(16).get("count").asLong()).isZero();
+
+        assertThat(counts(timeseries("event=cta_click&bucket=hour&from=2003-01-01T10:30:00Z&to=2003-01-01T12:00:00Z")))
+                .containsExactly(5L, 4L);
+        JsonNode days = timeseries("event=cta_click&bucket=day&from=2003-01-01T00:00:00Z&to=2003-01-03T00:00:00Z");
+        assertThat(counts(days)).containsExactly(9L, 5L);
+        assertThat(days.get("from").asText()).isEqualTo("2003-01-01T00:00:00Z");
+    }
+
+    @Test
+    void timeseries_invalidParameters_returns400() throws Exception {
+        String range = "&from=2003-01-01T00:00:00Z&to=2003-01-02T00:00:00Z";
+        mockMvc.perform(get("/api/metrics/timeseries?event=nope" + range)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/metrics/timeseries?event=cta_click&bucket=week" + range)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/metrics/timeseries?event=cta_click&from=2003-01-02T00:00:00Z&to=2003-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/metrics/timeseries?event=cta_click&bucket=minute&from=2003-01-01T00:00:00Z&to=2003-01-03T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void insertMinute(String bucketStart, long count) {
+        jdbcTemplate.update("INSERT INTO metrics_rollup_minute (bucket_start, event_name, event_count) VALUES (?, ?, ?)",
+                Instant.parse(bucketStart).atOffset(ZoneOffset.UTC), "cta_click", count);
+    }
+
+    private JsonNode timeseries(String query) throws Exception {
+        String body = mockMvc.perform(get("/api/metrics/timeseries?" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<Long> counts(JsonNode series) {
+        List<Long> counts = new ArrayList<>();
+        series.get("points").forEach(p -> counts.add(p.get("count").asLong()));
+        return counts;
+    }
+
+    private long summary(String event) throws Exception {
+        String body = mockMvc.perform(get("/api/metrics/summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get(event).asLong();
+    }
 
-        assertThat(repository.count()).isEqualTo(before + 1);
+    private long rolledUp(String event) {
+        Long n = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(event_count), 0) FROM metrics_rollup_minute WHERE event_name = ?", Long.class, event);
+        return n != null ? n : 0;
     }
 }
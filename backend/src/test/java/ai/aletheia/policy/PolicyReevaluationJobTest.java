@@ -0,0 +1,130 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.db.AiResponseRepository;
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "ai.aletheia.policy.reevaluation.page-size=2")
+@AutoConfigureMockMvc
+class PolicyReevaluationJobTest {
+
+    private static final String RULE_SET = PolicyRuleSets.DEFAULT_RULE_SET;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PolicyReevaluationJob job;
+
+    @Autowired
+    private AiResponseRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clean() throws InterruptedException {
+        awaitIdle();
+        jdbcTemplate.update("DELETE FROM policy_evaluation WHERE rule_set = ?", RULE_SET);
+        jdbcTemplate.update("DELETE FROM policy_reevaluation WHERE rule_set = ?", RULE_SET);
+    }
+
+    @Test
+    void reevaluate_allRecords_writesResultsPerRuleSet() throws Exception {
+        Long full = save("sig", "tsa", "gpt-4");
+        Long modelOnly = save(null, null, "gpt-4");
+        Long none = save(null, null, null);
+
+        mockMvc.perform(post("/api/policy/reevaluations/aletheia-demo"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ruleSet").value(RULE_SET))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+        awaitIdle();
+
+        String body = mockMvc.perform(get("/api/policy/reevaluations/" + RULE_SET))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode progress = objectMapper.readTree(body);
+        assertThat(progress.get("status").asText()).isEqualTo("DONE");
+        assertThat(progress.get("lastId").asLong()).isGreaterThanOrEqualTo(none);
+        assertThat(progress.get("evaluated").asLong()).isGreaterThanOrEqualTo(3);
+        assertThat(coverage(List.of(full, modelOnly, none)))
+                .containsEntry(full, 0.5).containsEntry(modelOnly, 0.25).containsEntry(none, 0.0);
+    }
+
+    @Test
+    void start_afterInterruptedRun_resumesFromCheckpoint() throws Exception {
+        Long evaluatedBefore = save("sig", "tsa", "gpt-4");
+        Long notYet = save(null, null, "gpt-4");
+        Instant now = Instant.now();
+        jdbcTemplate.update("INSERT INTO policy_reevaluation (rule_set, status, last_id, evaluated, started_at, updated_at)"
+                + " VALUES (?, 'RUNNING', ?, 7, ?, ?)", RULE_SET, evaluatedBefore,
+                now.atOffset(ZoneOffset.UTC), now.atOffset(ZoneOffset.UTC));
+
+        job.start(RULE_SET);
+        awaitIdle();
+
+        Map<Long, Double> coverage = coverage(List.of(evaluatedBefore, notYet));
+        assertThat(coverage).doesNotContainKey(evaluatedBefore).containsEntry(notYet, 0.25);
+        PolicyReevaluationProgress progress = job.progress(RULE_SET).orElseThrow();
+        assertThat(progress.status()).isEqualTo(PolicyReevaluationJob.Status.DONE);
+        assertThat(progress.evaluated()).isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    void start_unknownRuleSet_returns400_progressUnknown_returns404() throws Exception {
+        mockMvc.perform(post("/api/policy/reevaluations/missing@1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/policy/reevaluations/missing@1"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Long save(String signature, String tsaToken, String model) {
+        AiResponse entity = new AiResponse("Q", "A", "h".repeat(64));
+        entity.setSignature(signature);
+        entity.setTsaToken(tsaToken);
+        entity.setLlmModel(model);
+        return repository.save(entity).getId();
+    }
+
+    private Map<Long, Double> coverage(List<Long> ids) {
+        Map<Long, Double> coverage = new HashMap<>();
+        for (Long id : ids) {
+            jdbcTemplate.query("SELECT policy_coverage FROM policy_evaluation WHERE rule_set = ? AND response_id = ?",
+                    rs -> {
+                        coverage.put(id, rs.getDouble(1));
+                    }, RULE_SET, id);
+        }
+        return coverage;
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        for (int i = 0; i < 200 && job.isRunning(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(job.isRunning()).isFalse();
+    }
+}
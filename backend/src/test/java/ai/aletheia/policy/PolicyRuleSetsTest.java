@@ -0,0 +1,155 @@
+package ai.aletheia.policy;
+
+import ai.aletheia.db.entity.AiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolicyRuleSetsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compile_evaluatesOperatorsAndCombinators() throws Exception {
+        CompiledRuleSet ruleSet = compile("""
+                {"id": "ops", "version": "1", "rules": [
+                  {"id": "eq", "when": {"field": "llmModel", "op": "equals", "value": "gpt-4"}},
+                  {"id": "in", "when": {"field": "llmModel", "op": "in", "value": ["gpt-4", "gpt-4o"]}},
+                  {"id": "ci", "when": {"field": "response", "op": "containsIgnoreCase", "value": "ARTICLE 12"}},
+                  {"id": "re", "when": {"field": "claim", "op": "matches", "value": "^Complies"}},
+                  {"id": "gte", "when": {"field": "confidence", "op": "gte", "value": 0.8}},
+                  {"id": "lt", "when": {"field": "confidence", "op": "lt", "value": 0.8}},
+                  {"id": "any", "when": {"any": [{"field": "signature", "op": "present"},
+                                                 {"field": "tsaToken", "op": "present"}]}},
+                  {"id": "not", "when": {"not": {"field": "systemPrompt", "op": "present"}}},
+                  {"id": "manual"}
+                ]}""");
+        AiResponse record = new AiResponse("Q", "Per article 12 of GDPR", "hash");
+        record.setLlmModel("gpt-4");
+        record.setClaim("Complies with Article 12");
+        record.setConfidence(0.85);
+        record.setSystemPrompt(" ");
+
+        PolicyEvaluationResult result = ruleSet.evaluate(record);
+
+        assertThat(result.policyId()).isEqualTo("ops");
+        assertThat(result.rules()).extracting(PolicyRuleResult::status).containsExactly(
+                "pass", "pass", "pass", "pass", "pass", "not_evaluated", "not_evaluated", "pass", "not_evaluated");
+        assertThat(result.coverage()).isEqualTo(6.0 / 9);
+
+        PolicyRuleResult[] out = new PolicyRuleResult[ruleSet.size()];
+        assertThat(ruleSet.evaluate(record, out)).isEqualTo(6);
+        assertThat(out).containsExactlyElementsOf(result.rules());
+    }
+
+    @Test
+    void compile_invalidDefinition_throws() {
+        assertThatThrownBy(() -> compile("""
+                {"id": "bad", "version": "1", "rules": [{"id": "R1", "when": {"field": "nope", "op": "present"}}]}"""))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("nope");
+        assertThatThrownBy(() -> compile("""
+                {"id": "bad", "version": "1", "rules": [{"id": "R1", "when": {"field": "llmModel", "op": "gt", "value": 1}}]}"""))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("numeric");
+        assertThatThrownBy(() -> compile("""
+                {"id": "bad", "version": "1", "rules": [{"id": "R1"}, {"id": "R1"}]}"""))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("duplicate");
+        assertThatThrownBy(() -> compile("""
+                {"id": "bad", "version": "1", "rules": [{"id": "R1", "when": {"field": "claim", "op": "matches", "value": "("}}]}"""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void forRecord_selectsByPolicyVersion_elseDefault(@TempDir Path dir) throws Exception {
+        write(dir, "gdpr@2024.json", "gdpr", "2024");
+        write(dir, "gdpr@2025.json", "gdpr", "2025");
+        PolicyRuleSets ruleSets = new PolicyRuleSets(objectMapper, dir.toString(), PolicyRuleSets.DEFAULT_RULE_SET);
+        ruleSets.init();
+
+        assertThat(ruleSets.forRecord(record("gdpr@2024")).name()).isEqualTo("gdpr@2024");
+        assertThat(ruleSets.forRecord(record("gdpr")).name()).isEqualTo("gdpr@2025");
+        assertThat(ruleSets.forRecord(record("compliance-2024")).name()).isEqualTo(PolicyRuleSets.DEFAULT_RULE_SET);
+        assertThat(ruleSets.forRecord(record(null)).name()).isEqualTo(PolicyRuleSets.DEFAULT_RULE_SET);
+    }
+
+    @Test
+    void forRecord_byId_picksHighestVersionBySegment(@TempDir Path dir) throws Exception {
+        write(dir, "a.json", "dated", "2026-9");
+        write(dir, "b.json", "dated", "2026-10");
+        write(dir, "c.json", "tagged", "v9");
+        write(dir, "d.json", "tagged", "v10");
+        PolicyRuleSets ruleSets = new PolicyRuleSets(objectMapper, dir.toString(), PolicyRuleSets.DEFAULT_RULE_SET);
+        ruleSets.init();
+
+        assertThat(ruleSets.get("dated").name()).isEqualTo("dated@2026-10");
+        assertThat(ruleSets.get("tagged").name()).isEqualTo("tagged@v10");
+        assertThat(PolicyRuleSets.compareVersions("1.2", "1.2.1")).isNegative();
+        assertThat(PolicyRuleSets.compareVersions("2026-01", "2026-1")).isZero();
+        assertThat(PolicyRuleSets.compareVersions("2.0", "10.0")).isNegative();
+    }
+
+    @Test
+    void defaultRuleSetMissing_failsAtStartup() {
+        assertThatThrownBy(() -> new PolicyRuleSets(objectMapper, null, "missing@1").init())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void watch_reloadsChangedFile_keepsPreviousOnError(@TempDir Path dir) throws Exception {
+        write(dir, "custom@1.json", "custom", "1");
+        write(dir, "demo.json", "demo", "3");
+        PolicyRuleSets ruleSets = new PolicyRuleSets(objectMapper, dir.toString(), PolicyRuleSets.DEFAULT_RULE_SET);
+        ruleSets.start();
+        try {
+            assertThat(ruleSets.get("custom@1").size()).isEqualTo(1);
+
+            Files.writeString(dir.resolve("custom@1.json"), """
+                    {"id": "custom", "version": "1", "rules": [{"id": "A"}, {"id": "B"}]}""");
+            awaitSize(ruleSets, "custom@1", 2);
+
+            Files.writeString(dir.resolve("custom@1.json"), "{ not json");
+            // Not named id@version: kept by its file, not by name
+            Files.writeString(dir.resolve("demo.json"), "{ not json either");
+            Files.writeString(dir.resolve("other@1.json"), """
+                    {"id": "other", "version": "1", "rules": [{"id": "A"}]}""");
+            awaitSize(ruleSets, "other@1", 1);
+            assertThat(ruleSets.get("custom@1").size()).isEqualTo(2);
+            assertThat(ruleSets.forRecord(record("demo@3")).name()).isEqualTo("demo@3");
+        } finally {
+            ruleSets.stop();
+        }
+    }
+
+    private CompiledRuleSet compile(String json) throws Exception {
+        return CompiledRuleSet.compile(objectMapper.readValue(json, PolicyRuleSetDefinition.class));
+    }
+
+    private static void write(Path dir, String file, String id, String version) throws Exception {
+        Files.writeString(dir.resolve(file), """
+                {"id": "%s", "version": "%s", "rules": [{"id": "R1", "when": {"field": "llmModel", "op": "present"}}]}"""
+                .formatted(id, version));
+    }
+
+    private static AiResponse record(String policyVersion) {
+        AiResponse record = new AiResponse("Q", "A", "hash");
+        record.setPolicyVersion(policyVersion);
+        return record;
+    }
+
+    /** The watcher reloads asynchronously; polling intervals vary by platform. */
+    private static void awaitSize(PolicyRuleSets ruleSets, String name, int size) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            CompiledRuleSet ruleSet = ruleSets.get(name);
+            if (ruleSet != null && ruleSet.size() == size) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(ruleSets.get(name)).isNotNull().extracting(CompiledRuleSet::size).isEqualTo(size);
+    }
+}
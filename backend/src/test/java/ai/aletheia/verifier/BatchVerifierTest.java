@@ -0,0 +1,148 @@
+package ai.aletheia.verifier;
+
+import ai.aletheia.crypto.CanonicalizationService;
+import ai.aletheia.crypto.HashService;
+import ai.aletheia.crypto.SignatureService;
+import ai.aletheia.crypto.TimestampService;
+import ai.aletheia.evidence.EvidencePackageService;
+import ai.aletheia.evidence.EvidencePackageServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch mode of the offline verifier: path expansion, parallel run in input order, JSON/CSV report.
+ */
+@SpringBootTest
+class BatchVerifierTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private CanonicalizationService canonicalizationService;
+    @Autowired
+    private HashService hashService;
+    @Autowired
+    private SignatureService signatureService;
+    @Autowired
+    private TimestampService timestampService;
+    @Autowired
+    private EvidencePackageService evidencePackageService;
+
+    private Map<String, byte[]> validFiles;
+
+    @BeforeEach
+    void setUp() {
+        String responseText = "Batch verification test.\n";
+        byte[] canonical = canonicalizationService.canonicalize(responseText);
+        String hashHex = hashService.hash(canonical);
+        byte[] sigBytes = Base64.getDecoder().decode(signatureService.sign(hashHex));
+        validFiles = evidencePackageService.buildPackage(responseText, canonical, hashHex, sigBytes,
+                timestampService.timestamp(sigBytes), "test-model", Instant.now(), 1L,
+                signatureService.getPublicKeyPem(), null, null);
+    }
+
+    @Test
+    void expand_directoryFindsAepFilesAndPackageDirsSorted_globMatchesTopLevelOnly() throws Exception {
+        Path root = tempDir.resolve("evidence");
+        Path b = writeAep(root.resolve("b.aep"), validFiles);
+        Path a = writeAep(root.resolve("a.aep"), validFiles);
+        Path dir = writeDir(root.resolve("c-dir"), validFiles);
+        Path nested = writeAep(root.resolve("sub/d.aep"), validFiles);
+        Files.writeString(root.resolve("notes.txt"), "not a package");
+
+        assertThat(BatchVerifier.expand(List.of(root.toString())))
+                .containsExactly(a, b, dir, nested);
+        assertThat(BatchVerifier.expand(List.of(root + "/*.aep", a.toString())))
+                .containsExactly(a, b);
+        assertThat(BatchVerifier.expand(List.of(dir.toString()))).containsExactly(dir);
+    }
+
+    @Test
+    void run_reportsEachPackageInInputOrderWithSummary() throws Exception {
+        Map<String, byte[]> tampered = new HashMap<>(validFiles);
+        tampered.put(EvidencePackageServiceImpl.HASH_SHA256, "0".repeat(64).getBytes(StandardCharsets.UTF_8));
+        List<Path> packages = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            packages.add(writeAep(tempDir.resolve("p" + i + ".aep"), i == 3 ? tampered : validFiles));
+        }
+        packages.add(tempDir.resolve("missing.aep"));
+
+        List<BatchVerifier.FileResult> results = new ArrayList<>();
+        BatchVerifier.Summary summary = new BatchVerifier(new EvidenceVerifierImpl(), 3).run(packages, results::add);
+
+        assertThat(results).extracting(BatchVerifier.FileResult::path).containsExactlyElementsOf(packages);
+        assertThat(results.get(3).result().failureReason()).isEqualTo("hash mismatch");
+        assertThat(results.get(6).result().valid()).isFalse();
+        assertThat(results).allMatch(r -> r.nanos() > 0);
+        assertThat(summary.total()).isEqualTo(7);
+        assertThat(summary.valid()).isEqualTo(5);
+        assertThat(summary.invalid()).isEqualTo(2);
+        assertThat(summary.allValid()).isFalse();
+    }
+
+    @Test
+    void report_jsonAndCsv() throws Exception {
+        Path valid = writeAep(tempDir.resolve("ok.aep"), validFiles);
+        Path odd = tempDir.resolve("with,comma.aep");
+        List<Path> packages = List.of(valid, odd);
+
+        JsonNode json = new ObjectMapper().readTree(runReport(BatchReport.Format.JSON, packages));
+        assertThat(json.get("files")).hasSize(2);
+        assertThat(json.get("files").get(0).get("path").asText()).isEqualTo(valid.toString());
+        assertThat(json.get("files").get(0).get("valid").asBoolean()).isTrue();
+        assertThat(json.get("files").get(0).get("failureReason").isNull()).isTrue();
+        assertThat(json.get("files").get(1).get("valid").asBoolean()).isFalse();
+        assertThat(json.get("files").get(1).get("millis").isNumber()).isTrue();
+        assertThat(json.get("summary").get("total").asInt()).isEqualTo(2);
+        assertThat(json.get("summary").get("invalid").asInt()).isEqualTo(1);
+
+        String[] csv = runReport(BatchReport.Format.CSV, packages).split("\n");
+        assertThat(csv).hasSize(3);
+        assertThat(csv[0]).isEqualTo("path,valid,failure_reason,pqc_valid,millis");
+        assertThat(csv[1]).startsWith(valid + ",true,,,");
+        assertThat(csv[2]).startsWith("\"" + odd + "\",false,");
+    }
+
+    private String runReport(BatchReport.Format format, List<Path> packages) {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buf, true, StandardCharsets.UTF_8);
+        BatchReport report = new BatchReport(format, out);
+        report.start();
+        report.finish(new BatchVerifier(new EvidenceVerifierImpl(), 2).run(packages, report::add));
+        return buf.toString(StandardCharsets.UTF_8);
+    }
+
+    private Path writeAep(Path path, Map<String, byte[]> files) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.write(path, evidencePackageService.toZip(files));
+        return path;
+    }
+
+    private static Path writeDir(Path dir, Map<String, byte[]> files) throws Exception {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, byte[]> e : files.entrySet()) {
+            Files.write(dir.resolve(e.getKey()), e.getValue());
+        }
+        return dir;
+    }
+}
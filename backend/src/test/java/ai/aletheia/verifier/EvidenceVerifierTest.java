@@ -13,11 +13,15 @@ import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -214,6 +218,40 @@ class EvidenceVerifierTest {
         assertThat(result.pqcValid()).isTrue();
     }
 
+    /** Batch TSA: token over a Merkle root plus timestamp_proof.txt verifies; a proof for another leaf does not. */
+    @Test
+    void verify_batchTimestampWithProof_validAndTampered() throws Exception {
+        String responseText = "2+2 equals 4.\n";
+        byte[] canonical = canonicalizationService.canonicalize(responseText);
+        String hashHex = hashService.hash(canonical);
+        byte[] sigBytes = Base64.getDecoder().decode(signatureService.sign(hashHex));
+        String publicKeyPem = signatureService.getPublicKeyPem();
+
+        java.util.List<byte[]> batch = java.util.List.of("other-1".getBytes(StandardCharsets.UTF_8), sigBytes,
+                "other-2".getBytes(StandardCharsets.UTF_8));
+        ai.aletheia.crypto.MerkleTree tree = ai.aletheia.crypto.MerkleTree.build(batch);
+        byte[] tsaToken = timestampService.timestamp(tree.root());
+
+        Map<String, byte[]> files = evidencePackageService.buildPackage(
+                responseText, canonical, hashHex, sigBytes, tsaToken, "test-model",
+                java.time.Instant.now(), 1L, publicKeyPem, null, null);
+        evidencePackageService.addTimestampProof(files, tree.proof(1).encode());
+
+        Path dir = tempDir.resolve("batch-valid");
+        Files.createDirectories(dir);
+        for (Map.Entry<String, byte[]> e : files.entrySet()) {
+            Files.write(dir.resolve(e.getKey()), e.getValue());
+        }
+        VerificationResult result = verifier.verify(dir);
+        assertThat(result.valid()).isTrue();
+        assertThat(result.report()).anyMatch(s -> s.startsWith("timestamp proof: OK"));
+
+        Files.writeString(dir.resolve("timestamp_proof.txt"), tree.proof(0).encode());
+        VerificationResult tampered = verifier.verify(dir);
+        assertThat(tampered.valid()).isFalse();
+        assertThat(tampered.failureReason()).isEqualTo("timestamp proof invalid");
+    }
+
     @Test
     void verify_missingHash_returnsInvalid() throws Exception {
         Path dir = tempDir.resolve("missing");
@@ -225,4 +263,121 @@ class EvidenceVerifierTest {
         assertThat(result.valid()).isFalse();
         assertThat(result.failureReason()).contains("hash");
     }
+
+    @Test
+    void verify_aep_readInMemory_sameReportAsDirectory() throws Exception {
+        Map<String, byte[]> files = validPackage();
+        Path dir = tempDir.resolve("as-dir");
+        Files.createDirectories(dir);
+        for (Map.Entry<String, byte[]> e : files.entrySet()) {
+            Files.write(dir.resolve(e.getKey()), e.getValue());
+        }
+        Path aep = tempDir.resolve("as-zip.aep");
+        Files.write(aep, evidencePackageService.toZip(files));
+
+        VerificationResult fromZip = verifier.verify(aep);
+
+        assertThat(fromZip.valid()).isTrue();
+        assertThat(fromZip.report()).isEqualTo(verifier.verify(dir).report());
+    }
+
+    @Test
+    void verify_aepWithTraversalEntry_ignoresItAndWritesNothing() throws Exception {
+        Map<String, byte[]> files = new LinkedHashMap<>(validPackage());
+        files.put("../escaped.txt", "x".getBytes(StandardCharsets.UTF_8));
+        files.put("sub/hash.sha256", "0".repeat(64).getBytes(StandardCharsets.UTF_8));
+        Path aep = tempDir.resolve("nested/slip.aep");
+        Files.createDirectories(aep.getParent());
+        Files.write(aep, zip(files));
+
+        VerificationResult result = verifier.verify(aep);
+
+        assertThat(result.valid()).isTrue();
+        assertThat(tempDir.resolve("escaped.txt")).doesNotExist();
+        assertThat(tempDir.resolve("nested/escaped.txt")).doesNotExist();
+    }
+
+    @Test
+    void verify_aepWithDuplicateEntry_returnsInvalid() throws Exception {
+        byte[] zip = zipWithDuplicate(validPackage(), "hash.sha256", "0".repeat(64).getBytes(StandardCharsets.UTF_8));
+        Path aep = tempDir.resolve("dup.aep");
+        Files.write(aep, zip);
+
+        VerificationResult result = verifier.verify(aep);
+
+        assertThat(result.valid()).isFalse();
+        assertThat(result.failureReason()).isEqualTo("failed to read package: duplicate entry hash.sha256");
+    }
+
+    @Test
+    void verify_entryOrPackageOverCap_returnsInvalid() throws Exception {
+        Map<String, byte[]> files = validPackage();
+        Path aep = tempDir.resolve("big.aep");
+        Files.write(aep, evidencePackageService.toZip(files));
+        int largest = files.values().stream().mapToInt(b -> b.length).max().orElseThrow();
+        int total = files.values().stream().mapToInt(b -> b.length).sum();
+
+        VerificationResult entryCap = new EvidenceVerifierImpl(largest - 1, Long.MAX_VALUE).verify(aep);
+        VerificationResult packageCap = new EvidenceVerifierImpl(Long.MAX_VALUE, total - 1).verify(aep);
+
+        assertThat(entryCap.valid()).isFalse();
+        assertThat(entryCap.failureReason()).startsWith("failed to read package: entry ").endsWith(" exceeds " + (largest - 1) + " bytes");
+        assertThat(packageCap.valid()).isFalse();
+        assertThat(packageCap.failureReason()).isEqualTo("failed to read package: package exceeds " + (total - 1) + " bytes");
+        assertThat(new EvidenceVerifierImpl(largest, total).verify(aep).valid()).isTrue();
+    }
+
+    @Test
+    void verify_noCaps_readsEntriesInFull() throws Exception {
+        Map<String, byte[]> files = validPackage();
+        Path dir = tempDir.resolve("uncapped");
+        Files.createDirectories(dir);
+        for (Map.Entry<String, byte[]> e : files.entrySet()) {
+            Files.write(dir.resolve(e.getKey()), e.getValue());
+        }
+        Path aep = tempDir.resolve("uncapped.aep");
+        Files.write(aep, evidencePackageService.toZip(files));
+        EvidenceVerifierImpl uncapped = new EvidenceVerifierImpl(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        assertThat(uncapped.verify(aep).valid()).isTrue();
+        assertThat(uncapped.verify(dir).valid()).isTrue();
+    }
+
+    private Map<String, byte[]> validPackage() {
+        String responseText = "2+2 equals 4.\n";
+        byte[] canonical = canonicalizationService.canonicalize(responseText);
+        String hashHex = hashService.hash(canonical);
+        byte[] sigBytes = Base64.getDecoder().decode(signatureService.sign(hashHex));
+        return evidencePackageService.buildPackage(responseText, canonical, hashHex, sigBytes,
+                timestampService.timestamp(sigBytes), "test-model", java.time.Instant.now(), 1L,
+                signatureService.getPublicKeyPem(), null, null);
+    }
+
+    private static byte[] zip(Map<String, byte[]> files) throws Exception {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(buf)) {
+            for (Map.Entry<String, byte[]> e : files.entrySet()) {
+                zos.putNextEntry(new ZipEntry(e.getKey()));
+                zos.write(e.getValue());
+                zos.closeEntry();
+            }
+        }
+        return buf.toByteArray();
+    }
+
+    /** ZipOutputStream refuses duplicate names, so the second entry is renamed in the bytes afterwards. */
+    private static byte[] zipWithDuplicate(Map<String, byte[]> files, String name, byte[] duplicate) throws Exception {
+        String placeholder = "X" + name.substring(1);
+        Map<String, byte[]> withPlaceholder = new LinkedHashMap<>(files);
+        withPlaceholder.put(placeholder, duplicate);
+        byte[] zip = zip(withPlaceholder);
+        byte[] from = placeholder.getBytes(StandardCharsets.UTF_8);
+        byte[] to = name.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + from.length <= zip.length; i++) {
+            if (java.util.Arrays.equals(zip, i, i + from.length, from, 0, from.length)) {
+                System.arraycopy(to, 0, zip, i, to.length);
+            }
+        }
+        return zip;
+    }
 }